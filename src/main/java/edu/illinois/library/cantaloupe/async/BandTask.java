@@ -0,0 +1,89 @@
+package edu.illinois.library.cantaloupe.async;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Processes a range of indices&mdash;typically the rows of an
+ * image&mdash;in contiguous bands on the {@link ThreadPool#getComputePool()
+ * compute pool}.</p>
+ *
+ * <p>The range is split in half recursively until the pieces are no longer
+ * than a given grain size, and idle threads steal pieces from busy ones. As
+ * each thread works on contiguous indices, it doesn't share cache lines with
+ * other threads, except at the edges of the bands.</p>
+ *
+ * @since 6.0
+ */
+public final class BandTask extends RecursiveAction {
+
+    @FunctionalInterface
+    public interface Body {
+
+        /**
+         * Processes the indices from {@literal start} (inclusive) to {@literal
+         * end} (exclusive).
+         */
+        void process(int start, int end);
+
+    }
+
+    private final int start, end, grain;
+    private final Body body;
+
+    /**
+     * Processes the given range, in the calling thread if it is no longer
+     * than the given grain size, and in parallel on the compute pool
+     * otherwise. Returns when the whole range has been processed.
+     *
+     * @param length Length of the range, starting at {@literal 0}.
+     * @param grain  Maximum length of a band.
+     * @param body   Band processor.
+     */
+    public static void invoke(int length, int grain, Body body) {
+        grain = Math.max(1, grain);
+        if (length <= grain) {
+            if (length > 0) {
+                body.process(0, length);
+            }
+            return;
+        }
+        ThreadPool.getInstance().getComputePool()
+                .invoke(new BandTask(0, length, grain, body));
+    }
+
+    /**
+     * @param length      Length of the range.
+     * @param bytesPerRow Approximate number of bytes of memory touched per
+     *                    index.
+     * @param bandBytes   Target number of bytes touched per band.
+     * @return            Grain size that keeps bands within {@literal
+     *                    bandBytes}, but which produces at least one band per
+     *                    compute thread.
+     */
+    public static int grainFor(int length, long bytesPerRow, long bandBytes) {
+        final int parallelism =
+                ThreadPool.getInstance().getComputePool().getParallelism();
+        final long cacheRows = bandBytes / Math.max(1, bytesPerRow);
+        final long fairRows  = (length + parallelism - 1) / parallelism;
+        return (int) Math.max(1, Math.min(cacheRows, fairRows));
+    }
+
+    private BandTask(int start, int end, int grain, Body body) {
+        this.start = start;
+        this.end   = end;
+        this.grain = grain;
+        this.body  = body;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start <= grain) {
+            body.process(start, end);
+            return;
+        }
+        final int middle = (start + end) >>> 1;
+        invokeAll(new BandTask(start, middle, grain, body),
+                new BandTask(middle, end, grain, body));
+    }
+
+}
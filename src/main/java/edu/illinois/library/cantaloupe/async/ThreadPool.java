@@ -4,11 +4,18 @@ import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 
 /**
- * Global application thread pool Singleton.
+ * <p>Global application thread pool Singleton.</p>
+ *
+ * <p>In addition to the prioritized pools, which are unbounded and suited to
+ * I/O-bound tasks, there is a {@link #getComputePool() compute pool} bounded
+ * by the number of processors, for CPU-bound tasks that are split up with the
+ * fork/join framework.</p>
  */
 public final class ThreadPool {
 
@@ -21,7 +28,7 @@ public final class ThreadPool {
         private static final int maxID = 9999999;
         private static final Random rng = new Random();
 
-        private String getThreadID() {
+        String getThreadID() {
             // Get a random number
             final int id = rng.nextInt(maxID + 1);
             // Left-pad it with zeroes
@@ -62,6 +69,23 @@ public final class ThreadPool {
         }
     }
 
+    private static class ComputeThreadFactory extends AbstractThreadFactory
+            implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        @Override
+        String getThreadNamePrefix() {
+            return "work-cpu";
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(getThreadNamePrefix() + "-" + getThreadID());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     private static ThreadPool instance;
 
     private boolean isShutdown = false;
@@ -71,6 +95,9 @@ public final class ThreadPool {
             Executors.newCachedThreadPool(new NormalPriorityThreadFactory());
     private final ExecutorService highPriorityPool =
             Executors.newCachedThreadPool(new HighPriorityThreadFactory());
+    private final ForkJoinPool computePool = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            new ComputeThreadFactory(), null, false);
 
     /**
      * @return Shared instance.
@@ -101,9 +128,20 @@ public final class ThreadPool {
         lowPriorityPool.shutdownNow();
         normalPriorityPool.shutdownNow();
         highPriorityPool.shutdownNow();
+        computePool.shutdownNow();
         isShutdown = true;
     }
 
+    /**
+     * @return Work-stealing pool whose parallelism is equal to the number of
+     *         processors.
+     * @see BandTask
+     * @since 6.0
+     */
+    public ForkJoinPool getComputePool() {
+        return computePool;
+    }
+
     /**
      * Submits a task for immediate execution.
      */
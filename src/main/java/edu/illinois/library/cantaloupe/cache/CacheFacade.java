@@ -5,6 +5,8 @@ import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.processor.Processor;
+import edu.illinois.library.cantaloupe.source.SourceStatCache;
+import edu.illinois.library.cantaloupe.source.StatResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,6 +69,23 @@ public final class CacheFacade {
         return InfoService.getInstance().getOrReadInfo(identifier, processor);
     }
 
+    /**
+     * Variant of {@link #getOrReadInfo(Identifier, Processor)} that records
+     * the validators of the source image in a newly read info.
+     *
+     * @param sourceStat Result of {@link
+     *                   edu.illinois.library.cantaloupe.source.Source#stat()}
+     *                   for the source image. May be {@code null}.
+     * @see InfoService#getOrReadInfo(Identifier, Processor, StatResult)
+     * @since 6.0
+     */
+    public Optional<Info> getOrReadInfo(Identifier identifier,
+                                        Processor processor,
+                                        StatResult sourceStat) throws IOException {
+        return InfoService.getInstance()
+                .getOrReadInfo(identifier, processor, sourceStat);
+    }
+
     /**
      * @see CacheFactory#getSourceCache
      */
@@ -129,6 +148,12 @@ public final class CacheFacade {
         // Purge the info service.
         InfoService.getInstance().purgeObjectCache();
 
+        // Purge the source stat cache.
+        SourceStatCache.getInstance().purge();
+
+        // Purge the partial source cache.
+        PartialSourceCache.getInstance().purge();
+
         // Purge the derivative cache.
         Optional<DerivativeCache> optDerivativeCache = getDerivativeCache();
         if (optDerivativeCache.isPresent()) {
@@ -149,6 +174,12 @@ public final class CacheFacade {
         // Purge it from the info service.
         InfoService.getInstance().purgeObjectCache(identifier);
 
+        // Purge it from the source stat cache.
+        SourceStatCache.getInstance().purge(identifier);
+
+        // Purge it from the partial source cache.
+        PartialSourceCache.getInstance().purge(identifier);
+
         // Purge it from the derivative cache.
         Optional<DerivativeCache> optDerivativeCache = getDerivativeCache();
         if (optDerivativeCache.isPresent()) {
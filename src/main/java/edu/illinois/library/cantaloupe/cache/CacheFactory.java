@@ -204,6 +204,7 @@ public final class CacheFactory {
     public static synchronized void shutdownCaches() {
         shutdownDerivativeCache();
         shutdownSourceCache();
+        PartialSourceCache.shutdown();
     }
 
     private static synchronized void shutdownDerivativeCache() {
@@ -7,6 +7,7 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.processor.Processor;
+import edu.illinois.library.cantaloupe.source.StatResult;
 import edu.illinois.library.cantaloupe.util.ObjectCache;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
 import org.slf4j.Logger;
@@ -138,6 +139,29 @@ public final class InfoService {
      */
     Optional<Info> getOrReadInfo(final Identifier identifier,
                                  final Processor proc) throws IOException {
+        return getOrReadInfo(identifier, proc, null);
+    }
+
+    /**
+     * Variant of {@link #getOrReadInfo(Identifier, Processor)} that records
+     * the {@link Info#getSourceETag() validators} of the source image in an
+     * info that is newly read from the processor, so that it and other cached
+     * content derived from the same source image can later be revalidated.
+     *
+     * @param identifier Identifier of the source image for which to retrieve
+     *                   the info.
+     * @param proc       Processor to use to read the info if necessary.
+     * @param sourceStat Result of {@link
+     *                   edu.illinois.library.cantaloupe.source.Source#stat()}
+     *                   for the source image. May be {@code null}.
+     * @return           Info for the image with the given identifier.
+     * @throws IOException if there is an error reading or writing to or from
+     *                   the cache.
+     * @since 6.0
+     */
+    Optional<Info> getOrReadInfo(final Identifier identifier,
+                                 final Processor proc,
+                                 final StatResult sourceStat) throws IOException {
         Optional<Info> optInfo = Optional.empty();
         // Try to retrieve it from a cache. In the (hopefully impossible) event
         // that it is corrupt and cannot be deserialized, log the problem and
@@ -151,6 +175,10 @@ public final class InfoService {
             // Read it from the processor and then add it to both the
             // derivative and object caches.
             Info info = readInfo(identifier, proc);
+            if (sourceStat != null) {
+                info.setSourceETag(sourceStat.getETag());
+                info.setSourceLastModified(sourceStat.getLastModified());
+            }
 
             // Add it to the derivative and object caches.
             final DerivativeCache derivCache =
@@ -0,0 +1,648 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.http.Range;
+import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStreamClient;
+import edu.illinois.library.cantaloupe.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * <p>Caches the chunks of remote source images that are fetched by {@link
+ * edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream}s, so
+ * that later requests for the same images only have to fetch the chunks
+ * that haven't been fetched before. This is useful for selectively readable
+ * images like tiled pyramidal TIFF and JPEG2000, of which a request
+ * typically needs only a small part, and which the {@link SourceCache} would
+ * have to download in full.</p>
+ *
+ * <h1>Tree structure</h1>
+ *
+ * <p>Each object occupies two files in {@link
+ * Key#SOURCE_CACHE_PARTIAL_PATHNAME}, named after a hash of its resource
+ * key:</p>
+ *
+ * <ul>
+ *     <li>{hash}.data: sparse file the same length as the object, into which
+ *     chunks are written at their offsets.</li>
+ *     <li>{hash}.chunks: the object's length, chunk size, ETag, resource
+ *     key, and the identifier of the image it was fetched for, followed by a
+ *     bitmap of the chunks present in the data file.</li>
+ * </ul>
+ *
+ * <p>Rewriting the chunks file after every chunk would cost time quadratic
+ * in the size of the object, so it is written after the first chunk, after
+ * every {@link #CHUNKS_FILE_WRITE_INTERVAL} chunks, when the object is
+ * complete, and upon {@link #shutdown()}. Chunks that are missing from the
+ * file because the application stopped before it was written are fetched
+ * again.</p>
+ *
+ * <p>An object's files are discarded when it is requested with a different
+ * length, ETag, or chunk size, or when either ETag is unknown. When the total size of the chunks present
+ * exceeds {@link Key#SOURCE_CACHE_PARTIAL_MAX_SIZE}, whole objects are evicted
+ * in least-recently-used order.</p>
+ *
+ * @since 6.0
+ */
+public final class PartialSourceCache {
+
+    /**
+     * Fetches chunks from the cache if possible, and from the wrapped client
+     * otherwise, caching them.
+     */
+    private final class CachingClient implements HTTPImageInputStreamClient {
+
+        private final HTTPImageInputStreamClient client;
+        private final Entry entry;
+
+        private CachingClient(HTTPImageInputStreamClient client, Entry entry) {
+            this.client = client;
+            this.entry  = entry;
+        }
+
+        @Override
+        public Response sendHEADRequest() throws IOException {
+            return client.sendHEADRequest();
+        }
+
+        @Override
+        public Response sendGETRequest(Range range) throws IOException {
+            final int index = entry.getChunkIndex(range);
+            if (index >= 0) {
+                try {
+                    byte[] chunk = entry.readChunk(index);
+                    if (chunk != null) {
+                        LOGGER.trace("sendGETRequest(): hit for chunk {} " +
+                                "of {}", index, entry.resourceKey);
+                        Response response = new Response();
+                        response.setStatus(206);
+                        response.setBody(chunk);
+                        return response;
+                    }
+                } catch (IOException e) {
+                    LOGGER.warn("sendGETRequest(): failed to read chunk " +
+                            "{} of {}: {}", index, entry.resourceKey,
+                            e.getMessage());
+                }
+            }
+            final Response response = client.sendGETRequest(range);
+            final byte[] body = response.getBody();
+            if (index >= 0 && body != null &&
+                    body.length == entry.getChunkLength(index)) {
+                try {
+                    if (entry.writeChunk(index, body)) {
+                        totalSize.addAndGet(body.length);
+                        evictAsNecessary(entry);
+                    }
+                } catch (IOException e) {
+                    LOGGER.warn("sendGETRequest(): failed to write chunk " +
+                            "{} of {}: {}", index, entry.resourceKey,
+                            e.getMessage());
+                }
+            }
+            return response;
+        }
+
+    }
+
+    /**
+     * Sparse file and chunk bitmap of a single object.
+     */
+    private static final class Entry {
+
+        private final String resourceKey, etag, identifier;
+        private final long length;
+        private final int chunkSize;
+        private final Path dataFile, chunksFile;
+        private final BitSet chunks;
+        private volatile long lastAccessed;
+        private boolean isDeleted, isChunksFileWritten;
+        private int numUnwrittenChunks;
+
+        private Entry(String resourceKey, String identifier, long length,
+                      String etag, int chunkSize, Path dataFile,
+                      Path chunksFile, BitSet chunks, long lastAccessed) {
+            this.resourceKey  = resourceKey;
+            this.identifier   = identifier;
+            this.length       = length;
+            this.etag         = etag;
+            this.chunkSize    = chunkSize;
+            this.dataFile     = dataFile;
+            this.chunksFile   = chunksFile;
+            this.chunks       = chunks;
+            this.lastAccessed = lastAccessed;
+        }
+
+        private static Entry read(Path chunksFile) throws IOException {
+            try (DataInputStream is = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(chunksFile)))) {
+                if (is.readInt() != FORMAT_VERSION) {
+                    throw new IOException("Unsupported format: " + chunksFile);
+                }
+                final long length      = is.readLong();
+                final int chunkSize    = is.readInt();
+                String etag            = is.readUTF();
+                final String key       = is.readUTF();
+                String identifier      = is.readUTF();
+                final byte[] bitmap    = new byte[is.readInt()];
+                is.readFully(bitmap);
+                if (etag.isEmpty()) {
+                    etag = null;
+                }
+                if (identifier.isEmpty()) {
+                    identifier = null;
+                }
+                final String name = chunksFile.getFileName().toString();
+                final Path dataFile = chunksFile.resolveSibling(
+                        name.replace(CHUNKS_EXTENSION, DATA_EXTENSION));
+                final Entry entry = new Entry(key, identifier, length, etag,
+                        chunkSize, dataFile, chunksFile, BitSet.valueOf(bitmap),
+                        Files.getLastModifiedTime(chunksFile).toMillis());
+                entry.isChunksFileWritten = true;
+                return entry;
+            }
+        }
+
+        /**
+         * An object whose ETag is unknown, either now or when it was cached,
+         * can't be told apart from a changed object of the same length, so
+         * it is never considered valid.
+         */
+        private boolean isValidFor(long length, String etag, int chunkSize) {
+            return this.length == length && this.chunkSize == chunkSize &&
+                    etag != null && etag.equals(this.etag);
+        }
+
+        /**
+         * @return Index of the chunk exactly corresponding to the given
+         *         range, or {@code -1} if there is none.
+         */
+        private int getChunkIndex(Range range) {
+            if (range.start % chunkSize != 0) {
+                return -1;
+            }
+            final int index = (int) (range.start / chunkSize);
+            return (range.end == range.start + getChunkLength(index) - 1) ?
+                    index : -1;
+        }
+
+        private int getChunkLength(int index) {
+            final long start = (long) index * chunkSize;
+            return (int) (Math.min(start + chunkSize, length) - start);
+        }
+
+        private boolean isComplete() {
+            final long numChunks = (length + chunkSize - 1) / chunkSize;
+            return chunks.cardinality() >= numChunks;
+        }
+
+        private synchronized long getSize() {
+            long size = 0;
+            for (int i = chunks.nextSetBit(0); i >= 0;
+                 i = chunks.nextSetBit(i + 1)) {
+                size += getChunkLength(i);
+            }
+            return size;
+        }
+
+        /**
+         * @return Chunk, or {@code null} if it is not present.
+         */
+        private synchronized byte[] readChunk(int index) throws IOException {
+            lastAccessed = System.currentTimeMillis();
+            if (isDeleted || !chunks.get(index)) {
+                return null;
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate(getChunkLength(index));
+            try (FileChannel channel = FileChannel.open(dataFile,
+                    StandardOpenOption.READ)) {
+                long pos = (long) index * chunkSize;
+                while (buffer.hasRemaining()) {
+                    int n = channel.read(buffer, pos);
+                    if (n < 0) {
+                        throw new IOException("Unexpected end of " + dataFile);
+                    }
+                    pos += n;
+                }
+            }
+            return buffer.array();
+        }
+
+        /**
+         * Writes a chunk to the data file. The chunk is considered present
+         * only once that has succeeded. A failure to write the chunks file
+         * afterwards is only logged, as the chunk is present nonetheless,
+         * and the file will be written again later.
+         *
+         * @return Whether the chunk was added.
+         * @throws IOException if the chunk could not be written to the data
+         *         file.
+         */
+        private synchronized boolean writeChunk(int index,
+                                                byte[] chunk) throws IOException {
+            lastAccessed = System.currentTimeMillis();
+            if (isDeleted || chunks.get(index)) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(dataFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.SPARSE)) {
+                final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+                long pos = (long) index * chunkSize;
+                while (buffer.hasRemaining()) {
+                    pos += channel.write(buffer, pos);
+                }
+            }
+            chunks.set(index);
+            numUnwrittenChunks++;
+            if (!isChunksFileWritten ||
+                    numUnwrittenChunks >= CHUNKS_FILE_WRITE_INTERVAL ||
+                    isComplete()) {
+                try {
+                    writeChunksFile();
+                } catch (IOException e) {
+                    LOGGER.warn("writeChunk(): failed to write {}: {}",
+                            chunksFile, e.getMessage());
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Writes the chunks file if any chunks have been added since it was
+         * last written.
+         */
+        private synchronized void flush() throws IOException {
+            if (!isDeleted && numUnwrittenChunks > 0) {
+                writeChunksFile();
+            }
+        }
+
+        /**
+         * Writes the chunks file to a temporary file and then moves it into
+         * place, so that readers never see a partially written file.
+         */
+        private void writeChunksFile() throws IOException {
+            final Path tempFile = chunksFile.resolveSibling(
+                    chunksFile.getFileName() + ".tmp");
+            try (DataOutputStream os = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                final byte[] bitmap = chunks.toByteArray();
+                os.writeInt(FORMAT_VERSION);
+                os.writeLong(length);
+                os.writeInt(chunkSize);
+                os.writeUTF((etag != null) ? etag : "");
+                os.writeUTF(resourceKey);
+                os.writeUTF((identifier != null) ? identifier : "");
+                os.writeInt(bitmap.length);
+                os.write(bitmap);
+            }
+            Files.move(tempFile, chunksFile,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            isChunksFileWritten = true;
+            numUnwrittenChunks  = 0;
+        }
+
+        /**
+         * @return Size of the chunks that were present.
+         */
+        private synchronized long delete() throws IOException {
+            final long size = getSize();
+            isDeleted = true;
+            chunks.clear();
+            Files.deleteIfExists(chunksFile);
+            Files.deleteIfExists(dataFile);
+            return size;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PartialSourceCache.class);
+
+    private static final String CHUNKS_EXTENSION = ".chunks";
+    private static final String DATA_EXTENSION   = ".data";
+
+    private static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+
+    /**
+     * Number of chunks that may be added to an object before its chunks file
+     * is rewritten.
+     */
+    static final int CHUNKS_FILE_WRITE_INTERVAL = 32;
+
+    /**
+     * Version of the chunks file format.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    private static PartialSourceCache instance;
+
+    /**
+     * Keyed by resource key hash.
+     */
+    private final ConcurrentMap<String,Entry> entries =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Total size of all chunks present in all {@link #entries}.
+     */
+    private final AtomicLong totalSize = new AtomicLong();
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static synchronized PartialSourceCache getInstance() {
+        if (instance == null) {
+            instance = new PartialSourceCache();
+        }
+        return instance;
+    }
+
+    /**
+     * {@link #flush() Flushes} the shared instance, if it has been created.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.flush();
+        }
+    }
+
+    private PartialSourceCache() {
+        if (isEnabled()) {
+            try {
+                loadEntries();
+            } catch (IOException e) {
+                LOGGER.error("Failed to read {}: {}",
+                        getRootPath(), e.getMessage());
+            }
+        }
+    }
+
+    private static Path getRootPath() {
+        final String pathname = Configuration.getInstance()
+                .getString(Key.SOURCE_CACHE_PARTIAL_PATHNAME);
+        if (pathname == null || pathname.isBlank()) {
+            throw new IllegalArgumentException(
+                    Key.SOURCE_CACHE_PARTIAL_PATHNAME + " is not set");
+        }
+        return Paths.get(pathname);
+    }
+
+    private static long getMaxSize() {
+        return Configuration.getInstance().getLongBytes(
+                Key.SOURCE_CACHE_PARTIAL_MAX_SIZE, DEFAULT_MAX_SIZE);
+    }
+
+    public boolean isEnabled() {
+        return Configuration.getInstance()
+                .getBoolean(Key.SOURCE_CACHE_PARTIAL_ENABLED, false);
+    }
+
+    /**
+     * Reads the chunks files present in the cache directory when the
+     * instance is created.
+     */
+    private void loadEntries() throws IOException {
+        final Path rootPath = getRootPath();
+        if (!Files.isDirectory(rootPath)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(rootPath)) {
+            files.filter(f -> f.toString().endsWith(CHUNKS_EXTENSION))
+                    .forEach(f -> {
+                        try {
+                            Entry entry = Entry.read(f);
+                            String hash = f.getFileName().toString()
+                                    .replace(CHUNKS_EXTENSION, "");
+                            entries.put(hash, entry);
+                            totalSize.addAndGet(entry.getSize());
+                        } catch (IOException e) {
+                            LOGGER.warn("loadEntries(): skipping {}: {}",
+                                    f, e.getMessage());
+                        }
+                    });
+        }
+        LOGGER.debug("Loaded {} objects totaling {} bytes from {}",
+                entries.size(), totalSize.get(), rootPath);
+    }
+
+    /**
+     * @param identifier  Identifier of the image that the object is the
+     *                    source of, used by {@link #purge(Identifier)}. May
+     *                    be {@code null}.
+     * @param resourceKey Key uniquely identifying the remote object, such as
+     *                    its URI.
+     * @param length      Length of the object.
+     * @param etag        ETag of the object. If {@code null}, any chunks
+     *                    previously cached for the object are discarded.
+     * @param chunkSize   Size of the chunks that will be requested from the
+     *                    returned client.
+     * @param client      Client that fetches chunks of the object.
+     * @return            Client that reads chunks from the cache when they
+     *                    are present, and otherwise fetches them using the
+     *                    given client and caches them. If the instance is
+     *                    not {@link #isEnabled() enabled}, or the cache is
+     *                    not accessible, the given client is returned.
+     */
+    public HTTPImageInputStreamClient newClient(
+            Identifier identifier,
+            String resourceKey,
+            long length,
+            String etag,
+            int chunkSize,
+            HTTPImageInputStreamClient client) {
+        if (!isEnabled() || length <= 0 || chunkSize <= 0) {
+            return client;
+        }
+        try {
+            return new CachingClient(client,
+                    getEntry(identifier, resourceKey, length, etag,
+                            chunkSize));
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.error("newClient(): {}", e.getMessage());
+            return client;
+        }
+    }
+
+    private Entry getEntry(Identifier identifier,
+                           String resourceKey,
+                           long length,
+                           String etag,
+                           int chunkSize) throws IOException {
+        final Path rootPath = getRootPath();
+        Files.createDirectories(rootPath);
+        final String hash = StringUtils.md5(resourceKey);
+        return entries.compute(hash, (k, existing) -> {
+            if (existing != null &&
+                    existing.isValidFor(length, etag, chunkSize)) {
+                return existing;
+            }
+            if (existing != null) {
+                // The new entry uses the same files, so the old one must be
+                // deleted before the new one is published.
+                LOGGER.debug("getEntry(): {} has changed; discarding it",
+                        resourceKey);
+                delete(existing);
+            }
+            return new Entry(resourceKey,
+                    (identifier != null) ? identifier.toString() : null,
+                    length, etag, chunkSize,
+                    rootPath.resolve(hash + DATA_EXTENSION),
+                    rootPath.resolve(hash + CHUNKS_EXTENSION),
+                    new BitSet(), System.currentTimeMillis());
+        });
+    }
+
+    /**
+     * Evicts the least recently used objects until the total size no longer
+     * exceeds the maximum.
+     *
+     * @param current Object being written, which is evicted last.
+     */
+    private void evictAsNecessary(Entry current) {
+        final long maxSize = getMaxSize();
+        if (totalSize.get() <= maxSize) {
+            return;
+        }
+        final List<Entry> candidates = new ArrayList<>(entries.values());
+        candidates.sort(Comparator
+                .comparing((Entry e) -> e == current)
+                .thenComparingLong(e -> e.lastAccessed));
+        for (Entry entry : candidates) {
+            if (totalSize.get() <= maxSize) {
+                break;
+            }
+            evict(entry);
+        }
+    }
+
+    /**
+     * Deletes the given entry's files within the lock of its key, so that no
+     * new entry for the same object can start writing to them until they
+     * are gone.
+     */
+    private void evict(Entry entry) {
+        final String hash = StringUtils.md5(entry.resourceKey);
+        entries.computeIfPresent(hash, (k, existing) -> {
+            if (existing != entry) {
+                return existing;
+            }
+            LOGGER.debug("evict(): evicting {}", entry.resourceKey);
+            delete(entry);
+            return null;
+        });
+    }
+
+    private void delete(Entry entry) {
+        try {
+            totalSize.addAndGet(-entry.delete());
+        } catch (IOException e) {
+            LOGGER.warn("delete(): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the chunks files of all objects to which chunks have been added
+     * since they were last written.
+     */
+    public void flush() {
+        for (Entry entry : entries.values()) {
+            try {
+                entry.flush();
+            } catch (IOException e) {
+                LOGGER.warn("flush(): {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return Number of objects of which at least part is cached.
+     */
+    public int getNumObjects() {
+        return entries.size();
+    }
+
+    /**
+     * @return Total size of all cached chunks.
+     */
+    public long getSize() {
+        return totalSize.get();
+    }
+
+    /**
+     * Deletes all cached objects that were fetched for the image with the
+     * given identifier.
+     */
+    public void purge(Identifier identifier) {
+        final String identifierStr = identifier.toString();
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            if (identifierStr.equals(entry.identifier)) {
+                evict(entry);
+            }
+        }
+    }
+
+    /**
+     * Deletes all cached content.
+     */
+    public void purge() throws IOException {
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            evict(entry);
+        }
+        if (!isEnabled()) {
+            return;
+        }
+        final Path rootPath = getRootPath();
+        if (!Files.isDirectory(rootPath)) {
+            return;
+        }
+        // Also delete any files not known to the instance.
+        try (Stream<Path> files = Files.list(rootPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(CHUNKS_EXTENSION) ||
+                        name.endsWith(DATA_EXTENSION)) {
+                    try {
+                        Files.delete(file);
+                    } catch (NoSuchFileException ignore) {
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.source.Source;
+import edu.illinois.library.cantaloupe.source.StatResult;
+import edu.illinois.library.cantaloupe.util.ObjectCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+
+/**
+ * <p>Checks whether cached content is still valid by comparing the validators
+ * ({@link Info#getSourceETag() ETag} and/or {@link
+ * Info#getSourceLastModified() last-modified time}) of the source image
+ * recorded in its cached {@link Info} against the source image itself, so
+ * that content derived from unchanged source images can be kept
+ * indefinitely.</p>
+ *
+ * <p>All cached content relating to an identifier&mdash;the info,
+ * derivative images, and source-cached image&mdash;is considered to derive
+ * from the version of the source image described by the info, and is purged
+ * together when it changes.</p>
+ *
+ * <p>A source image is revalidated at most once per {@link
+ * Key#CACHE_SERVER_REVALIDATION_INTERVAL} per application instance, unless
+ * a fresh {@link StatResult} is already at hand, as it is when resolving
+ * first, in which case it is always compared. Content
+ * for which no validators were recorded is not revalidated, and expires only
+ * according to the cache TTLs.</p>
+ *
+ * @since 6.0
+ */
+public final class SourceRevalidator {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(SourceRevalidator.class);
+
+    private static final long DEFAULT_INTERVAL = 300;
+
+    /**
+     * Maximum number of recently revalidated identifiers to remember.
+     */
+    private static final long MAX_SIZE = 100000;
+
+    private static SourceRevalidator instance;
+
+    /**
+     * Times at which identifiers were last successfully revalidated.
+     */
+    private final ObjectCache<Identifier,Instant> lastValidated =
+            new ObjectCache<>(MAX_SIZE);
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static synchronized SourceRevalidator getInstance() {
+        if (instance == null) {
+            instance = new SourceRevalidator();
+        }
+        return instance;
+    }
+
+    private SourceRevalidator() {}
+
+    private static Duration getInterval() {
+        final long interval = Configuration.getInstance().getLong(
+                Key.CACHE_SERVER_REVALIDATION_INTERVAL, DEFAULT_INTERVAL);
+        return Duration.ofSeconds(Math.max(interval, 0));
+    }
+
+    public boolean isEnabled() {
+        return Configuration.getInstance()
+                .getBoolean(Key.CACHE_SERVER_REVALIDATION_ENABLED, false);
+    }
+
+    /**
+     * @param identifier Identifier of the source image described by the
+     *                   given info.
+     * @param info       Cached info.
+     * @param source     Supplies a source for the image, which is invoked
+     *                   only if revalidation is due.
+     * @return           Whether content derived from the version of the
+     *                   source image described by {@code info} may still be
+     *                   used. If revalidation is disabled, not due, not
+     *                   possible, or fails for reasons other than the ones
+     *                   below, {@code true} is returned.
+     * @throws NoSuchFileException if the source image no longer exists.
+     * @throws AccessDeniedException if the source image is no longer
+     *         accessible.
+     */
+    public boolean revalidate(Identifier identifier,
+                              Info info,
+                              Callable<Source> source) throws Exception {
+        if (!isEnabled() || (info.getSourceETag() == null &&
+                info.getSourceLastModified() == null)) {
+            return true;
+        }
+        final Instant lastValidation = lastValidated.get(identifier);
+        if (lastValidation != null &&
+                lastValidation.plus(getInterval()).isAfter(Instant.now())) {
+            return true;
+        }
+        final boolean isModified;
+        try {
+            isModified = source.call().isModifiedSince(
+                    info.getSourceETag(), info.getSourceLastModified());
+        } catch (NoSuchFileException | AccessDeniedException e) {
+            throw e;
+        } catch (IOException e) {
+            // Keep serving the cached content, and try again next time.
+            LOGGER.warn("revalidate(): failed to revalidate {}: {}",
+                    identifier, e.getMessage());
+            return true;
+        }
+        return recordResult(identifier, isModified);
+    }
+
+    /**
+     * Variant of {@link #revalidate(Identifier, Info, Callable)} for when
+     * the source image has just been accessed anyway, which compares the
+     * result of that access regardless of when the image was last
+     * revalidated.
+     *
+     * @param identifier Identifier of the source image described by the
+     *                   given info.
+     * @param info       Cached info.
+     * @param statResult Result of a {@link Source#stat()} invocation made
+     *                   in the course of handling the current request.
+     * @return           Whether content derived from the version of the
+     *                   source image described by {@code info} may still be
+     *                   used. If revalidation is disabled or not possible,
+     *                   {@code true} is returned.
+     */
+    public boolean revalidate(Identifier identifier,
+                              Info info,
+                              StatResult statResult) {
+        if (!isEnabled() || (info.getSourceETag() == null &&
+                info.getSourceLastModified() == null)) {
+            return true;
+        }
+        return recordResult(identifier, statResult.isModifiedSince(
+                info.getSourceETag(), info.getSourceLastModified()));
+    }
+
+    private boolean recordResult(Identifier identifier, boolean isModified) {
+        if (isModified) {
+            LOGGER.debug("revalidate(): source image of {} has changed",
+                    identifier);
+            lastValidated.remove(identifier);
+            return false;
+        }
+        LOGGER.trace("revalidate(): source image of {} is unchanged",
+                identifier);
+        lastValidated.put(identifier, Instant.now());
+        return true;
+    }
+
+}
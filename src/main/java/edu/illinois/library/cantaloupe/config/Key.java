@@ -54,11 +54,14 @@ public enum Key {
     AZURESTORAGESOURCE_CHUNK_SIZE("AzureStorageSource.chunking.chunk_size"),
     AZURESTORAGESOURCE_CHUNK_CACHE_ENABLED("AzureStorageSource.chunking.cache.enabled"),
     AZURESTORAGESOURCE_CHUNK_CACHE_MAX_SIZE("AzureStorageSource.chunking.cache.max_size"),
+    AZURESTORAGESOURCE_CHUNKING_PARALLEL_REQUESTS("AzureStorageSource.chunking.parallel_requests"),
     AZURESTORAGESOURCE_CONTAINER_NAME("AzureStorageSource.container_name"),
     AZURESTORAGESOURCE_LOOKUP_STRATEGY("AzureStorageSource.lookup_strategy"),
     BASE_URI("base_uri"),
     CACHE_SERVER_PURGE_MISSING("cache.server.purge_missing"),
     CACHE_SERVER_RESOLVE_FIRST("cache.server.resolve_first"),
+    CACHE_SERVER_REVALIDATION_ENABLED("cache.server.revalidation.enabled"),
+    CACHE_SERVER_REVALIDATION_INTERVAL("cache.server.revalidation.interval"),
     CACHE_WORKER_ENABLED("cache.server.worker.enabled"),
     CACHE_WORKER_INTERVAL("cache.server.worker.interval"),
     CLIENT_CACHE_ENABLED("cache.client.enabled"),
@@ -135,6 +138,10 @@ public enum Key {
     JDBCCACHE_JDBC_URL("JdbcCache.url"),
     JDBCCACHE_PASSWORD("JdbcCache.password"),
     JDBCCACHE_USER("JdbcCache.user"),
+    JDBCSOURCE_CHUNKING_ENABLED("JdbcSource.chunking.enabled"),
+    JDBCSOURCE_CHUNK_SIZE("JdbcSource.chunking.chunk_size"),
+    JDBCSOURCE_CHUNK_CACHE_ENABLED("JdbcSource.chunking.cache.enabled"),
+    JDBCSOURCE_CHUNK_CACHE_MAX_SIZE("JdbcSource.chunking.cache.max_size"),
     JDBCSOURCE_CONNECTION_TIMEOUT("JdbcSource.connection_timeout"),
     JDBCSOURCE_JDBC_URL("JdbcSource.url"),
     JDBCSOURCE_PASSWORD("JdbcSource.password"),
@@ -164,6 +171,8 @@ public enum Key {
     OVERLAY_STRING_STROKE_WIDTH("overlays.BasicStrategy.string.stroke.width"),
     OVERLAY_TYPE("overlays.BasicStrategy.type"),
     PRINT_STACK_TRACE_ON_ERROR_PAGES("print_stack_trace_on_error_pages"),
+    PROCESSOR_AUTO_RETRIEVAL_HOT_ACCESSES("processor.auto_retrieval.hot_accesses"),
+    PROCESSOR_AUTO_RETRIEVAL_SMALL_SIZE("processor.auto_retrieval.small_size"),
     PROCESSOR_BACKGROUND_COLOR("processor.background_color"),
     PROCESSOR_DOWNSCALE_LINEAR("processor.downscale_linear"),
     PROCESSOR_DOWNSCALE_FILTER("processor.downscale_filter"),
@@ -174,10 +183,14 @@ public enum Key {
     PROCESSOR_FALLBACK_RETRIEVAL_STRATEGY("processor.fallback_retrieval_strategy"),
     PROCESSOR_JPG_PROGRESSIVE("processor.jpg.progressive"),
     PROCESSOR_JPG_QUALITY("processor.jpg.quality"),
+    PROCESSOR_PARALLEL_TILE_THRESHOLD("processor.parallel_tile_threshold"),
     PROCESSOR_PURGE_INCOMPATIBLE_FROM_SOURCE_CACHE("processor.purge_incompatible_from_source_cache"),
     PROCESSOR_SELECTION_STRATEGY("processor.selection_strategy"),
     PROCESSOR_SHARPEN("processor.sharpen"),
+    PROCESSOR_SPILL_MAX_MEMORY("processor.spill_max_memory"),
+    PROCESSOR_SPILL_THRESHOLD("processor.spill_threshold"),
     PROCESSOR_STREAM_RETRIEVAL_STRATEGY("processor.stream_retrieval_strategy"),
+    PROCESSOR_STRIP_THRESHOLD("processor.strip_threshold"),
     PROCESSOR_TIF_COMPRESSION("processor.tif.compression"),
     PROCESSOR_UPSCALE_FILTER("processor.upscale_filter"),
     REDISCACHE_DATABASE("RedisCache.database"),
@@ -194,20 +207,38 @@ public enum Key {
     S3CACHE_REGION("S3Cache.region"),
     S3CACHE_SECRET_KEY("S3Cache.secret_key"),
     S3SOURCE_ACCESS_KEY_ID("S3Source.access_key_id"),
+    S3SOURCE_ASYNC_ENABLED("S3Source.async.enabled"),
     S3SOURCE_BUCKET_NAME("S3Source.BasicLookupStrategy.bucket.name"),
     S3SOURCE_CHUNKING_ENABLED("S3Source.chunking.enabled"),
     S3SOURCE_CHUNK_SIZE("S3Source.chunking.chunk_size"),
     S3SOURCE_CHUNK_CACHE_ENABLED("S3Source.chunking.cache.enabled"),
     S3SOURCE_CHUNK_CACHE_MAX_SIZE("S3Source.chunking.cache.max_size"),
+    S3SOURCE_CHUNKING_PARALLEL_REQUESTS("S3Source.chunking.parallel_requests"),
+    S3SOURCE_CONNECTION_ACQUISITION_TIMEOUT("S3Source.connection_acquisition_timeout"),
+    S3SOURCE_CONNECTION_TTL("S3Source.connection_ttl"),
     S3SOURCE_ENDPOINT("S3Source.endpoint"),
     S3SOURCE_LOOKUP_STRATEGY("S3Source.lookup_strategy"),
+    S3SOURCE_MAX_CONNECTIONS("S3Source.max_connections"),
     S3SOURCE_PATH_PREFIX("S3Source.BasicLookupStrategy.path_prefix"),
     S3SOURCE_PATH_SUFFIX("S3Source.BasicLookupStrategy.path_suffix"),
     S3SOURCE_REGION("S3Source.region"),
     S3SOURCE_SECRET_KEY("S3Source.secret_key"),
     SLASH_SUBSTITUTE("slash_substitute"),
+    SOURCE_BULKHEAD_MAX_CONCURRENT_REQUESTS("source.bulkhead.max_concurrent_requests"),
     SOURCE_CACHE("cache.server.source"),
+    SOURCE_CACHE_PARTIAL_ENABLED("cache.server.source.partial.enabled"),
+    SOURCE_CACHE_PARTIAL_MAX_SIZE("cache.server.source.partial.max_size"),
+    SOURCE_CACHE_PARTIAL_PATHNAME("cache.server.source.partial.pathname"),
+    SOURCE_CACHE_PREFETCH("cache.server.source.prefetch"),
     SOURCE_CACHE_TTL("cache.server.source.ttl_seconds"),
+    SOURCE_CIRCUIT_BREAKER_ENABLED("source.circuit_breaker.enabled"),
+    SOURCE_CIRCUIT_BREAKER_FAILURE_THRESHOLD("source.circuit_breaker.failure_threshold"),
+    SOURCE_CIRCUIT_BREAKER_OPEN_SECONDS("source.circuit_breaker.open_seconds"),
+    SOURCE_MEMORY_MAPPING_ENABLED("source.memory_mapping.enabled"),
+    SOURCE_MEMORY_MAPPING_THRESHOLD("source.memory_mapping.threshold"),
+    SOURCE_STAT_CACHE_ENABLED("source.stat_cache.enabled"),
+    SOURCE_STAT_CACHE_MAX_SIZE("source.stat_cache.max_size"),
+    SOURCE_STAT_CACHE_TTL("source.stat_cache.ttl_seconds"),
     STANDARD_META_IDENTIFIER_TRANSFORMER_DELIMITER("meta_identifier.transformer.StandardMetaIdentifierTransformer.delimiter"),
     TEMP_PATHNAME("temp_pathname");
 
@@ -37,6 +37,8 @@ public final class Format implements Comparable<Format> {
     private String key;
     @JsonProperty
     private String name;
+    @JsonProperty
+    private List<String> signatures;
     @JsonProperty("raster")
     private boolean isRaster;
     @JsonProperty("video")
@@ -191,6 +193,16 @@ public final class Format implements Comparable<Format> {
                 collect(Collectors.toUnmodifiableList());
     }
 
+    /**
+     * @return Hexadecimal byte signatures ("magic bytes") found at the
+     *         beginning of files of this format, in which {@literal ??}
+     *         matches any byte. May be empty.
+     * @since 6.0
+     */
+    public List<String> getSignatures() {
+        return (signatures != null) ? signatures : List.of();
+    }
+
     /**
      * @return Human-readable name.
      * @see #getKey()
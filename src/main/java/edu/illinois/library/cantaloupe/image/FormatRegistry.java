@@ -55,6 +55,7 @@ final class FormatRegistry {
      */
     static synchronized void clear() {
         FORMATS = null;
+        FormatSignatures.clearInstance();
     }
 
     /**
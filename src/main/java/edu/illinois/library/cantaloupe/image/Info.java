@@ -210,7 +210,8 @@ public final class Info {
 
         /**
          * <p>Added a {@code serializationTimestamp} key containing an ISO 8601
-         * timestamp in UTC.</p>
+         * timestamp in UTC, and optional {@code sourceETag} and {@code
+         * sourceLastModified} keys.</p>
          *
          * <p>Introduced in application version 6.0.</p>
          */
@@ -235,6 +236,8 @@ public final class Info {
     private Metadata metadata               = new Metadata();
     private Serialization serialization     = Serialization.CURRENT;
     private Instant serializationTimestamp;
+    private String sourceETag;
+    private Instant sourceLastModified;
 
     /**
      * Ordered list of subimages. The main image is at index {@code 0}.
@@ -279,8 +282,9 @@ public final class Info {
     }
 
     /**
-     * N.B.: the {@link #getSerializationTimestamp() serialization timestamp}
-     * is not considered.
+     * N.B.: the {@link #getSerializationTimestamp() serialization timestamp},
+     * {@link #getSourceETag() source ETag}, and {@link
+     * #getSourceLastModified() source last-modified time} are not considered.
      */
     @Override
     public boolean equals(Object obj) {
@@ -396,6 +400,26 @@ public final class Info {
         return serializationTimestamp;
     }
 
+    /**
+     * @return ETag of the source image as of the time the instance was read,
+     *         which can be used to check whether it is still valid. May be
+     *         {@code null}.
+     * @since 6.0
+     */
+    public String getSourceETag() {
+        return sourceETag;
+    }
+
+    /**
+     * @return Last-modified time of the source image as of the time the
+     *         instance was read, which can be used to check whether it is
+     *         still valid. May be {@code null}.
+     * @since 6.0
+     */
+    public Instant getSourceLastModified() {
+        return sourceLastModified;
+    }
+
     /**
      * @return Size of the main image.
      */
@@ -535,6 +559,22 @@ public final class Info {
                 .orElseThrow(IllegalArgumentException::new);
     }
 
+    /**
+     * @param etag ETag of the source image.
+     * @since 6.0
+     */
+    public void setSourceETag(String etag) {
+        this.sourceETag = etag;
+    }
+
+    /**
+     * @param lastModified Last-modified time of the source image.
+     * @since 6.0
+     */
+    public void setSourceLastModified(Instant lastModified) {
+        this.sourceLastModified = lastModified;
+    }
+
     public void setSourceFormat(Format sourceFormat) {
         if (sourceFormat == null) {
             mediaType = null;
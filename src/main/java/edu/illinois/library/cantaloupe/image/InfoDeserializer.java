@@ -18,6 +18,8 @@ import static edu.illinois.library.cantaloupe.image.InfoSerializer.METADATA_KEY;
 import static edu.illinois.library.cantaloupe.image.InfoSerializer.NUM_RESOLUTIONS_KEY;
 import static edu.illinois.library.cantaloupe.image.InfoSerializer.SERIALIZATION_TIMESTAMP_KEY;
 import static edu.illinois.library.cantaloupe.image.InfoSerializer.SERIALIZATION_VERSION_KEY;
+import static edu.illinois.library.cantaloupe.image.InfoSerializer.SOURCE_ETAG_KEY;
+import static edu.illinois.library.cantaloupe.image.InfoSerializer.SOURCE_LAST_MODIFIED_KEY;
 
 /**
  * Deserializes an {@link Info}.
@@ -64,6 +66,19 @@ final class InfoDeserializer extends JsonDeserializer<Info> {
                 info.setMediaType(new MediaType(mediaTypeNode.textValue()));
             }
         }
+        { // sourceETag (optional; does not exist in < 6.0 serializations)
+            JsonNode etagNode = node.get(SOURCE_ETAG_KEY);
+            if (etagNode != null) {
+                info.setSourceETag(etagNode.textValue());
+            }
+        }
+        { // sourceLastModified (optional; does not exist in < 6.0 serializations)
+            JsonNode lastModifiedNode = node.get(SOURCE_LAST_MODIFIED_KEY);
+            if (lastModifiedNode != null) {
+                info.setSourceLastModified(
+                        Instant.parse(lastModifiedNode.textValue()));
+            }
+        }
         { // numResolutions (does not exist in < 4.0 serializations)
             JsonNode numResolutionsNode = node.get(NUM_RESOLUTIONS_KEY);
             if (numResolutionsNode != null) {
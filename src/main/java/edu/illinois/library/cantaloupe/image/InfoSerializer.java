@@ -24,6 +24,8 @@ final class InfoSerializer extends JsonSerializer<Info> {
     static final String NUM_RESOLUTIONS_KEY         = "numResolutions";
     static final String SERIALIZATION_TIMESTAMP_KEY = "serializationTimestamp";
     static final String SERIALIZATION_VERSION_KEY   = "serializationVersion";
+    static final String SOURCE_ETAG_KEY             = "sourceETag";
+    static final String SOURCE_LAST_MODIFIED_KEY    = "sourceLastModified";
 
     @Override
     public void serialize(Info info,
@@ -49,6 +51,16 @@ final class InfoSerializer extends JsonSerializer<Info> {
             generator.writeStringField(MEDIA_TYPE_KEY,
                     info.getMediaType().toString());
         }
+        // sourceETag
+        if (info.getSourceETag() != null) {
+            generator.writeStringField(SOURCE_ETAG_KEY,
+                    info.getSourceETag());
+        }
+        // sourceLastModified
+        if (info.getSourceLastModified() != null) {
+            generator.writeStringField(SOURCE_LAST_MODIFIED_KEY,
+                    info.getSourceLastModified().toString());
+        }
         // numResolutions
         generator.writeNumberField(NUM_RESOLUTIONS_KEY,
                 info.getNumResolutions());
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import edu.illinois.library.cantaloupe.util.ObjectCache;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.io.TikaInputStream;
@@ -17,8 +18,9 @@ import org.apache.tika.parser.AutoDetectParser;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -53,6 +55,22 @@ public final class MediaType {
         }
     }
 
+    /**
+     * Holds the Tika detector, which is expensive to create but thread-safe,
+     * and needed only for data whose signature is not recognized.
+     */
+    private static class TikaDetectorHolder {
+        private static final Detector DETECTOR =
+                new AutoDetectParser().getDetector();
+    }
+
+    /**
+     * Media types detected by {@link #detectMediaTypes(Path)}, keyed by
+     * pathname, size, and last-modified time.
+     */
+    private static final ObjectCache<String,List<MediaType>> DETECTED_TYPES =
+            new ObjectCache<>(10000);
+
     public static final MediaType APPLICATION_JSON =
             new MediaType("application/json");
     public static final MediaType TEXT_PLAIN =
@@ -70,22 +88,23 @@ public final class MediaType {
      */
     public static List<MediaType> detectMediaTypes(byte[] bytes)
             throws IOException {
-        final List<MediaType> types = new ArrayList<>();
-
-        // https://tika.apache.org/1.1/detection.html
+        final Format format =
+                FormatSignatures.getInstance().match(bytes, bytes.length);
+        if (format != null) {
+            return List.of(format.getPreferredMediaType());
+        }
         try (TikaInputStream is = TikaInputStream.get(bytes)) {
-            AutoDetectParser parser = new AutoDetectParser();
-            Detector detector = parser.getDetector();
-            Metadata md = new Metadata();
-            org.apache.tika.mime.MediaType mediaType = detector.detect(is, md);
-            types.add(new MediaType(mediaType.toString()));
+            return detectUsingTika(is, new Metadata());
         }
-        return types;
     }
 
     /**
-     * Attempts to detect the media type(s) of the given file by reading its
-     * magic bytes. The detection is fast but imperfect.
+     * <p>Attempts to detect the media type(s) of the given file by reading its
+     * magic bytes. The detection is fast but imperfect.</p>
+     *
+     * <p>Results are cached per file size and last-modified time, so that
+     * files that are probed repeatedly, like source-cached images, are read
+     * only once.</p>
      *
      * @param path File to probe.
      * @return     Media types associated with the data in the given file, or
@@ -93,17 +112,32 @@ public final class MediaType {
      */
     public static List<MediaType> detectMediaTypes(Path path)
             throws IOException {
-        final List<MediaType> types = new ArrayList<>();
+        final BasicFileAttributes attrs =
+                Files.readAttributes(path, BasicFileAttributes.class);
+        final String cacheKey = path.toAbsolutePath() + "|" + attrs.size() +
+                "|" + attrs.lastModifiedTime().toMillis();
+        List<MediaType> types = DETECTED_TYPES.get(cacheKey);
+        if (types != null) {
+            return types;
+        }
 
-        // https://tika.apache.org/1.1/detection.html
-        try (TikaInputStream is = TikaInputStream.get(path)) {
-            AutoDetectParser parser = new AutoDetectParser();
-            Detector detector = parser.getDetector();
-            Metadata md = new Metadata();
-            md.add(TikaCoreProperties.RESOURCE_NAME_KEY, path.toString());
-            org.apache.tika.mime.MediaType mediaType = detector.detect(is, md);
-            types.add(new MediaType(mediaType.toString()));
+        final FormatSignatures signatures = FormatSignatures.getInstance();
+        final byte[] header = new byte[signatures.getMaxLength()];
+        int length;
+        try (InputStream is = Files.newInputStream(path)) {
+            length = is.readNBytes(header, 0, header.length);
+        }
+        final Format format = signatures.match(header, length);
+        if (format != null) {
+            types = List.of(format.getPreferredMediaType());
+        } else {
+            try (TikaInputStream is = TikaInputStream.get(path)) {
+                Metadata md = new Metadata();
+                md.add(TikaCoreProperties.RESOURCE_NAME_KEY, path.toString());
+                types = detectUsingTika(is, md);
+            }
         }
+        DETECTED_TYPES.put(cacheKey, types);
         return types;
     }
 
@@ -118,17 +152,29 @@ public final class MediaType {
      */
     public static List<MediaType> detectMediaTypes(InputStream inputStream)
             throws IOException {
-        final List<MediaType> types = new ArrayList<>();
+        final FormatSignatures signatures = FormatSignatures.getInstance();
+        final byte[] header = new byte[signatures.getMaxLength()];
+        int length;
+        inputStream.mark(header.length);
+        try {
+            length = inputStream.readNBytes(header, 0, header.length);
+        } finally {
+            inputStream.reset();
+        }
+        final Format format = signatures.match(header, length);
+        if (format != null) {
+            return List.of(format.getPreferredMediaType());
+        }
+        return detectUsingTika(inputStream, new Metadata());
+    }
 
+    private static List<MediaType> detectUsingTika(InputStream inputStream,
+                                                   Metadata metadata)
+            throws IOException {
         // https://tika.apache.org/1.1/detection.html
-        AutoDetectParser parser = new AutoDetectParser();
-        Detector detector = parser.getDetector();
-
-        org.apache.tika.mime.MediaType mediaType = detector.detect(
-                inputStream, new Metadata());
-        types.add(new MediaType(mediaType.toString()));
-
-        return types;
+        org.apache.tika.mime.MediaType mediaType =
+                TikaDetectorHolder.DETECTOR.detect(inputStream, metadata);
+        return List.of(new MediaType(mediaType.toString()));
     }
 
     /**
@@ -0,0 +1,224 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.image.Dimension;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.image.Metadata;
+import edu.illinois.library.cantaloupe.operation.ColorTransform;
+import edu.illinois.library.cantaloupe.operation.Crop;
+import edu.illinois.library.cantaloupe.operation.Operation;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.ReductionFactor;
+import edu.illinois.library.cantaloupe.operation.Rotate;
+import edu.illinois.library.cantaloupe.operation.Scale;
+import edu.illinois.library.cantaloupe.operation.Sharpen;
+import edu.illinois.library.cantaloupe.operation.Transpose;
+import edu.illinois.library.cantaloupe.operation.overlay.Overlay;
+import edu.illinois.library.cantaloupe.operation.redaction.Redaction;
+import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
+import edu.illinois.library.cantaloupe.processor.resample.ResampleOp;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>Alternative to applying the operations in an {@link OperationList} one
+ * at a time, each in a separate pass over a new image, that needs at most two
+ * passes to get from a decoded image to a cropped, scaled, and right-angle
+ * rotated/transposed one:</p>
+ *
+ * <ol>
+ *     <li>The crop wraps the raster of the decoded image rather than copying
+ *     it;</li>
+ *     <li>The orientation correction and any {@link Transpose transpositions}
+ *     and right-angle {@link Rotate rotations} are combined into one {@link
+ *     OrthogonalTransform}, which is applied either after scaling down or
+ *     before scaling up, whichever involves fewer pixels;</li>
+ *     <li>16-bit images are reduced to 8 bits by the resampler as it reads
+ *     them, when possible, rather than by copying them in full
+ *     beforehand.</li>
+ * </ol>
+ *
+ * <p>Color transforms, sharpening, and overlays are then applied in the same
+ * order as they appear in the operation list.</p>
+ *
+ * <p>Only operation lists whose results would be the same as those of {@link
+ * Java2DPostProcessor#postProcessSerially} can be {@link #compile compiled}.
+ * Those containing redactions, non-right-angle rotations, or geometric
+ * operations following pixel operations cannot.</p>
+ *
+ * @since 6.0
+ */
+final class FusedPipeline {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(FusedPipeline.class);
+
+    private final OperationList opList;
+    private final Dimension fullSize;
+
+    /**
+     * Crop to apply, or {@literal null}.
+     */
+    private Crop crop;
+
+    /**
+     * Scale to apply, or {@literal null}.
+     */
+    private Scale scale;
+
+    /**
+     * Transform preceding the {@link #scale} in the operation list, which
+     * determines the orientation in which its size is computed.
+     */
+    private OrthogonalTransform scaleTransform;
+
+    private OrthogonalTransform transform = OrthogonalTransform.IDENTITY;
+
+    /**
+     * Color transforms, sharpens, and overlays, in application order.
+     */
+    private final List<Operation> pixelOps = new ArrayList<>();
+
+    /**
+     * @param opList      Operations to apply.
+     * @param info        Information about the source image.
+     * @param readerHints Hints from the image reader.
+     * @return            New instance, or {@literal null} if the given
+     *                    operations can't be fused.
+     */
+    static FusedPipeline compile(OperationList opList,
+                                 Info info,
+                                 Set<ReaderHint> readerHints) {
+        final FusedPipeline pipeline = new FusedPipeline(opList, info);
+
+        if (!readerHints.contains(ReaderHint.ALREADY_ORIENTED)) {
+            final Metadata metadata = info.getMetadata();
+            if (metadata != null) {
+                pipeline.transform = pipeline.transform.rotate(
+                        metadata.getOrientation());
+            }
+        }
+
+        for (Operation op : opList) {
+            if (!op.hasEffect(pipeline.fullSize, opList)) {
+                continue;
+            }
+            if (op instanceof Crop) {
+                if (pipeline.crop != null) {
+                    return null;
+                }
+                if (!readerHints.contains(ReaderHint.ALREADY_CROPPED)) {
+                    pipeline.crop = (Crop) op;
+                }
+            } else if (op instanceof Redaction) {
+                return null;
+            } else if (op instanceof Scale) {
+                if (pipeline.scale != null || !pipeline.pixelOps.isEmpty()) {
+                    return null;
+                }
+                pipeline.scale          = (Scale) op;
+                pipeline.scaleTransform = pipeline.transform;
+            } else if (op instanceof Transpose) {
+                if (!pipeline.pixelOps.isEmpty()) {
+                    return null;
+                }
+                pipeline.transform =
+                        pipeline.transform.transpose((Transpose) op);
+            } else if (op instanceof Rotate) {
+                final int quarterTurns =
+                        OrthogonalTransform.quarterTurns((Rotate) op);
+                if (quarterTurns < 0 || !pipeline.pixelOps.isEmpty()) {
+                    return null;
+                }
+                pipeline.transform = pipeline.transform.rotate(quarterTurns);
+            } else if (op instanceof ColorTransform ||
+                    op instanceof Sharpen ||
+                    op instanceof Overlay) {
+                pipeline.pixelOps.add(op);
+            }
+        }
+        return pipeline;
+    }
+
+    private FusedPipeline(OperationList opList, Info info) {
+        this.opList   = opList;
+        this.fullSize = info.getSize();
+    }
+
+    /**
+     * @param image           Image to process.
+     * @param reductionFactor Reduction factor that has already been applied
+     *                        to {@literal image}.
+     * @return                Processed image, which may be the input image.
+     */
+    BufferedImage apply(BufferedImage image,
+                        ReductionFactor reductionFactor) {
+        final Stopwatch watch = new Stopwatch();
+
+        if (crop != null) {
+            image = Java2DUtil.crop(image, crop, reductionFactor,
+                    opList.getScaleConstraint(), false);
+        }
+
+        // The size of the scaled image is computed in the orientation of the
+        // image at the point in the operation list at which the scale
+        // appears, and then translated back to the orientation of the
+        // decoded image. (All of the transforms are their own inverses as far
+        // as dimensions are concerned.)
+        final Dimension size = new Dimension(
+                image.getWidth(), image.getHeight());
+        Dimension targetSize = null;
+        boolean isLinear = false;
+        if (scale != null) {
+            targetSize = scaleTransform.apply(scale.getResultingSize(
+                    scaleTransform.apply(size), reductionFactor,
+                    opList.getScaleConstraint()));
+            isLinear = scale.isLinear() &&
+                    !scale.isUp(fullSize, opList.getScaleConstraint());
+        }
+        final boolean isScaledFirst = targetSize != null &&
+                targetSize.width() * targetSize.height() <
+                        size.width() * size.height();
+
+        if (!isScaledFirst || isLinear ||
+                !ResampleOp.supports16BitSamples(image)) {
+            image = Java2DUtil.reduceTo8Bits(image);
+        }
+        if (isScaledFirst) {
+            image = Java2DUtil.scale(image, targetSize, scale.getFilter(),
+                    isLinear);
+            image = transform.apply(image);
+        } else {
+            image = transform.apply(image);
+            if (targetSize != null) {
+                image = Java2DUtil.scale(image, transform.apply(targetSize),
+                        scale.getFilter(), isLinear);
+            }
+        }
+
+        for (Operation op : pixelOps) {
+            if (op instanceof ColorTransform) {
+                image = Java2DUtil.transformColor(image, (ColorTransform) op);
+            } else if (op instanceof Sharpen) {
+                image = Java2DUtil.sharpen(image, (Sharpen) op);
+            } else if (op instanceof Overlay) {
+                Java2DUtil.applyOverlay(image, (Overlay) op);
+            }
+        }
+        LOGGER.trace("apply(): applied {} ({} first) in {}", this,
+                isScaledFirst ? "scale" : "transform", watch);
+        return image;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("crop: %s; scale: %s; transform: %s; then: %s",
+                crop, scale, transform, pixelOps);
+    }
+
+}
@@ -0,0 +1,664 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.async.BandTask;
+
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+/**
+ * <p>Color and sharpening filters that read and write the arrays backing
+ * {@link BufferedImage}s directly, in bands of rows on the {@link
+ * edu.illinois.library.cantaloupe.async.ThreadPool#getComputePool() compute
+ * pool}.</p>
+ *
+ * <p>The filters operate on rows of 8-bit ARGB pixels&mdash;the same values
+ * that {@link BufferedImage#getRGB(int, int)} and {@link
+ * BufferedImage#setRGB(int, int, int)} would read and write. These are
+ * transferred directly from and to the backing arrays of the most common
+ * raster layouts:</p>
+ *
+ * <ul>
+ *     <li>8-bit RGB(A) components packed into {@literal int}s, as in {@link
+ *     BufferedImage#TYPE_INT_RGB}, {@link BufferedImage#TYPE_INT_ARGB}, and
+ *     {@link BufferedImage#TYPE_INT_BGR};</li>
+ *     <li>8-bit interleaved RGB(A) samples in any order, as in {@link
+ *     BufferedImage#TYPE_3BYTE_BGR} and {@link
+ *     BufferedImage#TYPE_4BYTE_ABGR};</li>
+ *     <li>8-bit interleaved gray samples, with or without alpha, as in {@link
+ *     BufferedImage#TYPE_BYTE_GRAY}.</li>
+ * </ul>
+ *
+ * <p>Images with other layouts are read and written via {@link
+ * BufferedImage#getRGB(int, int, int, int, int[], int, int)} and {@link
+ * BufferedImage#setRGB(int, int, int, int, int[], int, int)} in the calling
+ * thread.</p>
+ *
+ * @since 6.0
+ */
+public final class Java2DFilters {
+
+    /**
+     * Reads and writes rows of ARGB pixels from and to an image.
+     */
+    private abstract static class RowAccess {
+
+        final int width, height;
+
+        static RowAccess of(BufferedImage image) {
+            final WritableRaster raster = image.getRaster();
+            final ColorModel cm         = image.getColorModel();
+            final SampleModel sm        = raster.getSampleModel();
+            final DataBuffer db         = raster.getDataBuffer();
+            if (cm.isAlphaPremultiplied() || db.getNumBanks() != 1) {
+                return new ImageRowAccess(image);
+            }
+            if (cm instanceof DirectColorModel &&
+                    sm instanceof SinglePixelPackedSampleModel &&
+                    db instanceof DataBufferInt &&
+                    cm.getColorSpace().isCS_sRGB()) {
+                final DirectColorModel dcm = (DirectColorModel) cm;
+                if (is8BitMask(dcm.getRedMask()) &&
+                        is8BitMask(dcm.getGreenMask()) &&
+                        is8BitMask(dcm.getBlueMask()) &&
+                        (!dcm.hasAlpha() || is8BitMask(dcm.getAlphaMask()))) {
+                    return new PackedIntRowAccess(image);
+                }
+            } else if (cm instanceof ComponentColorModel &&
+                    sm instanceof ComponentSampleModel &&
+                    db instanceof DataBufferByte &&
+                    is8Bit(cm)) {
+                final ColorSpace cs = cm.getColorSpace();
+                if (cs.isCS_sRGB() || (cm.getNumColorComponents() == 1 &&
+                        cs.getType() == ColorSpace.TYPE_GRAY)) {
+                    return new InterleavedByteRowAccess(image);
+                }
+            }
+            return new ImageRowAccess(image);
+        }
+
+        private static boolean is8BitMask(int mask) {
+            return mask != 0 &&
+                    mask >>> Integer.numberOfTrailingZeros(mask) == 0xff;
+        }
+
+        private static boolean is8Bit(ColorModel cm) {
+            for (int size : cm.getComponentSize()) {
+                if (size != 8) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        RowAccess(BufferedImage image) {
+            this.width  = image.getWidth();
+            this.height = image.getHeight();
+        }
+
+        /**
+         * @return Whether different rows can be read and written
+         *         concurrently.
+         */
+        boolean isConcurrent() {
+            return true;
+        }
+
+        /**
+         * Reads the row at the given index into the given array.
+         */
+        abstract void read(int y, int[] argb);
+
+        /**
+         * Writes the given array to the row at the given index.
+         */
+        abstract void write(int y, int[] argb);
+
+    }
+
+    /**
+     * Accesses images of any layout through their public API.
+     */
+    private static final class ImageRowAccess extends RowAccess {
+
+        private final BufferedImage image;
+
+        ImageRowAccess(BufferedImage image) {
+            super(image);
+            this.image = image;
+        }
+
+        @Override
+        boolean isConcurrent() {
+            return false;
+        }
+
+        @Override
+        void read(int y, int[] argb) {
+            image.getRGB(0, y, width, 1, argb, 0, width);
+        }
+
+        @Override
+        void write(int y, int[] argb) {
+            image.setRGB(0, y, width, 1, argb, 0, width);
+        }
+
+    }
+
+    /**
+     * Accesses images whose 8-bit components are packed into {@literal
+     * int}s.
+     */
+    private static final class PackedIntRowAccess extends RowAccess {
+
+        private final int[] data;
+        private final int offset, scanlineStride;
+        private final int redShift, greenShift, blueShift, alphaShift;
+        private final boolean hasAlpha;
+
+        PackedIntRowAccess(BufferedImage image) {
+            super(image);
+            final WritableRaster raster = image.getRaster();
+            final SinglePixelPackedSampleModel sm =
+                    (SinglePixelPackedSampleModel) raster.getSampleModel();
+            final DirectColorModel cm = (DirectColorModel) image.getColorModel();
+            final DataBufferInt db    = (DataBufferInt) raster.getDataBuffer();
+            this.data           = db.getData();
+            this.scanlineStride = sm.getScanlineStride();
+            this.offset         = db.getOffset() + sm.getOffset(
+                    -raster.getSampleModelTranslateX(),
+                    -raster.getSampleModelTranslateY());
+            this.redShift       = Integer.numberOfTrailingZeros(cm.getRedMask());
+            this.greenShift     = Integer.numberOfTrailingZeros(cm.getGreenMask());
+            this.blueShift      = Integer.numberOfTrailingZeros(cm.getBlueMask());
+            this.hasAlpha       = cm.hasAlpha();
+            this.alphaShift     = hasAlpha ?
+                    Integer.numberOfTrailingZeros(cm.getAlphaMask()) : 0;
+        }
+
+        @Override
+        void read(int y, int[] argb) {
+            final int start = offset + y * scanlineStride;
+            for (int x = 0; x < width; x++) {
+                final int p = data[start + x];
+                final int a = hasAlpha ? (p >>> alphaShift) & 0xff : 0xff;
+                argb[x] = a << 24 |
+                        ((p >>> redShift) & 0xff) << 16 |
+                        ((p >>> greenShift) & 0xff) << 8 |
+                        ((p >>> blueShift) & 0xff);
+            }
+        }
+
+        @Override
+        void write(int y, int[] argb) {
+            final int start = offset + y * scanlineStride;
+            for (int x = 0; x < width; x++) {
+                final int p = argb[x];
+                int v = ((p >>> 16) & 0xff) << redShift |
+                        ((p >>> 8) & 0xff) << greenShift |
+                        (p & 0xff) << blueShift;
+                if (hasAlpha) {
+                    v |= (p >>> 24) << alphaShift;
+                }
+                data[start + x] = v;
+            }
+        }
+
+    }
+
+    /**
+     * Accesses images with interleaved 8-bit RGB(A) or gray(+alpha) samples.
+     * Gray samples are converted from and to sRGB via lookup tables computed
+     * by the color model, so that they match what the color model would
+     * compute. Rows written to gray images must be gray.
+     */
+    private static final class InterleavedByteRowAccess extends RowAccess {
+
+        private final byte[] data;
+        private final int offset, scanlineStride, pixelStride;
+        private final int redOffset, greenOffset, blueOffset, alphaOffset;
+        private final boolean hasAlpha;
+        /**
+         * Maps gray samples to sRGB values, and vice versa. {@code null} for
+         * RGB images.
+         */
+        private final int[] grayToRGB;
+        private final byte[] rgbToGray;
+
+        InterleavedByteRowAccess(BufferedImage image) {
+            super(image);
+            final WritableRaster raster = image.getRaster();
+            final ComponentSampleModel sm =
+                    (ComponentSampleModel) raster.getSampleModel();
+            final ColorModel cm     = image.getColorModel();
+            final DataBufferByte db = (DataBufferByte) raster.getDataBuffer();
+            final int[] bandOffsets = sm.getBandOffsets();
+            this.data           = db.getData();
+            this.scanlineStride = sm.getScanlineStride();
+            this.pixelStride    = sm.getPixelStride();
+            this.offset         = db.getOffset() +
+                    -raster.getSampleModelTranslateY() * scanlineStride +
+                    -raster.getSampleModelTranslateX() * pixelStride;
+            this.hasAlpha       = cm.hasAlpha();
+            if (cm.getNumColorComponents() == 1) {
+                redOffset = greenOffset = blueOffset = bandOffsets[0];
+                alphaOffset = hasAlpha ? bandOffsets[1] : 0;
+                grayToRGB   = new int[256];
+                rgbToGray   = new byte[256];
+                final byte[] pixel = new byte[cm.getNumComponents()];
+                Arrays.fill(pixel, (byte) 0xff);
+                for (int i = 0; i < 256; i++) {
+                    pixel[0]     = (byte) i;
+                    grayToRGB[i] = cm.getRGB(pixel) & 0xff;
+                    rgbToGray[i] = ((byte[]) cm.getDataElements(
+                            0xff000000 | i * 0x010101, null))[0];
+                }
+            } else {
+                redOffset   = bandOffsets[0];
+                greenOffset = bandOffsets[1];
+                blueOffset  = bandOffsets[2];
+                alphaOffset = hasAlpha ? bandOffsets[3] : 0;
+                grayToRGB   = null;
+                rgbToGray   = null;
+            }
+        }
+
+        @Override
+        void read(int y, int[] argb) {
+            int i = offset + y * scanlineStride;
+            if (grayToRGB != null) {
+                for (int x = 0; x < width; x++, i += pixelStride) {
+                    final int a = hasAlpha ? data[i + alphaOffset] & 0xff : 0xff;
+                    argb[x] = a << 24 |
+                            grayToRGB[data[i + redOffset] & 0xff] * 0x010101;
+                }
+            } else {
+                for (int x = 0; x < width; x++, i += pixelStride) {
+                    final int a = hasAlpha ? data[i + alphaOffset] & 0xff : 0xff;
+                    argb[x] = a << 24 |
+                            (data[i + redOffset] & 0xff) << 16 |
+                            (data[i + greenOffset] & 0xff) << 8 |
+                            (data[i + blueOffset] & 0xff);
+                }
+            }
+        }
+
+        @Override
+        void write(int y, int[] argb) {
+            int i = offset + y * scanlineStride;
+            if (rgbToGray != null) {
+                for (int x = 0; x < width; x++, i += pixelStride) {
+                    final int p = argb[x];
+                    data[i + redOffset] = rgbToGray[(p >>> 16) & 0xff];
+                    if (hasAlpha) {
+                        data[i + alphaOffset] = (byte) (p >>> 24);
+                    }
+                }
+            } else {
+                for (int x = 0; x < width; x++, i += pixelStride) {
+                    final int p = argb[x];
+                    data[i + redOffset]   = (byte) (p >>> 16);
+                    data[i + greenOffset] = (byte) (p >>> 8);
+                    data[i + blueOffset]  = (byte) p;
+                    if (hasAlpha) {
+                        data[i + alphaOffset] = (byte) (p >>> 24);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Target number of bytes of pixels that each band of rows spans.
+     */
+    private static final long BAND_BYTES = 256 * 1024;
+
+    /**
+     * Radius of the Gaussian blur used by {@link #unsharpMask}.
+     */
+    private static final float UNSHARP_RADIUS = 2f;
+
+    /**
+     * Minimum difference between a sample and its blurred value for the
+     * sample to be sharpened by {@link #unsharpMask}.
+     */
+    private static final int UNSHARP_THRESHOLD = 10;
+
+    private static final float[] UNSHARP_KERNEL =
+            newGaussianKernel(UNSHARP_RADIUS);
+
+    /**
+     * Binarizes the given image in place, using a threshold computed from its
+     * red components using {@link #otsuThreshold(int[]) Otsu's method}.
+     * The result is opaque.
+     *
+     * @param image Image to binarize.
+     * @see <a href="https://bostjan-cigan.com/java-image-binarization-using-otsus-algorithm/">
+     *     Java Image Binarization Using Otsu's Algorithm</a>
+     */
+    public static void binarize(BufferedImage image) {
+        final int threshold = otsuThreshold(histogram(image));
+        final RowAccess access = RowAccess.of(image);
+        forEachBand(access, (argb, start, end) -> {
+            for (int y = start; y < end; y++) {
+                access.read(y, argb);
+                for (int x = 0; x < argb.length; x++) {
+                    argb[x] = (((argb[x] >>> 16) & 0xff) > threshold) ?
+                            0xffffffff : 0xff000000;
+                }
+                access.write(y, argb);
+            }
+        });
+    }
+
+    /**
+     * Grayscales the given image in place. Alpha is preserved.
+     *
+     * @param image Image to grayscale.
+     */
+    public static void grayscale(BufferedImage image) {
+        final RowAccess access = RowAccess.of(image);
+        forEachBand(access, (argb, start, end) -> {
+            for (int y = start; y < end; y++) {
+                access.read(y, argb);
+                for (int x = 0; x < argb.length; x++) {
+                    final int p     = argb[x];
+                    final int red   = (p >> 16) & 0xff;
+                    final int green = (p >> 8) & 0xff;
+                    final int blue  = p & 0xff;
+                    final int luma  =
+                            (int) (0.21 * red + 0.71 * green + 0.07 * blue);
+                    argb[x] = (p & 0xff000000) | luma * 0x010101;
+                }
+                access.write(y, argb);
+            }
+        });
+    }
+
+    /**
+     * @param image Image to analyze.
+     * @return      256-element histogram of the red components of the given
+     *              image, which are equal to its gray values if it is
+     *              grayscale.
+     */
+    public static int[] histogram(BufferedImage image) {
+        final int[] histogram = new int[256];
+        final RowAccess access = RowAccess.of(image);
+        forEachBand(access, (argb, start, end) -> {
+            final int[] bandHistogram = new int[256];
+            for (int y = start; y < end; y++) {
+                access.read(y, argb);
+                for (int p : argb) {
+                    bandHistogram[(p >>> 16) & 0xff]++;
+                }
+            }
+            synchronized (histogram) {
+                for (int i = 0; i < 256; i++) {
+                    histogram[i] += bandHistogram[i];
+                }
+            }
+        });
+        return histogram;
+    }
+
+    /**
+     * @param histogram 256-element histogram.
+     * @return          Binary threshold using Otsu's method.
+     */
+    public static int otsuThreshold(int[] histogram) {
+        int total = 0;
+        float sum = 0;
+        for (int i = 0; i < 256; i++) {
+            total += histogram[i];
+            sum   += i * histogram[i];
+        }
+
+        float sumB = 0;
+        int wB = 0, wF;
+
+        float varMax = 0;
+        int threshold = 0;
+
+        for (int i = 0; i < 256; i++) {
+            wB += histogram[i];
+            if (wB == 0) {
+                continue;
+            }
+            wF = total - wB;
+
+            if (wF == 0) {
+                break;
+            }
+
+            sumB += (float) (i * histogram[i]);
+            float mB = sumB / wB;
+            float mF = (sum - sumB) / wF;
+
+            float varBetween = (float) wB * (float) wF * (mB - mF) * (mB - mF);
+
+            if (varBetween > varMax) {
+                varMax = varBetween;
+                threshold = i;
+            }
+        }
+        return threshold;
+    }
+
+    /**
+     * <p>Sharpens an image using an unsharp mask: each component of each
+     * pixel that differs sufficiently from the corresponding component of a
+     * Gaussian-blurred copy of the image has that difference amplified.</p>
+     *
+     * <p>The blur is separable, so it is computed in a horizontal pass into an
+     * intermediate buffer followed by a vertical pass, which is combined with
+     * the source image on the fly. Components are blurred with alpha
+     * premultiplied.</p>
+     *
+     * @param inImage Image to sharpen.
+     * @param amount  Amount of sharpening. Usable values are generally in the
+     *                range of {@literal 0-0.5}.
+     * @return        New sharpened image with the same type and color model
+     *                as the input image.
+     */
+    public static BufferedImage unsharpMask(BufferedImage inImage,
+                                            float amount) {
+        final int width  = inImage.getWidth();
+        final int height = inImage.getHeight();
+        final BufferedImage outImage =
+                Java2DUtil.newCompatibleImage(inImage, width, height);
+
+        final RowAccess inAccess  = RowAccess.of(inImage);
+        final RowAccess outAccess = RowAccess.of(outImage);
+        final int[] blurred       = new int[width * height];
+
+        final boolean isConcurrent =
+                inAccess.isConcurrent() && outAccess.isConcurrent();
+        forEachBand(isConcurrent, width, height, (argb, start, end) -> {
+            final int[] premultiplied = new int[width];
+            for (int y = start; y < end; y++) {
+                inAccess.read(y, argb);
+                premultiply(argb, premultiplied);
+                blurRow(premultiplied, blurred, y * width, width);
+            }
+        });
+
+        final float factor = 4 * amount + 1;
+        forEachBand(isConcurrent, width, height, (argb, start, end) -> {
+            final int[] rowOffsets = new int[UNSHARP_KERNEL.length];
+            final int radius = UNSHARP_KERNEL.length / 2;
+            for (int y = start; y < end; y++) {
+                for (int k = 0; k < rowOffsets.length; k++) {
+                    final int yy = Math.min(Math.max(y + k - radius, 0),
+                            height - 1);
+                    rowOffsets[k] = yy * width;
+                }
+                inAccess.read(y, argb);
+                for (int x = 0; x < width; x++) {
+                    final int blur = blurColumn(blurred, rowOffsets, x);
+                    final int p    = argb[x];
+                    argb[x] = (p & 0xff000000) |
+                            sharpen((p >>> 16) & 0xff, (blur >>> 16) & 0xff, factor) << 16 |
+                            sharpen((p >>> 8) & 0xff, (blur >>> 8) & 0xff, factor) << 8 |
+                            sharpen(p & 0xff, blur & 0xff, factor);
+                }
+                outAccess.write(y, argb);
+            }
+        });
+        return outImage;
+    }
+
+    /**
+     * Invokes the given body over bands of rows of the image accessed by the
+     * given instance, in parallel if possible.
+     */
+    private static void forEachBand(RowAccess access, BandBody body) {
+        forEachBand(access.isConcurrent(), access.width, access.height, body);
+    }
+
+    /**
+     * Invokes the given body over bands of rows of an image with the given
+     * dimensions, in parallel if {@literal isConcurrent} is {@code true}, and
+     * otherwise in the calling thread. Each band is given its own row array.
+     */
+    private static void forEachBand(boolean isConcurrent,
+                                    int width,
+                                    int height,
+                                    BandBody body) {
+        if (!isConcurrent) {
+            body.process(new int[width], 0, height);
+            return;
+        }
+        BandTask.invoke(height,
+                BandTask.grainFor(height, width * 4L, BAND_BYTES),
+                (start, end) -> body.process(new int[width], start, end));
+    }
+
+    @FunctionalInterface
+    private interface BandBody {
+        void process(int[] argb, int start, int end);
+    }
+
+    /**
+     * Premultiplies the components of the given ARGB pixels by their alpha.
+     */
+    private static void premultiply(int[] in, int[] out) {
+        for (int x = 0; x < in.length; x++) {
+            final int p = in[x];
+            final int a = p >>> 24;
+            int r = (p >> 16) & 0xff;
+            int g = (p >> 8) & 0xff;
+            int b = p & 0xff;
+            if (a != 0xff) {
+                final float f = a * (1f / 255f);
+                r *= f;
+                g *= f;
+                b *= f;
+            }
+            out[x] = a << 24 | r << 16 | g << 8 | b;
+        }
+    }
+
+    /**
+     * Blurs a row of premultiplied ARGB pixels horizontally into the given
+     * buffer.
+     */
+    private static void blurRow(int[] in, int[] out, int outOffset, int width) {
+        final float[] kernel = UNSHARP_KERNEL;
+        final int radius     = kernel.length / 2;
+        for (int x = 0; x < width; x++) {
+            float a = 0, r = 0, g = 0, b = 0;
+            for (int k = 0; k < kernel.length; k++) {
+                final int ix = Math.min(Math.max(x + k - radius, 0), width - 1);
+                final int p  = in[ix];
+                final float f = kernel[k];
+                a += f * (p >>> 24);
+                r += f * ((p >> 16) & 0xff);
+                g += f * ((p >> 8) & 0xff);
+                b += f * (p & 0xff);
+            }
+            out[outOffset + x] = clamp((int) (a + 0.5)) << 24 |
+                    clamp((int) (r + 0.5)) << 16 |
+                    clamp((int) (g + 0.5)) << 8 |
+                    clamp((int) (b + 0.5));
+        }
+    }
+
+    /**
+     * Blurs a column of the horizontally blurred buffer vertically, and
+     * un-premultiplies the result.
+     *
+     * @return Blurred non-premultiplied ARGB pixel.
+     */
+    private static int blurColumn(int[] in, int[] rowOffsets, int x) {
+        final float[] kernel = UNSHARP_KERNEL;
+        float a = 0, r = 0, g = 0, b = 0;
+        for (int k = 0; k < kernel.length; k++) {
+            final int p   = in[rowOffsets[k] + x];
+            final float f = kernel[k];
+            a += f * (p >>> 24);
+            r += f * ((p >> 16) & 0xff);
+            g += f * ((p >> 8) & 0xff);
+            b += f * (p & 0xff);
+        }
+        if (a != 0 && a != 255) {
+            final float f = 255f / a;
+            r *= f;
+            g *= f;
+            b *= f;
+        }
+        return clamp((int) (a + 0.5)) << 24 |
+                clamp((int) (r + 0.5)) << 16 |
+                clamp((int) (g + 0.5)) << 8 |
+                clamp((int) (b + 0.5));
+    }
+
+    private static int sharpen(int value, int blurredValue, float factor) {
+        if (Math.abs(value - blurredValue) >= UNSHARP_THRESHOLD) {
+            return clamp((int) (factor * (value - blurredValue) + blurredValue));
+        }
+        return value;
+    }
+
+    private static int clamp(int value) {
+        return (value < 0) ? 0 : Math.min(value, 255);
+    }
+
+    /**
+     * @return Normalized one-dimensional Gaussian kernel with a standard
+     *         deviation of one third of the given radius.
+     */
+    private static float[] newGaussianKernel(float radius) {
+        final int r          = (int) Math.ceil(radius);
+        final float[] kernel = new float[r * 2 + 1];
+        final float sigma    = radius / 3;
+        final float sigma22  = 2 * sigma * sigma;
+        final float sqrtSigmaPi2 = (float) Math.sqrt(2 * (float) Math.PI * sigma);
+        final float radius2  = radius * radius;
+        float total = 0;
+        for (int i = 0; i < kernel.length; i++) {
+            final float distance = (i - r) * (i - r);
+            if (distance <= radius2) {
+                kernel[i] = (float) Math.exp(-distance / sigma22) / sqrtSigmaPi2;
+            }
+            total += kernel[i];
+        }
+        for (int i = 0; i < kernel.length; i++) {
+            kernel[i] /= total;
+        }
+        return kernel;
+    }
+
+    private Java2DFilters() {}
+
+}
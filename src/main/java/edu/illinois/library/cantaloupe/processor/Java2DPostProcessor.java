@@ -51,9 +51,13 @@ final class Java2DPostProcessor {
             LoggerFactory.getLogger(Java2DPostProcessor.class);
 
     /**
-     * Can be used for all images but not {@link BufferedImageSequence image
-     * sequences}; for those, use {@link #postProcess(BufferedImageSequence,
-     * OperationList, Info)}.
+     * <p>Can be used for all images but not {@link BufferedImageSequence
+     * image sequences}; for those, use {@link
+     * #postProcess(BufferedImageSequence, OperationList, Info)}.</p>
+     *
+     * <p>Operation lists that can be {@link FusedPipeline#compile
+     * compiled} into a {@link FusedPipeline} are applied using it; others are
+     * {@link #postProcessSerially applied serially}.</p>
      *
      * @param image           Image to process.
      * @param readerHints     Hints from the image reader. May be
@@ -74,6 +78,31 @@ final class Java2DPostProcessor {
             readerHints = EnumSet.noneOf(ReaderHint.class);
         }
 
+        final FusedPipeline pipeline =
+                FusedPipeline.compile(opList, info, readerHints);
+        if (pipeline != null) {
+            return pipeline.apply(image, reductionFactor);
+        }
+        return postProcessSerially(image, readerHints, opList, info,
+                reductionFactor);
+    }
+
+    /**
+     * Applies the operations in the given list one at a time. This is the
+     * fallback for operation lists that {@link FusedPipeline} can't handle.
+     *
+     * @param image           Image to process.
+     * @param readerHints     Hints from the image reader.
+     * @param opList          Operations to apply to the image.
+     * @param info            Information about the source image.
+     * @param reductionFactor Reduction factor that has already been applied
+     *                        to {@literal image}.
+     */
+    static BufferedImage postProcessSerially(BufferedImage image,
+                                             Set<ReaderHint> readerHints,
+                                             OperationList opList,
+                                             Info info,
+                                             ReductionFactor reductionFactor) {
         image = Java2DUtil.reduceTo8Bits(image);
 
         final Dimension fullSize = info.getSize();
@@ -128,14 +157,8 @@ final class Java2DPostProcessor {
                 final Scale scale = (Scale) op;
                 final boolean isLinear = scale.isLinear() &&
                         !scale.isUp(fullSize, opList.getScaleConstraint());
-                if (isLinear) {
-                    image = Java2DUtil.convertColorToLinearRGB(image);
-                }
                 image = Java2DUtil.scale(image, scale,
                         opList.getScaleConstraint(), reductionFactor, isLinear);
-                if (isLinear) {
-                    image = Java2DUtil.convertColorToSRGB(image);
-                }
             } else if (op instanceof Transpose) {
                 image = Java2DUtil.transpose(image, (Transpose) op);
             } else if (op instanceof Rotate) {
@@ -804,6 +804,53 @@ public final class Java2DUtil {
         return new BufferedImage(colorModel, raster, isAlphaPremultiplied, null);
     }
 
+    /**
+     * @param opList   Operations to apply.
+     * @param fullSize Full source image size.
+     * @return         Whether the given operations will convert the image to
+     *                 grayscale, and don't include any overlays, which may be
+     *                 in color, so that the image might as well be decoded in
+     *                 grayscale to begin with.
+     */
+    static boolean isGrayResult(OperationList opList, Dimension fullSize) {
+        boolean isGray = false;
+        for (Operation op : opList) {
+            if (!op.hasEffect(fullSize, opList)) {
+                continue;
+            }
+            if (op instanceof Overlay) {
+                return false;
+            } else if (op instanceof ColorTransform) {
+                isGray = true;
+            }
+        }
+        return isGray;
+    }
+
+    /**
+     * @param image  Image whose type and color model to copy.
+     * @param width  Width of the new image.
+     * @param height Height of the new image.
+     * @return       New image of the given dimensions with the same type (for
+     *               the non-indexed standard types) or otherwise the same
+     *               color model as the given image.
+     */
+    static BufferedImage newCompatibleImage(final BufferedImage image,
+                                            final int width,
+                                            final int height) {
+        final int type = image.getType();
+        if (type != BufferedImage.TYPE_CUSTOM &&
+                type != BufferedImage.TYPE_BYTE_BINARY &&
+                type != BufferedImage.TYPE_BYTE_INDEXED) {
+            return new BufferedImage(width, height, type);
+        }
+        final ColorModel colorModel = image.getColorModel();
+        final WritableRaster raster =
+                colorModel.createCompatibleWritableRaster(width, height);
+        return new BufferedImage(colorModel, raster,
+                colorModel.isAlphaPremultiplied(), null);
+    }
+
     /**
      * Reduces an image's sample/component size to 8 bits if greater. This
      * involves copying it into a new {@link BufferedImage}, which is expensive.
@@ -887,12 +934,23 @@ public final class Java2DUtil {
      * @param inImage Image to rotate.
      * @param rotate  Rotate operation.
      * @return        Rotated image, or the input image if the given
-     *                rotation is a no-op.  The image has alpha.
+     *                rotation is a no-op. Right-angle rotations are performed
+     *                by {@link OrthogonalTransform} and preserve the type of
+     *                the image; other rotations produce an image with alpha.
      */
     static BufferedImage rotate(final BufferedImage inImage,
                                 final Rotate rotate) {
         BufferedImage outImage = inImage;
-        if (rotate.hasEffect()) {
+        final int quarterTurns = OrthogonalTransform.quarterTurns(rotate);
+        if (rotate.hasEffect() && quarterTurns >= 0) {
+            final Stopwatch watch = new Stopwatch();
+            outImage = OrthogonalTransform.IDENTITY.rotate(quarterTurns)
+                    .apply(inImage);
+            LOGGER.trace("rotate(): rotated {}x{} image by {} quarter turns " +
+                            "in {}",
+                    inImage.getWidth(), inImage.getHeight(), quarterTurns,
+                    watch);
+        } else if (rotate.hasEffect()) {
             final Stopwatch watch = new Stopwatch();
             final double radians = Math.toRadians(rotate.getDegrees());
             final int sourceWidth = inImage.getWidth();
@@ -972,8 +1030,13 @@ public final class Java2DUtil {
      * @param scaleConstraint Scale constraint.
      * @param reductionFactor Reduction factor that has already been applied to
      *                        {@literal inImage}.
-     * @param isLinear        Whether the provided image is in a linear color
-     *                        space.
+     * @param isLinear        Whether to scale in linear light. This is done
+     *                        using lookup tables within {@link ResampleOp}
+     *                        when {@link
+     *                        ResampleOp#supportsLinearLight(BufferedImage)
+     *                        possible}, and otherwise by converting the image
+     *                        to a linear color space and back. Either way, the
+     *                        scaled image is in the sRGB color space.
      * @return                Scaled image, or the input image if the given
      *                        arguments would result in a no-op.
      */
@@ -982,6 +1045,33 @@ public final class Java2DUtil {
                                final ScaleConstraint scaleConstraint,
                                final ReductionFactor reductionFactor,
                                final boolean isLinear) {
+        final Dimension sourceSize = new Dimension(
+                inImage.getWidth(), inImage.getHeight());
+        final Dimension targetSize = scale.getResultingSize(
+                sourceSize, reductionFactor, scaleConstraint);
+        return scale(inImage, targetSize, scale.getFilter(), isLinear);
+    }
+
+    /**
+     * <p>Scales an image to the given size.</p>
+     *
+     * <p>If one or both target dimensions would end up being less than three
+     * pixels, an empty image (with the correct dimensions) is returned.</p>
+     *
+     * @param inImage     Image to scale.
+     * @param targetSize  Size of the scaled image.
+     * @param scaleFilter Resample filter. If {@code null}, a default will be
+     *                    used.
+     * @param isLinear    Whether to scale in linear light.
+     * @return            Scaled image, or the input image if it already has
+     *                    the target size.
+     * @see #scale(BufferedImage, Scale, ScaleConstraint, ReductionFactor,
+     *      boolean)
+     */
+    static BufferedImage scale(BufferedImage inImage,
+                               final Dimension targetSize,
+                               final Scale.Filter scaleFilter,
+                               final boolean isLinear) {
         /*
         This method uses resampling code derived from
         com.mortennobel.imagescaling (see
@@ -1025,8 +1115,6 @@ public final class Java2DUtil {
 
         final Dimension sourceSize = new Dimension(
                 inImage.getWidth(), inImage.getHeight());
-        final Dimension targetSize = scale.getResultingSize(
-                sourceSize, reductionFactor, scaleConstraint);
 
         // ResampleFilter requires both target dimensions to be at least 3
         // pixels. (OpenSeadragon has been known to request smaller.)
@@ -1041,14 +1129,22 @@ public final class Java2DUtil {
             if (!targetSize.equals(sourceSize)) {
                 final Stopwatch watch = new Stopwatch();
 
+                final boolean isLinearLight =
+                        isLinear && ResampleOp.supportsLinearLight(inImage);
+                final boolean isColorConverted = isLinear && !isLinearLight;
+                if (isColorConverted) {
+                    inImage = convertColorToLinearRGB(inImage);
+                }
+
                 final ResampleOp resampleOp = new ResampleOp(
                         targetSize.intWidth(), targetSize.intHeight(),
-                        isLinear);
+                        isColorConverted);
+                resampleOp.setLinearLight(isLinearLight);
 
                 // Try to use the requested resample filter.
                 ResampleFilter filter = null;
-                if (scale.getFilter() != null) {
-                    filter = scale.getFilter().toResampleFilter();
+                if (scaleFilter != null) {
+                    filter = scaleFilter.toResampleFilter();
                 }
                 // No particular filter requested, so select a default.
                 if (filter == null) {
@@ -1062,12 +1158,16 @@ public final class Java2DUtil {
                 resampleOp.setFilter(filter);
 
                 scaledImage = resampleOp.filter(inImage, null);
+                if (isColorConverted) {
+                    scaledImage = convertColorToSRGB(scaledImage);
+                }
 
                 LOGGER.trace("scale(): scaled {}x{} image to {}x{} using " +
-                                "a {} filter in {}",
+                                "a {} filter{} in {}",
                         sourceSize.intWidth(), sourceSize.intHeight(),
                         targetSize.intWidth(), targetSize.intHeight(),
-                        filter.getName(), watch);
+                        filter.getName(), isLinear ? " in linear light" : "",
+                        watch);
             }
         } else {
             // Dummy image.
@@ -1091,10 +1191,8 @@ public final class Java2DUtil {
             if (inImage.getWidth() > 2 && inImage.getHeight() > 2) {
                 final Stopwatch watch = new Stopwatch();
 
-                final ResampleOp resampleOp = new ResampleOp(
-                        inImage.getWidth(), inImage.getHeight(), false);
-                resampleOp.setUnsharpenMask((float) sharpen.getAmount());
-                sharpenedImage = resampleOp.filter(inImage, null);
+                sharpenedImage = Java2DFilters.unsharpMask(
+                        inImage, (float) sharpen.getAmount());
 
                 LOGGER.trace("sharpen(): sharpened by {} in {}",
                         sharpen.getAmount(), watch);
@@ -1119,12 +1217,18 @@ public final class Java2DUtil {
 
         switch (colorTransform) {
             case GRAY:
+                // Images that were decoded in grayscale (see
+                // ReaderHint.DECODE_GRAY) are left as they are.
+                if (inImage.getColorModel().getColorSpace().getType() ==
+                        ColorSpace.TYPE_GRAY) {
+                    break;
+                }
                 outImage = convertIndexedToARGB(outImage);
-                grayscale(outImage);
+                Java2DFilters.grayscale(outImage);
                 break;
             case BITONAL:
                 outImage = convertIndexedToARGB(outImage);
-                binarize(outImage);
+                Java2DFilters.binarize(outImage);
                 break;
         }
         if (outImage != inImage) {
@@ -1134,128 +1238,17 @@ public final class Java2DUtil {
         return outImage;
     }
 
-    /**
-     * Grayscales the given image's pixels.
-     */
-    private static void grayscale(BufferedImage image) {
-        for (int y = 0; y < image.getHeight(); y++) {
-            for (int x = 0; x < image.getWidth(); x++) {
-                int argb  = image.getRGB(x, y);
-                int alpha = (argb >> 24) & 0xff;
-                int red   = (argb >> 16) & 0xff;
-                int green = (argb >> 8) & 0xff;
-                int blue  = argb & 0xff;
-                int luma  = (int) (0.21 * red + 0.71 * green + 0.07 * blue);
-                argb      = (alpha << 24) | (luma << 16) | (luma << 8) | luma;
-                image.setRGB(x, y, argb);
-            }
-        }
-    }
-
-    /**
-     * Binarizes the given image's pixels.
-     *
-     * @see <a href="https://bostjan-cigan.com/java-image-binarization-using-otsus-algorithm/">
-     *     Java Image Binarization Using Otsu's Algorithm</a>
-     */
-    private static void binarize(BufferedImage image) {
-        int red;
-        int newPixel;
-        int threshold = otsuThreshold(image);
-
-        for (int x = 0; x < image.getWidth(); x++) {
-            for (int y = 0; y < image.getHeight(); y++) {
-                red = new Color(image.getRGB(x, y)).getRed();
-                int alpha = new Color(image.getRGB(x, y)).getAlpha();
-                if (red > threshold) {
-                    newPixel = 255;
-                } else {
-                    newPixel = 0;
-                }
-                Color color = new Color(newPixel, newPixel, newPixel, alpha);
-                image.setRGB(x, y, color.getARGB());
-            }
-        }
-    }
-
-    /**
-     * @return Histogram of a grayscale image.
-     */
-    private static int[] histogram(BufferedImage input) {
-        int[] histogram = new int[256];
-        for (int x = 0; x < input.getWidth(); x++) {
-            for (int y = 0; y < input.getHeight(); y++) {
-                int red = new Color(input.getRGB(x, y)).getRed();
-                histogram[red]++;
-            }
-        }
-        return histogram;
-    }
-
-    /**
-     * @return Binary threshold using Otsu's method.
-     */
-    private static int otsuThreshold(BufferedImage image) {
-        int[] histogram = histogram(image);
-        int total = image.getHeight() * image.getWidth();
-
-        float sum = 0;
-        for (int i = 0; i < 256; i++) {
-            sum += i * histogram[i];
-        }
-
-        float sumB = 0;
-        int wB = 0, wF;
-
-        float varMax = 0;
-        int threshold = 0;
-
-        for (int i = 0; i < 256; i++) {
-            wB += histogram[i];
-            if (wB == 0) {
-                continue;
-            }
-            wF = total - wB;
-
-            if (wF == 0) {
-                break;
-            }
-
-            sumB += (float) (i * histogram[i]);
-            float mB = sumB / wB;
-            float mF = (sum - sumB) / wF;
-
-            float varBetween = (float) wB * (float) wF * (mB - mF) * (mB - mF);
-
-            if (varBetween > varMax) {
-                varMax = varBetween;
-                threshold = i;
-            }
-        }
-        return threshold;
-    }
-
     /**
      * @param inImage   Image to transpose.
      * @param transpose Operation to apply.
-     * @return          Transposed image.
+     * @return          New transposed image of the same type as the input
+     *                  image.
      */
     static BufferedImage transpose(final BufferedImage inImage,
                                    final Transpose transpose) {
         final Stopwatch watch = new Stopwatch();
-        AffineTransform tx = AffineTransform.getScaleInstance(-1, 1);
-        switch (transpose) {
-            case HORIZONTAL:
-                tx.translate(-inImage.getWidth(null), 0);
-                break;
-            case VERTICAL:
-                tx.translate(0, -inImage.getHeight(null));
-                break;
-        }
-        AffineTransformOp op = new AffineTransformOp(tx,
-                AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
-        BufferedImage outImage = op.filter(inImage, null);
-
+        final BufferedImage outImage = OrthogonalTransform.IDENTITY
+                .transpose(transpose).apply(inImage);
         LOGGER.trace("transpose(): executed in {}", watch);
         return outImage;
     }
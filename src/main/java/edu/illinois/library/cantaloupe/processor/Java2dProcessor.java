@@ -57,6 +57,9 @@ class Java2dProcessor extends AbstractImageIOProcessor
                 Crop crop          = (Crop) ops.getFirst(Crop.class);
                 Scale scale        = (Scale) ops.getFirst(Scale.class);
                 ScaleConstraint sc = ops.getScaleConstraint();
+                if (Java2DUtil.isGrayResult(ops, info.getSize())) {
+                    hints.add(ReaderHint.DECODE_GRAY);
+                }
 
                 BufferedImage image = reader.read(
                         ops.getPageIndex(), crop, scale, sc, rf, hints);
@@ -22,6 +22,7 @@ import edu.illinois.library.cantaloupe.processor.codec.ImageWriterFactory;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriterFacade;
 import edu.illinois.library.cantaloupe.processor.codec.jpeg2000.JPEG2000MetadataReader;
 import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
 import edu.illinois.library.cantaloupe.source.stream.BufferedImageInputStream;
 import edu.illinois.library.cantaloupe.util.CommandLocator;
 import org.apache.commons.io.IOUtils;
@@ -30,7 +31,6 @@ import org.apache.commons.lang3.SystemUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.imageio.stream.FileImageInputStream;
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
@@ -418,7 +418,7 @@ class OpenJpegProcessor extends AbstractProcessor implements FileProcessor {
 
         try (final JPEG2000MetadataReader reader = new JPEG2000MetadataReader()) {
             reader.setSource(new BufferedImageInputStream(
-                    new FileImageInputStream(getSourceFile().toFile())));
+                    new PathStreamFactory(getSourceFile()).newSeekableStream()));
 
             final Metadata metadata = new Metadata();
             byte[] bytes = reader.getEXIF();
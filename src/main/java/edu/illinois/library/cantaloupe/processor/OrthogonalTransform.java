@@ -0,0 +1,511 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.async.BandTask;
+import edu.illinois.library.cantaloupe.image.Dimension;
+import edu.illinois.library.cantaloupe.image.Orientation;
+import edu.illinois.library.cantaloupe.operation.Rotate;
+import edu.illinois.library.cantaloupe.operation.Transpose;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * <p>Any combination of right-angle rotations and mirrorings, which is
+ * equivalent to an optional horizontal flip followed by zero to three
+ * clockwise quarter turns. Any sequence of {@link Orientation orientation}
+ * corrections, {@link Transpose transpositions}, and right-angle {@link
+ * Rotate rotations} can therefore be applied to an image in one pass, without
+ * interpolation.</p>
+ *
+ * <p>Instances are immutable.</p>
+ *
+ * @since 6.0
+ */
+final class OrthogonalTransform {
+
+    /**
+     * Location and layout of the pixels of a {@link Raster} within its
+     * backing array, for rasters in which each pixel occupies {@link
+     * #pixelStride} adjacent elements of a single array.
+     */
+    private static final class PixelArray {
+
+        private Object data;
+        private int dataType;
+        private int offset, scanlineStride, pixelStride;
+
+        /**
+         * Band offsets or bit masks, which must be the same in order for
+         * pixels to be copied between two arrays.
+         */
+        private int[] layout;
+
+        /**
+         * @return New instance, or {@literal null} if the pixels of the given
+         *         raster can't be accessed directly.
+         */
+        static PixelArray of(Raster raster) {
+            final DataBuffer db = raster.getDataBuffer();
+            if (db.getNumBanks() != 1) {
+                return null;
+            }
+            final PixelArray array = new PixelArray();
+            if (db instanceof DataBufferByte) {
+                array.data = ((DataBufferByte) db).getData();
+            } else if (db instanceof DataBufferUShort) {
+                array.data = ((DataBufferUShort) db).getData();
+            } else if (db instanceof DataBufferInt) {
+                array.data = ((DataBufferInt) db).getData();
+            } else {
+                return null;
+            }
+            array.dataType = db.getDataType();
+
+            final SampleModel sm = raster.getSampleModel();
+            if (sm instanceof SinglePixelPackedSampleModel) {
+                final SinglePixelPackedSampleModel sppsm =
+                        (SinglePixelPackedSampleModel) sm;
+                array.scanlineStride = sppsm.getScanlineStride();
+                array.pixelStride    = 1;
+                array.layout         = sppsm.getBitMasks();
+            } else if (sm instanceof ComponentSampleModel) {
+                final ComponentSampleModel csm = (ComponentSampleModel) sm;
+                array.scanlineStride = csm.getScanlineStride();
+                array.pixelStride    = csm.getPixelStride();
+                array.layout         = csm.getBandOffsets();
+                for (int bandOffset : array.layout) {
+                    if (bandOffset < 0 || bandOffset >= array.pixelStride) {
+                        return null;
+                    }
+                }
+            } else {
+                return null;
+            }
+            // The sample model translation is nonzero for child rasters, such
+            // as those of virtually cropped images.
+            array.offset = db.getOffset() -
+                    raster.getSampleModelTranslateY() * array.scanlineStride -
+                    raster.getSampleModelTranslateX() * array.pixelStride;
+            return array;
+        }
+
+        boolean isCompatible(PixelArray other) {
+            return other != null &&
+                    dataType == other.dataType &&
+                    pixelStride == other.pixelStride &&
+                    Arrays.equals(layout, other.layout);
+        }
+
+    }
+
+    /**
+     * Copies pixels from one array to another in blocks, where each output
+     * row is read from the source starting at {@link #srcStart} plus the row
+     * index times {@link #srcRowStep}, and advancing {@link #srcColStep}
+     * elements per pixel.
+     */
+    private static final class Kernel {
+
+        private Object src, dst;
+        private int pixelStride;
+        private int srcStart, srcColStep, srcRowStep;
+        private int dstStart, dstRowStep;
+        private int width, blockSize;
+
+        /**
+         * Copies output rows {@literal startRow} (inclusive) to {@literal
+         * endRow} (exclusive).
+         */
+        void copy(int startRow, int endRow) {
+            if (src instanceof byte[]) {
+                copy((byte[]) src, (byte[]) dst, startRow, endRow);
+            } else if (src instanceof short[]) {
+                copy((short[]) src, (short[]) dst, startRow, endRow);
+            } else {
+                copy((int[]) src, (int[]) dst, startRow, endRow);
+            }
+        }
+
+        private void copy(byte[] src, byte[] dst, int startRow, int endRow) {
+            for (int blockY = startRow; blockY < endRow; blockY += blockSize) {
+                final int blockEndY = Math.min(blockY + blockSize, endRow);
+                for (int blockX = 0; blockX < width; blockX += blockSize) {
+                    final int blockWidth = Math.min(blockSize, width - blockX);
+                    for (int y = blockY; y < blockEndY; y++) {
+                        int s = srcStart + y * srcRowStep + blockX * srcColStep;
+                        int d = dstStart + y * dstRowStep + blockX * pixelStride;
+                        if (srcColStep == pixelStride) {
+                            System.arraycopy(src, s, dst, d,
+                                    blockWidth * pixelStride);
+                        } else if (pixelStride == 1) {
+                            for (int x = 0; x < blockWidth; x++, s += srcColStep) {
+                                dst[d++] = src[s];
+                            }
+                        } else if (pixelStride == 3) {
+                            for (int x = 0; x < blockWidth; x++, s += srcColStep) {
+                                dst[d++] = src[s];
+                                dst[d++] = src[s + 1];
+                                dst[d++] = src[s + 2];
+                            }
+                        } else if (pixelStride == 4) {
+                            for (int x = 0; x < blockWidth; x++, s += srcColStep) {
+                                dst[d++] = src[s];
+                                dst[d++] = src[s + 1];
+                                dst[d++] = src[s + 2];
+                                dst[d++] = src[s + 3];
+                            }
+                        } else {
+                            for (int x = 0; x < blockWidth; x++, s += srcColStep) {
+                                for (int e = 0; e < pixelStride; e++) {
+                                    dst[d++] = src[s + e];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private void copy(short[] src, short[] dst, int startRow, int endRow) {
+            for (int blockY = startRow; blockY < endRow; blockY += blockSize) {
+                final int blockEndY = Math.min(blockY + blockSize, endRow);
+                for (int blockX = 0; blockX < width; blockX += blockSize) {
+                    final int blockWidth = Math.min(blockSize, width - blockX);
+                    for (int y = blockY; y < blockEndY; y++) {
+                        int s = srcStart + y * srcRowStep + blockX * srcColStep;
+                        int d = dstStart + y * dstRowStep + blockX * pixelStride;
+                        if (srcColStep == pixelStride) {
+                            System.arraycopy(src, s, dst, d,
+                                    blockWidth * pixelStride);
+                        } else {
+                            for (int x = 0; x < blockWidth; x++, s += srcColStep) {
+                                for (int e = 0; e < pixelStride; e++) {
+                                    dst[d++] = src[s + e];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private void copy(int[] src, int[] dst, int startRow, int endRow) {
+            for (int blockY = startRow; blockY < endRow; blockY += blockSize) {
+                final int blockEndY = Math.min(blockY + blockSize, endRow);
+                for (int blockX = 0; blockX < width; blockX += blockSize) {
+                    final int blockWidth = Math.min(blockSize, width - blockX);
+                    for (int y = blockY; y < blockEndY; y++) {
+                        int s = srcStart + y * srcRowStep + blockX * srcColStep;
+                        int d = dstStart + y * dstRowStep + blockX * pixelStride;
+                        if (srcColStep == pixelStride) {
+                            System.arraycopy(src, s, dst, d,
+                                    blockWidth * pixelStride);
+                        } else if (pixelStride == 1) {
+                            for (int x = 0; x < blockWidth; x++, s += srcColStep) {
+                                dst[d++] = src[s];
+                            }
+                        } else {
+                            for (int x = 0; x < blockWidth; x++, s += srcColStep) {
+                                for (int e = 0; e < pixelStride; e++) {
+                                    dst[d++] = src[s + e];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+    static final OrthogonalTransform IDENTITY =
+            new OrthogonalTransform(0, false);
+
+    /**
+     * Side length, in pixels, of the square blocks in which pixels are copied
+     * when the transform swaps dimensions.
+     */
+    private static final int BLOCK_SIZE = 64;
+
+    /**
+     * Target number of bytes of output that each band of rows spans.
+     */
+    private static final long BAND_BYTES = 256 * 1024;
+
+    private static final double ORTHOGONAL_TOLERANCE = 0.0001;
+
+    private final int quarterTurns;
+    private final boolean isFlipped;
+
+    /**
+     * @param rotate Rotation.
+     * @return       Number of clockwise quarter turns ({@literal 0-3})
+     *               equivalent to the given rotation, or {@literal -1} if it
+     *               is not a multiple of 90 degrees.
+     */
+    static int quarterTurns(Rotate rotate) {
+        final double turns = rotate.getDegrees() / 90.0;
+        final long rounded = Math.round(turns);
+        if (Math.abs(turns - rounded) * 90 > ORTHOGONAL_TOLERANCE) {
+            return -1;
+        }
+        return (int) Math.floorMod(rounded, 4);
+    }
+
+    private OrthogonalTransform(int quarterTurns, boolean isFlipped) {
+        this.quarterTurns = Math.floorMod(quarterTurns, 4);
+        this.isFlipped    = isFlipped;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (obj instanceof OrthogonalTransform) {
+            OrthogonalTransform other = (OrthogonalTransform) obj;
+            return quarterTurns == other.quarterTurns &&
+                    isFlipped == other.isFlipped;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return quarterTurns * 2 + (isFlipped ? 1 : 0);
+    }
+
+    /**
+     * @return Number of clockwise quarter turns applied after the optional
+     *         flip.
+     */
+    int getQuarterTurns() {
+        return quarterTurns;
+    }
+
+    /**
+     * @return Whether the transform begins with a horizontal flip.
+     */
+    boolean isFlipped() {
+        return isFlipped;
+    }
+
+    boolean isIdentity() {
+        return quarterTurns == 0 && !isFlipped;
+    }
+
+    /**
+     * @return Whether the transform swaps the width and height of an image.
+     */
+    boolean swapsDimensions() {
+        return quarterTurns % 2 == 1;
+    }
+
+    /**
+     * @return New instance that applies this transform followed by the given
+     *         number of clockwise quarter turns.
+     */
+    OrthogonalTransform rotate(int quarterTurns) {
+        return new OrthogonalTransform(this.quarterTurns + quarterTurns,
+                isFlipped);
+    }
+
+    /**
+     * @return New instance that applies this transform followed by the
+     *         rotation that corrects the given orientation.
+     */
+    OrthogonalTransform rotate(Orientation orientation) {
+        return rotate(orientation.getDegrees() / 90);
+    }
+
+    /**
+     * @return New instance that applies this transform followed by the given
+     *         transposition.
+     */
+    OrthogonalTransform transpose(Transpose transpose) {
+        // A horizontal flip after n quarter turns is equivalent to a flip
+        // before -n quarter turns. A vertical flip is a horizontal flip plus a
+        // half turn.
+        final int extraTurns = (transpose == Transpose.VERTICAL) ? 2 : 0;
+        return new OrthogonalTransform(extraTurns - quarterTurns, !isFlipped);
+    }
+
+    /**
+     * @param size Size of an image.
+     * @return     Size of the image after the transform has been applied.
+     */
+    Dimension apply(Dimension size) {
+        return swapsDimensions() ?
+                new Dimension(size.height(), size.width()) :
+                new Dimension(size);
+    }
+
+    /**
+     * <p>Transforms an image. The pixels of the most common raster
+     * layouts&mdash;those in which each pixel occupies one or more adjacent
+     * elements of a single byte, short, or int array&mdash;are copied
+     * directly between the arrays backing the input and output images, in
+     * parallel bands of output rows. When the transform swaps dimensions, the
+     * bands are further divided into square blocks, so that the source
+     * columns read into each block of output rows stay in cache. Other
+     * layouts are transformed row by row via {@link Raster}.</p>
+     *
+     * <p>The input image may be a {@link BufferedImage#getSubimage(int, int,
+     * int, int) virtually cropped} image, in which case only the cropped
+     * region is read.</p>
+     *
+     * @param inImage Image to transform.
+     * @return        New transformed image with the same type and color model
+     *                as the input image, or the input image if the instance
+     *                is the {@link #isIdentity() identity}.
+     */
+    BufferedImage apply(BufferedImage inImage) {
+        if (isIdentity()) {
+            return inImage;
+        }
+        final int width  = inImage.getWidth();
+        final int height = inImage.getHeight();
+        final BufferedImage outImage = swapsDimensions() ?
+                Java2DUtil.newCompatibleImage(inImage, height, width) :
+                Java2DUtil.newCompatibleImage(inImage, width, height);
+
+        final PixelArray inArray  = PixelArray.of(inImage.getRaster());
+        final PixelArray outArray = PixelArray.of(outImage.getRaster());
+        if (inArray != null && inArray.isCompatible(outArray)) {
+            transformArray(inArray, outArray, width, height);
+        } else {
+            transformRaster(inImage.getRaster(), outImage.getRaster(),
+                    width, height);
+        }
+        return outImage;
+    }
+
+    /**
+     * Copies pixels directly between the backing arrays of two rasters.
+     * Each output row is read from the source starting at a given element,
+     * stepping a constant number of elements per pixel, which for an even
+     * number of quarter turns is along a source row, and for an odd number
+     * is along a source column.
+     */
+    private void transformArray(final PixelArray in,
+                                final PixelArray out,
+                                final int width,
+                                final int height) {
+        // Source coordinates of output pixel (ox, oy), before the flip, are:
+        // x1 = ax + bx * ox + cx * oy
+        // y1 = ay + by * ox + cy * oy
+        int ax, bx, cx, ay, by, cy;
+        switch (quarterTurns) {
+            case 0:
+                ax = 0;          bx = 1;  cx = 0;
+                ay = 0;          by = 0;  cy = 1;
+                break;
+            case 1:
+                ax = 0;          bx = 0;  cx = 1;
+                ay = height - 1; by = -1; cy = 0;
+                break;
+            case 2:
+                ax = width - 1;  bx = -1; cx = 0;
+                ay = height - 1; by = 0;  cy = -1;
+                break;
+            default:
+                ax = width - 1;  bx = 0;  cx = -1;
+                ay = 0;          by = 1;  cy = 0;
+                break;
+        }
+        if (isFlipped) {
+            ax = width - 1 - ax;
+            bx = -bx;
+            cx = -cx;
+        }
+        final int pixelStride = in.pixelStride;
+        final Kernel kernel   = new Kernel();
+        kernel.src            = in.data;
+        kernel.dst            = out.data;
+        kernel.pixelStride    = pixelStride;
+        kernel.srcStart       = in.offset + ay * in.scanlineStride +
+                ax * pixelStride;
+        kernel.srcColStep     = by * in.scanlineStride + bx * pixelStride;
+        kernel.srcRowStep     = cy * in.scanlineStride + cx * pixelStride;
+        kernel.dstStart       = out.offset;
+        kernel.dstRowStep     = out.scanlineStride;
+        kernel.width          = swapsDimensions() ? height : width;
+        kernel.blockSize      = swapsDimensions() ?
+                BLOCK_SIZE : kernel.width;
+
+        final int outHeight = swapsDimensions() ? width : height;
+        final long rowBytes = (long) kernel.width * pixelStride *
+                DataBuffer.getDataTypeSize(in.dataType) / 8;
+        BandTask.invoke(outHeight,
+                BandTask.grainFor(outHeight, rowBytes, BAND_BYTES),
+                kernel::copy);
+    }
+
+    /**
+     * Fallback for rasters whose pixels can't be copied directly between
+     * arrays. Each source row becomes a row (for even numbers of quarter
+     * turns) or a column (for odd numbers) of the output, in either the same
+     * or reverse order.
+     */
+    private void transformRaster(final Raster inRaster,
+                                 final WritableRaster outRaster,
+                                 final int width,
+                                 final int height) {
+        final int numElements = inRaster.getNumDataElements();
+        final boolean isReversed = (quarterTurns == 0 || quarterTurns == 1) ?
+                isFlipped : !isFlipped;
+        Object row = null;
+        for (int y = 0; y < height; y++) {
+            row = inRaster.getDataElements(0, y, width, 1, row);
+            if (isReversed) {
+                reversePixels(row, width, numElements);
+            }
+            switch (quarterTurns) {
+                case 0:
+                    outRaster.setDataElements(0, y, width, 1, row);
+                    break;
+                case 1:
+                    outRaster.setDataElements(height - 1 - y, 0, 1, width, row);
+                    break;
+                case 2:
+                    outRaster.setDataElements(0, height - 1 - y, width, 1, row);
+                    break;
+                default:
+                    outRaster.setDataElements(y, 0, 1, width, row);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Reverses the order of the pixels in the given data element array, each
+     * of which consists of {@literal numElements} elements.
+     */
+    private static void reversePixels(Object array,
+                                      int numPixels,
+                                      int numElements) {
+        final Object pixel = Array.newInstance(
+                array.getClass().getComponentType(), numElements);
+        for (int i = 0, j = numPixels - 1; i < j; i++, j--) {
+            final int a = i * numElements, b = j * numElements;
+            System.arraycopy(array, a, pixel, 0, numElements);
+            System.arraycopy(array, b, array, a, numElements);
+            System.arraycopy(pixel, 0, array, b, numElements);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (isFlipped ? "flip+" : "") + (quarterTurns * 90) + "deg";
+    }
+
+}
@@ -1,22 +1,31 @@
 package edu.illinois.library.cantaloupe.processor;
 
 import edu.illinois.library.cantaloupe.Application;
+import edu.illinois.library.cantaloupe.async.ThreadPool;
 import edu.illinois.library.cantaloupe.cache.CacheFactory;
 import edu.illinois.library.cantaloupe.cache.SourceCache;
 import edu.illinois.library.cantaloupe.cache.CacheDisabledException;
+import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.source.PathStreamFactory;
 import edu.illinois.library.cantaloupe.source.Source;
+import edu.illinois.library.cantaloupe.source.SourceFactory;
+import edu.illinois.library.cantaloupe.source.SourceStatCache;
+import edu.illinois.library.cantaloupe.source.StatResult;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.Future;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Establishes an optimal connection between a {@link Source} and a
@@ -27,6 +36,18 @@ public final class ProcessorConnector {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(ProcessorConnector.class);
 
+    private static final long DEFAULT_SPILL_THRESHOLD  = 4 * 1024 * 1024;
+    private static final long DEFAULT_SPILL_MAX_MEMORY = 256 * 1024 * 1024;
+
+    /**
+     * Set of identifiers of images that are currently being prefetched into
+     * the source cache in any thread.
+     *
+     * @see #connectForInfo
+     */
+    private static final Set<Identifier> PREFETCHING_IMAGES =
+            ConcurrentHashMap.newKeySet();
+
     /**
      * @return Strategy from the application configuration, or a default.
      */
@@ -45,10 +66,58 @@ public final class ProcessorConnector {
         return (s != null) ? s : RetrievalStrategy.STREAM;
     }
 
+    /**
+     * @return Number of times that each concrete strategy has been chosen by
+     *         {@link RetrievalStrategy#AUTO}, keyed by its configuration
+     *         value.
+     * @since 6.0
+     */
+    public static Map<String,Long> getAutoRetrievalDecisions() {
+        return RetrievalStrategySelector.getInstance().getDecisionCounts();
+    }
+
+    /**
+     * @return {@link Key#PROCESSOR_SPILL_THRESHOLD} from the application
+     *         configuration, or a default.
+     */
+    static long getSpillThreshold() {
+        return Configuration.getInstance().getLongBytes(
+                Key.PROCESSOR_SPILL_THRESHOLD, DEFAULT_SPILL_THRESHOLD);
+    }
+
+    /**
+     * @return {@link Key#PROCESSOR_SPILL_MAX_MEMORY} from the application
+     *         configuration, or a default.
+     */
+    private static long getSpillMaxMemory() {
+        return Configuration.getInstance().getLongBytes(
+                Key.PROCESSOR_SPILL_MAX_MEMORY, DEFAULT_SPILL_MAX_MEMORY);
+    }
+
+    /**
+     * @return Whether {@link Key#SOURCE_CACHE_PREFETCH} is enabled.
+     */
+    static boolean isPrefetchingEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.SOURCE_CACHE_PREFETCH, false);
+    }
+
+    /**
+     * @return Number of images currently being prefetched. For testing only.
+     */
+    static int getNumPrefetchingImages() {
+        return PREFETCHING_IMAGES.size();
+    }
+
     private static Path getTempFile(Format sourceFormat) {
+        return getTempFile(sourceFormat, RetrievalStrategy.DOWNLOAD);
+    }
+
+    private static Path getTempFile(Format sourceFormat,
+                                    RetrievalStrategy strategy) {
         return Application.getTempPath().resolve(
                 ProcessorConnector.class.getSimpleName() + "-" +
-                        RetrievalStrategy.DOWNLOAD + "-" +
+                        strategy + "-" +
                         UUID.randomUUID() + "." +
                         sourceFormat.getPreferredExtension());
     }
@@ -88,6 +157,19 @@ public final class ProcessorConnector {
      *                     will block all threads that are calling with the
      *                     same argument, forcing them to wait for it to
      *                     download.</li>
+     *                     <li>If it is set to {@link
+     *                     RetrievalStrategy#SPILL}, the source image will be
+     *                     downloaded into memory, or to a temp file if it is
+     *                     larger than {@link Key#PROCESSOR_SPILL_THRESHOLD},
+     *                     and the processor will read that.</li>
+     *                     <li>If it is set to {@link
+     *                     RetrievalStrategy#AUTO}, one of the above is chosen
+     *                     by a {@link RetrievalStrategySelector}.</li>
+     *                     <li>If it is set to {@link
+     *                     RetrievalStrategy#PROGRESSIVE}, the source image
+     *                     will be downloaded to a temp file (and to the source
+     *                     cache, if available), and the processor will begin
+     *                     reading it while it is still downloading.</li>
      *                 </ul>
      *             </li>
      *             <li>If the processor is <em>only</em> a {@link
@@ -110,9 +192,13 @@ public final class ProcessorConnector {
      *                         </ul>
      *                     </li>
      *                     <li>If it is set to {@link
-     *                     RetrievalStrategy#DOWNLOAD}, the source image will
-     *                     be downloaded to a temp file, and the processor will
+     *                     RetrievalStrategy#DOWNLOAD} or {@link
+     *                     RetrievalStrategy#SPILL}, the source image will be
+     *                     downloaded to a temp file, and the processor will
      *                     read that.</li>
+     *                     <li>If it is set to {@link RetrievalStrategy#AUTO},
+     *                     one of the above is chosen by a {@link
+     *                     RetrievalStrategySelector}.</li>
      *                     <li>Otherwise, an {@link IncompatibleSourceException}
      *                     will be thrown.</li>
      *                 </ul>
@@ -126,16 +212,19 @@ public final class ProcessorConnector {
      * @param source     Source to connect to the processor.
      * @param processor  Processor to connect to the source.
      * @param identifier Identifier of the source image.
-     * @return           Instance representing a download in progress. The
-     *                   client should delete the corresponding file when it is
+     * @return           Handle to a download that may be shared with other
+     *                   threads. The client must {@link
+     *                   SharedDownload#release() release} it when the file is
      *                   no longer needed. Will be non-{@literal null} only if
      *                   the current retrieval strategy is {@link
-     *                   RetrievalStrategy#DOWNLOAD}.
+     *                   RetrievalStrategy#DOWNLOAD}, {@link
+     *                   RetrievalStrategy#SPILL}, or {@link
+     *                   RetrievalStrategy#PROGRESSIVE}.
      */
-    public Future<Path> connect(Source source,
-                                Processor processor,
-                                Identifier identifier,
-                                Format sourceFormat) throws IOException,
+    public SharedDownload<?> connect(Source source,
+                                     Processor processor,
+                                     Identifier identifier,
+                                     Format sourceFormat) throws IOException,
             CacheDisabledException, IncompatibleSourceException,
             InterruptedException {
         final String sourceName    = source.getClass().getSimpleName();
@@ -155,17 +244,19 @@ public final class ProcessorConnector {
                         sourceName,
                         processorName);
                 ((StreamProcessor) processor).setStreamFactory(
-                        source.newStreamFactory());
+                        SourceFactory.newStreamFactory(source));
             }
         } else {
             // The source is a StreamSource.
-            StreamFactory streamFactory = source.newStreamFactory();
+            StreamFactory streamFactory = SourceFactory.newStreamFactory(source);
 
             // StreamSources and FileProcessors can't work together using
             // StreamStrategy, but they can using one of the other strategies.
             if (!(processor instanceof StreamProcessor)) {
-                switch (getFallbackRetrievalStrategy()) {
+                switch (resolveStrategy(getFallbackRetrievalStrategy(),
+                        source, processor, streamFactory, identifier)) {
                     case DOWNLOAD:
+                    case SPILL: // FileProcessors need a file
                         LOGGER.debug("Using {} to work around the " +
                                         "incompatibility of {} (which does " +
                                         "not support file access) and {} (a {})",
@@ -173,14 +264,11 @@ public final class ProcessorConnector {
                                 source.getClass().getSimpleName(),
                                 processor.getClass().getSimpleName(),
                                 FileProcessor.class.getSimpleName());
-                        TempFileDownload dl = new TempFileDownload(
-                                streamFactory, getTempFile(sourceFormat));
-                        dl.downloadSync();
-                        try {
-                            ((FileProcessor) processor).setSourceFile(dl.get());
-                        } catch (InterruptedException e) {
-                            throw new IOException(e);
-                        }
+                        SharedDownload<TempFileDownload> dl =
+                                downloadToTempFile(streamFactory,
+                                        identifier, sourceFormat);
+                        ((FileProcessor) processor).setSourceFile(
+                                getFile(dl));
                         return dl;
                     case CACHE:
                         SourceCache sourceCache = CacheFactory.getSourceCache()
@@ -201,8 +289,9 @@ public final class ProcessorConnector {
                         throw new IncompatibleSourceException(source, processor);
                 }
             } else {
-                final RetrievalStrategy strategy =
-                        getStreamProcessorRetrievalStrategy();
+                final RetrievalStrategy strategy = resolveStrategy(
+                        getStreamProcessorRetrievalStrategy(),
+                        source, processor, streamFactory, identifier);
                 if (RetrievalStrategy.STREAM.equals(strategy) ||
                         (streamFactory.isSeekingDirect() &&
                                 ((StreamProcessor) processor).isSeeking())) {
@@ -216,14 +305,37 @@ public final class ProcessorConnector {
                             RetrievalStrategy.DOWNLOAD,
                             processorName,
                             StreamProcessor.class.getSimpleName());
-                    TempFileDownload dl = new TempFileDownload(
-                            streamFactory,
-                            getTempFile(sourceFormat));
-                    dl.downloadSync();
+                    SharedDownload<TempFileDownload> dl =
+                            downloadToTempFile(streamFactory,
+                                    identifier, sourceFormat);
                     StreamFactory tempStreamFactory =
-                            new PathStreamFactory(dl.get());
+                            new PathStreamFactory(getFile(dl));
                     ((StreamProcessor) processor).setStreamFactory(tempStreamFactory);
                     return dl;
+                } else if (RetrievalStrategy.SPILL.equals(strategy)) {
+                    LOGGER.debug("Using {} with {} as a {}",
+                            RetrievalStrategy.SPILL,
+                            processorName,
+                            StreamProcessor.class.getSimpleName());
+                    SharedDownload<SpillDownload> dl = SharedDownload.acquire(
+                            getDownloadKey(RetrievalStrategy.SPILL,
+                                    identifier, sourceFormat),
+                            () -> new SpillDownload(
+                                    streamFactory,
+                                    getTempFile(sourceFormat,
+                                            RetrievalStrategy.SPILL),
+                                    getSpillThreshold(),
+                                    getSpillMaxMemory()),
+                            false);
+                    try {
+                        dl.getDownload().downloadSync();
+                    } catch (IOException e) {
+                        dl.release();
+                        throw e;
+                    }
+                    ((StreamProcessor) processor).setStreamFactory(
+                            dl.getDownload().getStreamFactory());
+                    return dl;
                 } else if (RetrievalStrategy.CACHE.equals(strategy)) {
                     LOGGER.debug("Using {} with {} as a {}",
                             RetrievalStrategy.CACHE,
@@ -237,12 +349,180 @@ public final class ProcessorConnector {
                             sourceCache,
                             identifier);
                     connect(sourceCache, file, processor);
+                } else if (RetrievalStrategy.PROGRESSIVE.equals(strategy)) {
+                    SourceCache sourceCache =
+                            CacheFactory.getSourceCache().orElse(null);
+                    if (sourceCache != null) {
+                        Optional<Path> file =
+                                sourceCache.getSourceImageFile(identifier);
+                        if (file.isPresent()) {
+                            connect(sourceCache, file.get(), processor);
+                            return null;
+                        }
+                    }
+                    LOGGER.debug("Using {} with {} as a {}",
+                            RetrievalStrategy.PROGRESSIVE,
+                            processorName,
+                            StreamProcessor.class.getSimpleName());
+                    final SourceCache progressiveSourceCache = sourceCache;
+                    SharedDownload<ProgressiveDownload> dl =
+                            SharedDownload.acquire(
+                                    getDownloadKey(RetrievalStrategy.PROGRESSIVE,
+                                            identifier, sourceFormat),
+                                    () -> new ProgressiveDownload(
+                                            streamFactory,
+                                            getTempFile(sourceFormat,
+                                                    RetrievalStrategy.PROGRESSIVE),
+                                            progressiveSourceCache,
+                                            identifier),
+                                    true);
+                    try {
+                        dl.getDownload().downloadAsync();
+                    } catch (IOException e) {
+                        dl.release();
+                        throw e;
+                    }
+                    ((StreamProcessor) processor).setStreamFactory(
+                            dl.getDownload().getStreamFactory());
+                    return dl;
                 }
             }
         }
         return null;
     }
 
+    /**
+     * @param strategy Strategy from the application configuration.
+     * @return         The given strategy, or, if it is {@link
+     *                 RetrievalStrategy#AUTO}, the one chosen by the {@link
+     *                 RetrievalStrategySelector}.
+     */
+    private static RetrievalStrategy resolveStrategy(RetrievalStrategy strategy,
+                                                     Source source,
+                                                     Processor processor,
+                                                     StreamFactory streamFactory,
+                                                     Identifier identifier) {
+        if (!RetrievalStrategy.AUTO.equals(strategy)) {
+            return strategy;
+        }
+        long length = -1;
+        try {
+            StatResult statResult = SourceStatCache.getInstance().stat(source);
+            if (statResult != null) {
+                length = statResult.getLength();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("resolveStrategy(): failed to stat {}: {}",
+                    identifier, e.getMessage());
+        }
+        return RetrievalStrategySelector.getInstance().select(
+                identifier, length, streamFactory, processor,
+                CacheFactory.getSourceCache().isPresent());
+    }
+
+    /**
+     * <p>Variant of {@link #connect} for requests that only need to read
+     * image info, which usually requires only a small part of the source
+     * image.</p>
+     *
+     * <p>If {@link Key#SOURCE_CACHE_PREFETCH} is enabled, the source does not
+     * support file access, the processor is a {@link StreamProcessor}, {@link
+     * Key#PROCESSOR_STREAM_RETRIEVAL_STRATEGY} is set to {@link
+     * RetrievalStrategy#CACHE}, and the source image is not already in the
+     * source cache, then instead of waiting for the source image to be
+     * downloaded in full, the processor will read from {@link StreamFactory
+     * the streams provided by the source}, and the download into the source
+     * cache will be started in a {@link ThreadPool.Priority#LOW low-priority}
+     * background thread. Image requests for the same source image, which
+     * usually follow soon after, will then either find it in the source cache
+     * or share the download in progress.</p>
+     *
+     * <p>Otherwise, this method behaves the same as {@link #connect}.</p>
+     *
+     * @see #connect
+     * @since 6.0
+     */
+    public SharedDownload<?> connectForInfo(Source source,
+                                            Processor processor,
+                                            Identifier identifier,
+                                            Format sourceFormat)
+            throws IOException, CacheDisabledException,
+            IncompatibleSourceException, InterruptedException {
+        if (isPrefetchingEnabled() &&
+                !source.supportsFileAccess() &&
+                processor instanceof StreamProcessor &&
+                RetrievalStrategy.CACHE.equals(getStreamProcessorRetrievalStrategy())) {
+            final SourceCache sourceCache =
+                    CacheFactory.getSourceCache().orElse(null);
+            if (sourceCache != null) {
+                final Optional<Path> file =
+                        sourceCache.getSourceImageFile(identifier);
+                if (file.isPresent()) {
+                    connect(sourceCache, file.get(), processor);
+                    return null;
+                }
+                final StreamProcessor streamProcessor = (StreamProcessor) processor;
+                final StreamFactory streamFactory =
+                        SourceFactory.newStreamFactory(source);
+                LOGGER.debug("Stream -> {} connection between {} and {} " +
+                                "for reading info",
+                        StreamProcessor.class.getSimpleName(),
+                        source.getClass().getSimpleName(),
+                        processor.getClass().getSimpleName());
+                streamProcessor.setStreamFactory(streamFactory);
+                // Image requests will stream too in this case, so there is
+                // nothing to prefetch.
+                if (!streamFactory.isSeekingDirect() ||
+                        !streamProcessor.isSeeking()) {
+                    prefetchToSourceCache(streamFactory, sourceCache, identifier);
+                }
+                return null;
+            }
+        }
+        return connect(source, processor, identifier, sourceFormat);
+    }
+
+    /**
+     * Starts downloading the source image with the given identifier to the
+     * given source cache in a low-priority background thread, unless it is
+     * already being prefetched. The download is {@link SharedDownload shared}
+     * with {@link #downloadToSourceCache}, so any image requests that arrive
+     * in the meantime will wait for it rather than starting another one.
+     */
+    private static void prefetchToSourceCache(StreamFactory streamFactory,
+                                              SourceCache sourceCache,
+                                              Identifier identifier) {
+        if (!PREFETCHING_IMAGES.add(identifier)) {
+            LOGGER.debug("prefetchToSourceCache(): already prefetching {}",
+                    identifier);
+            return;
+        }
+        final SharedDownload<SourceCacheDownload> dl = SharedDownload.acquire(
+                getDownloadKey(RetrievalStrategy.CACHE, identifier, null),
+                () -> new SourceCacheDownload(
+                        streamFactory, sourceCache, identifier),
+                false);
+        LOGGER.debug("prefetchToSourceCache(): prefetching {}", identifier);
+        try {
+            ThreadPool.getInstance().submit(() -> {
+                try {
+                    dl.getDownload().downloadSync();
+                } catch (IOException e) {
+                    LOGGER.warn("prefetchToSourceCache(): failed to " +
+                            "prefetch {}: {}", identifier, e.getMessage());
+                } finally {
+                    dl.release();
+                    PREFETCHING_IMAGES.remove(identifier);
+                }
+                return null;
+            }, ThreadPool.Priority.LOW);
+        } catch (RuntimeException e) {
+            dl.release();
+            PREFETCHING_IMAGES.remove(identifier);
+            throw e;
+        }
+    }
+
     /**
      * Acquires the source image with the given identifier from the given
      * source cache, downloading it if necessary, and configures the given
@@ -259,12 +539,63 @@ public final class ProcessorConnector {
     private Path downloadToSourceCache(StreamFactory streamFactory,
                                        SourceCache sourceCache,
                                        Identifier identifier) throws IOException {
-        SourceCacheDownload dl = new SourceCacheDownload(
-                streamFactory, sourceCache, identifier);
-        dl.downloadSync();
+        SharedDownload<SourceCacheDownload> dl = SharedDownload.acquire(
+                getDownloadKey(RetrievalStrategy.CACHE, identifier, null),
+                () -> new SourceCacheDownload(
+                        streamFactory, sourceCache, identifier),
+                false);
+        try {
+            dl.getDownload().downloadSync();
+            Path file = getFile(dl);
+            if (file == null) {
+                throw new IOException("Failed to download " + identifier +
+                        " to the source cache");
+            }
+            return file;
+        } finally {
+            dl.release();
+        }
+    }
+
+    /**
+     * Downloads the source image with the given identifier to a temp file,
+     * sharing the download with any other threads that are downloading the
+     * same image at the same time.
+     *
+     * @return Handle to the download, which the client must release.
+     */
+    private SharedDownload<TempFileDownload> downloadToTempFile(
+            StreamFactory streamFactory,
+            Identifier identifier,
+            Format sourceFormat) throws IOException {
+        SharedDownload<TempFileDownload> dl = SharedDownload.acquire(
+                getDownloadKey(RetrievalStrategy.DOWNLOAD, identifier, sourceFormat),
+                () -> new TempFileDownload(
+                        streamFactory, getTempFile(sourceFormat)),
+                true);
+        try {
+            dl.getDownload().downloadSync();
+        } catch (IOException e) {
+            dl.release();
+            throw e;
+        }
+        return dl;
+    }
+
+    private static String getDownloadKey(RetrievalStrategy strategy,
+                                         Identifier identifier,
+                                         Format sourceFormat) {
+        String key = strategy + ":" + identifier;
+        if (sourceFormat != null) {
+            key += ":" + sourceFormat.getKey();
+        }
+        return key;
+    }
+
+    private static Path getFile(SharedDownload<?> dl) throws IOException {
         try {
             return dl.get();
-        } catch (InterruptedException e) {
+        } catch (InterruptedException | ExecutionException e) {
             throw new IOException(e);
         }
     }
@@ -0,0 +1,237 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.cache.CompletableOutputStream;
+import edu.illinois.library.cantaloupe.cache.SourceCache;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.source.Source;
+import edu.illinois.library.cantaloupe.source.StreamFactory;
+import edu.illinois.library.cantaloupe.source.stream.GrowingFileImageInputStream;
+import edu.illinois.library.cantaloupe.source.stream.HighWaterMark;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Asynchronously downloads content from a {@link Source} to a temporary
+ * file, which can be read via {@link #getStreamFactory()} while the download
+ * is still in progress.</p>
+ *
+ * <p>If a {@link SourceCache} is supplied, the content is also written to it,
+ * so that subsequent requests can read it from there.</p>
+ *
+ * @see RetrievalStrategy#PROGRESSIVE
+ * @since 6.0
+ */
+final class ProgressiveDownload implements Future<Path> {
+
+    /**
+     * Provides streams that read the file being downloaded.
+     */
+    private class ProgressiveStreamFactory implements StreamFactory {
+
+        @Override
+        public InputStream newInputStream() throws IOException {
+            final ImageInputStream iis = newSeekableStream();
+            return new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    return iis.read();
+                }
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return iis.read(b, off, len);
+                }
+                @Override
+                public void close() throws IOException {
+                    iis.close();
+                }
+            };
+        }
+
+        @Override
+        public ImageInputStream newSeekableStream() throws IOException {
+            return new GrowingFileImageInputStream(
+                    tempFile, highWaterMark, streamFactory);
+        }
+
+        @Override
+        public boolean isSeekingDirect() {
+            return true;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ProgressiveDownload.class);
+
+    private static final int STREAM_BUFFER_SIZE = 65536;
+
+    private final CountDownLatch downloadLatch    = new CountDownLatch(1);
+    private final HighWaterMark highWaterMark     = new HighWaterMark();
+    private final AtomicBoolean isCancelled       = new AtomicBoolean();
+    private final AtomicBoolean mayInterrupt      = new AtomicBoolean();
+    private final AtomicBoolean downloadAttempted = new AtomicBoolean();
+    private final StreamFactory streamFactory;
+    private final Path tempFile;
+    private final SourceCache sourceCache;
+    private final Identifier identifier;
+
+    /**
+     * @param streamFactory Source of the content to download.
+     * @param tempFile      File to download to.
+     * @param sourceCache   Optional source cache to also write the content
+     *                      to. May be {@code null}.
+     * @param identifier    Identifier of the source image. May be {@code
+     *                      null} if {@code sourceCache} is {@code null}.
+     */
+    ProgressiveDownload(StreamFactory streamFactory,
+                        Path tempFile,
+                        SourceCache sourceCache,
+                        Identifier identifier) {
+        this.streamFactory = streamFactory;
+        this.tempFile      = tempFile;
+        this.sourceCache   = sourceCache;
+        this.identifier    = identifier;
+    }
+
+    /**
+     * Creates the temp file and starts downloading into it in another thread.
+     * The {@link #getStreamFactory() stream factory} is usable as soon as
+     * this method returns, even when it is called concurrently from another
+     * thread.
+     */
+    synchronized void downloadAsync() throws IOException {
+        if (downloadAttempted.getAndSet(true)) {
+            return;
+        }
+        final FileChannel channel = FileChannel.open(tempFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ThreadPool.getInstance().submit(() -> {
+            download(channel);
+            return null;
+        }, ThreadPool.Priority.HIGH);
+    }
+
+    private void download(FileChannel channel) {
+        final Stopwatch watch = new Stopwatch();
+        OutputStream cacheStream = null;
+        IOException failure = null;
+        boolean succeeded = false;
+        try (channel; InputStream is = streamFactory.newInputStream()) {
+            if (sourceCache != null) {
+                cacheStream = sourceCache.newSourceImageOutputStream(identifier);
+            }
+            LOGGER.debug("Downloading to {}", tempFile);
+
+            final byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            long length = 0;
+            int n;
+            while ((n = is.read(buffer)) > 0) {
+                ByteBuffer bb = ByteBuffer.wrap(buffer, 0, n);
+                while (bb.hasRemaining()) {
+                    channel.write(bb);
+                }
+                length += n;
+                highWaterMark.advance(length);
+
+                if (cacheStream != null) {
+                    cacheStream.write(buffer, 0, n);
+                }
+                if (isCancelled.get()) {
+                    if (mayInterrupt.get()) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IOException("Download cancelled");
+                }
+            }
+            succeeded = true;
+            highWaterMark.complete();
+            LOGGER.debug("Downloaded {} bytes to {} in {}",
+                    length, tempFile, watch);
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            // e.g. an SDK client exception thrown in the middle of a read
+            failure = new IOException(e);
+        } finally {
+            // Readers waiting on the mark must be released however the
+            // download ends, or they would wait forever.
+            if (!succeeded) {
+                if (failure == null) {
+                    failure = new IOException("Download failed");
+                }
+                LOGGER.error("download(): {}", failure.getMessage());
+                highWaterMark.fail(failure);
+            }
+            if (cacheStream != null) {
+                // Prevent an incomplete image from being moved into place in
+                // the source cache.
+                if (!succeeded && cacheStream instanceof CompletableOutputStream) {
+                    ((CompletableOutputStream) cacheStream).setComplete(false);
+                }
+                try {
+                    cacheStream.close();
+                } catch (IOException e) {
+                    LOGGER.warn("download(): {}", e.getMessage());
+                }
+            }
+            downloadLatch.countDown();
+        }
+    }
+
+    /**
+     * @return Factory of streams that read the file being downloaded,
+     *         blocking as necessary for the download to catch up.
+     */
+    StreamFactory getStreamFactory() {
+        return new ProgressiveStreamFactory();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        mayInterrupt.set(mayInterruptIfRunning);
+        isCancelled.set(true);
+        return true;
+    }
+
+    @Override
+    public Path get() throws InterruptedException {
+        downloadLatch.await();
+        return tempFile;
+    }
+
+    @Override
+    public Path get(long timeout,
+                    TimeUnit unit) throws InterruptedException {
+        if (downloadLatch.await(timeout, unit)) {
+            return tempFile;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return isCancelled.get();
+    }
+
+    @Override
+    public boolean isDone() {
+        return downloadLatch.getCount() == 0;
+    }
+
+}
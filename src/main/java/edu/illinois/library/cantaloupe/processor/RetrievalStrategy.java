@@ -35,7 +35,36 @@ enum RetrievalStrategy {
      * yet been cached, they will wait (on a monitor) for the image to
      * download.
      */
-    CACHE("CacheStrategy");
+    CACHE("CacheStrategy"),
+
+    /**
+     * Content is downloaded into a temporary location, as with {@link
+     * #DOWNLOAD}, but reading begins while the download is still in progress.
+     * Reads that get ahead of the download block until it catches up, or are
+     * satisfied by ranged reads from the source when it supports them. If the
+     * {@link SourceCache} is available, the content is also written to it.
+     * This strategy is applicable only to {@link StreamProcessor}s.
+     */
+    PROGRESSIVE("ProgressiveStrategy"),
+
+    /**
+     * Content is downloaded into pooled memory, as long as it is no larger
+     * than {@link Key#PROCESSOR_SPILL_THRESHOLD}, and read from there. Larger
+     * content is spilled to a temporary location, as with {@link #DOWNLOAD}.
+     * This avoids the cost of creating and deleting temporary files for small
+     * images. Downloads are shared across threads. With {@link
+     * FileProcessor}s, which require a file, this is the same as {@link
+     * #DOWNLOAD}.
+     */
+    SPILL("SpillStrategy"),
+
+    /**
+     * One of {@link #STREAM}, {@link #DOWNLOAD}, or {@link #CACHE} is chosen
+     * for each request by a {@link RetrievalStrategySelector}, based on the
+     * size of the source image, whether it can be read by seeking, and how
+     * often it has been accessed recently.
+     */
+    AUTO("AutoStrategy");
 
     private final String configValue;
 
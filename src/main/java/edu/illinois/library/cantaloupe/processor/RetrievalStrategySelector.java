@@ -0,0 +1,237 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.source.StatResult;
+import edu.illinois.library.cantaloupe.source.StreamFactory;
+import edu.illinois.library.cantaloupe.util.ObjectCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Chooses a concrete {@link RetrievalStrategy} on behalf of {@link
+ * RetrievalStrategy#AUTO} for each connection between a stream-based source
+ * and a processor, based on:</p>
+ *
+ * <ul>
+ *     <li>Whether the source's streams support {@link
+ *     StreamFactory#isSeekingDirect() direct seeking} and the processor
+ *     {@link StreamProcessor#isSeeking() seeks};</li>
+ *     <li>The {@link StatResult#getLength() length} of the source image;</li>
+ *     <li>The number of times the source image has been accessed within the
+ *     last {@link #ACCESS_WINDOW_MSEC}.</li>
+ * </ul>
+ *
+ * <p>An "access" is a burst of connections to the same image: a single
+ * viewer typically requests an info response and then many tiles within a
+ * few seconds, which should not by itself make the image "hot." So, all
+ * connections within {@link #BURST_MSEC} of the last counted access count as
+ * that same access.</p>
+ *
+ * <p>In order of precedence:</p>
+ *
+ * <ol>
+ *     <li>Images that are accessed at least {@link
+ *     Key#PROCESSOR_AUTO_RETRIEVAL_HOT_ACCESSES} times are {@link
+ *     RetrievalStrategy#CACHE cached}, if the source cache is available, so
+ *     that they are downloaded only once.</li>
+ *     <li>Seeking processors {@link RetrievalStrategy#STREAM stream} from
+ *     sources that support direct seeking, as they read only what they
+ *     need.</li>
+ *     <li>Other stream processors stream images no larger than {@link
+ *     Key#PROCESSOR_AUTO_RETRIEVAL_SMALL_SIZE}, which is cheap enough to do in
+ *     memory.</li>
+ *     <li>Everything else is {@link RetrievalStrategy#DOWNLOAD
+ *     downloaded}.</li>
+ * </ol>
+ *
+ * <p>Decisions are logged at debug level and counted, and the counts are
+ * available from {@link ProcessorConnector#getAutoRetrievalDecisions()}.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 6.0
+ */
+final class RetrievalStrategySelector {
+
+    /**
+     * Counts accesses within a fixed window, ignoring those within {@link
+     * #BURST_MSEC} of the last counted one.
+     */
+    private static final class AccessCounter {
+
+        private long windowStart, lastCounted;
+        private int count;
+
+        private synchronized int increment(long now) {
+            if (now - windowStart > ACCESS_WINDOW_MSEC) {
+                windowStart = now;
+                count = 0;
+            } else if (now - lastCounted < BURST_MSEC) {
+                return count;
+            }
+            lastCounted = now;
+            return ++count;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(RetrievalStrategySelector.class);
+
+    /**
+     * Length of the window within which accesses are counted.
+     */
+    static final long ACCESS_WINDOW_MSEC = 10 * 60 * 1000;
+
+    /**
+     * Length of time after a counted access within which further accesses to
+     * the same image are considered part of it.
+     */
+    static final long BURST_MSEC = 5 * 1000;
+
+    static final int DEFAULT_HOT_ACCESSES = 3;
+
+    static final long DEFAULT_SMALL_SIZE = 4 * 1024 * 1024;
+
+    private static final long MAX_NUM_COUNTERS = 10000;
+
+    private static RetrievalStrategySelector instance;
+
+    private final ObjectCache<Identifier,AccessCounter> accessCounters =
+            new ObjectCache<>(MAX_NUM_COUNTERS);
+
+    private final Map<RetrievalStrategy,LongAdder> decisions =
+            new EnumMap<>(RetrievalStrategy.class);
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    static synchronized RetrievalStrategySelector getInstance() {
+        if (instance == null) {
+            instance = new RetrievalStrategySelector();
+        }
+        return instance;
+    }
+
+    private static int getHotAccesses() {
+        return Configuration.getInstance().getInt(
+                Key.PROCESSOR_AUTO_RETRIEVAL_HOT_ACCESSES,
+                DEFAULT_HOT_ACCESSES);
+    }
+
+    private static long getSmallSize() {
+        return Configuration.getInstance().getLongBytes(
+                Key.PROCESSOR_AUTO_RETRIEVAL_SMALL_SIZE,
+                DEFAULT_SMALL_SIZE);
+    }
+
+    RetrievalStrategySelector() {
+        for (RetrievalStrategy strategy : RetrievalStrategy.values()) {
+            decisions.put(strategy, new LongAdder());
+        }
+    }
+
+    /**
+     * Records an access to the image with the given identifier and chooses a
+     * strategy for it.
+     *
+     * @param identifier             Identifier of the source image.
+     * @param length                 {@link StatResult#getLength() Length} of
+     *                               the source image, or {@literal -1} if
+     *                               unknown.
+     * @param streamFactory          Stream factory of the source.
+     * @param processor              Processor being connected.
+     * @param isSourceCacheAvailable Whether the source cache is available.
+     * @return                       One of {@link RetrievalStrategy#STREAM},
+     *                               {@link RetrievalStrategy#DOWNLOAD}, or
+     *                               {@link RetrievalStrategy#CACHE}. Never
+     *                               {@link RetrievalStrategy#STREAM} if the
+     *                               processor is not a {@link
+     *                               StreamProcessor}.
+     */
+    RetrievalStrategy select(Identifier identifier,
+                             long length,
+                             StreamFactory streamFactory,
+                             Processor processor,
+                             boolean isSourceCacheAvailable) {
+        final int numAccesses = recordAccess(identifier);
+        final boolean isStreamProcessor = processor instanceof StreamProcessor;
+        final boolean isSeekingDirect = isStreamProcessor &&
+                streamFactory.isSeekingDirect() &&
+                ((StreamProcessor) processor).isSeeking();
+
+        RetrievalStrategy strategy;
+        String reason;
+        if (isSourceCacheAvailable && numAccesses >= getHotAccesses()) {
+            strategy = RetrievalStrategy.CACHE;
+            reason   = "hot";
+        } else if (isSeekingDirect) {
+            strategy = RetrievalStrategy.STREAM;
+            reason   = "direct seeking";
+        } else if (isStreamProcessor && length >= 0 && length <= getSmallSize()) {
+            strategy = RetrievalStrategy.STREAM;
+            reason   = "small";
+        } else {
+            strategy = RetrievalStrategy.DOWNLOAD;
+            reason   = (length < 0) ? "unknown length" : "large";
+        }
+        decisions.get(strategy).increment();
+        LOGGER.debug("select(): chose {} for {} ({}; {} bytes; {} accesses; {})",
+                strategy, identifier, reason, length, numAccesses,
+                processor.getClass().getSimpleName());
+        return strategy;
+    }
+
+    /**
+     * @return Number of accesses to the image with the given identifier
+     *         within the current window, including this one.
+     * @see #recordAccess(Identifier, long)
+     */
+    int recordAccess(Identifier identifier) {
+        return recordAccess(identifier, System.currentTimeMillis());
+    }
+
+    /**
+     * Records an access at the given time. It is counted only if it is at
+     * least {@link #BURST_MSEC} after the last counted access to the same
+     * image.
+     *
+     * @param identifier Identifier of the source image.
+     * @param now        Current time in epoch milliseconds.
+     * @return           Number of accesses to the image within the current
+     *                   window, including this one.
+     */
+    int recordAccess(Identifier identifier, long now) {
+        final AccessCounter counter = accessCounters.asMap()
+                .computeIfAbsent(identifier, id -> new AccessCounter());
+        return counter.increment(now);
+    }
+
+    /**
+     * @return Map of the number of times each strategy has been chosen, keyed
+     *         by its {@link RetrievalStrategy#getConfigValue() configuration
+     *         value}, for each strategy that can be chosen.
+     */
+    Map<String,Long> getDecisionCounts() {
+        final Map<String,Long> counts = new LinkedHashMap<>();
+        for (RetrievalStrategy strategy : new RetrievalStrategy[] {
+                RetrievalStrategy.STREAM,
+                RetrievalStrategy.DOWNLOAD,
+                RetrievalStrategy.CACHE }) {
+            counts.put(strategy.getConfigValue(), decisions.get(strategy).sum());
+        }
+        return counts;
+    }
+
+}
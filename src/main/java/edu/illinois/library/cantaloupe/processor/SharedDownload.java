@@ -0,0 +1,234 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * <p>Reference-counted handle to a download that may be shared by multiple
+ * concurrent requests for the same source image.</p>
+ *
+ * <p>Instances are obtained from {@link #acquire(String, Supplier, boolean)}.
+ * All callers that acquire a handle with the same key while a previous handle
+ * is still held will share the same underlying download. Each caller must
+ * call {@link #release()} when it no longer needs the downloaded file. When
+ * the last handle is released, the download is forgotten, and either closed
+ * (if it is {@link Closeable}) or its file is deleted (if it was acquired as
+ * temporary).</p>
+ *
+ * @param <T> Type of the underlying download.
+ * @since 6.0
+ */
+public final class SharedDownload<T extends Future<Path>>
+        implements Future<Path> {
+
+    private static final class Entry {
+
+        private final Future<Path> download;
+        private final boolean isTemporary;
+        private int refCount;
+
+        private Entry(Future<Path> download, boolean isTemporary) {
+            this.download    = download;
+            this.isTemporary = isTemporary;
+        }
+
+        /**
+         * @return Whether the entry is a completed temporary download whose
+         *         file has gone missing, and so should not be shared.
+         */
+        private boolean isStale() {
+            if (!isTemporary || !download.isDone()) {
+                return false;
+            }
+            try {
+                Path file = download.get();
+                return file == null || !Files.exists(file);
+            } catch (InterruptedException | ExecutionException e) {
+                return true;
+            }
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(SharedDownload.class);
+
+    /**
+     * Downloads currently in flight (or completed but still referenced) in
+     * any thread, keyed by the argument to {@link #acquire}.
+     */
+    private static final ConcurrentMap<String,Entry> ENTRIES =
+            new ConcurrentHashMap<>();
+
+    private final String key;
+    private final Entry entry;
+    private final AtomicBoolean isReleased = new AtomicBoolean();
+
+    /**
+     * Acquires a handle to the download with the given key, creating it via
+     * the given supplier if no such download is currently held by any other
+     * caller. The caller is responsible for starting the download, which
+     * implementations must tolerate being done more than once.
+     *
+     * @param key         Key uniquely identifying the content to download.
+     * @param supplier    Supplies a new download if necessary.
+     * @param isTemporary Whether the downloaded file should be deleted when
+     *                    the last handle is released.
+     * @return            New handle, which must be {@link #release()
+     *                    released} when no longer needed.
+     */
+    static <T extends Future<Path>> SharedDownload<T> acquire(
+            String key,
+            Supplier<T> supplier,
+            boolean isTemporary) {
+        final Entry entry = ENTRIES.compute(key, (k, existing) -> {
+            if (existing == null || existing.isStale()) {
+                existing = new Entry(supplier.get(), isTemporary);
+            } else {
+                LOGGER.debug("acquire(): sharing in-flight download of {}",
+                        key);
+            }
+            existing.refCount++;
+            return existing;
+        });
+        return new SharedDownload<>(key, entry);
+    }
+
+    /**
+     * @return Number of downloads currently held. For testing only.
+     */
+    static int getNumSharedDownloads() {
+        return ENTRIES.size();
+    }
+
+    private SharedDownload(String key, Entry entry) {
+        this.key   = key;
+        this.entry = entry;
+    }
+
+    /**
+     * @return The underlying download, which may be shared with other
+     *         handles.
+     */
+    @SuppressWarnings("unchecked")
+    T getDownload() {
+        return (T) entry.download;
+    }
+
+    /**
+     * Releases the instance. When all handles to the same download have been
+     * released, it will be closed (if it is {@link Closeable}) or its file
+     * will be deleted (if it is temporary), either
+     * immediately (if the download is done) or in the background after it
+     * has finished. Calling this method more than once has no effect.
+     */
+    public void release() {
+        if (isReleased.getAndSet(true)) {
+            return;
+        }
+        final AtomicBoolean isLast = new AtomicBoolean();
+        ENTRIES.computeIfPresent(key, (k, existing) -> {
+            if (existing != entry) {
+                return existing;
+            }
+            existing.refCount--;
+            if (existing.refCount <= 0) {
+                isLast.set(true);
+                return null;
+            }
+            return existing;
+        });
+        if (isLast.get()) {
+            if (entry.download instanceof Closeable) {
+                if (entry.download.isDone()) {
+                    closeDownload();
+                } else {
+                    ThreadPool.getInstance().submit(() -> {
+                        closeDownload();
+                        return null;
+                    }, ThreadPool.Priority.LOW);
+                }
+            } else if (entry.isTemporary) {
+                if (entry.download.isDone()) {
+                    deleteFile();
+                } else {
+                    ThreadPool.getInstance().submit(() -> {
+                        deleteFile();
+                        return null;
+                    }, ThreadPool.Priority.LOW);
+                }
+            }
+        }
+    }
+
+    private void closeDownload() {
+        try {
+            ((Closeable) entry.download).close();
+        } catch (IOException e) {
+            LOGGER.error("release(): {}", e.getMessage(), e);
+        }
+    }
+
+    private void deleteFile() {
+        try {
+            Path file = entry.download.get();
+            if (file != null) {
+                LOGGER.debug("release(): deleting {}", file);
+                Files.deleteIfExists(file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | IOException e) {
+            LOGGER.error("release(): {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cancels the underlying download, but only if no other handle to it is
+     * held.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final Entry current = ENTRIES.get(key);
+        if (current == entry && current.refCount > 1) {
+            return false;
+        }
+        return entry.download.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public Path get() throws InterruptedException, ExecutionException {
+        return entry.download.get();
+    }
+
+    @Override
+    public Path get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return entry.download.get(timeout, unit);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return entry.download.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return entry.download.isDone();
+    }
+
+}
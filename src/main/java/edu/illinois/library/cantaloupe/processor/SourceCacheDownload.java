@@ -76,10 +76,9 @@ final class SourceCacheDownload implements Future<Path> {
     }
 
     void downloadSync() throws IOException {
-        if (isDownloadAttempted.get()) {
+        if (isDownloadAttempted.getAndSet(true)) {
             return;
         }
-        isDownloadAttempted.set(true);
 
         boolean succeeded = false;
         short numAttempts = 0;
@@ -0,0 +1,351 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
+import edu.illinois.library.cantaloupe.source.Source;
+import edu.illinois.library.cantaloupe.source.StreamFactory;
+import edu.illinois.library.cantaloupe.source.stream.ChunkedByteArrayImageInputStream;
+import edu.illinois.library.cantaloupe.util.ByteArrayPool;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.stream.ImageInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Downloads content from a {@link Source} into memory obtained from the
+ * {@link ByteArrayPool}, until its length exceeds a threshold, at which point
+ * the content downloaded so far, and the rest of it, is written ("spilled")
+ * to a temporary file instead. Content is also spilled when the memory held
+ * by all instances together would exceed a shared budget, so that many
+ * concurrent downloads of images below the threshold can't exhaust the
+ * heap.</p>
+ *
+ * <p>Either way, the content can be read via {@link #getStreamFactory()}
+ * after the download has completed. {@link #get()} returns the temporary
+ * file, or {@code null} if the content is held in memory.</p>
+ *
+ * <p>{@link #close()} returns the memory to the pool and deletes the
+ * temporary file. It is invoked by {@link SharedDownload#release()} when the
+ * last handle to the instance is released.</p>
+ *
+ * @see RetrievalStrategy#SPILL
+ * @since 6.0
+ */
+final class SpillDownload implements Future<Path>, Closeable {
+
+    /**
+     * Provides streams that read the content from memory.
+     */
+    private class MemoryStreamFactory implements StreamFactory {
+
+        @Override
+        public InputStream newInputStream() throws IOException {
+            final ImageInputStream iis = newSeekableStream();
+            return new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    return iis.read();
+                }
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return iis.read(b, off, len);
+                }
+                @Override
+                public void close() throws IOException {
+                    iis.close();
+                }
+            };
+        }
+
+        @Override
+        public ImageInputStream newSeekableStream() {
+            return new ChunkedByteArrayImageInputStream(
+                    chunks.toArray(new byte[0][]), CHUNK_SIZE, length);
+        }
+
+        @Override
+        public boolean isSeekingDirect() {
+            return true;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(SpillDownload.class);
+
+    /**
+     * Size of the pooled arrays in which content is held in memory.
+     */
+    static final int CHUNK_SIZE = 65536;
+
+    private static final int STREAM_BUFFER_SIZE = 16384;
+
+    /**
+     * Number of bytes of chunks held by all instances.
+     */
+    private static final AtomicLong MEMORY_IN_USE = new AtomicLong();
+
+    private final CountDownLatch downloadLatch    = new CountDownLatch(1);
+    private final AtomicBoolean isCancelled       = new AtomicBoolean();
+    private final AtomicBoolean isClosed          = new AtomicBoolean();
+    private final AtomicBoolean mayInterrupt      = new AtomicBoolean();
+    private final AtomicBoolean downloadAttempted = new AtomicBoolean();
+    private final List<byte[]> chunks             = new ArrayList<>();
+    private final StreamFactory streamFactory;
+    private final Path tempFile;
+    private final long threshold, maxMemory;
+    private long length;
+    private volatile boolean isSpilled;
+    private volatile IOException failure;
+
+    /**
+     * @param streamFactory Source of the content.
+     * @param tempFile      File to spill to if necessary. It will be created
+     *                      only if the content is longer than {@literal
+     *                      threshold}.
+     * @param threshold     Content longer than this is spilled.
+     * @param maxMemory     Maximum number of bytes that all instances
+     *                      together may hold in memory. Content that would
+     *                      exceed it is spilled.
+     */
+    SpillDownload(StreamFactory streamFactory,
+                  Path tempFile,
+                  long threshold,
+                  long maxMemory) {
+        this.streamFactory = streamFactory;
+        this.tempFile      = tempFile;
+        this.threshold     = threshold;
+        this.maxMemory     = maxMemory;
+    }
+
+    /**
+     * @return Number of bytes held in memory by all instances.
+     */
+    static long getMemoryInUse() {
+        return MEMORY_IN_USE.get();
+    }
+
+    /**
+     * Downloads the content in the calling thread. If the download has
+     * already been started in another thread (as when the instance is {@link
+     * SharedDownload shared}), this method blocks until it is complete, and
+     * rethrows any exception that it threw.
+     */
+    void downloadSync() throws IOException {
+        if (downloadAttempted.getAndSet(true)) {
+            try {
+                downloadLatch.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (failure != null) {
+                throw new IOException(failure.getMessage(), failure);
+            }
+            return;
+        }
+
+        final Stopwatch watch = new Stopwatch();
+        try (InputStream is = streamFactory.newInputStream()) {
+            if (readIntoMemory(is)) {
+                LOGGER.debug("Downloaded {} bytes into memory in {}",
+                        length, watch);
+            } else {
+                final long spillPos = length;
+                spill(is);
+                LOGGER.debug("Downloaded {} bytes, spilling to {} after {} " +
+                        "bytes, in {}", length, tempFile, spillPos, watch);
+            }
+        } catch (IOException e) {
+            failure = e;
+            releaseChunks();
+            throw e;
+        } finally {
+            downloadLatch.countDown();
+        }
+    }
+
+    /**
+     * Reads from the given stream into pooled chunks until the end of the
+     * stream is reached, the threshold is exceeded, or the shared memory
+     * budget is exhausted.
+     *
+     * @return Whether the whole stream was read.
+     */
+    private boolean readIntoMemory(InputStream is) throws IOException {
+        final ByteArrayPool pool = ByteArrayPool.getInstance();
+        byte[] chunk = null;
+        int chunkPos = CHUNK_SIZE;
+        while (true) {
+            if (chunkPos == CHUNK_SIZE) {
+                if (!reserveChunk()) {
+                    LOGGER.debug("readIntoMemory(): memory budget of {} " +
+                            "bytes exhausted", maxMemory);
+                    return false;
+                }
+                chunk = pool.acquire(CHUNK_SIZE);
+                chunks.add(chunk);
+                chunkPos = 0;
+            }
+            int n = is.read(chunk, chunkPos, CHUNK_SIZE - chunkPos);
+            if (n < 0) {
+                return true;
+            }
+            chunkPos += n;
+            length   += n;
+            if (length > threshold) {
+                return false;
+            }
+            if (isCancelled()) {
+                if (mayInterrupt.get()) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adds a chunk to {@link #MEMORY_IN_USE}, unless that would exceed the
+     * budget.
+     *
+     * @return Whether the chunk was added.
+     */
+    private boolean reserveChunk() {
+        long inUse;
+        do {
+            inUse = MEMORY_IN_USE.get();
+            if (inUse + CHUNK_SIZE > maxMemory) {
+                return false;
+            }
+        } while (!MEMORY_IN_USE.compareAndSet(inUse, inUse + CHUNK_SIZE));
+        return true;
+    }
+
+    /**
+     * Writes the content held in memory, followed by the rest of the given
+     * stream, to {@link #tempFile}, and releases the memory.
+     */
+    private void spill(InputStream is) throws IOException {
+        try (OutputStream os = new BufferedOutputStream(
+                Files.newOutputStream(tempFile), STREAM_BUFFER_SIZE)) {
+            isSpilled = true;
+            long remaining = length;
+            for (byte[] chunk : chunks) {
+                final int chunkLength = (int) Math.min(CHUNK_SIZE, remaining);
+                os.write(chunk, 0, chunkLength);
+                remaining -= chunkLength;
+            }
+            releaseChunks();
+
+            final byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int n;
+            while ((n = is.read(buffer)) > 0) {
+                os.write(buffer, 0, n);
+                length += n;
+                if (isCancelled()) {
+                    if (mayInterrupt.get()) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private void releaseChunks() {
+        final ByteArrayPool pool = ByteArrayPool.getInstance();
+        chunks.forEach(pool::release);
+        MEMORY_IN_USE.addAndGet(-(long) chunks.size() * CHUNK_SIZE);
+        chunks.clear();
+    }
+
+    /**
+     * @return Factory of streams that read the downloaded content, either from
+     *         memory or from the temporary file. Must not be called before the
+     *         download is done or after the instance has been closed.
+     */
+    StreamFactory getStreamFactory() {
+        if (isSpilled) {
+            return new PathStreamFactory(tempFile);
+        }
+        return new MemoryStreamFactory();
+    }
+
+    /**
+     * @return Whether the content was spilled to the temporary file.
+     */
+    boolean isSpilled() {
+        return isSpilled;
+    }
+
+    /**
+     * Returns the memory to the pool and deletes the temporary file, if any,
+     * after the download is done. No streams previously obtained from {@link
+     * #getStreamFactory()} may be in use. Calling this method more than once
+     * has no effect.
+     */
+    @Override
+    public void close() throws IOException {
+        if (isClosed.getAndSet(true)) {
+            return;
+        }
+        try {
+            downloadLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        releaseChunks();
+        if (isSpilled) {
+            LOGGER.debug("close(): deleting {}", tempFile);
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        mayInterrupt.set(mayInterruptIfRunning);
+        isCancelled.set(true);
+        return true;
+    }
+
+    @Override
+    public Path get() throws InterruptedException {
+        downloadLatch.await();
+        return isSpilled ? tempFile : null;
+    }
+
+    @Override
+    public Path get(long timeout,
+                    TimeUnit unit) throws InterruptedException {
+        if (downloadLatch.await(timeout, unit)) {
+            return isSpilled ? tempFile : null;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return isCancelled.get();
+    }
+
+    @Override
+    public boolean isDone() {
+        return downloadLatch.getCount() == 0;
+    }
+
+}
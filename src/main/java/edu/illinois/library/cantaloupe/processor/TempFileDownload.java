@@ -34,6 +34,7 @@ final class TempFileDownload implements Future<Path> {
     private final AtomicBoolean downloadAttempted = new AtomicBoolean();
     private StreamFactory streamFactory;
     private Path tempFile;
+    private volatile IOException failure;
 
     TempFileDownload(StreamFactory streamFactory, Path tempFile) {
         this.streamFactory = streamFactory;
@@ -54,11 +55,24 @@ final class TempFileDownload implements Future<Path> {
         });
     }
 
+    /**
+     * Downloads the content in the calling thread. If the download has
+     * already been started in another thread (as when the instance is {@link
+     * SharedDownload shared}), this method blocks until it is complete, and
+     * rethrows any exception that it threw.
+     */
     void downloadSync() throws IOException {
-        if (downloadAttempted.get()) {
+        if (downloadAttempted.getAndSet(true)) {
+            try {
+                downloadLatch.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (failure != null) {
+                throw new IOException(failure.getMessage(), failure);
+            }
             return;
         }
-        downloadAttempted.set(true);
 
         try {
             try (InputStream is = new BufferedInputStream(
@@ -83,6 +97,9 @@ final class TempFileDownload implements Future<Path> {
                     }
                 }
             }
+        } catch (IOException e) {
+            failure = e;
+            throw e;
         } finally {
             downloadLatch.countDown();
         }
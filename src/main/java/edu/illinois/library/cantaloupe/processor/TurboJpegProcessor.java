@@ -175,6 +175,8 @@ public class TurboJpegProcessor extends AbstractProcessor
 
         try {
             imageReader.setUseFastDCT(USE_FAST_DECODE_DCT);
+            imageReader.setUseGrayscaleOutput(
+                    Java2DUtil.isGrayResult(opList, fullSize));
             writer.setUseFastDCT(USE_FAST_ENCODE_DCT);
             writer.setSubsampling(imageReader.getSubsampling());
 
@@ -198,9 +200,12 @@ public class TurboJpegProcessor extends AbstractProcessor
                         // The TurboJPEG writer cannot deal with a
                         // BufferedImage that has been "virtually cropped" by
                         // BufferedImage.getSubimage(). We must tell this
-                        // method to copy the underlying raster.
+                        // method to copy the underlying raster, unless the
+                        // orientation is about to be corrected, which reads
+                        // the cropped region into a new image anyway.
                         image = Java2DUtil.crop(image, crop, reductionFactor,
-                                scaleConstraint, true);
+                                scaleConstraint,
+                                Orientation.ROTATE_0.equals(orientation));
                     }
                 }
             }
@@ -235,14 +240,8 @@ public class TurboJpegProcessor extends AbstractProcessor
                     final Scale scale = (Scale) op;
                     final boolean isLinear = scale.isLinear() &&
                             !scale.isUp(fullSize, scaleConstraint);
-                    if (isLinear) {
-                        image = Java2DUtil.convertColorToLinearRGB(image);
-                    }
                     image = Java2DUtil.scale(image, scale,
                             scaleConstraint, reductionFactor, isLinear);
-                    if (isLinear) {
-                        image = Java2DUtil.convertColorToSRGB(image);
-                    }
                 } else if (op instanceof Transpose) {
                     image = Java2DUtil.transpose(image, (Transpose) op);
                 } else if (op instanceof Rotate) {
@@ -273,6 +272,8 @@ public class TurboJpegProcessor extends AbstractProcessor
 
         try {
             imageReader.setUseFastDCT(USE_FAST_DECODE_DCT);
+            imageReader.setUseGrayscaleOutput(
+                    Java2DUtil.isGrayResult(opList, fullSize));
 
             final Rectangle roiWithinSafeRegion = new Rectangle();
             BufferedImage image =
@@ -294,9 +295,12 @@ public class TurboJpegProcessor extends AbstractProcessor
                         // The TurboJPEG writer cannot deal with a
                         // BufferedImage that has been "virtually cropped" by
                         // BufferedImage.getSubimage(). We must tell this
-                        // method to copy the underlying raster.
+                        // method to copy the underlying raster, unless the
+                        // orientation is about to be corrected, which reads
+                        // the cropped region into a new image anyway.
                         image = Java2DUtil.crop(image, crop, reductionFactor,
-                                scaleConstraint, true);
+                                scaleConstraint,
+                                Orientation.ROTATE_0.equals(orientation));
                     }
                 }
             }
@@ -324,14 +328,8 @@ public class TurboJpegProcessor extends AbstractProcessor
                     final Scale scale = (Scale) op;
                     final boolean isLinear = scale.isLinear() &&
                             !scale.isUp(fullSize, scaleConstraint);
-                    if (isLinear) {
-                        image = Java2DUtil.convertColorToLinearRGB(image);
-                    }
                     image = Java2DUtil.scale(image, scale,
                             scaleConstraint, reductionFactor, isLinear);
-                    if (isLinear) {
-                        image = Java2DUtil.convertColorToSRGB(image);
-                    }
                 } else if (op instanceof Transpose) {
                     image = Java2DUtil.transpose(image, (Transpose) op);
                 } else if (op instanceof Rotate) {
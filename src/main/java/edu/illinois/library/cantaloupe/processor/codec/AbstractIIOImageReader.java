@@ -1,5 +1,8 @@
 package edu.illinois.library.cantaloupe.processor.codec;
 
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.MediaType;
 import edu.illinois.library.cantaloupe.image.Rectangle;
@@ -12,6 +15,9 @@ import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
 import edu.illinois.library.cantaloupe.operation.ScaleByPixels;
 import edu.illinois.library.cantaloupe.processor.SourceFormatException;
+import edu.illinois.library.cantaloupe.processor.resample.ResampleFilter;
+import edu.illinois.library.cantaloupe.processor.resample.ResampleOp;
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
 import edu.illinois.library.cantaloupe.source.stream.ClosingMemoryCacheImageInputStream;
 import org.slf4j.Logger;
@@ -19,15 +25,26 @@ import org.slf4j.Logger;
 import javax.imageio.IIOException;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReadParam;
+import javax.imageio.ImageTypeSpecifier;
 import javax.imageio.stream.ImageInputStream;
+import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
 import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Supplies some base functionality and tries to be efficient with most
@@ -35,6 +52,110 @@ import java.util.Set;
  */
 public abstract class AbstractIIOImageReader {
 
+    /**
+     * Default value of {@link Key#PROCESSOR_STRIP_THRESHOLD}.
+     */
+    private static final long DEFAULT_STRIP_THRESHOLD = 256 * 1024 * 1024;
+
+    /**
+     * Approximate number of decoded bytes in each strip read by {@link
+     * #stripRead}.
+     */
+    private static final long STRIP_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Default value of {@link Key#PROCESSOR_PARALLEL_TILE_THRESHOLD}.
+     */
+    private static final long DEFAULT_PARALLEL_TILE_THRESHOLD =
+            8 * 1024 * 1024;
+
+    /**
+     * Grid of the tiles of an image that intersect a region, in which each
+     * tile is mapped to the part of the (possibly subsampled) region that it
+     * supplies.
+     */
+    private static final class TileGrid {
+
+        private final java.awt.Rectangle bounds;
+        private final int period, tileWidth, tileHeight;
+        private final int firstTileX, firstTileY, numCols, numRows;
+
+        /**
+         * @param bounds     Region, clipped to the image bounds.
+         * @param period     Subsampling period.
+         * @param tileWidth  Tile width.
+         * @param tileHeight Tile height.
+         * @param gridX      X offset of the tile grid.
+         * @param gridY      Y offset of the tile grid.
+         */
+        TileGrid(java.awt.Rectangle bounds, int period,
+                 int tileWidth, int tileHeight, int gridX, int gridY) {
+            this.bounds     = bounds;
+            this.period     = period;
+            this.tileWidth  = tileWidth;
+            this.tileHeight = tileHeight;
+            final int firstCol = Math.floorDiv(bounds.x - gridX, tileWidth);
+            final int firstRow = Math.floorDiv(bounds.y - gridY, tileHeight);
+            final int lastCol  = Math.floorDiv(
+                    bounds.x + bounds.width - 1 - gridX, tileWidth);
+            final int lastRow  = Math.floorDiv(
+                    bounds.y + bounds.height - 1 - gridY, tileHeight);
+            this.firstTileX = gridX + firstCol * tileWidth;
+            this.firstTileY = gridY + firstRow * tileHeight;
+            this.numCols    = lastCol - firstCol + 1;
+            this.numRows    = lastRow - firstRow + 1;
+        }
+
+        int getNumTiles() {
+            return numCols * numRows;
+        }
+
+        int getOutputWidth() {
+            return (bounds.width + period - 1) / period;
+        }
+
+        int getOutputHeight() {
+            return (bounds.height + period - 1) / period;
+        }
+
+        /**
+         * @param tile  Tile index, in row-major order.
+         * @param start Empty point that will be set to the position in the
+         *              output image of the pixels supplied by the tile.
+         * @return      Region of the tile to read, or {@literal null} if the
+         *              tile supplies no pixels, which can happen when it is
+         *              narrower than the subsampling period.
+         */
+        java.awt.Rectangle getSourceRegion(int tile, java.awt.Point start) {
+            final int tileX = firstTileX + (tile % numCols) * tileWidth;
+            final int tileY = firstTileY + (tile / numCols) * tileHeight;
+            // Range of output columns and rows whose source pixels fall
+            // within the tile
+            final int startX = ceilDiv(
+                    Math.max(tileX, bounds.x) - bounds.x, period);
+            final int endX   = ceilDiv(Math.min(tileX + tileWidth,
+                    bounds.x + bounds.width) - bounds.x, period);
+            final int startY = ceilDiv(
+                    Math.max(tileY, bounds.y) - bounds.y, period);
+            final int endY   = ceilDiv(Math.min(tileY + tileHeight,
+                    bounds.y + bounds.height) - bounds.y, period);
+            if (startX >= endX || startY >= endY) {
+                return null;
+            }
+            start.setLocation(startX, startY);
+            return new java.awt.Rectangle(
+                    bounds.x + startX * period,
+                    bounds.y + startY * period,
+                    (endX - startX - 1) * period + 1,
+                    (endY - startY - 1) * period + 1);
+        }
+
+        private static int ceilDiv(int dividend, int divisor) {
+            return (dividend + divisor - 1) / divisor;
+        }
+
+    }
+
     /**
      * Assigned by {@link #createReader()}.
      */
@@ -302,7 +423,7 @@ public abstract class AbstractIIOImageReader {
             getLogger().debug("setSource(Path): failed to close the input " +
                             "stream: {}", e.getMessage(), e);
         } finally {
-            inputStream = ImageIO.createImageInputStream(inputFile.toFile());
+            inputStream = new PathStreamFactory(inputFile).newSeekableStream();
             createReader();
         }
     }
@@ -366,7 +487,9 @@ public abstract class AbstractIIOImageReader {
      * <p>Attempts to read an image as efficiently as possible, exploiting its
      * tile layout, if possible.</p>
      *
-     * <p>This implementation is optimized for mono-resolution images.</p>
+     * <p>This implementation is optimized for mono-resolution images. When the
+     * requested scale is at most half, the image is {@link
+     * #getSubsamplingFactor subsampled} as it is decoded.</p>
      *
      * <p>After reading, clients should check the reader hints to see whether
      * the returned image will require cropping.</p>
@@ -390,13 +513,27 @@ public abstract class AbstractIIOImageReader {
                               final Set<ReaderHint> hints) throws IOException {
         BufferedImage image;
         try {
+            final Dimension fullSize = new Dimension(
+                    iioReader.getWidth(0), iioReader.getHeight(0));
             if (crop != null && !hints.contains(ReaderHint.IGNORE_CROP)) {
-                final Dimension fullSize = new Dimension(
-                        iioReader.getWidth(0), iioReader.getHeight(0));
-                image = tileAwareRead(
-                        imageIndex, crop.getRectangle(fullSize), hints);
+                final Rectangle region = crop.getRectangle(fullSize);
+                final ReductionFactor subsampling = getSubsamplingFactor(
+                        region.size(), scale, scaleConstraint);
+                image = tileAwareRead(imageIndex, region, subsampling, hints);
+                reductionFactor.factor = subsampling.factor;
             } else {
-                image = iioReader.read(imageIndex);
+                final Dimension imageSize = getSize(imageIndex);
+                final ReductionFactor subsampling = getSubsamplingFactor(
+                        imageSize, scale, scaleConstraint);
+                if (subsampling.factor > 0) {
+                    final ImageReadParam param = iioReader.getDefaultReadParam();
+                    setSubsampling(param, subsampling);
+                    image = iioReader.read(imageIndex, param);
+                    checkSubsampling(image, imageSize, null, subsampling);
+                    reductionFactor.factor = subsampling.factor;
+                } else {
+                    image = iioReader.read(imageIndex);
+                }
             }
             if (image == null) {
                 throw new SourceFormatException(iioReader.getFormatName());
@@ -411,24 +548,54 @@ public abstract class AbstractIIOImageReader {
     }
 
     /**
-     * Reads a particular image from a multi-image file.
+     * <p>Reads a particular image from a multi-image file.</p>
+     *
+     * <p>If the source is striped, the requested region would be larger than
+     * {@link Key#PROCESSOR_STRIP_THRESHOLD} once decoded, and the requested
+     * scale is at most half, the region is read {@link #stripRead in strips}
+     * and reduced by a power of two as it is read. Otherwise, it is {@link
+     * #getSubsamplingFactor subsampled} as it is decoded.</p>
      *
      * @param imageIndex      Image index.
      * @param crop            Requested crop.
+     * @param scale           Requested scale.
      * @param scaleConstraint Virtual scale constraint applied to the image.
+     * @param reductionFactor Will be set to the reduction factor of the
+     *                        returned image.
+     * @param hints           Will be populated by information returned by the
+     *                        reader.
      * @return                Smallest image fitting the requested operations.
      * @see                   #readSmallestUsableSubimage
      */
     protected BufferedImage readMonoResolution(
             final int imageIndex,
             final Crop crop,
+            final Scale scale,
             final ScaleConstraint scaleConstraint,
+            final ReductionFactor reductionFactor,
             final Set<ReaderHint> hints) throws IOException {
         final Dimension fullSize = new Dimension(
                 iioReader.getWidth(0), iioReader.getHeight(0));
         final Rectangle regionRect = crop.getRectangle(
                 fullSize, new ReductionFactor(), scaleConstraint);
-        return tileAwareRead(imageIndex, regionRect, hints);
+        if (isStripReadable(imageIndex, regionRect)) {
+            final ReductionFactor rf = scale.getReductionFactor(
+                    regionRect.size(), scaleConstraint, Integer.MAX_VALUE);
+            if (rf.factor > 0 &&
+                    regionRect.width() * rf.getScale() >= 3 &&
+                    regionRect.height() * rf.getScale() >= 3) {
+                final BufferedImage image = stripRead(
+                        imageIndex, regionRect, scale, rf, hints);
+                reductionFactor.factor = rf.factor;
+                return image;
+            }
+        }
+        final ReductionFactor subsampling = getSubsamplingFactor(
+                regionRect.size(), scale, scaleConstraint);
+        final BufferedImage image = tileAwareRead(
+                imageIndex, regionRect, subsampling, hints);
+        reductionFactor.factor = subsampling.factor;
+        return image;
     }
 
     /**
@@ -539,6 +706,25 @@ public abstract class AbstractIIOImageReader {
     private BufferedImage tileAwareRead(final int imageIndex,
                                         final Rectangle region,
                                         final Set<ReaderHint> hints) throws IOException {
+        return tileAwareRead(imageIndex, region, new ReductionFactor(), hints);
+    }
+
+    /**
+     * Variant of {@link #tileAwareRead(int, Rectangle, Set)} that subsamples
+     * the region as it is decoded.
+     *
+     * @param imageIndex  Index of the image to read from the ImageReader.
+     * @param region      Image region to retrieve.
+     * @param subsampling Reduction factor by which to subsample the region.
+     *                    Will be reset to {@literal 0} if the reader didn't
+     *                    subsample it.
+     * @param hints       Will be populated with information returned from the
+     *                    reader.
+     */
+    private BufferedImage tileAwareRead(final int imageIndex,
+                                        final Rectangle region,
+                                        final ReductionFactor subsampling,
+                                        final Set<ReaderHint> hints) throws IOException {
         final Dimension imageSize = getSize(imageIndex);
         final Dimension tileSize = getTileSize(imageIndex);
 
@@ -562,10 +748,415 @@ public abstract class AbstractIIOImageReader {
         }
 
         hints.add(ReaderHint.ALREADY_CROPPED);
+        if (isParallelTileReadable(imageIndex, region)) {
+            return parallelTileRead(imageIndex, region, subsampling);
+        }
         final ImageReadParam param = iioReader.getDefaultReadParam();
         param.setSourceRegion(region.toAWTRectangle());
+        setSubsampling(param, subsampling);
+
+        final BufferedImage image = iioReader.read(imageIndex, param);
+        checkSubsampling(image, imageSize, region, subsampling);
+        return image;
+    }
+
+    /**
+     * <p>Returns the reduction factor by which a region can be subsampled as
+     * it is decoded, by reading only every {@literal 2^factor}th pixel of
+     * every {@literal 2^factor}th row, in order to fulfill the given scale.
+     * This saves the time and memory involved in decoding a large image only
+     * to scale it down afterward. The caller remains responsible for
+     * resampling the subsampled image to the final size.</p>
+     *
+     * <p>The factor is limited so that the subsampled region is at least
+     * three pixels on a side, which is the minimum that the resampler can
+     * work with.</p>
+     *
+     * @param regionSize      Size of the region to read.
+     * @param scale           Requested scale. May be {@literal null}.
+     * @param scaleConstraint Scale constraint.
+     * @return                Reduction factor, which is {@literal 0} if the
+     *                        requested scale is more than half.
+     */
+    protected static ReductionFactor getSubsamplingFactor(
+            Dimension regionSize,
+            Scale scale,
+            ScaleConstraint scaleConstraint) {
+        if (scale == null) {
+            return new ReductionFactor();
+        }
+        int maxFactor = 0;
+        while (maxFactor < 30 &&
+                regionSize.width() / (2 << maxFactor) >= 3 &&
+                regionSize.height() / (2 << maxFactor) >= 3) {
+            maxFactor++;
+        }
+        return scale.getReductionFactor(
+                regionSize, scaleConstraint, maxFactor);
+    }
+
+    /**
+     * @param param       Parameters to configure.
+     * @param subsampling Reduction factor by which to subsample.
+     */
+    protected static void setSubsampling(ImageReadParam param,
+                                         ReductionFactor subsampling) {
+        if (subsampling.factor > 0) {
+            final int period = 1 << subsampling.factor;
+            param.setSourceSubsampling(period, period, 0, 0);
+        }
+    }
+
+    /**
+     * Resets the given reduction factor to {@literal 0} if the given image,
+     * which was read with {@link #setSubsampling subsampling}, doesn't have
+     * the subsampled size, as some readers don't support subsampling.
+     *
+     * @param image       Image that was read.
+     * @param imageSize   Full size of the source image.
+     * @param region      Region of the source image that was read, or
+     *                    {@literal null} if the whole image was read.
+     * @param subsampling Reduction factor that was requested.
+     */
+    protected static void checkSubsampling(BufferedImage image,
+                                           Dimension imageSize,
+                                           Rectangle region,
+                                           ReductionFactor subsampling) {
+        if (subsampling.factor == 0 || image == null) {
+            return;
+        }
+        java.awt.Rectangle bounds = new java.awt.Rectangle(
+                0, 0, imageSize.intWidth(), imageSize.intHeight());
+        if (region != null) {
+            bounds = bounds.intersection(region.toAWTRectangle());
+        }
+        final int period = 1 << subsampling.factor;
+        if (image.getWidth() != (bounds.width + period - 1) / period ||
+                image.getHeight() != (bounds.height + period - 1) / period) {
+            subsampling.factor = 0;
+        }
+    }
 
-        return iioReader.read(imageIndex, param);
+    /**
+     * @param imageIndex Image index.
+     * @param region     Region to read.
+     * @return           Whether the given region of the given image can be
+     *                   read by {@link #parallelTileRead}, and would exceed
+     *                   {@link Key#PROCESSOR_PARALLEL_TILE_THRESHOLD} once
+     *                   decoded.
+     */
+    private boolean isParallelTileReadable(int imageIndex,
+                                           Rectangle region) throws IOException {
+        final long threshold = Configuration.getInstance().getLongBytes(
+                Key.PROCESSOR_PARALLEL_TILE_THRESHOLD,
+                DEFAULT_PARALLEL_TILE_THRESHOLD);
+        if (threshold <= 0 || !canSeek()) {
+            return false;
+        }
+        // Every reader needs its own stream, which, for sources that can't
+        // seek directly, would mean reading the whole image into memory.
+        // Remote sources that can would block the compute pool's threads on
+        // network I/O.
+        if (!(source instanceof Path)) {
+            return false;
+        }
+        final int width  = iioReader.getWidth(imageIndex);
+        final int height = iioReader.getHeight(imageIndex);
+        if (iioReader.getTileWidth(imageIndex) >= width) {
+            return false;
+        }
+        final java.awt.Rectangle bounds = region.toAWTRectangle()
+                .intersection(new java.awt.Rectangle(0, 0, width, height));
+        if (bounds.isEmpty() || newTileGrid(
+                imageIndex, bounds, new ReductionFactor()).getNumTiles() < 2) {
+            return false;
+        }
+        // Tiles of images with packed sub-byte pixels would share bytes at
+        // their edges in the output image.
+        final Iterator<ImageTypeSpecifier> types =
+                iioReader.getImageTypes(imageIndex);
+        if (!types.hasNext()) {
+            return false;
+        }
+        final ImageTypeSpecifier type = types.next();
+        if (type.getSampleModel() instanceof MultiPixelPackedSampleModel) {
+            return false;
+        }
+        final long regionLength = (long) bounds.width * bounds.height *
+                getBytesPerPixel(type);
+        return regionLength > threshold;
+    }
+
+    private TileGrid newTileGrid(int imageIndex,
+                                 java.awt.Rectangle bounds,
+                                 ReductionFactor subsampling) throws IOException {
+        return new TileGrid(bounds, 1 << subsampling.factor,
+                iioReader.getTileWidth(imageIndex),
+                iioReader.getTileHeight(imageIndex),
+                iioReader.getTileGridXOffset(imageIndex),
+                iioReader.getTileGridYOffset(imageIndex));
+    }
+
+    /**
+     * <p>Reads a region of a tiled image by decoding the tiles that it
+     * intersects in parallel on the {@link ThreadPool#getComputePool()
+     * compute pool}, and copying them into the returned image.</p>
+     *
+     * <p>Image I/O readers aren't thread-safe, so each of a bounded number of
+     * tasks creates its own reader, with its own stream from the {@link
+     * #source} file, and reads one tile after another from a shared queue
+     * until there are none left.</p>
+     *
+     * @param imageIndex  Index of the image to read.
+     * @param region      Region to read.
+     * @param subsampling Reduction factor by which to subsample the region.
+     */
+    private BufferedImage parallelTileRead(final int imageIndex,
+                                           final Rectangle region,
+                                           final ReductionFactor subsampling) throws IOException {
+        final java.awt.Rectangle bounds = region.toAWTRectangle().intersection(
+                new java.awt.Rectangle(0, 0,
+                        iioReader.getWidth(imageIndex),
+                        iioReader.getHeight(imageIndex)));
+        final TileGrid grid = newTileGrid(imageIndex, bounds, subsampling);
+        final int numTasks  = Math.min(grid.getNumTiles(),
+                ThreadPool.getInstance().getComputePool().getParallelism());
+
+        getLogger().debug("Acquiring region {},{}/{}x{} in {} tiles with {} " +
+                        "readers ({}x reduction factor)",
+                bounds.x, bounds.y, bounds.width, bounds.height,
+                grid.getNumTiles(), numTasks, subsampling.factor);
+
+        // The readers return images of the first of these types by default.
+        final BufferedImage image = iioReader.getImageTypes(imageIndex).next()
+                .createBufferedImage(
+                        grid.getOutputWidth(), grid.getOutputHeight());
+        final WritableRaster raster  = image.getRaster();
+        final AtomicInteger nextTile = new AtomicInteger();
+        final List<Callable<Void>> tasks = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            tasks.add(() -> {
+                readTiles(imageIndex, grid, nextTile, raster);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future :
+                    ThreadPool.getInstance().getComputePool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+        return image;
+    }
+
+    /**
+     * Reads tiles from the given grid with a new reader until there are none
+     * left, and copies them into the given raster.
+     *
+     * @param imageIndex Index of the image to read.
+     * @param grid       Tiles to read.
+     * @param nextTile   Index of the next tile to read, shared by all
+     *                   invocations.
+     * @param raster     Raster to copy the tiles into.
+     */
+    private void readTiles(int imageIndex,
+                           TileGrid grid,
+                           AtomicInteger nextTile,
+                           WritableRaster raster) throws IOException {
+        final javax.imageio.ImageReader reader =
+                iioReader.getOriginatingProvider().createReaderInstance();
+        try (ImageInputStream is =
+                     new PathStreamFactory((Path) source).newSeekableStream()) {
+            reader.setInput(is, false, false);
+            final ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(grid.period, grid.period, 0, 0);
+            final java.awt.Point start = new java.awt.Point();
+            int tile;
+            while ((tile = nextTile.getAndIncrement()) < grid.getNumTiles()) {
+                final java.awt.Rectangle sourceRegion =
+                        grid.getSourceRegion(tile, start);
+                if (sourceRegion == null) {
+                    continue;
+                }
+                param.setSourceRegion(sourceRegion);
+                final BufferedImage tileImage = reader.read(imageIndex, param);
+                raster.setDataElements(start.x, start.y, tileImage.getRaster());
+            }
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * @param imageIndex Image index.
+     * @param region     Region to read.
+     * @return           Whether the given region of the given image can be
+     *                   read by {@link #stripRead}, and would exceed {@link
+     *                   Key#PROCESSOR_STRIP_THRESHOLD} if read all at once.
+     */
+    private boolean isStripReadable(int imageIndex,
+                                    Rectangle region) throws IOException {
+        final long threshold = Configuration.getInstance().getLongBytes(
+                Key.PROCESSOR_STRIP_THRESHOLD, DEFAULT_STRIP_THRESHOLD);
+        if (threshold <= 0 || !canSeek()) {
+            return false;
+        }
+        // Strips of tiled images would span several rows of tiles, and
+        // reading part of a mono-striped one would mean decompressing it all
+        // over again for every strip.
+        final int width  = iioReader.getWidth(imageIndex);
+        final int height = iioReader.getHeight(imageIndex);
+        if (iioReader.getTileWidth(imageIndex) != width ||
+                iioReader.getTileHeight(imageIndex) >= height) {
+            return false;
+        }
+        final ImageTypeSpecifier type = getRawImageType(imageIndex);
+        if (type == null || !isStripResamplable(type)) {
+            return false;
+        }
+        final long regionLength = (long) region.intWidth() *
+                region.intHeight() * getBytesPerPixel(type);
+        return regionLength > threshold;
+    }
+
+    /**
+     * @return Whether {@link ResampleOp} can resample images of the given
+     *         type without their having to be converted first, which is the
+     *         case for 8-bit gray, RGB, and RGBA images, and for {@link
+     *         ResampleOp#supports16BitSamples some 16-bit ones}.
+     */
+    private static boolean isStripResamplable(ImageTypeSpecifier type) {
+        final BufferedImage image = type.createBufferedImage(1, 1);
+        if (ResampleOp.supports16BitSamples(image)) {
+            return true;
+        }
+        final ColorModel cm = image.getColorModel();
+        if (cm instanceof IndexColorModel || cm.isAlphaPremultiplied()) {
+            return false;
+        }
+        final SampleModel sm = image.getSampleModel();
+        for (int size : sm.getSampleSize()) {
+            if (size != 8) {
+                return false;
+            }
+        }
+        final ColorSpace cs = cm.getColorSpace();
+        switch (sm.getNumBands()) {
+            case 1:
+                return cs.getType() == ColorSpace.TYPE_GRAY;
+            case 3:
+            case 4:
+                return cs.getType() == ColorSpace.TYPE_RGB;
+            default:
+                return false;
+        }
+    }
+
+    private ImageTypeSpecifier getRawImageType(int imageIndex)
+            throws IOException {
+        ImageTypeSpecifier type = iioReader.getRawImageType(imageIndex);
+        if (type == null) {
+            Iterator<ImageTypeSpecifier> types =
+                    iioReader.getImageTypes(imageIndex);
+            if (types.hasNext()) {
+                type = types.next();
+            }
+        }
+        return type;
+    }
+
+    private static int getBytesPerPixel(ImageTypeSpecifier type) {
+        int bits = 0;
+        for (int size : type.getSampleModel().getSampleSize()) {
+            bits += size;
+        }
+        return Math.max(1, (bits + 7) / 8);
+    }
+
+    /**
+     * <p>Reads a region of a striped image in horizontal strips, each of which
+     * is resampled as soon as it has been read, so that only one strip of the
+     * region, plus the buffers of a {@link ResampleOp.StripResampler}, is in
+     * memory at a time.</p>
+     *
+     * <p>The strips are aligned to those of the image, so that each of those
+     * is decoded only once. The returned image is reduced by the given
+     * reduction factor, leaving any remaining scaling to the caller.</p>
+     *
+     * <p>This method populates {@literal hints} with {@link
+     * ReaderHint#ALREADY_CROPPED}.</p>
+     *
+     * @param imageIndex      Index of the image to read.
+     * @param region          Region to read.
+     * @param scale           Requested scale, whose filter and linearity are
+     *                        respected.
+     * @param reductionFactor Reduction factor to apply.
+     * @param hints           Will be populated with information returned from
+     *                        the reader.
+     */
+    private BufferedImage stripRead(final int imageIndex,
+                                    final Rectangle region,
+                                    final Scale scale,
+                                    final ReductionFactor reductionFactor,
+                                    final Set<ReaderHint> hints) throws IOException {
+        final java.awt.Rectangle bounds = region.toAWTRectangle().intersection(
+                new java.awt.Rectangle(0, 0,
+                        iioReader.getWidth(imageIndex),
+                        iioReader.getHeight(imageIndex)));
+        final double rfScale   = reductionFactor.getScale();
+        final int rowsPerStrip = Math.max(1, iioReader.getTileHeight(imageIndex));
+        final long stripRowLength = (long) bounds.width * rowsPerStrip *
+                getBytesPerPixel(getRawImageType(imageIndex));
+        final int stripHeight = (int) (Math.max(1,
+                STRIP_BYTES / stripRowLength) * rowsPerStrip);
+
+        getLogger().debug("Acquiring region {},{}/{}x{} in {}-row strips " +
+                        "({}x reduction factor)",
+                bounds.x, bounds.y, bounds.width, bounds.height,
+                stripHeight, reductionFactor.factor);
+
+        final ResampleOp resampleOp = new ResampleOp(
+                (int) Math.round(bounds.width * rfScale),
+                (int) Math.round(bounds.height * rfScale), false);
+        ResampleFilter filter = null;
+        if (scale.getFilter() != null) {
+            filter = scale.getFilter().toResampleFilter();
+        }
+        if (filter == null) {
+            filter = Scale.Filter.BOX.toResampleFilter();
+        }
+        resampleOp.setFilter(filter);
+        resampleOp.setLinearLight(scale.isLinear());
+
+        final ImageReadParam param = iioReader.getDefaultReadParam();
+        try (ResampleOp.StripResampler resampler = resampleOp.newStripResampler(
+                bounds.width, bounds.height,
+                Math.min(bounds.height, stripHeight))) {
+            final int endY = bounds.y + bounds.height;
+            for (int y = bounds.y; y < endY; ) {
+                // Every strip after the first starts at the start of one of
+                // the image's strips.
+                final int stripEndY = Math.min(endY,
+                        (y / rowsPerStrip) * rowsPerStrip + stripHeight);
+                param.setSourceRegion(new java.awt.Rectangle(
+                        bounds.x, y, bounds.width, stripEndY - y));
+                resampler.add(iioReader.read(imageIndex, param));
+                y = stripEndY;
+            }
+            hints.add(ReaderHint.ALREADY_CROPPED);
+            return resampler.getResult();
+        }
     }
 
     public BufferedImageSequence readSequence() throws IOException {
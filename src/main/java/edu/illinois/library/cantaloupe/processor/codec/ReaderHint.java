@@ -14,6 +14,13 @@ public enum ReaderHint {
      */
     ALREADY_ORIENTED,
 
+    /**
+     * Provided to a reader, telling it that the image will be converted to
+     * grayscale anyway, so it may decode only the luminance of a color image,
+     * if it can do so more efficiently than decoding it in color.
+     */
+    DECODE_GRAY,
+
     /**
      * Provided to a reader, telling it to read the entire image ignoring
      * {@link edu.illinois.library.cantaloupe.operation.Crop} operations.
@@ -155,27 +155,49 @@ public final class JPEGImageReader extends AbstractIIOImageReader
         }
 
         Dimension fullSize = getSize(imageIndex);
-        image = readRegion(crop.getRectangle(fullSize, scaleConstraint), hints);
+        final Rectangle region = crop.getRectangle(fullSize, scaleConstraint);
+        final ReductionFactor subsampling = getSubsamplingFactor(
+                region.size(), scale, scaleConstraint);
+        image = readRegion(region, subsampling, hints);
 
         if (image == null) {
             throw new SourceFormatException(iioReader.getFormatName());
         }
+        checkSubsampling(image, fullSize, region, subsampling);
+        reductionFactor.factor = subsampling.factor;
 
         return image;
     }
 
+    /**
+     * @param region      Region to read.
+     * @param subsampling Reduction factor by which to subsample the region as
+     *                    it is decoded.
+     * @param hints       May contain {@link ReaderHint#DECODE_GRAY}. Will be
+     *                    populated with information returned from the reader.
+     */
     private BufferedImage readRegion(final Rectangle region,
+                                     final ReductionFactor subsampling,
                                      final Set<ReaderHint> hints) throws IOException {
         final Dimension imageSize = getSize(0);
 
-        getLogger().debug("Acquiring region {},{}/{}x{} from {}x{} image",
+        getLogger().debug("Acquiring region {},{}/{}x{} from {}x{} image " +
+                        "({}x reduction factor)",
                 region.intX(), region.intY(),
                 region.intWidth(), region.intHeight(),
-                imageSize.intWidth(), imageSize.intHeight());
+                imageSize.intWidth(), imageSize.intHeight(),
+                subsampling.factor);
 
         hints.add(ReaderHint.ALREADY_CROPPED);
         final ImageReadParam param = iioReader.getDefaultReadParam();
         param.setSourceRegion(region.toAWTRectangle());
+        setSubsampling(param, subsampling);
+        if (hints.contains(ReaderHint.DECODE_GRAY)) {
+            final ImageTypeSpecifier grayType = getGrayImageType();
+            if (grayType != null) {
+                param.setDestinationType(grayType);
+            }
+        }
 
         BufferedImage image = null;
         try {
@@ -197,6 +219,23 @@ public final class JPEGImageReader extends AbstractIIOImageReader
         return image;
     }
 
+    /**
+     * @return Grayscale type into which the reader can decode the image, which
+     *         for a YCbCr image means decoding only its luminance channel, or
+     *         {@literal null} if there is none (as with CMYK images).
+     */
+    private ImageTypeSpecifier getGrayImageType() throws IOException {
+        final Iterator<ImageTypeSpecifier> imageTypes = iioReader.getImageTypes(0);
+        while (imageTypes.hasNext()) {
+            final ImageTypeSpecifier imageTypeSpecifier = imageTypes.next();
+            if (imageTypeSpecifier.getBufferedImageType() ==
+                    BufferedImage.TYPE_BYTE_GRAY) {
+                return imageTypeSpecifier;
+            }
+        }
+        return null;
+    }
+
     /**
      * Used for images whose embedded ICC profile is incompatible with the
      * source image data. (The Sun JPEGImageReader is not very lenient.)
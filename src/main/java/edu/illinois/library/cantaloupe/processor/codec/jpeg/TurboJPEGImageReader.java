@@ -81,8 +81,8 @@ public final class TurboJPEGImageReader implements AutoCloseable {
     private Rectangle region, mcuSafeRegion;
     private TJScalingFactor scalingFactor = new TJScalingFactor(1, 1);
     private Transform transform;
-    private boolean useGrayscaleConversion, useFastUpsample, useFastDCT,
-            useAccurateDCT;
+    private boolean useGrayscaleConversion, useGrayscaleOutput,
+            useFastUpsample, useFastDCT, useAccurateDCT;
 
     /**
      * Stream from which JPEG data will be read and stored in {@link
@@ -410,6 +410,21 @@ public final class TurboJPEGImageReader implements AutoCloseable {
         this.useGrayscaleConversion = useGrayscaleConversion;
     }
 
+    /**
+     * Unlike {@link #setUseGrayscaleConversion(boolean)}, this works with
+     * images of any size, and only affects {@link
+     * #readAsBufferedImage(Rectangle)}.
+     *
+     * @param useGrayscaleOutput Whether to decompress only the luminance
+     *                           channel of the image into a {@link
+     *                           BufferedImage#TYPE_BYTE_GRAY grayscale
+     *                           image}, skipping chrominance upsampling and
+     *                           color conversion.
+     */
+    public void setUseGrayscaleOutput(boolean useGrayscaleOutput) {
+        this.useGrayscaleOutput = useGrayscaleOutput;
+    }
+
     /**
      * Wraps {@link #getMCUSafeRegion(Rectangle, int, int, int, int,
      * Rectangle)}.
@@ -591,7 +606,9 @@ public final class TurboJPEGImageReader implements AutoCloseable {
         height = scalingFactor.getScaled(height);
 
         BufferedImage image = new BufferedImage(width, height,
-                BufferedImage.TYPE_3BYTE_BGR);
+                useGrayscaleOutput ?
+                        BufferedImage.TYPE_BYTE_GRAY :
+                        BufferedImage.TYPE_3BYTE_BGR);
         try {
             decompressor.decompress(image, getFlags());
         } catch (TJException e) {
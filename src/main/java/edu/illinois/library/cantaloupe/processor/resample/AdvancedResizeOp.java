@@ -40,8 +40,7 @@ abstract class AdvancedResizeOp implements BufferedImageOp {
      */
     public final BufferedImage filter(BufferedImage src,
                                       BufferedImage dest) {
-        Dimension dstDimension = dimensionConstraint.getDimension(
-                new Dimension(src.getWidth(), src.getHeight()));
+        Dimension dstDimension = getDimension(src.getWidth(), src.getHeight());
         int dstWidth = dstDimension.width;
         int dstHeight = dstDimension.height;
         BufferedImage bufferedImage = doFilter(src, dest, dstWidth, dstHeight);
@@ -57,6 +56,15 @@ abstract class AdvancedResizeOp implements BufferedImageOp {
         return bufferedImage;
     }
 
+    /**
+     * @return Size of the image resulting from a source image of the given
+     *         size.
+     */
+    final Dimension getDimension(int srcWidth, int srcHeight) {
+        return dimensionConstraint.getDimension(
+                new Dimension(srcWidth, srcHeight));
+    }
+
     protected abstract BufferedImage doFilter(BufferedImage src,
                                               BufferedImage dest,
                                               int dstWidth,
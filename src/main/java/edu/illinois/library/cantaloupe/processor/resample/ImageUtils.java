@@ -93,6 +93,29 @@ class ImageUtils {
         }
     }
 
+    /**
+     * Variant of {@link #readPixelsBGR} for images with 16-bit unsigned
+     * samples, which are reduced to 8 bits in the same pass. The samples are
+     * read in band order.
+     *
+     * @param img
+     * @param y
+     * @param w
+     * @param outArray Array into which the pixels will be read.
+     * @param temp     Array with a length of {@code width * numBands}.
+     */
+    static void readPixels16(BufferedImage img,
+                             int y,
+                             int w,
+                             byte[] outArray,
+                             short[] temp) {
+        img.getRaster().getDataElements(0, y, w, 1, temp);
+        for (int i = 0; i < temp.length; i++) {
+            // Equivalent to Math.round(sample / 257.0)
+            outArray[i] = (byte) (((temp[i] & 0xffff) * 255 + 32895) >> 16);
+        }
+    }
+
     /**
      * <p>Converts and copies byte-packed BGR or ABGR into the given {@literal
      * image} buffer. The type of {@literal image} may vary (e.g. RGB or BGR,
@@ -101,6 +124,8 @@ class ImageUtils {
      *
      * <p>Does not unmange the image for all (A)RGN and (A)BGR and gray
      * images.</p>
+     *
+     * <p>{@literal bgrPixels} may be longer than necessary.</p>
      */
     static void setBGRPixels(byte[] bgrPixels,
                              BufferedImage image,
@@ -116,12 +141,12 @@ class ImageUtils {
         } else {
             int[] pixels;
             if (imageType == BufferedImage.TYPE_INT_BGR) {
-                pixels = bytes2int(bgrPixels, 2, 1, 0);  // BGR -> BGR
+                pixels = bytes2int(bgrPixels, w * h, 2, 1, 0);  // BGR -> BGR
             } else if (imageType == BufferedImage.TYPE_INT_ARGB ||
                     imageType == BufferedImage.TYPE_INT_ARGB_PRE) {
-                pixels = bytes2int(bgrPixels, 3, 0, 1, 2);  // ABGR -> ARGB
+                pixels = bytes2int(bgrPixels, w * h, 3, 0, 1, 2);  // ABGR -> ARGB
             } else {
-                pixels = bytes2int(bgrPixels, 0, 1, 2);  // BGR -> RGB
+                pixels = bytes2int(bgrPixels, w * h, 0, 1, 2);  // BGR -> RGB
             }
             if (w == 0 || h == 0) {
                 return;
@@ -169,9 +194,9 @@ class ImageUtils {
         }
     }
 
-    private static int[] bytes2int(byte[] in,
+    private static int[] bytes2int(byte[] in, int numPixels,
                                    int index1, int index2, int index3) {
-        int[] out = new int[in.length / 3];
+        int[] out = new int[numPixels];
         for (int i = 0; i < out.length; i++) {
             int index = i * 3;
             int b1 = (in[index + index1] & 0xff) << 16;
@@ -182,9 +207,9 @@ class ImageUtils {
         return out;
     }
 
-    private static int[] bytes2int(byte[] in,
+    private static int[] bytes2int(byte[] in, int numPixels,
                                    int index1, int index2, int index3, int index4) {
-        int[] out = new int[in.length / 4];
+        int[] out = new int[numPixels];
         for (int i = 0; i < out.length; i++) {
             int index = i * 4;
             int b1 = (in[index + index1] & 0xff) << 24;
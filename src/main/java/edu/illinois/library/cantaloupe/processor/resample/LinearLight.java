@@ -0,0 +1,102 @@
+package edu.illinois.library.cantaloupe.processor.resample;
+
+/**
+ * <p>Lookup tables for conversion between 8-bit sRGB-encoded samples and
+ * 16-bit linear-light samples, used by {@link ResampleOp} to resample in
+ * linear light without going through a {@link java.awt.image.ColorConvertOp}
+ * before and after.</p>
+ *
+ * <p>The sRGB transfer function is applied as defined in IEC 61966-2-1.</p>
+ *
+ * @since 6.0
+ */
+final class LinearLight {
+
+    /**
+     * Maximum value of a linear-light sample.
+     */
+    static final int MAX_LINEAR_VALUE = 65535;
+
+    /**
+     * Linear-light values, in the range of {@literal 0} to {@link
+     * #MAX_LINEAR_VALUE}, indexed by 8-bit sRGB values.
+     */
+    private static final float[] SRGB_TO_LINEAR = new float[256];
+
+    /**
+     * 8-bit alpha values scaled to the range of {@literal 0} to {@link
+     * #MAX_LINEAR_VALUE}. (Alpha is not gamma-encoded.)
+     */
+    private static final float[] ALPHA_TO_LINEAR = new float[256];
+
+    /**
+     * 8-bit sRGB values indexed by linear-light values.
+     */
+    private static final byte[] LINEAR_TO_SRGB =
+            new byte[MAX_LINEAR_VALUE + 1];
+
+    static {
+        for (int i = 0; i < SRGB_TO_LINEAR.length; i++) {
+            final double c = i / 255.0;
+            final double l = (c <= 0.04045) ?
+                    c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4);
+            SRGB_TO_LINEAR[i]  = (float) (l * MAX_LINEAR_VALUE);
+            ALPHA_TO_LINEAR[i] = i * (MAX_LINEAR_VALUE / 255f);
+        }
+        for (int i = 0; i < LINEAR_TO_SRGB.length; i++) {
+            final double l = i / (double) MAX_LINEAR_VALUE;
+            final double c = (l <= 0.0031308) ?
+                    l * 12.92 : 1.055 * Math.pow(l, 1 / 2.4) - 0.055;
+            LINEAR_TO_SRGB[i] = (byte) Math.round(c * 255);
+        }
+    }
+
+    /**
+     * @param numChannels Number of channels. If it is {@literal 4}, the last
+     *                    one is assumed to be alpha.
+     * @return            Table for each channel that maps its 8-bit values to
+     *                    linear-light values.
+     */
+    static float[][] toLinearTables(int numChannels) {
+        final float[][] tables = new float[numChannels][];
+        for (int c = 0; c < numChannels; c++) {
+            tables[c] = (numChannels == 4 && c == 3) ?
+                    ALPHA_TO_LINEAR : SRGB_TO_LINEAR;
+        }
+        return tables;
+    }
+
+    /**
+     * @param linear Linear-light value, which is clamped to the range of
+     *               {@literal 0} to {@link #MAX_LINEAR_VALUE}.
+     * @return       Rounded 16-bit value.
+     */
+    static int clamp(float linear) {
+        if (linear <= 0) {
+            return 0;
+        } else if (linear >= MAX_LINEAR_VALUE) {
+            return MAX_LINEAR_VALUE;
+        }
+        return (int) (linear + 0.5f);
+    }
+
+    /**
+     * @param linear Linear-light value.
+     * @return       8-bit sRGB value.
+     */
+    static byte toSRGB(float linear) {
+        return LINEAR_TO_SRGB[clamp(linear)];
+    }
+
+    /**
+     * @param linear Linear alpha value.
+     * @return       8-bit alpha value.
+     */
+    static byte toAlpha(float linear) {
+        return (byte) ((clamp(linear) * 255 + MAX_LINEAR_VALUE / 2) /
+                MAX_LINEAR_VALUE);
+    }
+
+    private LinearLight() {}
+
+}
@@ -1,480 +1,1036 @@
-/*
- * Copyright 2013, Morten Nobel-Joergensen
- *
- * License: The BSD 3-Clause License
- * http://opensource.org/licenses/BSD-3-Clause
- */
-package edu.illinois.library.cantaloupe.processor.resample;
-
-import edu.illinois.library.cantaloupe.async.ThreadPool;
-
-import java.awt.Transparency;
-import java.awt.color.ColorSpace;
-import java.awt.image.BufferedImage;
-import java.awt.image.ComponentColorModel;
-import java.awt.image.DataBuffer;
-import java.awt.image.WritableRaster;
-import java.util.concurrent.CountDownLatch;
-
-/**
- * @author Morten Nobel-Joergensen
- * @author Heinz Doerr
- * @author Alex Dolski UIUC
- */
-public class ResampleOp extends AdvancedResizeOp {
-
-    private static class SubSamplingData {
-
-        /**
-         * Individual - per row or per column - number of contributions.
-         */
-        private final int[] arrN;
-
-        /**
-         * 2D: [width or height][contrib]
-         */
-        private final int[] arrPixel;
-
-        /**
-         * 2D: [width or height][contrib]
-         */
-        private final float[] arrWeight;
-
-        /**
-         * Primary index length for the arrPixel and arrWeight arrays.
-         */
-        private final int numContributors;
-
-        private SubSamplingData(int[] arrN, int[] arrPixel, float[] arrWeight,
-                                int numContributors) {
-            this.arrN = arrN;
-            this.arrPixel = arrPixel;
-            this.arrWeight = arrWeight;
-            this.numContributors = numContributors;
-        }
-
-    }
-
-    private static final int MAX_CHANNEL_VALUE = 255;
-
-    private static final int THREAD_COUNT =
-            Runtime.getRuntime().availableProcessors();
-
-    private int numChannels;
-    private int srcWidth, srcHeight;
-    private int destWidth, destHeight;
-    private boolean isLinear;
-
-    private SubSamplingData horizontalSubsamplingData;
-    private SubSamplingData verticalSubsamplingData;
-
-    /**
-     * Set by {@link #setFilter(ResampleFilter)}.
-     */
-    private ResampleFilter filter = ResampleFilters.getLanczos3Filter();
-
-    private static SubSamplingData createSubSampling(ResampleFilter filter,
-                                                     int srcSize,
-                                                     int dstSize) {
-        float scale = (float) dstSize / (float) srcSize;
-        int[] arrN = new int[dstSize];
-        int numContributors;
-        float[] arrWeight;
-        int[] arrPixel;
-
-        final float fwidth = filter.getSamplingRadius();
-
-        float centerOffset = 0.5f / scale;
-
-        if (scale < 1.0f) {
-            final float width = fwidth / scale;
-            // Add 1 to be safe with the ceiling.
-            numContributors = (int) (width * 2.0f + 2);
-            arrWeight = new float[dstSize * numContributors];
-            arrPixel = new int[dstSize * numContributors];
-
-            final float fNormFac = (float) (1f / (Math.ceil(width) / fwidth));
-
-            for (int i = 0; i < dstSize; i++) {
-                final int subindex = i * numContributors;
-                float center = i / scale + centerOffset;
-                int left = (int) Math.floor(center - width);
-                int right = (int) Math.ceil(center + width);
-                for (int j = left; j <= right; j++) {
-                    float weight;
-                    weight = filter.apply((center - j) * fNormFac);
-
-                    if (weight == 0.0f) {
-                        continue;
-                    }
-                    int n;
-                    if (j < 0) {
-                        n = -j;
-                    } else if (j >= srcSize) {
-                        n = srcSize - j + srcSize - 1;
-                    } else {
-                        n = j;
-                    }
-                    int k = arrN[i];
-                    //assert k == j-left:String.format("%s = %s %s", k,j,left);
-                    arrN[i]++;
-                    if (n < 0 || n >= srcSize) {
-                        weight = 0.0f;// Flag that cell should not be used
-                    }
-                    arrPixel[subindex + k] = n;
-                    arrWeight[subindex + k] = weight;
-                }
-                // Normalize the filter's weights so the sum equals 1.0; very
-                // important for avoiding box type of artifacts.
-                final int max = arrN[i];
-                float tot = 0;
-                for (int k = 0; k < max; k++)
-                    tot += arrWeight[subindex + k];
-                if (tot != 0f) { // 0 should never happen except bug in filter
-                    for (int k = 0; k < max; k++)
-                        arrWeight[subindex + k] /= tot;
-                }
-            }
-        } else {
-            // super-sampling
-            // Scales from smaller to bigger height
-            numContributors = (int) (fwidth * 2.0f + 1);
-            arrWeight = new float[dstSize * numContributors];
-            arrPixel = new int[dstSize * numContributors];
-            //
-            for (int i = 0; i < dstSize; i++) {
-                final int subindex = i * numContributors;
-                final float center = i / scale + centerOffset;
-                final int left = (int) Math.floor(center - fwidth);
-                final int right = (int) Math.ceil(center + fwidth);
-
-                for (int j = left; j <= right; j++) {
-                    float weight = filter.apply(center - j);
-                    if (weight == 0.0f) {
-                        continue;
-                    }
-                    int n;
-                    if (j < 0) {
-                        n = -j;
-                    } else if (j >= srcSize) {
-                        n = srcSize - j + srcSize - 1;
-                    } else {
-                        n = j;
-                    }
-                    int k = arrN[i];
-                    arrN[i]++;
-                    if (n < 0 || n >= srcSize) {
-                        weight = 0.0f;// Flag that cell should not be used
-                    }
-                    arrPixel[subindex + k] = n;
-                    arrWeight[subindex + k] = weight;
-                }
-                // Normalize the filter's weights so the sum equals 1.0;
-                // very important for avoiding box type of artifacts.
-                final int max = arrN[i];
-                float tot = 0;
-                for (int k = 0; k < max; k++)
-                    tot += arrWeight[subindex + k];
-                assert tot != 0 : "probable bug in filter";
-
-                for (int k = 0; k < max; k++) {
-                    arrWeight[subindex + k] /= tot;
-                }
-            }
-        }
-        return new SubSamplingData(arrN, arrPixel, arrWeight, numContributors);
-    }
-
-    private ResampleOp(DimensionConstraint dimensionConstraint) {
-        super(dimensionConstraint);
-    }
-
-    /**
-     * @param destWidth
-     * @param destHeight
-     * @param isLinear Whether to use a linear RGB output image.
-     *                 TurboJpegProcessor requires this to be false.
-     */
-    public ResampleOp(int destWidth, int destHeight, boolean isLinear) {
-        this(DimensionConstraint.createAbsolutionDimension(destWidth, destHeight));
-        this.isLinear = isLinear;
-    }
-
-    public ResampleFilter getFilter() {
-        return filter;
-    }
-
-    public void setFilter(ResampleFilter filter) {
-        this.filter = filter;
-    }
-
-    @Override
-    public BufferedImage doFilter(BufferedImage srcImage,
-                                  BufferedImage destImage,
-                                  int dstWidth, int dstHeight) {
-        this.destWidth = dstWidth;
-        this.destHeight = dstHeight;
-
-        if (dstWidth < 3 || dstHeight < 3) {
-            throw new IllegalArgumentException("Error doing rescale. " +
-                    "Target size was " + dstWidth + "x" + dstHeight +
-                    " but must be at least 3x3.");
-        }
-
-        if (srcImage.getType() == BufferedImage.TYPE_BYTE_BINARY ||
-                srcImage.getType() == BufferedImage.TYPE_BYTE_INDEXED) {
-            srcImage = ImageUtils.convert(srcImage, srcImage.getColorModel().hasAlpha() ?
-                    BufferedImage.TYPE_4BYTE_ABGR : BufferedImage.TYPE_3BYTE_BGR);
-        }
-        this.numChannels = srcImage.getSampleModel().getNumBands();
-        assert numChannels > 0;
-        this.srcWidth = srcImage.getWidth();
-        this.srcHeight = srcImage.getHeight();
-
-        byte[][] workPixels = new byte[srcHeight][dstWidth * numChannels];
-
-        // Pre-calculate sub-sampling
-        horizontalSubsamplingData = createSubSampling(filter, srcWidth, dstWidth);
-        verticalSubsamplingData = createSubSampling(filter, srcHeight, dstHeight);
-
-        final ThreadPool threadPool = ThreadPool.getInstance();
-        final CountDownLatch inputLatch = new CountDownLatch(THREAD_COUNT - 1);
-        final BufferedImage scrImgCopy = srcImage;
-        final byte[][] workPixelsCopy = workPixels;
-
-        for (int i = 1; i < THREAD_COUNT; i++) {
-            final int finalI = i;
-            threadPool.submit(() -> {
-                horizontalFromSrcToWork(scrImgCopy, workPixelsCopy, finalI,
-                        THREAD_COUNT);
-                inputLatch.countDown();
-            });
-        }
-        horizontalFromSrcToWork(scrImgCopy, workPixelsCopy, 0, THREAD_COUNT);
-        waitOnLatch(inputLatch);
-
-        final CountDownLatch outputLatch = new CountDownLatch(THREAD_COUNT - 1);
-        byte[] outPixels = new byte[dstWidth * dstHeight * numChannels];
-
-        // Apply filter to sample vertically from Work to Dst.
-        final byte[] outPixelsCopy = outPixels;
-        for (int i = 1; i < THREAD_COUNT; i++) {
-            final int finalI = i;
-            threadPool.submit(() -> {
-                verticalFromWorkToDst(workPixelsCopy, outPixelsCopy, finalI,
-                        THREAD_COUNT);
-                outputLatch.countDown();
-            });
-        }
-        verticalFromWorkToDst(workPixelsCopy, outPixelsCopy, 0, THREAD_COUNT);
-        waitOnLatch(outputLatch);
-
-        //noinspection UnusedAssignment
-        workPixels = null; // free memory
-        BufferedImage out;
-        if (destImage != null && dstWidth == destImage.getWidth() &&
-                dstHeight == destImage.getHeight()) {
-            out = destImage;
-            int nrDestChannels = srcImage.getSampleModel().getNumBands();
-            if (nrDestChannels != numChannels) {
-                String errorMsg = String.format("Source image has %d " +
-                                "channels; destination image has %d channels",
-                        numChannels, nrDestChannels);
-                throw new IllegalArgumentException(errorMsg);
-            }
-        } else if (isLinear) {
-            ColorSpace cs = ColorSpace.getInstance(ColorSpace.CS_LINEAR_RGB);
-            ComponentColorModel cm = new ComponentColorModel(
-                    cs, false, false,
-                    Transparency.OPAQUE, DataBuffer.TYPE_BYTE);
-            WritableRaster raster = cm.createCompatibleWritableRaster(
-                    dstWidth, dstHeight);
-            out = new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
-        } else {
-            out = new BufferedImage(dstWidth, dstHeight,
-                    getResultBufferedImageType(srcImage));
-        }
-
-        ImageUtils.setBGRPixels(outPixels, out, 0, 0, dstWidth, dstHeight);
-
-        return out;
-    }
-
-    private void waitOnLatch(CountDownLatch latch) {
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(e);
-        }
-    }
-
-    private void verticalFromWorkToDst(byte[][] workPixels, byte[] outPixels,
-                                       int start, int delta) {
-        if (numChannels == 1) {
-            verticalFromWorkToDstGray(workPixels, outPixels, start,
-                    THREAD_COUNT);
-            return;
-        }
-        boolean useChannel3 = numChannels > 3;
-        for (int x = start; x < destWidth; x += delta) {
-            final int xLocation = x * numChannels;
-            for (int y = destHeight - 1; y >= 0; y--) {
-                final int yTimesNumContributors =
-                        y * verticalSubsamplingData.numContributors;
-                final int max = verticalSubsamplingData.arrN[y];
-                final int sampleLocation = (y * destWidth + x) * numChannels;
-
-                float sample0 = 0.0f;
-                float sample1 = 0.0f;
-                float sample2 = 0.0f;
-                float sample3 = 0.0f;
-                int index = yTimesNumContributors;
-                for (int j = max - 1; j >= 0; j--) {
-                    int valueLocation = verticalSubsamplingData.arrPixel[index];
-                    float arrWeight = verticalSubsamplingData.arrWeight[index];
-                    sample0 += (workPixels[valueLocation][xLocation] & 0xff) * arrWeight;
-                    sample1 += (workPixels[valueLocation][xLocation + 1] & 0xff) * arrWeight;
-                    sample2 += (workPixels[valueLocation][xLocation + 2] & 0xff) * arrWeight;
-                    if (useChannel3) {
-                        sample3 += (workPixels[valueLocation][xLocation + 3] & 0xff) * arrWeight;
-                    }
-                    index++;
-                }
-
-                outPixels[sampleLocation]     = toByte(sample0);
-                outPixels[sampleLocation + 1] = toByte(sample1);
-                outPixels[sampleLocation + 2] = toByte(sample2);
-                if (useChannel3) {
-                    outPixels[sampleLocation + 3] = toByte(sample3);
-                }
-            }
-        }
-    }
-
-    private void verticalFromWorkToDstGray(byte[][] workPixels, byte[] outPixels,
-                                           int start, int delta) {
-        for (int x = start; x < destWidth; x += delta) {
-            for (int y = destHeight - 1; y >= 0; y--) {
-                final int yTimesNumContributors =
-                        y * verticalSubsamplingData.numContributors;
-                final int max = verticalSubsamplingData.arrN[y];
-                final int sampleLocation = (y * destWidth + x);
-
-                float sample0 = 0.0f;
-                int index = yTimesNumContributors;
-                for (int j = max - 1; j >= 0; j--) {
-                    int valueLocation = verticalSubsamplingData.arrPixel[index];
-                    float arrWeight = verticalSubsamplingData.arrWeight[index];
-                    sample0 += (workPixels[valueLocation][x] & 0xff) * arrWeight;
-                    index++;
-                }
-
-                outPixels[sampleLocation] = toByte(sample0);
-            }
-        }
-    }
-
-    /**
-     * Apply filter to sample horizontally from Src to Work
-     */
-    private void horizontalFromSrcToWork(BufferedImage srcImg,
-                                         byte[][] workPixels,
-                                         int start, int delta) {
-        if (numChannels == 1) {
-            horizontalFromSrcToWorkGray(srcImg, workPixels, start, delta);
-            return;
-        }
-
-        // create reusable row to minimize memory overhead
-        final byte[] srcPixels    = new byte[srcWidth * numChannels];
-        // Used if we work on int based bitmaps
-        final int[] tempPixels    = new int[srcWidth];
-        final boolean useChannel3 = numChannels > 3;
-
-        for (int k = start; k < srcHeight; k = k + delta) {
-            ImageUtils.readPixelsBGR(srcImg, k, srcWidth, srcPixels, tempPixels);
-
-            for (int i = destWidth - 1; i >= 0; i--) {
-                int sampleLocation = i * numChannels;
-                final int max = horizontalSubsamplingData.arrN[i];
-
-                float sample0 = 0.0f;
-                float sample1 = 0.0f;
-                float sample2 = 0.0f;
-                float sample3 = 0.0f;
-                int index = i * horizontalSubsamplingData.numContributors;
-                for (int j = max - 1; j >= 0; j--) {
-                    float arrWeight = horizontalSubsamplingData.arrWeight[index];
-                    int pixelIndex = horizontalSubsamplingData.arrPixel[index] * numChannels;
-
-                    sample0 += (srcPixels[pixelIndex] & 0xff) * arrWeight;
-                    sample1 += (srcPixels[pixelIndex + 1] & 0xff) * arrWeight;
-                    sample2 += (srcPixels[pixelIndex + 2] & 0xff) * arrWeight;
-                    if (useChannel3) {
-                        sample3 += (srcPixels[pixelIndex + 3] & 0xff) * arrWeight;
-                    }
-                    index++;
-                }
-
-                workPixels[k][sampleLocation] = toByte(sample0);
-                workPixels[k][sampleLocation + 1] = toByte(sample1);
-                workPixels[k][sampleLocation + 2] = toByte(sample2);
-                if (useChannel3) {
-                    workPixels[k][sampleLocation + 3] = toByte(sample3);
-                }
-            }
-        }
-    }
-
-    /**
-     * Apply filter to sample horizontally from Src to Work
-     */
-    private void horizontalFromSrcToWorkGray(BufferedImage srcImage,
-                                             byte[][] workPixels,
-                                             int start, int delta) {
-        // Used if we work on int-based bitmaps. Later used to keep channel
-        // values
-        final int[] tempPixels = new int[srcWidth];
-        // Create reusable row to minimize memory overhead.
-        final byte[] srcPixels = new byte[srcWidth];
-
-        for (int k = start; k < srcHeight; k = k + delta) {
-            ImageUtils.readPixelsBGR(srcImage, k, srcWidth, srcPixels, tempPixels);
-
-            for (int i = destWidth - 1; i >= 0; i--) {
-                final int max = horizontalSubsamplingData.arrN[i];
-                float sample0 = 0.0f;
-                int index = i * horizontalSubsamplingData.numContributors;
-
-                for (int j = max - 1; j >= 0; j--) {
-                    float arrWeight = horizontalSubsamplingData.arrWeight[index];
-                    int pixelIndex = horizontalSubsamplingData.arrPixel[index];
-
-                    sample0 += (srcPixels[pixelIndex] & 0xff) * arrWeight;
-                    index++;
-                }
-
-                workPixels[k][i] = toByte(sample0);
-            }
-        }
-    }
-
-    private byte toByte(float f) {
-        if (f < 0) {
-            return 0;
-        }
-        if (f > MAX_CHANNEL_VALUE) {
-            return (byte) MAX_CHANNEL_VALUE;
-        }
-        return (byte) (f + 0.5f); // add 0.5 same as Math.round
-    }
-
-    private int getResultBufferedImageType(BufferedImage srcImg) {
-        return numChannels == 3 ? BufferedImage.TYPE_3BYTE_BGR :
-                (numChannels == 4 ? BufferedImage.TYPE_4BYTE_ABGR :
-                        (srcImg.getSampleModel().getDataType() == DataBuffer.TYPE_USHORT ?
-                                BufferedImage.TYPE_USHORT_GRAY : BufferedImage.TYPE_BYTE_GRAY));
-    }
-
-}
+/*
+ * Copyright 2013, Morten Nobel-Joergensen
+ *
+ * License: The BSD 3-Clause License
+ * http://opensource.org/licenses/BSD-3-Clause
+ */
+package edu.illinois.library.cantaloupe.processor.resample;
+
+import edu.illinois.library.cantaloupe.async.BandTask;
+import edu.illinois.library.cantaloupe.util.ByteArrayPool;
+import edu.illinois.library.cantaloupe.util.ObjectCache;
+
+import java.awt.Dimension;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>Both passes (horizontal, from the source image into a work buffer, and
+ * vertical, from the work buffer into the output buffer) process contiguous
+ * bands of rows in parallel on the {@link
+ * edu.illinois.library.cantaloupe.async.ThreadPool#getComputePool() compute
+ * pool}. The bands are sized to fit in a per-core cache, so that threads
+ * don't contend for cache lines.</p>
+ *
+ * <p>When {@link #setLinearLight(boolean) linear light} is enabled, 8-bit
+ * sRGB samples are converted to 16-bit linear-light samples using a lookup
+ * table in the horizontal pass, and back using a reverse table in the
+ * vertical pass, so that gamma-correct resampling costs about the same as
+ * resampling the encoded values.</p>
+ *
+ * <p>Images with {@link #supports16BitSamples(BufferedImage) 16-bit
+ * samples} are reduced to 8 bits as they are read in the horizontal pass,
+ * which saves having to copy the whole source image beforehand.</p>
+ *
+ * <p>In order to avoid garbage-collector churn when the same kinds of images
+ * are resampled over and over, as when serving tiles:</p>
+ *
+ * <ul>
+ *     <li>The work and output buffers are obtained from the {@link
+ *     ByteArrayPool} and returned to it when done;</li>
+ *     <li>Row buffers are reused per thread;</li>
+ *     <li>Filter contribution weights are cached by filter, source length,
+ *     and destination length.</li>
+ * </ul>
+ *
+ * @author Morten Nobel-Joergensen
+ * @author Heinz Doerr
+ * @author Alex Dolski UIUC
+ */
+public class ResampleOp extends AdvancedResizeOp {
+
+    private static class SubSamplingData {
+
+        /**
+         * Individual - per row or per column - number of contributions.
+         */
+        private final int[] arrN;
+
+        /**
+         * 2D: [width or height][contrib]
+         */
+        private final int[] arrPixel;
+
+        /**
+         * 2D: [width or height][contrib]
+         */
+        private final float[] arrWeight;
+
+        /**
+         * Primary index length for the arrPixel and arrWeight arrays.
+         */
+        private final int numContributors;
+
+        private SubSamplingData(int[] arrN, int[] arrPixel, float[] arrWeight,
+                                int numContributors) {
+            this.arrN = arrN;
+            this.arrPixel = arrPixel;
+            this.arrWeight = arrWeight;
+            this.numContributors = numContributors;
+        }
+
+    }
+
+    /**
+     * Key of {@link #SUBSAMPLING_CACHE}.
+     */
+    private static final class SubSamplingKey {
+
+        private final ResampleFilter filter;
+        private final int srcSize, dstSize;
+
+        private SubSamplingKey(ResampleFilter filter, int srcSize, int dstSize) {
+            this.filter  = filter;
+            this.srcSize = srcSize;
+            this.dstSize = dstSize;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof SubSamplingKey) {
+                SubSamplingKey other = (SubSamplingKey) obj;
+                return filter == other.filter &&
+                        srcSize == other.srcSize &&
+                        dstSize == other.dstSize;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(filter),
+                    srcSize, dstSize);
+        }
+
+    }
+
+    /**
+     * Buffer of rows between the horizontal and vertical passes. The rows are
+     * stored contiguously in one or more blocks obtained from the {@link
+     * ByteArrayPool}. An instance with fewer rows than the source image is
+     * used as a ring, in which each source row occupies the slot of its index
+     * modulo the number of rows.
+     */
+    private static final class WorkBuffer {
+
+        private final byte[][] blocks;
+        private final int numRows, rowLength, rowsPerBlock;
+
+        private WorkBuffer(int numRows, int rowLength) {
+            final ByteArrayPool pool = ByteArrayPool.getInstance();
+            this.numRows      = numRows;
+            this.rowLength    = rowLength;
+            this.rowsPerBlock = Math.max(1, MAX_WORK_BLOCK_LENGTH / rowLength);
+            this.blocks = new byte[(numRows + rowsPerBlock - 1) / rowsPerBlock][];
+            for (int i = 0; i < blocks.length; i++) {
+                final int blockRows = Math.min(rowsPerBlock,
+                        numRows - i * rowsPerBlock);
+                blocks[i] = pool.acquire(blockRows * rowLength);
+            }
+        }
+
+        /**
+         * @return Block containing the given row.
+         */
+        private byte[] block(int row) {
+            return blocks[(row % numRows) / rowsPerBlock];
+        }
+
+        /**
+         * @return Offset of the given row within its {@link #block(int)
+         *         block}.
+         */
+        private int offset(int row) {
+            return ((row % numRows) % rowsPerBlock) * rowLength;
+        }
+
+        private void release() {
+            final ByteArrayPool pool = ByteArrayPool.getInstance();
+            for (byte[] block : blocks) {
+                pool.release(block);
+            }
+        }
+
+    }
+
+    /**
+     * Per-thread row buffers, which are reused as long as their lengths
+     * don't change.
+     */
+    private static final class RowBuffers {
+
+        private byte[] bytes = new byte[0];
+        private int[] ints = new int[0];
+        private short[] shorts = new short[0];
+        private float[] floats = new float[0];
+
+        private byte[] bytes(int length) {
+            if (bytes.length != length) {
+                bytes = new byte[length];
+            }
+            return bytes;
+        }
+
+        private int[] ints(int length) {
+            if (ints.length != length) {
+                ints = new int[length];
+            }
+            return ints;
+        }
+
+        private short[] shorts(int length) {
+            if (shorts.length != length) {
+                shorts = new short[length];
+            }
+            return shorts;
+        }
+
+        private float[] floats(int length) {
+            if (floats.length != length) {
+                floats = new float[length];
+            }
+            return floats;
+        }
+
+    }
+
+    /**
+     * <p>Resamples a source image that is supplied in consecutive, full-width
+     * horizontal strips, from top to bottom, so that the whole source image
+     * never has to be in memory at once.</p>
+     *
+     * <p>Each strip goes through the horizontal pass as soon as it is {@link
+     * #add(BufferedImage) added}, and each destination row goes through the
+     * vertical pass as soon as all of the source rows that contribute to it
+     * have been added. The work buffer in between is a ring holding only one
+     * strip plus the rows that the filter still needs to look back on, so
+     * memory use is bounded by the strip height, filter support, and
+     * destination size.</p>
+     *
+     * <p>Instances are created by {@link #newStripResampler} and must be
+     * {@link #close() closed} when no longer needed.</p>
+     *
+     * @since 6.0
+     */
+    public final class StripResampler implements AutoCloseable {
+
+        private final int maxStripHeight;
+
+        /**
+         * Highest source row that contributes to each destination row.
+         */
+        private final int[] lastContributors;
+
+        /**
+         * Lowest source row that contributes to each destination row or any
+         * row below it.
+         */
+        private final int[] firstContributors;
+
+        /**
+         * First (converted) strip, which determines the type of the result.
+         */
+        private BufferedImage firstStrip;
+        private WorkBuffer workPixels;
+        private byte[] outPixels;
+        private boolean linearLight;
+        private int workSampleSize;
+        private int numRowsAdded, numRowsResampled;
+
+        private StripResampler(int srcWidth, int srcHeight,
+                               int dstWidth, int dstHeight,
+                               int maxStripHeight) {
+            if (dstWidth < 3 || dstHeight < 3) {
+                throw new IllegalArgumentException("Error doing rescale. " +
+                        "Target size was " + dstWidth + "x" + dstHeight +
+                        " but must be at least 3x3.");
+            }
+            ResampleOp.this.srcWidth   = srcWidth;
+            ResampleOp.this.srcHeight  = srcHeight;
+            ResampleOp.this.destWidth  = dstWidth;
+            ResampleOp.this.destHeight = dstHeight;
+            this.maxStripHeight = Math.max(1, maxStripHeight);
+
+            // Pre-calculate sub-sampling
+            horizontalSubsamplingData = getSubSampling(filter, srcWidth, dstWidth);
+            verticalSubsamplingData = getSubSampling(filter, srcHeight, dstHeight);
+
+            lastContributors  = new int[dstHeight];
+            firstContributors = new int[dstHeight];
+            for (int y = 0; y < dstHeight; y++) {
+                int first = Integer.MAX_VALUE, last = -1;
+                int index = y * verticalSubsamplingData.numContributors;
+                for (int j = 0; j < verticalSubsamplingData.arrN[y]; j++) {
+                    final int row = verticalSubsamplingData.arrPixel[index++];
+                    first = Math.min(first, row);
+                    last  = Math.max(last, row);
+                }
+                firstContributors[y] = first;
+                lastContributors[y]  = last;
+            }
+            for (int y = dstHeight - 2; y >= 0; y--) {
+                firstContributors[y] = Math.min(
+                        firstContributors[y], firstContributors[y + 1]);
+            }
+        }
+
+        /**
+         * @return Number of work buffer rows needed to hold any strip plus
+         *         all of the rows preceding it that are still needed when it
+         *         is added.
+         */
+        private int numWorkRows() {
+            int numRows = 1;
+            for (int row = 0, y = 0; row < srcHeight; row++) {
+                while (y < destHeight && lastContributors[y] < row) {
+                    y++;
+                }
+                if (y == destHeight) {
+                    break;
+                }
+                final int stripEnd = Math.min(row + maxStripHeight, srcHeight);
+                numRows = Math.max(numRows, stripEnd - firstContributors[y]);
+            }
+            return Math.min(numRows, srcHeight);
+        }
+
+        /**
+         * Resamples the next strip of the source image, and all destination
+         * rows that can be completed from the strips added so far.
+         *
+         * @param strip Full-width strip no taller than the maximum strip
+         *              height, whose first row is the row following the last
+         *              row of the previous strip. All strips must have the
+         *              same type.
+         * @throws IllegalArgumentException if the strip is the wrong size.
+         */
+        public void add(BufferedImage strip) {
+            final int stripRow    = numRowsAdded;
+            final int stripHeight = strip.getHeight();
+            if (strip.getWidth() != srcWidth ||
+                    stripHeight > maxStripHeight ||
+                    stripRow + stripHeight > srcHeight) {
+                throw new IllegalArgumentException(String.format(
+                        "Illegal %dx%d strip at row %d of %dx%d image",
+                        strip.getWidth(), stripHeight, stripRow,
+                        srcWidth, srcHeight));
+            }
+            if (firstStrip == null) {
+                linearLight = isLinearLight && supportsLinearLight(strip);
+            }
+            if (strip.getType() == BufferedImage.TYPE_BYTE_BINARY ||
+                    strip.getType() == BufferedImage.TYPE_BYTE_INDEXED) {
+                strip = ImageUtils.convert(strip, strip.getColorModel().hasAlpha() ?
+                        BufferedImage.TYPE_4BYTE_ABGR : BufferedImage.TYPE_3BYTE_BGR);
+            }
+            if (firstStrip == null) {
+                begin(strip);
+            }
+
+            // Apply filter to sample horizontally from Src to Work.
+            final BufferedImage srcImg = strip;
+            BandTask.invoke(stripHeight,
+                    BandTask.grainFor(stripHeight,
+                            (long) (srcWidth + destWidth * workSampleSize) *
+                                    numChannels, BAND_BYTES),
+                    (start, end) -> {
+                        if (linearLight) {
+                            horizontalFromSrcToWorkLinear(srcImg, workPixels,
+                                    stripRow, stripRow + start, stripRow + end);
+                        } else {
+                            horizontalFromSrcToWork(srcImg, workPixels,
+                                    stripRow, stripRow + start, stripRow + end);
+                        }
+                    });
+            numRowsAdded += stripHeight;
+
+            // Apply filter to sample vertically from Work to Dst, for all
+            // of the rows whose contributors are now available.
+            final int startRow = numRowsResampled;
+            int endRow = startRow;
+            while (endRow < destHeight &&
+                    lastContributors[endRow] < numRowsAdded) {
+                endRow++;
+            }
+            BandTask.invoke(endRow - startRow,
+                    BandTask.grainFor(endRow - startRow,
+                            (long) destWidth * numChannels, BAND_BYTES),
+                    (start, end) -> {
+                        if (linearLight) {
+                            verticalFromWorkToDstLinear(workPixels, outPixels,
+                                    startRow + start, startRow + end);
+                        } else {
+                            verticalFromWorkToDst(workPixels, outPixels,
+                                    startRow + start, startRow + end);
+                        }
+                    });
+            numRowsResampled = endRow;
+
+            if (numRowsResampled == destHeight) {
+                workPixels.release();
+                workPixels = null;
+            }
+        }
+
+        private void begin(BufferedImage strip) {
+            firstStrip  = strip;
+            numChannels = strip.getSampleModel().getNumBands();
+            is16Bit     = supports16BitSamples(strip);
+            assert numChannels > 0;
+            // Linear-light samples are 16 bits.
+            workSampleSize = linearLight ? 2 : 1;
+            workPixels = new WorkBuffer(numWorkRows(),
+                    destWidth * numChannels * workSampleSize);
+            outPixels = ByteArrayPool.getInstance().acquire(
+                    destWidth * destHeight * numChannels);
+        }
+
+        /**
+         * @return Resampled image.
+         * @throws IllegalStateException if not all of the source image has
+         *         been added.
+         */
+        public BufferedImage getResult() {
+            return createResult(null);
+        }
+
+        private BufferedImage createResult(BufferedImage destImage) {
+            if (outPixels == null || numRowsResampled < destHeight) {
+                throw new IllegalStateException(String.format(
+                        "%d of %d source rows have been added",
+                        numRowsAdded, srcHeight));
+            }
+            BufferedImage out;
+            if (destImage != null && destWidth == destImage.getWidth() &&
+                    destHeight == destImage.getHeight()) {
+                out = destImage;
+                int nrDestChannels = firstStrip.getSampleModel().getNumBands();
+                if (nrDestChannels != numChannels) {
+                    String errorMsg = String.format("Source image has %d " +
+                                    "channels; destination image has %d channels",
+                            numChannels, nrDestChannels);
+                    throw new IllegalArgumentException(errorMsg);
+                }
+            } else if (isLinear && !linearLight) {
+                ColorSpace cs = ColorSpace.getInstance(ColorSpace.CS_LINEAR_RGB);
+                ComponentColorModel cm = new ComponentColorModel(
+                        cs, false, false,
+                        Transparency.OPAQUE, DataBuffer.TYPE_BYTE);
+                WritableRaster raster = cm.createCompatibleWritableRaster(
+                        destWidth, destHeight);
+                out = new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
+            } else {
+                out = new BufferedImage(destWidth, destHeight,
+                        getResultBufferedImageType(firstStrip));
+            }
+
+            ImageUtils.setBGRPixels(outPixels, out, 0, 0, destWidth, destHeight);
+            ByteArrayPool.getInstance().release(outPixels);
+            outPixels = null;
+            return out;
+        }
+
+        /**
+         * Releases the buffers of the instance.
+         */
+        @Override
+        public void close() {
+            if (workPixels != null) {
+                workPixels.release();
+                workPixels = null;
+            }
+            if (outPixels != null) {
+                ByteArrayPool.getInstance().release(outPixels);
+                outPixels = null;
+            }
+        }
+
+    }
+
+    private static final int MAX_CHANNEL_VALUE = 255;
+
+    /**
+     * Maximum length of each block of a {@link WorkBuffer}, which is the
+     * largest length retained by the {@link ByteArrayPool}.
+     */
+    private static final int MAX_WORK_BLOCK_LENGTH = 16 * 1024 * 1024;
+
+    private static final long MAX_SUBSAMPLING_CACHE_SIZE = 512;
+
+    private static final ObjectCache<SubSamplingKey,SubSamplingData>
+            SUBSAMPLING_CACHE = new ObjectCache<>(MAX_SUBSAMPLING_CACHE_SIZE);
+
+    private static final ThreadLocal<RowBuffers> ROW_BUFFERS =
+            ThreadLocal.withInitial(RowBuffers::new);
+
+    /**
+     * Target number of bytes of output that each band of rows spans.
+     */
+    private static final long BAND_BYTES = 256 * 1024;
+
+    private int numChannels;
+    private int srcWidth, srcHeight;
+    private int destWidth, destHeight;
+    private boolean isLinear, isLinearLight, is16Bit;
+
+    private SubSamplingData horizontalSubsamplingData;
+    private SubSamplingData verticalSubsamplingData;
+
+    /**
+     * Set by {@link #setFilter(ResampleFilter)}.
+     */
+    private ResampleFilter filter = ResampleFilters.getLanczos3Filter();
+
+    /**
+     * @return Cached sub-sampling data for the given arguments, which is
+     *         created if it doesn't exist yet.
+     */
+    private static SubSamplingData getSubSampling(ResampleFilter filter,
+                                                  int srcSize,
+                                                  int dstSize) {
+        return SUBSAMPLING_CACHE.asMap().computeIfAbsent(
+                new SubSamplingKey(filter, srcSize, dstSize),
+                key -> createSubSampling(filter, srcSize, dstSize));
+    }
+
+    private static SubSamplingData createSubSampling(ResampleFilter filter,
+                                                     int srcSize,
+                                                     int dstSize) {
+        float scale = (float) dstSize / (float) srcSize;
+        int[] arrN = new int[dstSize];
+        int numContributors;
+        float[] arrWeight;
+        int[] arrPixel;
+
+        final float fwidth = filter.getSamplingRadius();
+
+        float centerOffset = 0.5f / scale;
+
+        if (scale < 1.0f) {
+            final float width = fwidth / scale;
+            // Add 1 to be safe with the ceiling.
+            numContributors = (int) (width * 2.0f + 2);
+            arrWeight = new float[dstSize * numContributors];
+            arrPixel = new int[dstSize * numContributors];
+
+            final float fNormFac = (float) (1f / (Math.ceil(width) / fwidth));
+
+            for (int i = 0; i < dstSize; i++) {
+                final int subindex = i * numContributors;
+                float center = i / scale + centerOffset;
+                int left = (int) Math.floor(center - width);
+                int right = (int) Math.ceil(center + width);
+                for (int j = left; j <= right; j++) {
+                    float weight;
+                    weight = filter.apply((center - j) * fNormFac);
+
+                    if (weight == 0.0f) {
+                        continue;
+                    }
+                    int n;
+                    if (j < 0) {
+                        n = -j;
+                    } else if (j >= srcSize) {
+                        n = srcSize - j + srcSize - 1;
+                    } else {
+                        n = j;
+                    }
+                    int k = arrN[i];
+                    //assert k == j-left:String.format("%s = %s %s", k,j,left);
+                    arrN[i]++;
+                    if (n < 0 || n >= srcSize) {
+                        weight = 0.0f;// Flag that cell should not be used
+                    }
+                    arrPixel[subindex + k] = n;
+                    arrWeight[subindex + k] = weight;
+                }
+                // Normalize the filter's weights so the sum equals 1.0; very
+                // important for avoiding box type of artifacts.
+                final int max = arrN[i];
+                float tot = 0;
+                for (int k = 0; k < max; k++)
+                    tot += arrWeight[subindex + k];
+                if (tot != 0f) { // 0 should never happen except bug in filter
+                    for (int k = 0; k < max; k++)
+                        arrWeight[subindex + k] /= tot;
+                }
+            }
+        } else {
+            // super-sampling
+            // Scales from smaller to bigger height
+            numContributors = (int) (fwidth * 2.0f + 1);
+            arrWeight = new float[dstSize * numContributors];
+            arrPixel = new int[dstSize * numContributors];
+            //
+            for (int i = 0; i < dstSize; i++) {
+                final int subindex = i * numContributors;
+                final float center = i / scale + centerOffset;
+                final int left = (int) Math.floor(center - fwidth);
+                final int right = (int) Math.ceil(center + fwidth);
+
+                for (int j = left; j <= right; j++) {
+                    float weight = filter.apply(center - j);
+                    if (weight == 0.0f) {
+                        continue;
+                    }
+                    int n;
+                    if (j < 0) {
+                        n = -j;
+                    } else if (j >= srcSize) {
+                        n = srcSize - j + srcSize - 1;
+                    } else {
+                        n = j;
+                    }
+                    int k = arrN[i];
+                    arrN[i]++;
+                    if (n < 0 || n >= srcSize) {
+                        weight = 0.0f;// Flag that cell should not be used
+                    }
+                    arrPixel[subindex + k] = n;
+                    arrWeight[subindex + k] = weight;
+                }
+                // Normalize the filter's weights so the sum equals 1.0;
+                // very important for avoiding box type of artifacts.
+                final int max = arrN[i];
+                float tot = 0;
+                for (int k = 0; k < max; k++)
+                    tot += arrWeight[subindex + k];
+                assert tot != 0 : "probable bug in filter";
+
+                for (int k = 0; k < max; k++) {
+                    arrWeight[subindex + k] /= tot;
+                }
+            }
+        }
+        return new SubSamplingData(arrN, arrPixel, arrWeight, numContributors);
+    }
+
+    private ResampleOp(DimensionConstraint dimensionConstraint) {
+        super(dimensionConstraint);
+    }
+
+    /**
+     * @param destWidth
+     * @param destHeight
+     * @param isLinear Whether to use a linear RGB output image.
+     *                 TurboJpegProcessor requires this to be false.
+     */
+    public ResampleOp(int destWidth, int destHeight, boolean isLinear) {
+        this(DimensionConstraint.createAbsolutionDimension(destWidth, destHeight));
+        this.isLinear = isLinear;
+    }
+
+    public ResampleFilter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(ResampleFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * @param image Image to check.
+     * @return      Whether {@link #setLinearLight(boolean) linear-light
+     *              resampling} is supported for the given image, which it is
+     *              for non-premultiplied 8-bit gray, sRGB, and sRGB+alpha
+     *              images. (Gray samples are assumed to be sRGB-encoded.)
+     */
+    public static boolean supportsLinearLight(BufferedImage image) {
+        final ColorModel cm = image.getColorModel();
+        final ColorSpace cs = cm.getColorSpace();
+        if (image.getType() == BufferedImage.TYPE_BYTE_BINARY ||
+                image.getType() == BufferedImage.TYPE_BYTE_INDEXED) {
+            // These will be converted to (A)BGR.
+            return cs.isCS_sRGB();
+        }
+        if (cm.isAlphaPremultiplied()) {
+            return false;
+        }
+        final SampleModel sm = image.getSampleModel();
+        for (int size : sm.getSampleSize()) {
+            if (size != 8) {
+                return false;
+            }
+        }
+        switch (sm.getNumBands()) {
+            case 1:
+                return cs.getType() == ColorSpace.TYPE_GRAY;
+            case 3:
+            case 4:
+                return cs.isCS_sRGB();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param image Image to check.
+     * @return      Whether the given image has non-premultiplied 16-bit
+     *              unsigned gray, sRGB, or sRGB+alpha samples, which are
+     *              reduced to 8 bits in the course of resampling. The output
+     *              of {@link #filter} is then an 8-bit image.
+     */
+    public static boolean supports16BitSamples(BufferedImage image) {
+        final ColorModel cm = image.getColorModel();
+        if (!(cm instanceof ComponentColorModel) ||
+                cm.getTransferType() != DataBuffer.TYPE_USHORT ||
+                cm.isAlphaPremultiplied()) {
+            return false;
+        }
+        final SampleModel sm = image.getSampleModel();
+        for (int size : sm.getSampleSize()) {
+            if (size != 16) {
+                return false;
+            }
+        }
+        final ColorSpace cs = cm.getColorSpace();
+        switch (sm.getNumBands()) {
+            case 1:
+                return cs.getType() == ColorSpace.TYPE_GRAY;
+            case 3:
+            case 4:
+                return cs.isCS_sRGB();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param isLinearLight Whether to resample in linear light. Ignored
+     *                      unless {@link #supportsLinearLight(BufferedImage)}
+     *                      returns {@code true} for the source image. The
+     *                      output image is sRGB-encoded either way.
+     */
+    public void setLinearLight(boolean isLinearLight) {
+        this.isLinearLight = isLinearLight;
+    }
+
+    /**
+     * Creates an instance for resampling an image of the given size that will
+     * be supplied in strips. The target size is the one that {@link
+     * #filter(BufferedImage, BufferedImage)} would produce. The {@link
+     * #setUnsharpenMask(float) unsharp mask} is not applied.
+     *
+     * @param srcWidth       Width of the source image.
+     * @param srcHeight      Height of the source image.
+     * @param maxStripHeight Maximum height of the strips that will be {@link
+     *                       StripResampler#add(BufferedImage) added}.
+     * @return               New instance, which must be closed.
+     */
+    public StripResampler newStripResampler(int srcWidth,
+                                            int srcHeight,
+                                            int maxStripHeight) {
+        final Dimension dstSize = getDimension(srcWidth, srcHeight);
+        return new StripResampler(srcWidth, srcHeight,
+                dstSize.width, dstSize.height, maxStripHeight);
+    }
+
+    @Override
+    public BufferedImage doFilter(BufferedImage srcImage,
+                                  BufferedImage destImage,
+                                  int dstWidth, int dstHeight) {
+        // The whole image is one strip.
+        try (StripResampler resampler = new StripResampler(
+                srcImage.getWidth(), srcImage.getHeight(),
+                dstWidth, dstHeight, srcImage.getHeight())) {
+            resampler.add(srcImage);
+            return resampler.createResult(destImage);
+        }
+    }
+
+    /**
+     * Applies the filter to sample vertically from Work to Dst, for the
+     * destination rows from {@literal startRow} (inclusive) to {@literal
+     * endRow} (exclusive). Each destination row is accumulated from whole
+     * rows of the work buffer, which are read sequentially.
+     */
+    private void verticalFromWorkToDst(WorkBuffer workPixels, byte[] outPixels,
+                                       int startRow, int endRow) {
+        final int rowLength = destWidth * numChannels;
+        final float[] samples = ROW_BUFFERS.get().floats(rowLength);
+
+        for (int y = startRow; y < endRow; y++) {
+            Arrays.fill(samples, 0.0f);
+            final int max = verticalSubsamplingData.arrN[y];
+            int index = y * verticalSubsamplingData.numContributors;
+            for (int j = 0; j < max; j++) {
+                final int workRowIndex = verticalSubsamplingData.arrPixel[index];
+                final byte[] workRow   = workPixels.block(workRowIndex);
+                final int workOffset   = workPixels.offset(workRowIndex);
+                final float arrWeight  = verticalSubsamplingData.arrWeight[index];
+                for (int i = 0; i < rowLength; i++) {
+                    samples[i] += (workRow[workOffset + i] & 0xff) * arrWeight;
+                }
+                index++;
+            }
+
+            final int rowLocation = y * rowLength;
+            for (int i = 0; i < rowLength; i++) {
+                outPixels[rowLocation + i] = toByte(samples[i]);
+            }
+        }
+    }
+
+    /**
+     * Variant of {@link #verticalFromWorkToDst} for 16-bit linear-light work
+     * samples, which are converted back to 8-bit sRGB.
+     */
+    private void verticalFromWorkToDstLinear(WorkBuffer workPixels,
+                                             byte[] outPixels,
+                                             int startRow, int endRow) {
+        final int rowLength = destWidth * numChannels;
+        final float[] samples = ROW_BUFFERS.get().floats(rowLength);
+        final boolean hasAlpha = numChannels == 4;
+
+        for (int y = startRow; y < endRow; y++) {
+            Arrays.fill(samples, 0.0f);
+            final int max = verticalSubsamplingData.arrN[y];
+            int index = y * verticalSubsamplingData.numContributors;
+            for (int j = 0; j < max; j++) {
+                final int workRowIndex = verticalSubsamplingData.arrPixel[index];
+                final byte[] workRow   = workPixels.block(workRowIndex);
+                final int workOffset   = workPixels.offset(workRowIndex);
+                final float arrWeight  = verticalSubsamplingData.arrWeight[index];
+                for (int i = 0, w = workOffset; i < rowLength; i++, w += 2) {
+                    final int value = (workRow[w] & 0xff) << 8 |
+                            (workRow[w + 1] & 0xff);
+                    samples[i] += value * arrWeight;
+                }
+                index++;
+            }
+
+            final int rowLocation = y * rowLength;
+            for (int i = 0; i < rowLength; i++) {
+                outPixels[rowLocation + i] = LinearLight.toSRGB(samples[i]);
+            }
+            if (hasAlpha) {
+                for (int i = 3; i < rowLength; i += 4) {
+                    outPixels[rowLocation + i] = LinearLight.toAlpha(samples[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the filter to sample horizontally from Src to Work, for the
+     * source rows from {@literal startRow} (inclusive) to {@literal endRow}
+     * (exclusive). {@literal srcImg} may be a strip of the source image whose
+     * first row is source row {@literal stripRow}.
+     */
+    private void horizontalFromSrcToWork(BufferedImage srcImg,
+                                         WorkBuffer workPixels,
+                                         int stripRow,
+                                         int startRow, int endRow) {
+        if (numChannels == 1) {
+            horizontalFromSrcToWorkGray(
+                    srcImg, workPixels, stripRow, startRow, endRow);
+            return;
+        }
+
+        // reuse rows to minimize memory overhead
+        final RowBuffers rowBuffers = ROW_BUFFERS.get();
+        final byte[] srcPixels    = rowBuffers.bytes(srcWidth * numChannels);
+        // Used if we work on int based bitmaps
+        final int[] tempPixels    = rowBuffers.ints(srcWidth);
+        final boolean useChannel3 = numChannels > 3;
+
+        for (int k = startRow; k < endRow; k++) {
+            readRow(srcImg, k - stripRow, srcPixels, tempPixels, rowBuffers);
+            final byte[] workRow = workPixels.block(k);
+            final int workOffset = workPixels.offset(k);
+
+            for (int i = destWidth - 1; i >= 0; i--) {
+                int sampleLocation = i * numChannels;
+                final int max = horizontalSubsamplingData.arrN[i];
+
+                float sample0 = 0.0f;
+                float sample1 = 0.0f;
+                float sample2 = 0.0f;
+                float sample3 = 0.0f;
+                int index = i * horizontalSubsamplingData.numContributors;
+                for (int j = max - 1; j >= 0; j--) {
+                    float arrWeight = horizontalSubsamplingData.arrWeight[index];
+                    int pixelIndex = horizontalSubsamplingData.arrPixel[index] * numChannels;
+
+                    sample0 += (srcPixels[pixelIndex] & 0xff) * arrWeight;
+                    sample1 += (srcPixels[pixelIndex + 1] & 0xff) * arrWeight;
+                    sample2 += (srcPixels[pixelIndex + 2] & 0xff) * arrWeight;
+                    if (useChannel3) {
+                        sample3 += (srcPixels[pixelIndex + 3] & 0xff) * arrWeight;
+                    }
+                    index++;
+                }
+
+                sampleLocation += workOffset;
+                workRow[sampleLocation] = toByte(sample0);
+                workRow[sampleLocation + 1] = toByte(sample1);
+                workRow[sampleLocation + 2] = toByte(sample2);
+                if (useChannel3) {
+                    workRow[sampleLocation + 3] = toByte(sample3);
+                }
+            }
+        }
+    }
+
+    /**
+     * Variant of {@link #horizontalFromSrcToWork} for single-channel images.
+     */
+    private void horizontalFromSrcToWorkGray(BufferedImage srcImage,
+                                             WorkBuffer workPixels,
+                                             int stripRow,
+                                             int startRow, int endRow) {
+        final RowBuffers rowBuffers = ROW_BUFFERS.get();
+        // Used if we work on int-based bitmaps. Later used to keep channel
+        // values
+        final int[] tempPixels = rowBuffers.ints(srcWidth);
+        // Reuse rows to minimize memory overhead.
+        final byte[] srcPixels = rowBuffers.bytes(srcWidth);
+
+        for (int k = startRow; k < endRow; k++) {
+            readRow(srcImage, k - stripRow, srcPixels, tempPixels,
+                    rowBuffers);
+            final byte[] workRow = workPixels.block(k);
+            final int workOffset = workPixels.offset(k);
+
+            for (int i = destWidth - 1; i >= 0; i--) {
+                final int max = horizontalSubsamplingData.arrN[i];
+                float sample0 = 0.0f;
+                int index = i * horizontalSubsamplingData.numContributors;
+
+                for (int j = max - 1; j >= 0; j--) {
+                    float arrWeight = horizontalSubsamplingData.arrWeight[index];
+                    int pixelIndex = horizontalSubsamplingData.arrPixel[index];
+
+                    sample0 += (srcPixels[pixelIndex] & 0xff) * arrWeight;
+                    index++;
+                }
+
+                workRow[workOffset + i] = toByte(sample0);
+            }
+        }
+    }
+
+    /**
+     * Variant of {@link #horizontalFromSrcToWork} that converts 8-bit sRGB
+     * source samples to linear light, and writes 16-bit (big-endian) work
+     * samples.
+     */
+    private void horizontalFromSrcToWorkLinear(BufferedImage srcImg,
+                                               WorkBuffer workPixels,
+                                               int stripRow,
+                                               int startRow, int endRow) {
+        final RowBuffers rowBuffers = ROW_BUFFERS.get();
+        final byte[] srcPixels    = rowBuffers.bytes(srcWidth * numChannels);
+        final int[] tempPixels    = rowBuffers.ints(srcWidth);
+        final float[][] tables    = LinearLight.toLinearTables(numChannels);
+        final float[] table0      = tables[0];
+        final float[] table3      = (numChannels > 3) ? tables[3] : null;
+        final boolean isGray      = numChannels == 1;
+        final boolean useChannel3 = numChannels > 3;
+
+        for (int k = startRow; k < endRow; k++) {
+            readRow(srcImg, k - stripRow, srcPixels, tempPixels, rowBuffers);
+            final byte[] workRow = workPixels.block(k);
+            final int workOffset = workPixels.offset(k);
+
+            for (int i = destWidth - 1; i >= 0; i--) {
+                final int max = horizontalSubsamplingData.arrN[i];
+                float sample0 = 0.0f;
+                float sample1 = 0.0f;
+                float sample2 = 0.0f;
+                float sample3 = 0.0f;
+                int index = i * horizontalSubsamplingData.numContributors;
+                if (isGray) {
+                    for (int j = max - 1; j >= 0; j--) {
+                        final float arrWeight = horizontalSubsamplingData.arrWeight[index];
+                        final int pixelIndex  = horizontalSubsamplingData.arrPixel[index];
+                        sample0 += table0[srcPixels[pixelIndex] & 0xff] * arrWeight;
+                        index++;
+                    }
+                } else {
+                    for (int j = max - 1; j >= 0; j--) {
+                        final float arrWeight = horizontalSubsamplingData.arrWeight[index];
+                        final int pixelIndex  = horizontalSubsamplingData.arrPixel[index] * numChannels;
+                        sample0 += table0[srcPixels[pixelIndex] & 0xff] * arrWeight;
+                        sample1 += table0[srcPixels[pixelIndex + 1] & 0xff] * arrWeight;
+                        sample2 += table0[srcPixels[pixelIndex + 2] & 0xff] * arrWeight;
+                        if (useChannel3) {
+                            sample3 += table3[srcPixels[pixelIndex + 3] & 0xff] * arrWeight;
+                        }
+                        index++;
+                    }
+                }
+
+                final int sampleLocation = workOffset + i * numChannels * 2;
+                putShort(workRow, sampleLocation, LinearLight.clamp(sample0));
+                if (!isGray) {
+                    putShort(workRow, sampleLocation + 2, LinearLight.clamp(sample1));
+                    putShort(workRow, sampleLocation + 4, LinearLight.clamp(sample2));
+                    if (useChannel3) {
+                        putShort(workRow, sampleLocation + 6, LinearLight.clamp(sample3));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads one row of 8-bit samples from the source image.
+     */
+    private void readRow(BufferedImage srcImg,
+                         int y,
+                         byte[] srcPixels,
+                         int[] tempPixels,
+                         RowBuffers rowBuffers) {
+        if (is16Bit) {
+            ImageUtils.readPixels16(srcImg, y, srcWidth, srcPixels,
+                    rowBuffers.shorts(srcWidth * numChannels));
+        } else {
+            ImageUtils.readPixelsBGR(srcImg, y, srcWidth, srcPixels, tempPixels);
+        }
+    }
+
+    private static void putShort(byte[] array, int index, int value) {
+        array[index]     = (byte) (value >> 8);
+        array[index + 1] = (byte) value;
+    }
+
+    private byte toByte(float f) {
+        if (f < 0) {
+            return 0;
+        }
+        if (f > MAX_CHANNEL_VALUE) {
+            return (byte) MAX_CHANNEL_VALUE;
+        }
+        return (byte) (f + 0.5f); // add 0.5 same as Math.round
+    }
+
+    private int getResultBufferedImageType(BufferedImage srcImg) {
+        // The output pixels are 8-bit regardless of the sample size of the
+        // source image.
+        return numChannels == 3 ? BufferedImage.TYPE_3BYTE_BGR :
+                (numChannels == 4 ? BufferedImage.TYPE_4BYTE_ABGR :
+                        BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+}
@@ -3,15 +3,20 @@ package edu.illinois.library.cantaloupe.resource;
 import edu.illinois.library.cantaloupe.cache.CacheFacade;
 import edu.illinois.library.cantaloupe.cache.CacheFactory;
 import edu.illinois.library.cantaloupe.cache.DerivativeCache;
+import edu.illinois.library.cantaloupe.cache.SourceRevalidator;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
+import edu.illinois.library.cantaloupe.source.SourceFactory;
+import edu.illinois.library.cantaloupe.source.StatResult;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.Optional;
 
 abstract class AbstractRequestHandler {
 
@@ -20,6 +25,13 @@ abstract class AbstractRequestHandler {
     boolean isBypassingCacheRead;
     RequestContext requestContext;
 
+    /**
+     * Result of {@link edu.illinois.library.cantaloupe.source.Source#stat()},
+     * if the source image has been accessed in the course of handling the
+     * request. Its validators are recorded in newly read infos.
+     */
+    StatResult sourceStatResult;
+
     abstract Logger getLogger();
 
     /**
@@ -36,9 +48,14 @@ abstract class AbstractRequestHandler {
         Info info;
         if (!isBypassingCache) {
             if (!isBypassingCacheRead) {
-                info = new CacheFacade().getOrReadInfo(identifier, proc).orElseThrow();
+                info = new CacheFacade().getOrReadInfo(
+                        identifier, proc, sourceStatResult).orElseThrow();
             } else {
                 info = proc.readInfo();
+                if (sourceStatResult != null) {
+                    info.setSourceETag(sourceStatResult.getETag());
+                    info.setSourceLastModified(sourceStatResult.getLastModified());
+                }
                 DerivativeCache cache = CacheFactory.getDerivativeCache().orElse(null);
                 if (cache != null) {
                     cache.put(identifier, info);
@@ -53,6 +70,73 @@ abstract class AbstractRequestHandler {
         return info;
     }
 
+    /**
+     * Checks whether content derived from the source image described by the
+     * given cached info may still be used, and if not, purges all cached
+     * content relating to it.
+     *
+     * @param identifier Image identifier.
+     * @param info       Cached info.
+     * @param proxy      Delegate proxy for the current request.
+     * @return           Whether the cached content may be used.
+     * @throws NoSuchFileException if the source image no longer exists.
+     * @see SourceRevalidator
+     */
+    boolean revalidate(Identifier identifier,
+                       Info info,
+                       DelegateProxy proxy) throws Exception {
+        final CacheFacade cacheFacade = new CacheFacade();
+        try {
+            boolean isValid = SourceRevalidator.getInstance().revalidate(
+                    identifier, info,
+                    () -> new SourceFactory().newSource(identifier, proxy));
+            if (!isValid) {
+                getLogger().debug("revalidate(): purging stale content for {}",
+                        identifier);
+                cacheFacade.purge(identifier);
+            }
+            return isValid;
+        } catch (NoSuchFileException e) { // this needs to be rethrown!
+            if (Configuration.getInstance().
+                    getBoolean(Key.CACHE_SERVER_PURGE_MISSING, false)) {
+                cacheFacade.purgeAsync(identifier);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Compares the validators of the given result of accessing the source
+     * image with those recorded in its cached info, if any, and purges all
+     * cached content relating to it if they differ. This is used when
+     * resolving first, in which case the source image is accessed anyway,
+     * and {@link #revalidate(Identifier, Info, DelegateProxy)} is not.
+     *
+     * @param identifier Image identifier.
+     * @param statResult Result of accessing the source image in the course
+     *                   of handling the current request.
+     * @see SourceRevalidator
+     */
+    void revalidate(Identifier identifier, StatResult statResult) {
+        if (isBypassingCache || isBypassingCacheRead ||
+                !SourceRevalidator.getInstance().isEnabled()) {
+            return;
+        }
+        final CacheFacade cacheFacade = new CacheFacade();
+        try {
+            Optional<Info> optInfo = cacheFacade.getInfo(identifier);
+            if (optInfo.isPresent() && !SourceRevalidator.getInstance()
+                    .revalidate(identifier, optInfo.get(), statResult)) {
+                getLogger().debug("revalidate(): purging stale content for {}",
+                        identifier);
+                cacheFacade.purge(identifier);
+            }
+        } catch (IOException e) {
+            // Don't rethrow -- it's still possible to service the request.
+            getLogger().error("revalidate(): {}", e.getMessage());
+        }
+    }
+
     boolean isResolvingFirst() {
         return Configuration.getInstance().
                 getBoolean(Key.CACHE_SERVER_RESOLVE_FIRST, true);
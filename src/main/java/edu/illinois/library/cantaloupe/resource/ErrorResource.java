@@ -10,6 +10,7 @@ import edu.illinois.library.cantaloupe.operation.ValidationException;
 import edu.illinois.library.cantaloupe.processor.OutputFormatException;
 import edu.illinois.library.cantaloupe.processor.SourceFormatException;
 import edu.illinois.library.cantaloupe.resource.iiif.FormatException;
+import edu.illinois.library.cantaloupe.source.OriginUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +57,8 @@ class ErrorResource extends AbstractResource {
             status = Status.NOT_FOUND;
         } else if (t instanceof SourceFormatException) {
             status = Status.NOT_IMPLEMENTED;
+        } else if (t instanceof OriginUnavailableException) {
+            status = Status.SERVICE_UNAVAILABLE;
         } else {
             status = Status.INTERNAL_SERVER_ERROR;
         }
@@ -13,12 +13,14 @@ import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.processor.ProcessorConnector;
 import edu.illinois.library.cantaloupe.processor.ProcessorFactory;
+import edu.illinois.library.cantaloupe.processor.SharedDownload;
 import edu.illinois.library.cantaloupe.processor.SourceFormatException;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
 import edu.illinois.library.cantaloupe.source.StatResult;
 import edu.illinois.library.cantaloupe.status.HealthChecker;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
+import edu.illinois.library.cantaloupe.source.SourceStatCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,7 +35,6 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.Future;
 
 /**
  * <p>High-level image request handler. Use the return value of {@link
@@ -253,7 +254,7 @@ public class ImageRequestHandler extends AbstractRequestHandler
         }
     };
     private OperationList operationList;
-    private Future<Path> tempFileFuture;
+    private SharedDownload<?> sourceDownload;
 
     public static Builder builder() {
         return new Builder(new ImageRequestHandler());
@@ -268,16 +269,10 @@ public class ImageRequestHandler extends AbstractRequestHandler
     @Override
     public void close() {
         // If a temporary file was created in the course of handling the
-        // request, it will need to be deleted.
-        if (tempFileFuture != null) {
-            try {
-                Path tempFile = tempFileFuture.get();
-                if (tempFile != null) {
-                    Files.deleteIfExists(tempFile);
-                }
-            } catch (Exception e) {
-                LOGGER.error("destroy(): {}", e.getMessage(), e);
-            }
+        // request, it will need to be released so that it can be deleted
+        // once no other request is using it.
+        if (sourceDownload != null) {
+            sourceDownload.release();
         }
     }
 
@@ -311,7 +306,7 @@ public class ImageRequestHandler extends AbstractRequestHandler
         //    having to get it from a source later.
         if (!isBypassingCache && !isBypassingCacheRead && !isResolvingFirst()) {
             final Optional<Info> optInfo = cacheFacade.getInfo(identifier);
-            if (optInfo.isPresent()) {
+            if (optInfo.isPresent() && revalidate(identifier, optInfo.get(), delegateProxy)) {
                 Info info = optInfo.get();
                 operationList.applyNonEndpointMutations(info, delegateProxy);
 
@@ -348,8 +343,12 @@ public class ImageRequestHandler extends AbstractRequestHandler
         final Optional<Path> sourceImage = cacheFacade.getSourceCacheFile(identifier);
         if (sourceImage.isEmpty() || isResolvingFirst()) {
             try {
-                StatResult result = source.stat();
+                StatResult result = SourceStatCache.getInstance().stat(source);
+                sourceStatResult = result;
                 callback.sourceAccessed(result);
+                if (isResolvingFirst()) {
+                    revalidate(identifier, result);
+                }
             } catch (NoSuchFileException e) { // this needs to be rethrown!
                 if (config.getBoolean(Key.CACHE_SERVER_PURGE_MISSING, false)) {
                     // If the image was not found, purge it from the cache.
@@ -374,7 +373,8 @@ public class ImageRequestHandler extends AbstractRequestHandler
                             .iterator();
                 }
             } else {
-                formatIterator = source.getFormatIterator();
+                formatIterator =
+                        SourceStatCache.getInstance().getFormatIterator(source);
             }
         }
 
@@ -386,7 +386,10 @@ public class ImageRequestHandler extends AbstractRequestHandler
                 processorName = processor.getClass().getSimpleName();
 
                 // Connect it to the source.
-                tempFileFuture = new ProcessorConnector().connect(
+                if (sourceDownload != null) {
+                    sourceDownload.release();
+                }
+                sourceDownload = new ProcessorConnector().connect(
                         source, processor, identifier, format);
 
                 final Info info = getOrReadInfo(
@@ -420,6 +423,8 @@ public class ImageRequestHandler extends AbstractRequestHandler
                         isBypassingCacheRead, isBypassingCache)
                         .write(outputStream);
 
+                // Remember the format that worked for subsequent requests.
+                SourceStatCache.getInstance().putFormat(source, format);
                 // Notify the health checker of a successful response.
                 HealthChecker.addSourceUsage(source);
                 return;
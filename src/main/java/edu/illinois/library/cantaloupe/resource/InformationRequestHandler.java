@@ -10,17 +10,18 @@ import edu.illinois.library.cantaloupe.image.MediaType;
 import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.processor.ProcessorConnector;
 import edu.illinois.library.cantaloupe.processor.ProcessorFactory;
+import edu.illinois.library.cantaloupe.processor.SharedDownload;
 import edu.illinois.library.cantaloupe.processor.SourceFormatException;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
+import edu.illinois.library.cantaloupe.source.SourceStatCache;
 import edu.illinois.library.cantaloupe.source.StatResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -28,7 +29,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.Future;
 
 /**
  * <p>High-level information request handler. Use the return value of {@link
@@ -185,7 +185,7 @@ public class InformationRequestHandler extends AbstractRequestHandler
     private DelegateProxy delegateProxy;
     private Identifier identifier;
     private RequestContext requestContext;
-    private Future<Path> tempFileFuture;
+    private SharedDownload<?> sourceDownload;
 
     public static Builder builder() {
         return new Builder(new InformationRequestHandler());
@@ -199,16 +199,10 @@ public class InformationRequestHandler extends AbstractRequestHandler
     @Override
     public void close() {
         // If a temporary file was created in the course of handling the
-        // request, it will need to be deleted.
-        if (tempFileFuture != null) {
-            try {
-                Path tempFile = tempFileFuture.get();
-                if (tempFile != null) {
-                    Files.deleteIfExists(tempFile);
-                }
-            } catch (Exception e) {
-                LOGGER.error("destroy(): {}", e.getMessage(), e);
-            }
+        // request, it will need to be released so that it can be deleted
+        // once no other request is using it.
+        if (sourceDownload != null) {
+            sourceDownload.release();
         }
     }
 
@@ -233,22 +227,24 @@ public class InformationRequestHandler extends AbstractRequestHandler
         // just return the cached info.
         if (!isBypassingCache && !isBypassingCacheRead &&
                 !isResolvingFirst()) {
+            Optional<Info> optInfo = Optional.empty();
             try {
-                Optional<Info> optInfo = cacheFacade.getInfo(identifier);
-                if (optInfo.isPresent()) {
-                    final Info info = optInfo.get();
-                    // The source format will be null or UNKNOWN if the info was
-                    // serialized in version < 3.4.
-                    final Format format = info.getSourceFormat();
-                    if (format != null && !Format.UNKNOWN.equals(format)) {
-                        setRequestContextKeys(info);
-                        return info;
-                    }
-                }
+                optInfo = cacheFacade.getInfo(identifier);
             } catch (IOException e) {
                 // Don't rethrow -- it's still possible to service the request.
                 LOGGER.error(e.getMessage());
             }
+            if (optInfo.isPresent()) {
+                final Info info = optInfo.get();
+                // The source format will be null or UNKNOWN if the info was
+                // serialized in version < 3.4.
+                final Format format = info.getSourceFormat();
+                if (format != null && !Format.UNKNOWN.equals(format) &&
+                        revalidate(identifier, info, delegateProxy)) {
+                    setRequestContextKeys(info);
+                    return info;
+                }
+            }
         }
 
         final Source source = new SourceFactory().newSource(
@@ -260,8 +256,12 @@ public class InformationRequestHandler extends AbstractRequestHandler
         final Optional<Path> optSrcImage = cacheFacade.getSourceCacheFile(identifier);
         if (optSrcImage.isEmpty() || isResolvingFirst()) {
             try {
-                StatResult result = source.stat();
+                StatResult result = SourceStatCache.getInstance().stat(source);
+                sourceStatResult = result;
                 callback.sourceAccessed(result);
+                if (isResolvingFirst()) {
+                    revalidate(identifier, result);
+                }
             } catch (NoSuchFileException e) { // this needs to be rethrown!
                 if (config.getBoolean(Key.CACHE_SERVER_PURGE_MISSING, false)) {
                     // If the image was not found, purge it from the cache.
@@ -286,7 +286,8 @@ public class InformationRequestHandler extends AbstractRequestHandler
                         .iterator();
             }
         } else {
-            formatIterator = source.getFormatIterator();
+            formatIterator =
+                    SourceStatCache.getInstance().getFormatIterator(source);
         }
 
         while (formatIterator.hasNext()) {
@@ -296,11 +297,15 @@ public class InformationRequestHandler extends AbstractRequestHandler
             try (Processor processor = new ProcessorFactory().newProcessor(format)) {
                 processorName = processor.getClass().getSimpleName();
                 // Connect it to the source.
-                tempFileFuture = new ProcessorConnector().connect(
+                if (sourceDownload != null) {
+                    sourceDownload.release();
+                }
+                sourceDownload = new ProcessorConnector().connectForInfo(
                         source, processor, identifier, format);
                 callback.knowAvailableOutputFormats(
                         processor.getAvailableOutputFormats());
                 Info info = getOrReadInfo(identifier, processor);
+                SourceStatCache.getInstance().putFormat(source, format);
                 setRequestContextKeys(info);
                 return info;
             } catch (SourceFormatException e) {
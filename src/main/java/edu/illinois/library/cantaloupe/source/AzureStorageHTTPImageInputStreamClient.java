@@ -2,16 +2,27 @@ package edu.illinois.library.cantaloupe.source;
 
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.CloudBlockBlob;
+import edu.illinois.library.cantaloupe.async.ThreadPool;
 import edu.illinois.library.cantaloupe.http.Range;
 import edu.illinois.library.cantaloupe.http.Response;
 import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStreamClient;
+import edu.illinois.library.cantaloupe.util.ByteArrayPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
- * Implementation backed by an Azure Storage client.
+ * <p>Implementation backed by an Azure Storage client.</p>
+ *
+ * <p>Response bodies are obtained from a {@link ByteArrayPool}, if one is
+ * set, so that they can be returned to it by {@link
+ * edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream}. Ranges
+ * can optionally be split into parts that are downloaded concurrently.</p>
  */
 public class AzureStorageHTTPImageInputStreamClient
         implements HTTPImageInputStreamClient {
@@ -19,12 +30,35 @@ public class AzureStorageHTTPImageInputStreamClient
     private static final Logger LOGGER =
             LoggerFactory.getLogger(AzureStorageHTTPImageInputStreamClient.class);
 
+    /**
+     * Ranges are never split into parts smaller than this.
+     */
+    static final int MIN_PART_SIZE = 128 * 1024;
+
     private CloudBlockBlob blob;
+    private ByteArrayPool bodyPool;
+    private int numParallelRequests = 1;
 
     AzureStorageHTTPImageInputStreamClient(CloudBlockBlob blob) {
         this.blob = blob;
     }
 
+    /**
+     * @param bodyPool Pool from which to obtain response bodies.
+     */
+    void setBodyPool(ByteArrayPool bodyPool) {
+        this.bodyPool = bodyPool;
+    }
+
+    /**
+     * @param numParallelRequests Maximum number of concurrent requests into
+     *                            which to split each range. Parts are never
+     *                            smaller than {@link #MIN_PART_SIZE}.
+     */
+    void setNumParallelRequests(int numParallelRequests) {
+        this.numParallelRequests = Math.max(1, numParallelRequests);
+    }
+
     @Override
     public Response sendHEADRequest() throws IOException {
         try {
@@ -44,9 +78,17 @@ public class AzureStorageHTTPImageInputStreamClient
     @Override
     public Response sendGETRequest(Range range) throws IOException {
         try {
-            final long length = range.end - range.start + 1;
-            final byte[] bytes = new byte[(int) length];
-            blob.downloadRangeToByteArray(range.start, length, bytes, 0);
+            final int length   = (int) (range.end - range.start + 1);
+            final byte[] bytes = (bodyPool != null) ?
+                    bodyPool.acquireExact(length) : new byte[length];
+            final int numParts = (int) Math.max(1, Math.min(
+                    numParallelRequests, length / MIN_PART_SIZE));
+            if (numParts > 1) {
+                downloadParts(range.start, length, bytes, numParts);
+            } else {
+                blob.downloadRangeToByteArray(range.start, (long) length,
+                        bytes, 0);
+            }
 
             final Response response = new Response();
             response.setStatus(206);
@@ -58,4 +100,46 @@ public class AzureStorageHTTPImageInputStreamClient
         }
     }
 
+    /**
+     * Downloads the given range in the given number of roughly equal parts,
+     * all but the first of which are downloaded in other threads.
+     */
+    private void downloadParts(long start,
+                               int length,
+                               byte[] bytes,
+                               int numParts) throws IOException,
+                                                    StorageException {
+        final int partSize = (int) Math.ceil(length / (double) numParts);
+        final List<Future<?>> futures = new ArrayList<>(numParts - 1);
+        for (int offset = partSize; offset < length; offset += partSize) {
+            final int partOffset = offset;
+            final int partLength = Math.min(partSize, length - offset);
+            futures.add(ThreadPool.getInstance().submit(() -> {
+                blob.downloadRangeToByteArray(start + partOffset,
+                        (long) partLength, bytes, partOffset);
+                return null;
+            }, ThreadPool.Priority.NORMAL));
+        }
+        LOGGER.trace("downloadParts(): downloading {} bytes in {} parts",
+                length, futures.size() + 1);
+        try {
+            blob.downloadRangeToByteArray(start, (long) partSize, bytes, 0);
+        } finally {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof StorageException) {
+                        throw (StorageException) cause;
+                    }
+                    throw new IOException(cause);
+                }
+            }
+        }
+    }
+
 }
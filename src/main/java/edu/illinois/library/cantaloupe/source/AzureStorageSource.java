@@ -229,7 +229,9 @@ final class AzureStorageSource extends AbstractSource implements Source {
     public StatResult stat() throws IOException {
         CloudBlockBlob blob = fetchBlob();
         StatResult result = new StatResult();
+        result.setETag(blob.getProperties().getEtag());
         result.setLastModified(blob.getProperties().getLastModified().toInstant());
+        result.setLength(blob.getProperties().getLength());
         return result;
     }
 
@@ -321,9 +323,38 @@ final class AzureStorageSource extends AbstractSource implements Source {
         return formatIterator;
     }
 
+    /**
+     * @return Whether {@link Key#AZURESTORAGESOURCE_LOOKUP_STRATEGY} is
+     *         anything other than ScriptLookupStrategy.
+     */
+    @Override
+    public boolean isLookupStatic() {
+        return !LookupStrategy.DELEGATE_SCRIPT.equals(
+                LookupStrategy.from(Key.AZURESTORAGESOURCE_LOOKUP_STRATEGY));
+    }
+
+    /**
+     * @return Account and container of the blob, or the host of the blob URI
+     *         if no container is configured.
+     */
+    @Override
+    public String getOrigin() throws IOException {
+        final String containerName = getContainerName();
+        if (containerName == null || containerName.isEmpty()) {
+            try {
+                return URI.create(getBlobKey()).getHost();
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        final String accountName = Configuration.getInstance()
+                .getString(Key.AZURESTORAGESOURCE_ACCOUNT_NAME);
+        return "azure://" + accountName + "/" + containerName;
+    }
+
     @Override
     public StreamFactory newStreamFactory() throws IOException {
-        return new AzureStorageStreamFactory(fetchBlob());
+        return new AzureStorageStreamFactory(identifier, fetchBlob());
     }
 
     @Override
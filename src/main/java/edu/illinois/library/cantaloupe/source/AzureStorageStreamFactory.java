@@ -2,9 +2,13 @@ package edu.illinois.library.cantaloupe.source;
 
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.CloudBlockBlob;
+import edu.illinois.library.cantaloupe.cache.PartialSourceCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStreamClient;
+import edu.illinois.library.cantaloupe.util.ByteArrayPool;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,10 +29,22 @@ class AzureStorageStreamFactory implements StreamFactory {
     private static final int DEFAULT_CHUNK_SIZE       = 1024 * 512;
     private static final int DEFAULT_CHUNK_CACHE_SIZE = 1024 * 1024 * 10;
 
+    private final Identifier identifier;
     private final CloudBlockBlob blob;
 
     AzureStorageStreamFactory(CloudBlockBlob blob) {
-        this.blob = blob;
+        this(null, blob);
+    }
+
+    /**
+     * @param identifier Identifier of the image that the blob is the source
+     *                   of. May be {@code null}.
+     * @param blob       Blob.
+     * @since 6.0
+     */
+    AzureStorageStreamFactory(Identifier identifier, CloudBlockBlob blob) {
+        this.identifier = identifier;
+        this.blob       = blob;
     }
 
     @Override
@@ -47,9 +63,6 @@ class AzureStorageStreamFactory implements StreamFactory {
             LOGGER.debug("newSeekableStream(): using {}-byte chunks",
                     chunkSize);
 
-            final AzureStorageHTTPImageInputStreamClient client =
-                    new AzureStorageHTTPImageInputStreamClient(blob);
-
             try {
                 // Populate the blob's properties, if they haven't been already.
                 blob.exists();
@@ -57,10 +70,18 @@ class AzureStorageStreamFactory implements StreamFactory {
                 LOGGER.warn("newSeekableStream(): {}", e.getMessage());
             }
 
+            final HTTPImageInputStreamClient client =
+                    PartialSourceCache.getInstance().newClient(
+                            identifier, blob.getUri().toString(),
+                            blob.getProperties().getLength(),
+                            blob.getProperties().getEtag(), chunkSize,
+                            newClient());
+
             HTTPImageInputStream stream = new HTTPImageInputStream(
                     client, blob.getProperties().getLength());
             try {
                 stream.setWindowSize(chunkSize);
+                stream.setChunkPool(ByteArrayPool.getInstance());
                 if (isChunkCacheEnabled()) {
                     stream.setMaxChunkCacheSize(getMaxChunkCacheSize());
                 }
@@ -80,6 +101,14 @@ class AzureStorageStreamFactory implements StreamFactory {
         return isChunkingEnabled();
     }
 
+    private AzureStorageHTTPImageInputStreamClient newClient() {
+        final AzureStorageHTTPImageInputStreamClient client =
+                new AzureStorageHTTPImageInputStreamClient(blob);
+        client.setBodyPool(ByteArrayPool.getInstance());
+        client.setNumParallelRequests(getNumParallelRequests());
+        return client;
+    }
+
     private boolean isChunkingEnabled() {
         return Configuration.getInstance().getBoolean(
                 Key.AZURESTORAGESOURCE_CHUNKING_ENABLED, true);
@@ -95,6 +124,11 @@ class AzureStorageStreamFactory implements StreamFactory {
                 Key.AZURESTORAGESOURCE_CHUNK_CACHE_ENABLED, true);
     }
 
+    private int getNumParallelRequests() {
+        return Configuration.getInstance().getInt(
+                Key.AZURESTORAGESOURCE_CHUNKING_PARALLEL_REQUESTS, 1);
+    }
+
     private int getMaxChunkCacheSize() {
         return (int) Configuration.getInstance().getLongBytes(
                 Key.AZURESTORAGESOURCE_CHUNK_CACHE_MAX_SIZE,
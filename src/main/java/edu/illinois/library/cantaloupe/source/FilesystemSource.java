@@ -128,6 +128,7 @@ class FilesystemSource extends AbstractSource implements Source {
         }
         StatResult result = new StatResult();
         result.setLastModified(Files.getLastModifiedTime(file).toInstant());
+        result.setLength(Files.size(file));
         return result;
     }
 
@@ -234,6 +235,16 @@ class FilesystemSource extends AbstractSource implements Source {
         formatIterator = new FormatIterator<>();
     }
 
+    /**
+     * @return Whether {@link Key#FILESYSTEMSOURCE_LOOKUP_STRATEGY} is
+     *         anything other than ScriptLookupStrategy.
+     */
+    @Override
+    public boolean isLookupStatic() {
+        return !LookupStrategy.DELEGATE_SCRIPT.equals(
+                LookupStrategy.from(Key.FILESYSTEMSOURCE_LOOKUP_STRATEGY));
+    }
+
     @Override
     public boolean supportsFileAccess() {
         return true;
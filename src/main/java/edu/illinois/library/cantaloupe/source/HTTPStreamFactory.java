@@ -1,16 +1,21 @@
 package edu.illinois.library.cantaloupe.source;
 
+import edu.illinois.library.cantaloupe.cache.PartialSourceCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.http.Headers;
+import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStreamClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 
 import javax.imageio.stream.ImageInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 
 import static edu.illinois.library.cantaloupe.source.HttpSource.LOGGER;
 import static edu.illinois.library.cantaloupe.source.HttpSource.getHTTPClient;
@@ -24,20 +29,130 @@ final class HTTPStreamFactory implements StreamFactory {
     private static final int DEFAULT_CHUNK_SIZE       = (int) Math.pow(2, 19);
     private static final int DEFAULT_CHUNK_CACHE_SIZE = (int) Math.pow(1024, 2);
 
+    private final Identifier identifier;
     private final HTTPRequestInfo requestInfo;
     private final long contentLength;
     private final boolean serverAcceptsRanges;
+    private final String etag;
+    private final byte[] firstChunk;
 
     HTTPStreamFactory(HTTPRequestInfo requestInfo,
                       long contentLength,
                       boolean serverAcceptsRanges) {
+        this(null, requestInfo, contentLength, serverAcceptsRanges, null,
+                null);
+    }
+
+    /**
+     * @param identifier          Identifier of the image that the resource
+     *                            is the source of. May be {@code null}.
+     * @param requestInfo         Request info.
+     * @param contentLength       Length of the resource, or {@literal 0} if
+     *                            unknown.
+     * @param serverAcceptsRanges Whether the server supports ranged requests.
+     * @param etag                Value of the resource's {@code ETag} header.
+     *                            May be {@code null}.
+     * @param firstChunk          Bytes from the beginning of the resource that
+     *                            have already been received, which will not be
+     *                            requested again if possible. May be {@code
+     *                            null}.
+     * @since 6.0
+     */
+    HTTPStreamFactory(Identifier identifier,
+                      HTTPRequestInfo requestInfo,
+                      long contentLength,
+                      boolean serverAcceptsRanges,
+                      String etag,
+                      byte[] firstChunk) {
+        this.identifier          = identifier;
         this.requestInfo         = requestInfo;
         this.contentLength       = contentLength;
         this.serverAcceptsRanges = serverAcceptsRanges;
+        this.etag                = etag;
+        this.firstChunk          = firstChunk;
     }
 
+    /**
+     * If the resource has already been received in full, returns a stream
+     * over those bytes without sending any request. If the beginning of it
+     * has been received, and the server supports ranges, requests only the
+     * remainder. Otherwise, or if the remainder that the server sends does
+     * not {@link #isRemainder(Response) match} the beginning, requests the
+     * whole resource.
+     *
+     * @throws IOException if the request for the remainder fails.
+     */
     @Override
     public InputStream newInputStream() throws IOException {
+        if (firstChunk != null && contentLength > 0) {
+            if (firstChunk.length >= contentLength) {
+                LOGGER.debug("newInputStream(): resource was fully received " +
+                        "by the preliminary request");
+                return new ByteArrayInputStream(firstChunk);
+            } else if (serverAcceptsRanges && firstChunk.length > 0) {
+                Response response = sendGETRequest(
+                        "bytes=" + firstChunk.length + "-");
+                ResponseBody body = response.body();
+                if (body == null) {
+                    response.close();
+                    return null;
+                } else if (response.code() == 200) {
+                    // The server ignored the range and is sending everything.
+                    return body.byteStream();
+                } else if (response.code() != 206) {
+                    response.close();
+                    throw new IOException("Unexpected HTTP response code: " +
+                            response.code());
+                } else if (isRemainder(response)) {
+                    return new SequenceInputStream(
+                            new ByteArrayInputStream(firstChunk),
+                            body.byteStream());
+                }
+                LOGGER.debug("newInputStream(): the partial response " +
+                        "[Content-Range: {}] [ETag: {}] does not continue " +
+                        "the first chunk; requesting the whole resource",
+                        response.header("Content-Range"),
+                        response.header("ETag"));
+                response.close();
+            }
+        }
+        Response response = sendGETRequest(null);
+        ResponseBody body = response.body();
+        return (body != null) ? body.byteStream() : null;
+    }
+
+    /**
+     * Checks that a {@literal 206} response contains the rest of the same
+     * version of the resource that {@link #firstChunk} came from. {@code
+     * If-Range} already ensures the latter when the {@code ETag} is strong,
+     * but otherwise, this is the only check.
+     *
+     * @param response Response to a request for the remainder.
+     * @return         Whether the response's {@code Content-Range} starts at
+     *                 the end of {@link #firstChunk} and ends at the end of
+     *                 the resource, and its {@code ETag}, if any, is the same
+     *                 as {@link #etag}.
+     */
+    private boolean isRemainder(Response response) {
+        final String responseETag = response.header("ETag");
+        if (etag != null && responseETag != null &&
+                !etag.equals(responseETag)) {
+            return false;
+        }
+        // e.g. "bytes 1024-5438/5439"
+        final String value = response.header("Content-Range");
+        if (value == null) {
+            return false;
+        }
+        final String expected = String.format("bytes %d-%d/%d",
+                firstChunk.length, contentLength - 1, contentLength);
+        return expected.equals(value.trim());
+    }
+
+    /**
+     * @param range Value of a {@code Range} header. May be {@code null}.
+     */
+    private Response sendGETRequest(String range) throws IOException {
         final Headers extraHeaders = requestInfo.getHeaders();
 
         Request.Builder builder = new Request.Builder()
@@ -50,16 +165,22 @@ final class HTTPStreamFactory implements StreamFactory {
             builder.addHeader("Authorization",
                     "Basic " + requestInfo.getBasicAuthToken());
         }
+        if (range != null) {
+            builder.addHeader("Range", range);
+            // Ensure that the remainder comes from the same version of the
+            // resource as the first chunk. (If it doesn't, the server will
+            // send the whole resource instead.)
+            if (HttpSource.isStrongETag(etag)) {
+                builder.addHeader("If-Range", etag);
+            }
+        }
 
         Request request   = builder.build();
 
         LOGGER.trace("Requesting GET {} [extra headers: {}]",
                 requestInfo.getURI(), HttpSource.toString(request.headers()));
 
-        Response response = getHTTPClient().newCall(request).execute();
-        ResponseBody body = response.body();
-
-        return (body != null) ? body.byteStream() : null;
+        return getHTTPClient().newCall(request).execute();
     }
 
     @Override
@@ -69,8 +190,11 @@ final class HTTPStreamFactory implements StreamFactory {
                 final int chunkSize = getChunkSize();
                 LOGGER.debug("newSeekableStream(): using {}-byte chunks",
                         chunkSize);
-                OkHttpHTTPImageInputStreamClient rangingClient =
-                        new OkHttpHTTPImageInputStreamClient(requestInfo);
+                HTTPImageInputStreamClient rangingClient =
+                        new OkHttpHTTPImageInputStreamClient(requestInfo, etag);
+                rangingClient = PartialSourceCache.getInstance().newClient(
+                        identifier, requestInfo.getURI(), contentLength, etag,
+                        chunkSize, rangingClient);
 
                 HTTPImageInputStream stream = new HTTPImageInputStream(
                         rangingClient, contentLength);
@@ -78,6 +202,9 @@ final class HTTPStreamFactory implements StreamFactory {
                 if (isChunkCacheEnabled()) {
                     stream.setMaxChunkCacheSize(getMaxChunkCacheSize());
                 }
+                if (firstChunk != null) {
+                    stream.setFirstChunk(firstChunk);
+                }
                 return stream;
             } else {
                 LOGGER.debug("newSeekableStream(): chunking is enabled, but " +
@@ -95,12 +222,12 @@ final class HTTPStreamFactory implements StreamFactory {
         return isChunkingEnabled();
     }
 
-    private boolean isChunkingEnabled() {
+    static boolean isChunkingEnabled() {
         return Configuration.getInstance().getBoolean(
                 Key.HTTPSOURCE_CHUNKING_ENABLED, true);
     }
 
-    private int getChunkSize() {
+    static int getChunkSize() {
         return (int) Configuration.getInstance().getLongBytes(
                 Key.HTTPSOURCE_CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
     }
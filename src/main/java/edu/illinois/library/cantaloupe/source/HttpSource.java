@@ -32,9 +32,11 @@ import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -76,36 +78,40 @@ import java.util.stream.Collectors;
  *     <li>If {@link Key#HTTPSOURCE_SEND_HEAD_REQUESTS} is {@code true}, or
  *     the delegate method returns {@code true} for the equivalent key, a
  *     {@code HEAD} request. Otherwise, a ranged {@code GET} request specifying
- *     a small range of the beginning of the resource.</li>
- *     <li>If a {@code HEAD} request was sent:
+ *     the first chunk of the resource (or a small range of the beginning of
+ *     it, if chunking is disabled).</li>
+ *     <li>If a {@code HEAD} request was sent, {@link FormatIterator#next()}
+ *     needs to check magic bytes, and the server supports ranges:
  *         <ol>
- *             <li>If {@link FormatIterator#next()} needs to check magic bytes,
- *             and the server supports ranges:
- *                 <ol>
- *                     <li>Ranged {@code GET}</li>
- *                 </ol>
- *             </li>
- *             <li>If {@link HTTPStreamFactory#newSeekableStream()} is used:
- *                 <ol>
- *                     <li>A series of ranged {@literal GET} requests (see {@link
- *                     edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream}
- *                     for details)</li>
- *                 </ol>
- *             </li>
- *             <li>Else if {@link HTTPStreamFactory#newInputStream()} is used:
- *                 <ol>
- *                     <li>{@code GET} to retrieve the full image bytes</li>
- *                 </ol>
- *             </li>
+ *             <li>Ranged {@code GET} for the first chunk</li>
  *         </ol>
  *     </li>
- *     <li>Else if server does not support ranges:
+ *     <li>If {@link HTTPStreamFactory#newSeekableStream()} is used, and the
+ *     server supports ranges:
  *         <ol>
- *             <li>{@literal GET} to retrieve the full image bytes</li>
+ *             <li>A series of ranged {@literal GET} requests for all chunks
+ *             needed after the first one, which has already been received (see
+ *             {@link
+ *             edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream}
+ *             for details)</li>
+ *         </ol>
+ *     </li>
+ *     <li>Else if {@link HTTPStreamFactory#newInputStream()} is used, or the
+ *     server does not support ranges:
+ *         <ol>
+ *             <li>{@code GET} to retrieve the image bytes that have not
+ *             already been received (which may be none, in the case of small
+ *             images)</li>
  *         </ol>
  *     </li>
  * </ol>
  *
+ * <p>The resource's length, range support, and {@code ETag} are learned from
+ * the first response and passed along to the {@link HTTPStreamFactory}, so
+ * that its streams don't have to request them again. A strong {@code ETag}
+ * is used to ensure that subsequent ranged requests read the same version of
+ * the resource.</p>
+ *
  * <h1>Authentication Support</h1>
  *
  * <p>HTTP Basic authentication is supported.</p>
@@ -124,9 +130,10 @@ class HttpSource extends AbstractSource implements Source {
 
     /**
      * Encapsulates the status code, headers, and body (if available) of a
-     * {code HEAD} or ranged {@code GET} response. The range specifies a small
-     * part of the beginning of the resource to use for the purpose of
-     * inferring its format.
+     * {code HEAD} or ranged {@code GET} response. The range specifies the
+     * first chunk of the resource, which is used for the purpose of inferring
+     * its format and then handed off to the {@link HTTPStreamFactory} so that
+     * it doesn't have to be requested again.
      */
     private static class ResourceInfo {
 
@@ -135,7 +142,10 @@ class HttpSource extends AbstractSource implements Source {
         private Headers headers;
 
         /**
-         * Response entity with a maximum length of {@link #RANGE_LENGTH}.
+         * Response entity with a maximum length of {@link
+         * #getLeadingBytesLength()} (unless the server ignored the range).
+         * May also be set after a {@code HEAD} response by {@link
+         * #fetchLeadingBytes()}.
          */
         private byte[] entity;
 
@@ -152,10 +162,28 @@ class HttpSource extends AbstractSource implements Source {
         }
 
         boolean acceptsRanges() {
-            return "bytes".equals(headers.get("Accept-Ranges"));
+            return "bytes".equals(headers.get("Accept-Ranges")) ||
+                    status == 206;
         }
 
+        /**
+         * @return Length of the whole resource (not of a partial response
+         *         entity), or {@literal 0} if unknown.
+         */
         long contentLength() {
+            if (status == 206) {
+                // e.g. "bytes 0-31/5439"
+                String value = headers.get("Content-Range");
+                if (value != null) {
+                    String total = value.substring(value.indexOf('/') + 1);
+                    try {
+                        return Long.parseLong(total.trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+                return 0;
+            }
             String value = headers.get("Content-Length");
             return (value != null) ? Long.parseLong(value) : 0;
         }
@@ -175,6 +203,18 @@ class HttpSource extends AbstractSource implements Source {
             return format;
         }
 
+        String etag() {
+            return headers.get("ETag");
+        }
+
+        /**
+         * @return Response entity if the request succeeded, or else {@code
+         *         null}.
+         */
+        byte[] leadingBytes() {
+            return (status >= 200 && status < 300) ? entity : null;
+        }
+
         Instant lastModified() {
             String str = headers.get("Last-Modified");
             if (str != null) {
@@ -258,11 +298,12 @@ class HttpSource extends AbstractSource implements Source {
         private class ByteChecker implements FormatChecker {
             /**
              * If the {@link #getResourceInfo initial response} is from a
-             * {@code HEAD} request, issues an HTTP {@code GET} request for a
-             * small range of the beginning of the resource. (If it is a {@code
-             * GET} response, that data has already been received.) Then, a
+             * {@code HEAD} request, issues an HTTP {@code GET} request for
+             * the first chunk of the resource. (If it is a {@code GET}
+             * response, that data has already been received.) Then, a
              * source format is inferred from the magic bytes in the response
-             * entity.
+             * entity. The entity is retained so that it can be reused by
+             * {@link #newStreamFactory()}.
              *
              * @return Inferred source format, or {@link Format#UNKNOWN}.
              */
@@ -280,9 +321,10 @@ class HttpSource extends AbstractSource implements Source {
                     }
                     // If it was a HEAD, we need to know whether the resource
                     // supports ranged requests. If it does, send one.
-                    if ("HEAD".equals(resourceInfo.requestMethod)) {
+                    if ("HEAD".equals(resourceInfo.requestMethod) &&
+                            resourceInfo.entity == null) {
                         if (resourceInfo.acceptsRanges()) {
-                            resourceInfo = fetchResourceInfoViaGET();
+                            fetchLeadingBytes();
                         } else {
                             LOGGER.debug("Server did not supply an " +
                                             "`Accept-Ranges: bytes` header in response " +
@@ -381,6 +423,11 @@ class HttpSource extends AbstractSource implements Source {
             System.getProperty("os.version"));
 
     private static final int DEFAULT_REQUEST_TIMEOUT = 30;
+
+    /**
+     * Length of the range requested for format inference when chunking is
+     * disabled.
+     */
     private static final int RANGE_LENGTH            = 32;
 
     private static OkHttpClient httpClient;
@@ -456,6 +503,27 @@ class HttpSource extends AbstractSource implements Source {
         return httpClient;
     }
 
+    /**
+     * @return Number of bytes to request from the beginning of a resource for
+     *         the purpose of inferring its format. When chunking is enabled,
+     *         this is the chunk size, so that the response can serve as the
+     *         first chunk of a {@link HTTPStreamFactory#newSeekableStream()
+     *         seekable stream}.
+     */
+    private static int getLeadingBytesLength() {
+        return HTTPStreamFactory.isChunkingEnabled() ?
+                HTTPStreamFactory.getChunkSize() : RANGE_LENGTH;
+    }
+
+    /**
+     * @param etag {@code ETag} header value. May be {@code null}.
+     * @return     Whether the argument is a strong validator, which may be
+     *             used in {@code If-Match} and {@code If-Range} headers.
+     */
+    static boolean isStrongETag(String etag) {
+        return etag != null && !etag.isEmpty() && !etag.startsWith("W/");
+    }
+
     /**
      * @return Request timeout from the application configuration, or a
      *         reasonable default if not set.
@@ -520,10 +588,15 @@ class HttpSource extends AbstractSource implements Source {
                 .collect(Collectors.joining("; "));
     }
 
-    @Override
-    public StatResult stat() throws IOException {
-        ResourceInfo info = getResourceInfo();
-        final int status  = info.status;
+    /**
+     * @param status HTTP response status code.
+     * @throws NoSuchFileException   if the status indicates that the resource
+     *                               does not exist.
+     * @throws AccessDeniedException if the status indicates that the resource
+     *                               is not accessible.
+     * @throws IOException           if the status is some other error.
+     */
+    private static void checkStatus(int status) throws IOException {
         if (status >= 400) {
             final String statusLine = "HTTP " + status;
             if (status == 404 || status == 410) {        // not found or gone
@@ -534,16 +607,100 @@ class HttpSource extends AbstractSource implements Source {
                 throw new IOException(statusLine);
             }
         }
+    }
+
+    @Override
+    public StatResult stat() throws IOException {
+        ResourceInfo info = getResourceInfo();
+        checkStatus(info.status);
         StatResult result = new StatResult();
+        result.setETag(info.etag());
         result.setLastModified(info.lastModified());
+        if (info.contentLength() > 0) {
+            result.setLength(info.contentLength());
+        }
         return result;
     }
 
+    /**
+     * Sends a conditional {@code HEAD} request (or a conditional {@code GET}
+     * request for a single byte, if {@code HEAD} requests are disabled) with
+     * an {@code If-None-Match} or {@code If-Modified-Since} header, to which
+     * the server will ideally respond with {@code 304 Not Modified}.
+     */
+    @Override
+    public boolean isModifiedSince(String etag,
+                                   Instant lastModified) throws IOException {
+        final Map<String,String> extraHeaders = new HashMap<>();
+        if (etag != null) {
+            extraHeaders.put("If-None-Match", etag);
+        } else if (lastModified != null) {
+            extraHeaders.put("If-Modified-Since",
+                    DateTimeFormatter.RFC_1123_DATE_TIME
+                            .withZone(ZoneOffset.UTC)
+                            .format(lastModified));
+        } else {
+            return false;
+        }
+        try {
+            requestInfo = getRequestInfo();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        String method = "HEAD";
+        if (!requestInfo.isSendingHeadRequest()) {
+            method = "GET";
+            extraHeaders.put("Range", "bytes=0-0");
+        }
+        try (Response response = request(method, extraHeaders)) {
+            final int status = response.code();
+            if (status == 304) {
+                return false;
+            }
+            checkStatus(status);
+            // The server may have ignored the condition.
+            ResourceInfo info = ResourceInfo.fromResponse(response);
+            StatResult result = new StatResult();
+            result.setETag(info.etag());
+            result.setLastModified(info.lastModified());
+            return result.isModifiedSince(etag, lastModified);
+        }
+    }
+
     @Override
     public FormatIterator<Format> getFormatIterator() {
         return formatIterator;
     }
 
+    /**
+     * @return Whether {@link Key#HTTPSOURCE_LOOKUP_STRATEGY} is
+     *         anything other than ScriptLookupStrategy.
+     */
+    @Override
+    public boolean isLookupStatic() {
+        return !LookupStrategy.DELEGATE_SCRIPT.equals(
+                LookupStrategy.from(Key.HTTPSOURCE_LOOKUP_STRATEGY));
+    }
+
+    /**
+     * @return Scheme, host, and port of the resource URI.
+     */
+    @Override
+    public String getOrigin() throws IOException {
+        try {
+            URI uri = new URI(getRequestInfo().getURI());
+            String origin = uri.getScheme() + "://" + uri.getHost();
+            if (uri.getPort() != -1) {
+                origin += ":" + uri.getPort();
+            }
+            return origin;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Issues a {@code HEAD} or ranged {@code GET} request (depending on the
      * configuration) and caches the result in {@link #resourceInfo}.
@@ -575,13 +732,34 @@ class HttpSource extends AbstractSource implements Source {
 
     private ResourceInfo fetchResourceInfoViaGET() throws Exception {
         requestInfo = getRequestInfo();
-        var extraHeaders = Map.of("Range", "bytes=0-" + (RANGE_LENGTH - 1));
+        var extraHeaders = Map.of("Range",
+                "bytes=0-" + (getLeadingBytesLength() - 1));
         try (Response response = request("GET", extraHeaders)) {
             resourceInfo = ResourceInfo.fromResponse(response);
         }
         return resourceInfo;
     }
 
+    /**
+     * Requests the first chunk of the resource and sets it as the entity of
+     * the existing {@link #resourceInfo}, whose other properties, having come
+     * from a {@code HEAD} response, describe the whole resource.
+     */
+    private void fetchLeadingBytes() throws Exception {
+        var extraHeaders = Map.of("Range",
+                "bytes=0-" + (getLeadingBytesLength() - 1));
+        try (Response response = request("GET", extraHeaders)) {
+            final int status = response.code();
+            if (status >= 200 && status < 300 && response.body() != null) {
+                resourceInfo.entity = response.body().bytes();
+            } else {
+                LOGGER.debug("GET {} returned status {}",
+                        requestInfo.getURI(), status);
+                resourceInfo.entity = new byte[0];
+            }
+        }
+    }
+
     private Response request(String method,
                              Map<String,String> extraHeaders) throws IOException {
         return request(requestInfo, method, extraHeaders);
@@ -665,9 +843,12 @@ class HttpSource extends AbstractSource implements Source {
             LOGGER.debug("Resolved {} to {}", identifier, info.getURI());
             getResourceInfo();
             return new HTTPStreamFactory(
+                    identifier,
                     info,
                     resourceInfo.contentLength(),
-                    resourceInfo.acceptsRanges());
+                    resourceInfo.acceptsRanges(),
+                    resourceInfo.etag(),
+                    resourceInfo.leadingBytes());
         }
         return null;
     }
@@ -0,0 +1,217 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.http.Range;
+import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStreamClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * <p>Adapts a binary/BLOB column value to the {@link
+ * HTTPImageInputStreamClient} interface, so that it can be read in chunks by
+ * an {@link edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream}.
+ * Ranges are read using {@literal SUBSTRING()} and the length using {@literal
+ * OCTET_LENGTH()} (or {@literal DATALENGTH()} in the case of SQL Server)
+ * in queries that wrap the {@link
+ * edu.illinois.library.cantaloupe.delegate.DelegateMethod#JDBCSOURCE_LOOKUP_SQL
+ * lookup query} in a derived table, so that only the requested bytes leave
+ * the database.</p>
+ *
+ * <p>Oracle's {@literal DBMS_LOB.SUBSTR()} is limited to 2000 bytes in SQL,
+ * so with Oracle, ranges are read from a {@link Blob} locator instead, which
+ * the driver fetches lazily.</p>
+ *
+ * @since 6.0
+ */
+class JDBCImageInputStreamClient implements HTTPImageInputStreamClient {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(JDBCImageInputStreamClient.class);
+
+    private final String lookupSQL;
+    private final String databaseIdentifier;
+
+    /**
+     * Quoted label of the column selected by {@link #lookupSQL}; set lazily.
+     */
+    private String columnName;
+    private String productName;
+
+    JDBCImageInputStreamClient(String lookupSQL, String databaseIdentifier) {
+        this.lookupSQL          = lookupSQL;
+        this.databaseIdentifier = databaseIdentifier;
+    }
+
+    @Override
+    public Response sendHEADRequest() throws IOException {
+        try (Connection connection = JdbcSource.getConnection()) {
+            final long length = isUsingLocator(connection) ?
+                    readLengthUsingLocator(connection) :
+                    readLength(connection);
+            final Response response = new Response();
+            response.setStatus(200);
+            response.getHeaders().set("Content-Length", Long.toString(length));
+            response.getHeaders().set("Accept-Ranges", "bytes");
+            return response;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public Response sendGETRequest(Range range) throws IOException {
+        try (Connection connection = JdbcSource.getConnection()) {
+            final long pos   = range.start + 1; // SQL positions are 1-based
+            final int length = (int) (range.end - range.start + 1);
+            final byte[] bytes = isUsingLocator(connection) ?
+                    readRangeUsingLocator(connection, pos, length) :
+                    readRange(connection, pos, length);
+            final Response response = new Response();
+            response.setStatus(206);
+            response.setBody(bytes);
+            return response;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private boolean isUsingLocator(Connection connection) throws SQLException {
+        return getProductName(connection).contains("oracle");
+    }
+
+    private String getProductName(Connection connection) throws SQLException {
+        if (productName == null) {
+            productName = connection.getMetaData()
+                    .getDatabaseProductName().toLowerCase();
+        }
+        return productName;
+    }
+
+    /**
+     * @return Quoted label of the column selected by the lookup query, which
+     *         is obtained from the prepared statement metadata if the driver
+     *         supports it, or from the result set metadata otherwise.
+     */
+    private String getColumnName(Connection connection) throws SQLException,
+            NoSuchFileException {
+        if (columnName == null) {
+            String label;
+            try (PreparedStatement statement =
+                         connection.prepareStatement(lookupSQL)) {
+                ResultSetMetaData metadata = statement.getMetaData();
+                if (metadata != null) {
+                    label = metadata.getColumnLabel(1);
+                } else {
+                    statement.setString(1, databaseIdentifier);
+                    statement.setMaxRows(1);
+                    try (ResultSet result = statement.executeQuery()) {
+                        label = result.getMetaData().getColumnLabel(1);
+                    }
+                }
+            }
+            final DatabaseMetaData dbMetadata = connection.getMetaData();
+            final String quote = dbMetadata.getIdentifierQuoteString().trim();
+            columnName = quote + label + quote;
+        }
+        return columnName;
+    }
+
+    private long readLength(Connection connection) throws SQLException,
+            NoSuchFileException {
+        final String function = getProductName(connection).contains("sql server") ?
+                "DATALENGTH" : "OCTET_LENGTH";
+        final String sql = "SELECT " + function + "(t." +
+                getColumnName(connection) + ") FROM (" + lookupSQL + ") t";
+        LOGGER.debug(sql);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, databaseIdentifier);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    long length = result.getLong(1);
+                    if (!result.wasNull()) {
+                        return length;
+                    }
+                }
+                throw new NoSuchFileException("Resource not found");
+            }
+        }
+    }
+
+    private byte[] readRange(Connection connection,
+                             long pos,
+                             int length) throws SQLException,
+            NoSuchFileException {
+        final String sql = "SELECT SUBSTRING(t." + getColumnName(connection) +
+                ", ?, ?) FROM (" + lookupSQL + ") t";
+        LOGGER.debug(sql);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, pos);
+            statement.setInt(2, length);
+            statement.setString(3, databaseIdentifier);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    byte[] bytes = result.getBytes(1);
+                    if (bytes != null) {
+                        return bytes;
+                    }
+                }
+                throw new NoSuchFileException("Resource not found");
+            }
+        }
+    }
+
+    private long readLengthUsingLocator(Connection connection)
+            throws SQLException, NoSuchFileException {
+        LOGGER.debug(lookupSQL);
+        try (PreparedStatement statement = connection.prepareStatement(lookupSQL)) {
+            statement.setString(1, databaseIdentifier);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    Blob blob = result.getBlob(1);
+                    if (blob != null) {
+                        try {
+                            return blob.length();
+                        } finally {
+                            blob.free();
+                        }
+                    }
+                }
+                throw new NoSuchFileException("Resource not found");
+            }
+        }
+    }
+
+    private byte[] readRangeUsingLocator(Connection connection,
+                                         long pos,
+                                         int length) throws SQLException,
+            NoSuchFileException {
+        LOGGER.debug(lookupSQL);
+        try (PreparedStatement statement = connection.prepareStatement(lookupSQL)) {
+            statement.setString(1, databaseIdentifier);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    Blob blob = result.getBlob(1);
+                    if (blob != null) {
+                        try {
+                            return blob.getBytes(pos, length);
+                        } finally {
+                            blob.free();
+                        }
+                    }
+                }
+                throw new NoSuchFileException("Resource not found");
+            }
+        }
+    }
+
+}
@@ -1,8 +1,13 @@
 package edu.illinois.library.cantaloupe.source;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.NoSuchFileException;
@@ -12,13 +17,20 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 
 /**
- * StreamFactory for binary a.k.a. BLOB column values.
+ * <p>StreamFactory for binary a.k.a. BLOB column values.</p>
+ *
+ * <p>If chunking is enabled, {@link #newSeekableStream()} returns an {@link
+ * HTTPImageInputStream} that reads the value in chunks using a {@link
+ * JDBCImageInputStreamClient}.</p>
  */
 class JDBCStreamFactory implements StreamFactory {
 
     private static final Logger LOGGER =
             LoggerFactory.getLogger(JDBCStreamFactory.class);
 
+    private static final int DEFAULT_CHUNK_SIZE       = 1024 * 512;
+    private static final int DEFAULT_CHUNK_CACHE_SIZE = 1024 * 1024 * 10;
+
     private String sql;
     private String databaseIdentifier;
 
@@ -46,4 +58,56 @@ class JDBCStreamFactory implements StreamFactory {
         }
     }
 
+    @Override
+    public ImageInputStream newSeekableStream() throws IOException {
+        if (isChunkingEnabled()) {
+            final int chunkSize = getChunkSize();
+            LOGGER.debug("newSeekableStream(): using {}-byte chunks",
+                    chunkSize);
+
+            final JDBCImageInputStreamClient client =
+                    new JDBCImageInputStreamClient(sql, databaseIdentifier);
+
+            HTTPImageInputStream stream = new HTTPImageInputStream(client);
+            try {
+                stream.setWindowSize(chunkSize);
+                if (isChunkCacheEnabled()) {
+                    stream.setMaxChunkCacheSize(getMaxChunkCacheSize());
+                }
+                return stream;
+            } catch (Throwable t) {
+                IOUtils.closeQuietly(stream);
+                throw t;
+            }
+        } else {
+            LOGGER.debug("newSeekableStream(): chunking is disabled");
+            return StreamFactory.super.newSeekableStream();
+        }
+    }
+
+    @Override
+    public boolean isSeekingDirect() {
+        return isChunkingEnabled();
+    }
+
+    private boolean isChunkingEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.JDBCSOURCE_CHUNKING_ENABLED, false);
+    }
+
+    private int getChunkSize() {
+        return (int) Configuration.getInstance().getLongBytes(
+                Key.JDBCSOURCE_CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    private boolean isChunkCacheEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.JDBCSOURCE_CHUNK_CACHE_ENABLED, true);
+    }
+
+    private int getMaxChunkCacheSize() {
+        return (int) Configuration.getInstance().getLongBytes(
+                Key.JDBCSOURCE_CHUNK_CACHE_MAX_SIZE, DEFAULT_CHUNK_CACHE_SIZE);
+    }
+
 }
@@ -8,6 +8,7 @@ import okhttp3.OkHttpClient;
 import okhttp3.ResponseBody;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -16,6 +17,7 @@ import java.util.Map;
 class OkHttpHTTPImageInputStreamClient implements HTTPImageInputStreamClient {
 
     private final HTTPRequestInfo requestInfo;
+    private final String etag;
 
     /**
      * @return New instance corresponding to the argument.
@@ -37,7 +39,21 @@ class OkHttpHTTPImageInputStreamClient implements HTTPImageInputStreamClient {
     }
 
     OkHttpHTTPImageInputStreamClient(HTTPRequestInfo requestInfo) {
+        this(requestInfo, null);
+    }
+
+    /**
+     * @param requestInfo Request info.
+     * @param etag        {@code ETag} of the resource as of the preliminary
+     *                    request. If it is a strong validator, it is sent in
+     *                    an {@code If-Match} header with every ranged request,
+     *                    so that chunks from a different version of the
+     *                    resource will never be mixed in. May be {@code null}.
+     */
+    OkHttpHTTPImageInputStreamClient(HTTPRequestInfo requestInfo,
+                                     String etag) {
         this.requestInfo = requestInfo;
+        this.etag        = etag;
     }
 
     @Override
@@ -50,12 +66,18 @@ class OkHttpHTTPImageInputStreamClient implements HTTPImageInputStreamClient {
 
     @Override
     public Response sendGETRequest(Range range) throws IOException {
-        final Map<String,String> extraHeaders =
-                Map.of("Range", "bytes=" + range.start + "-" + range.end);
+        final Map<String,String> extraHeaders = new HashMap<>();
+        extraHeaders.put("Range", "bytes=" + range.start + "-" + range.end);
+        if (HttpSource.isStrongETag(etag)) {
+            extraHeaders.put("If-Match", etag);
+        }
         try (okhttp3.Response okHttpResponse =
                      HttpSource.request(requestInfo, "GET", extraHeaders)) {
             if (okHttpResponse.code() == 200 || okHttpResponse.code() == 206) {
                 return toResponse(okHttpResponse);
+            } else if (okHttpResponse.code() == 412) {
+                throw new IOException("The resource has changed since it " +
+                        "was last checked (ETag: " + etag + ")");
             } else {
                 throw new IOException("Unexpected HTTP response code: " +
                         okHttpResponse.code());
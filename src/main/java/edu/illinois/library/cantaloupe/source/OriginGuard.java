@@ -0,0 +1,224 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Combines a concurrency bulkhead and a circuit breaker protecting one
+ * {@link Source#getOrigin() origin}, so that a slow or failing origin can't
+ * tie up all of the request threads at the expense of healthy ones.</p>
+ *
+ * <dl>
+ *     <dt>Bulkhead</dt>
+ *     <dd>No more than {@link Key#SOURCE_BULKHEAD_MAX_CONCURRENT_REQUESTS}
+ *     calls to the origin may be in progress at once. Additional calls are
+ *     rejected immediately.</dd>
+ *     <dt>Circuit breaker</dt>
+ *     <dd>After {@link Key#SOURCE_CIRCUIT_BREAKER_FAILURE_THRESHOLD}
+ *     consecutive failures, the circuit opens, and all calls are rejected
+ *     for {@link Key#SOURCE_CIRCUIT_BREAKER_OPEN_SECONDS}. After that, it is
+ *     half-open: one trial call is permitted, which closes the circuit if it
+ *     succeeds and opens it again if it fails. Calls that fail with {@link
+ *     NoSuchFileException} or {@link AccessDeniedException} are considered
+ *     successful, as the origin did respond.</dd>
+ * </dl>
+ *
+ * <p>Rejected calls throw an {@link OriginUnavailableException}. The
+ * configuration is read on every call.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see SourceFactory#stat(Source)
+ * @see SourceFactory#newStreamFactory(Source)
+ * @since 6.0
+ */
+public final class OriginGuard {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    @FunctionalInterface
+    interface Call<T> {
+        T call() throws IOException;
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(OriginGuard.class);
+
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final long DEFAULT_OPEN_SECONDS     = 30;
+
+    private final String origin;
+    private int numActiveRequests, numConsecutiveFailures;
+    private long numRejectedRequests;
+    private Instant openedAt;
+    private boolean isTrialInProgress;
+
+    /**
+     * @return Whether either of the bulkhead or the circuit breaker is
+     *         enabled.
+     */
+    static boolean isEnabled() {
+        return isCircuitBreakerEnabled() || getMaxConcurrentRequests() > 0;
+    }
+
+    private static boolean isCircuitBreakerEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.SOURCE_CIRCUIT_BREAKER_ENABLED, false);
+    }
+
+    private static int getFailureThreshold() {
+        return Math.max(1, Configuration.getInstance().getInt(
+                Key.SOURCE_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                DEFAULT_FAILURE_THRESHOLD));
+    }
+
+    private static int getMaxConcurrentRequests() {
+        return Configuration.getInstance().getInt(
+                Key.SOURCE_BULKHEAD_MAX_CONCURRENT_REQUESTS, 0);
+    }
+
+    private static Duration getOpenDuration() {
+        return Duration.ofSeconds(Configuration.getInstance().getLong(
+                Key.SOURCE_CIRCUIT_BREAKER_OPEN_SECONDS,
+                DEFAULT_OPEN_SECONDS));
+    }
+
+    OriginGuard(String origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Invokes the given call if the bulkhead and circuit breaker permit it.
+     *
+     * @throws OriginUnavailableException if the call is not permitted.
+     */
+    <T> T call(Call<T> call) throws IOException {
+        final boolean isTrial = acquire();
+        boolean isSuccess = false;
+        try {
+            T result = call.call();
+            isSuccess = true;
+            return result;
+        } catch (NoSuchFileException | AccessDeniedException e) {
+            isSuccess = true;
+            throw e;
+        } finally {
+            release(isTrial, isSuccess);
+        }
+    }
+
+    /**
+     * @return Whether the permitted call is a half-open trial call.
+     */
+    private synchronized boolean acquire() throws OriginUnavailableException {
+        boolean isTrial = false;
+        if (isCircuitBreakerEnabled()) {
+            switch (getState()) {
+                case OPEN:
+                    numRejectedRequests++;
+                    throw new OriginUnavailableException(origin,
+                            "circuit is open");
+                case HALF_OPEN:
+                    if (isTrialInProgress) {
+                        numRejectedRequests++;
+                        throw new OriginUnavailableException(origin,
+                                "circuit is half-open");
+                    }
+                    isTrialInProgress = true;
+                    isTrial = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+        final int maxRequests = getMaxConcurrentRequests();
+        if (maxRequests > 0 && numActiveRequests >= maxRequests) {
+            numRejectedRequests++;
+            if (isTrial) {
+                isTrialInProgress = false;
+            }
+            throw new OriginUnavailableException(origin,
+                    "too many concurrent requests");
+        }
+        numActiveRequests++;
+        return isTrial;
+    }
+
+    private synchronized void release(boolean isTrial, boolean isSuccess) {
+        numActiveRequests--;
+        if (isTrial) {
+            isTrialInProgress = false;
+        }
+        if (isSuccess) {
+            if (openedAt != null) {
+                LOGGER.info("Closing the circuit for {}", origin);
+            }
+            numConsecutiveFailures = 0;
+            openedAt = null;
+        } else {
+            numConsecutiveFailures++;
+            if (isCircuitBreakerEnabled() && (isTrial ||
+                    (openedAt == null &&
+                            numConsecutiveFailures >= getFailureThreshold()))) {
+                LOGGER.warn("Opening the circuit for {} after {} " +
+                        "consecutive failures", origin, numConsecutiveFailures);
+                openedAt = Instant.now();
+            }
+        }
+    }
+
+    public synchronized int getNumActiveRequests() {
+        return numActiveRequests;
+    }
+
+    public synchronized int getNumConsecutiveFailures() {
+        return numConsecutiveFailures;
+    }
+
+    public synchronized long getNumRejectedRequests() {
+        return numRejectedRequests;
+    }
+
+    /**
+     * @return Host, bucket, etc. protected by the instance.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    public synchronized State getState() {
+        if (openedAt == null) {
+            return State.CLOSED;
+        } else if (openedAt.plus(getOpenDuration()).isAfter(Instant.now())) {
+            return State.OPEN;
+        }
+        return State.HALF_OPEN;
+    }
+
+    public synchronized Map<String,Object> toMap() {
+        final Map<String,Object> map = new LinkedHashMap<>();
+        map.put("state", getState().toString());
+        map.put("activeRequests", numActiveRequests);
+        map.put("consecutiveFailures", numConsecutiveFailures);
+        map.put("rejectedRequests", numRejectedRequests);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return origin + " (" + getState() + ")";
+    }
+
+}
@@ -0,0 +1,27 @@
+package edu.illinois.library.cantaloupe.source;
+
+import java.io.IOException;
+
+/**
+ * Thrown when an {@link OriginGuard} rejects a call to an origin that is
+ * failing or overloaded.
+ *
+ * @since 6.0
+ */
+public class OriginUnavailableException extends IOException {
+
+    private final String origin;
+
+    OriginUnavailableException(String origin, String reason) {
+        super(origin + " is unavailable (" + reason + ")");
+        this.origin = origin;
+    }
+
+    /**
+     * @return Origin that rejected the call.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+}
@@ -1,5 +1,9 @@
 package edu.illinois.library.cantaloupe.source;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.source.stream.MappedImageInputStream;
+
 import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
@@ -12,8 +16,31 @@ import java.nio.file.Path;
  */
 public class PathStreamFactory implements StreamFactory {
 
+    /**
+     * Files at least this large are memory-mapped if {@link
+     * Key#SOURCE_MEMORY_MAPPING_THRESHOLD} is not set.
+     */
+    static final long DEFAULT_MEMORY_MAPPING_THRESHOLD = 1024 * 1024;
+
     private final Path path;
 
+    /**
+     * @param path File to check.
+     * @return     Whether {@link #newSeekableStream()} would return a {@link
+     *             MappedImageInputStream} for the given file.
+     * @since 6.0
+     */
+    static boolean isMemoryMapping(Path path) throws IOException {
+        final Configuration config = Configuration.getInstance();
+        if (!config.getBoolean(Key.SOURCE_MEMORY_MAPPING_ENABLED, true)) {
+            return false;
+        }
+        final long threshold = config.getLongBytes(
+                Key.SOURCE_MEMORY_MAPPING_THRESHOLD,
+                DEFAULT_MEMORY_MAPPING_THRESHOLD);
+        return Files.size(path) >= threshold;
+    }
+
     public PathStreamFactory(Path path) {
         this.path = path;
     }
@@ -23,8 +50,18 @@ public class PathStreamFactory implements StreamFactory {
         return Files.newInputStream(path);
     }
 
+    /**
+     * @return {@link MappedImageInputStream} if {@link
+     *         Key#SOURCE_MEMORY_MAPPING_ENABLED memory mapping is enabled}
+     *         and the file is at least {@link
+     *         Key#SOURCE_MEMORY_MAPPING_THRESHOLD} bytes in size, or a
+     *         {@link FileImageInputStream} otherwise.
+     */
     @Override
     public ImageInputStream newSeekableStream() throws IOException {
+        if (isMemoryMapping(path)) {
+            return new MappedImageInputStream(path);
+        }
         return new FileImageInputStream(path.toFile());
     }
 
@@ -33,4 +70,4 @@ public class PathStreamFactory implements StreamFactory {
         return true;
     }
 
-}
\ No newline at end of file
+}
@@ -19,21 +19,46 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Implementation backed by an AWS S3 client.
+ * <p>Implementation backed by an AWS S3 client.</p>
+ *
+ * <p>When {@link S3Source#isAsyncEnabled() asynchronous fetching} is
+ * enabled, each range is split into parts that are all requested at once
+ * using the asynchronous client, and the calling thread waits only for the
+ * whole range.</p>
  */
 class S3HTTPImageInputStreamClient implements HTTPImageInputStreamClient {
 
     private static final Logger LOGGER =
             LoggerFactory.getLogger(S3HTTPImageInputStreamClient.class);
 
+    /**
+     * Ranges are never split into parts smaller than this.
+     */
+    static final int MIN_PART_SIZE = 128 * 1024;
+
     private final S3ObjectInfo objectInfo;
+    private int numParallelRequests = 1;
 
     S3HTTPImageInputStreamClient(S3ObjectInfo objectInfo) {
         this.objectInfo = objectInfo;
     }
 
+    /**
+     * @param numParallelRequests Maximum number of concurrent requests into
+     *                            which to split each range when fetching
+     *                            asynchronously. Parts are never smaller than
+     *                            {@link #MIN_PART_SIZE}.
+     */
+    void setNumParallelRequests(int numParallelRequests) {
+        this.numParallelRequests = Math.max(1, numParallelRequests);
+    }
+
     @Override
     public Response sendHEADRequest() throws IOException {
         final S3Client client = S3Source.getClientInstance(objectInfo);
@@ -69,6 +94,9 @@ class S3HTTPImageInputStreamClient implements HTTPImageInputStreamClient {
 
     @Override
     public Response sendGETRequest(Range range) throws IOException {
+        if (S3Source.isAsyncEnabled()) {
+            return sendAsyncGETRequest(range);
+        }
         try (InputStream is = new BufferedInputStream(
                 S3Source.newObjectInputStream(objectInfo, range));
              ByteArrayOutputStream os = new ByteArrayOutputStream()) {
@@ -86,4 +114,57 @@ class S3HTTPImageInputStreamClient implements HTTPImageInputStreamClient {
         }
     }
 
+    /**
+     * Issues requests for all parts of the given range without waiting for
+     * any of them, and then waits for all of them together.
+     */
+    private Response sendAsyncGETRequest(Range range) throws IOException {
+        final int length   = (int) (range.end - range.start + 1);
+        final int numParts = (int) Math.max(1, Math.min(
+                numParallelRequests, length / MIN_PART_SIZE));
+        final int partSize = (int) Math.ceil(length / (double) numParts);
+        final List<CompletableFuture<byte[]>> futures =
+                new ArrayList<>(numParts);
+        for (int offset = 0; offset < length; offset += partSize) {
+            final long partStart = range.start + offset;
+            final long partEnd   =
+                    partStart + Math.min(partSize, length - offset) - 1;
+            futures.add(S3Source.fetchRangeAsync(objectInfo,
+                    new Range(partStart, partEnd)));
+        }
+        LOGGER.trace("sendAsyncGETRequest(): fetching {} bytes in {} parts",
+                length, futures.size());
+        try {
+            CompletableFuture.allOf(
+                    futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof NoSuchBucketException ||
+                    cause instanceof NoSuchKeyException) {
+                throw new NoSuchFileException(objectInfo.toString());
+            } else if (cause instanceof S3Exception &&
+                    ((S3Exception) cause).statusCode() == 403) {
+                throw new AccessDeniedException(objectInfo.toString());
+            }
+            LOGGER.error(cause.getMessage(), cause);
+            throw new IOException(objectInfo.toString(), cause);
+        }
+        final byte[] body;
+        if (futures.size() == 1) {
+            body = futures.get(0).join();
+        } else {
+            body = new byte[length];
+            int offset = 0;
+            for (CompletableFuture<byte[]> future : futures) {
+                final byte[] part = future.join();
+                System.arraycopy(part, 0, body, offset, part.length);
+                offset += part.length;
+            }
+        }
+        final Response response = new Response();
+        response.setStatus(206);
+        response.setBody(body);
+        return response;
+    }
+
 }
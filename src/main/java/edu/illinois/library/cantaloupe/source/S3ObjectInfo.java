@@ -6,7 +6,7 @@ package edu.illinois.library.cantaloupe.source;
 final class S3ObjectInfo {
 
     private String region, endpoint, accessKeyID, secretAccessKey, bucketName,
-            key;
+            key, etag;
     private long length = -1;
 
     /**
@@ -20,6 +20,13 @@ final class S3ObjectInfo {
         return bucketName;
     }
 
+    /**
+     * @return ETag of the object. May be {@code null}.
+     */
+    String getETag() {
+        return etag;
+    }
+
     /**
      * @return Service endpoint URI. May be {@code null}.
      */
@@ -62,6 +69,10 @@ final class S3ObjectInfo {
         this.endpoint = endpoint;
     }
 
+    void setETag(String etag) {
+        this.etag = etag;
+    }
+
     void setKey(String key) {
         this.key = key;
     }
@@ -10,8 +10,11 @@ import edu.illinois.library.cantaloupe.delegate.DelegateMethod;
 import edu.illinois.library.cantaloupe.util.S3ClientBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
@@ -28,12 +31,15 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.NoSuchFileException;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>Maps an identifier to an <a href="https://aws.amazon.com/s3/">Amazon
@@ -80,12 +86,23 @@ import java.util.NoSuchElementException;
  *     </li>
  * </ol>
  *
+ * <h1>Clients</h1>
+ *
+ * <p>One client, with its own connection pool, is shared by all instances
+ * per endpoint. The pool can be tuned using {@link
+ * Key#S3SOURCE_MAX_CONNECTIONS}, {@link Key#S3SOURCE_CONNECTION_TTL}, and
+ * {@link Key#S3SOURCE_CONNECTION_ACQUISITION_TIMEOUT}. If {@link
+ * Key#S3SOURCE_ASYNC_ENABLED} is set, ranged {@literal GET} requests are sent
+ * using a separate non-blocking client, so that in-flight chunk requests
+ * don't each occupy an I/O thread.</p>
+ *
  * @author Alex Dolski UIUC
  */
 final class S3Source extends AbstractSource implements Source {
 
     private static class S3ObjectAttributes {
         String contentType;
+        String etag;
         Instant lastModified;
         long length;
     }
@@ -195,11 +212,23 @@ final class S3Source extends AbstractSource implements Source {
     private static final Range FORMAT_INFERENCE_RANGE = new Range(0, 32);
 
     /**
-     * The keys are endpoint URIs. The default client's key is {@code null}.
-     * This is not thread-safe, so should only be accessed via {@link
-     * #getClientInstance(S3ObjectInfo)}.
+     * Key of the default endpoint's clients in {@link #CLIENTS} and {@link
+     * #ASYNC_CLIENTS}.
+     */
+    private static final String DEFAULT_ENDPOINT_KEY = "";
+
+    /**
+     * The keys are endpoint URIs. The default client's key is {@link
+     * #DEFAULT_ENDPOINT_KEY}.
+     */
+    private static final ConcurrentMap<String,S3Client> CLIENTS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Asynchronous counterparts of the {@link #CLIENTS}, created on demand.
      */
-    private static final Map<String,S3Client> CLIENTS = new HashMap<>();
+    private static final ConcurrentMap<String,S3AsyncClient> ASYNC_CLIENTS =
+            new ConcurrentHashMap<>();
 
     /**
      * Cached by {@link #getObjectInfo()}.
@@ -213,46 +242,82 @@ final class S3Source extends AbstractSource implements Source {
 
     private FormatIterator<Format> formatIterator = new FormatIterator<>();
 
-    static synchronized S3Client getClientInstance(S3ObjectInfo info) {
+    /**
+     * @param info Object info.
+     * @return     Client shared by all objects on the same endpoint.
+     */
+    static S3Client getClientInstance(S3ObjectInfo info) {
+        return CLIENTS.computeIfAbsent(getEndpointKey(info),
+                k -> newClientBuilder(info).build());
+    }
+
+    /**
+     * @param info Object info.
+     * @return     Asynchronous client shared by all objects on the same
+     *             endpoint.
+     */
+    static S3AsyncClient getAsyncClientInstance(S3ObjectInfo info) {
+        return ASYNC_CLIENTS.computeIfAbsent(getEndpointKey(info),
+                k -> newClientBuilder(info).buildAsync());
+    }
+
+    private static String getEndpointKey(S3ObjectInfo info) {
+        return (info.getEndpoint() != null) ?
+                info.getEndpoint() : DEFAULT_ENDPOINT_KEY;
+    }
+
+    private static S3ClientBuilder newClientBuilder(S3ObjectInfo info) {
+        final Configuration config = Configuration.getInstance();
         String endpoint = info.getEndpoint();
-        S3Client client = CLIENTS.get(endpoint);
-        if (client == null) {
-            final Configuration config = Configuration.getInstance();
-            if (endpoint == null) {
-                endpoint = config.getString(Key.S3SOURCE_ENDPOINT);
-            }
-            // Convert the endpoint string into a URI which is required by the
-            // client builder.
-            URI endpointURI = null;
-            if (endpoint != null) {
-                try {
-                    endpointURI = new URI(endpoint);
-                } catch (URISyntaxException e) {
-                    LOGGER.error("Invalid URI for {}: {}",
-                            Key.S3SOURCE_ENDPOINT, e.getMessage());
-                }
-            }
-            String region = info.getRegion();
-            if (region == null) {
-                region = config.getString(Key.S3SOURCE_REGION);
-            }
-            String accessKeyID = info.getAccessKeyID();
-            if (accessKeyID == null) {
-                accessKeyID = config.getString(Key.S3SOURCE_ACCESS_KEY_ID);
-            }
-            String secretAccessKey = info.getSecretAccessKey();
-            if (secretAccessKey == null) {
-                secretAccessKey = config.getString(Key.S3SOURCE_SECRET_KEY);
+        if (endpoint == null) {
+            endpoint = config.getString(Key.S3SOURCE_ENDPOINT);
+        }
+        // Convert the endpoint string into a URI which is required by the
+        // client builder.
+        URI endpointURI = null;
+        if (endpoint != null) {
+            try {
+                endpointURI = new URI(endpoint);
+            } catch (URISyntaxException e) {
+                LOGGER.error("Invalid URI for {}: {}",
+                        Key.S3SOURCE_ENDPOINT, e.getMessage());
             }
-            client = new S3ClientBuilder()
-                    .accessKeyID(accessKeyID)
-                    .secretAccessKey(secretAccessKey)
-                    .endpointURI(endpointURI)
-                    .region(region)
-                    .build();
-            CLIENTS.put(endpoint, client);
         }
-        return client;
+        String region = info.getRegion();
+        if (region == null) {
+            region = config.getString(Key.S3SOURCE_REGION);
+        }
+        String accessKeyID = info.getAccessKeyID();
+        if (accessKeyID == null) {
+            accessKeyID = config.getString(Key.S3SOURCE_ACCESS_KEY_ID);
+        }
+        String secretAccessKey = info.getSecretAccessKey();
+        if (secretAccessKey == null) {
+            secretAccessKey = config.getString(Key.S3SOURCE_SECRET_KEY);
+        }
+        return new S3ClientBuilder()
+                .accessKeyID(accessKeyID)
+                .secretAccessKey(secretAccessKey)
+                .endpointURI(endpointURI)
+                .region(region)
+                .maxConnections(config.getInt(Key.S3SOURCE_MAX_CONNECTIONS, 0))
+                .connectionTimeToLive(getDuration(Key.S3SOURCE_CONNECTION_TTL))
+                .connectionAcquisitionTimeout(
+                        getDuration(Key.S3SOURCE_CONNECTION_ACQUISITION_TIMEOUT));
+    }
+
+    /**
+     * @return Positive number of seconds set for the given key, or {@code
+     *         null} if not set.
+     */
+    private static Duration getDuration(Key key) {
+        final long seconds = Configuration.getInstance().getLong(key, 0);
+        return (seconds > 0) ? Duration.ofSeconds(seconds) : null;
+    }
+
+    static boolean isAsyncEnabled() {
+        return Configuration.getInstance()
+                .getBoolean(Key.S3SOURCE_ASYNC_ENABLED, false);
     }
 
     /**
@@ -273,7 +338,6 @@ final class S3Source extends AbstractSource implements Source {
      */
     static InputStream newObjectInputStream(S3ObjectInfo info,
                                             Range range) throws IOException {
-        final S3Client client = getClientInstance(info);
         try {
             GetObjectRequest request;
             if (range != null) {
@@ -291,7 +355,7 @@ final class S3Source extends AbstractSource implements Source {
                         .key(info.getKey())
                         .build();
             }
-            return client.getObject(request);
+            return getClientInstance(info).getObject(request);
         } catch (NoSuchBucketException | NoSuchKeyException e) {
             throw new NoSuchFileException(info.toString());
         } catch (SdkException e) {
@@ -299,11 +363,38 @@ final class S3Source extends AbstractSource implements Source {
         }
     }
 
+    /**
+     * Fetches a byte range of an object using the {@link
+     * #getAsyncClientInstance(S3ObjectInfo) asynchronous client}. The calling
+     * thread does not wait for the response, so any number of ranges can be
+     * in flight at once.
+     *
+     * @param info  Object info.
+     * @param range Byte range.
+     * @return      Future completing with the bytes of the range, or
+     *              exceptionally with the client's exception.
+     */
+    static CompletableFuture<byte[]> fetchRangeAsync(S3ObjectInfo info,
+                                                     Range range) {
+        LOGGER.debug("Requesting bytes {}-{} from {} asynchronously",
+                range.start, range.end, info);
+        final GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(info.getBucketName())
+                .key(info.getKey())
+                .range("bytes=" + range.start + "-" + range.end)
+                .build();
+        return getAsyncClientInstance(info)
+                .getObject(request, AsyncResponseTransformer.toBytes())
+                .thenApply(ResponseBytes::asByteArrayUnsafe);
+    }
+
     @Override
     public StatResult stat() throws IOException {
         S3ObjectAttributes attrs = getObjectAttributes();
         StatResult result = new StatResult();
+        result.setETag(attrs.etag);
         result.setLastModified(attrs.lastModified);
+        result.setLength(attrs.length);
         return result;
     }
 
@@ -312,6 +403,31 @@ final class S3Source extends AbstractSource implements Source {
         return formatIterator;
     }
 
+    /**
+     * @return Whether {@link Key#S3SOURCE_LOOKUP_STRATEGY} is
+     *         anything other than ScriptLookupStrategy.
+     */
+    @Override
+    public boolean isLookupStatic() {
+        return !LookupStrategy.DELEGATE_SCRIPT.equals(
+                LookupStrategy.from(Key.S3SOURCE_LOOKUP_STRATEGY));
+    }
+
+    /**
+     * @return Endpoint and bucket of the object.
+     */
+    @Override
+    public String getOrigin() throws IOException {
+        final S3ObjectInfo info = getObjectInfo();
+        String endpoint = info.getEndpoint();
+        if (endpoint == null) {
+            return "s3://" + info.getBucketName();
+        } else if (endpoint.endsWith("/")) {
+            endpoint = endpoint.substring(0, endpoint.length() - 1);
+        }
+        return endpoint + "/" + info.getBucketName();
+    }
+
     private S3ObjectAttributes getObjectAttributes() throws IOException {
         if (objectAttributes == null) {
             // https://docs.aws.amazon.com/AmazonS3/latest/API/ErrorResponses.html#ErrorCodeList
@@ -327,6 +443,7 @@ final class S3Source extends AbstractSource implements Source {
                 objectAttributes              = new S3ObjectAttributes();
                 objectAttributes.length       = response.contentLength();
                 objectAttributes.contentType  = response.contentType();
+                objectAttributes.etag         = response.eTag();
                 objectAttributes.lastModified = response.lastModified();
             } catch (NoSuchBucketException | NoSuchKeyException e) {
                 throw new NoSuchFileException(info.toString());
@@ -423,9 +540,10 @@ final class S3Source extends AbstractSource implements Source {
 
     @Override
     public StreamFactory newStreamFactory() throws IOException {
-        return new S3StreamFactory(() -> {
+        return new S3StreamFactory(identifier, () -> {
             S3ObjectInfo info = getObjectInfo();
             info.setLength(getObjectAttributes().length);
+            info.setETag(getObjectAttributes().etag);
             return info;
         });
     }
@@ -436,6 +554,17 @@ final class S3Source extends AbstractSource implements Source {
         reset();
     }
 
+    /**
+     * Closes all shared clients.
+     */
+    @Override
+    public void shutdown() {
+        CLIENTS.values().forEach(S3Client::close);
+        CLIENTS.clear();
+        ASYNC_CLIENTS.values().forEach(S3AsyncClient::close);
+        ASYNC_CLIENTS.clear();
+    }
+
     private void reset() {
         objectInfo       = null;
         objectAttributes = null;
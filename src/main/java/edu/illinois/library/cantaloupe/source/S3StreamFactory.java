@@ -1,9 +1,12 @@
 package edu.illinois.library.cantaloupe.source;
 
 import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.cache.PartialSourceCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStreamClient;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,9 +27,21 @@ class S3StreamFactory implements StreamFactory {
     private static final int DEFAULT_CHUNK_SIZE       = 1024 * 512;
     private static final int DEFAULT_CHUNK_CACHE_SIZE = 1024 * 1024 * 10;
 
+    private final Identifier identifier;
     private S3ObjectInfoSupplier objectInfo;
 
     S3StreamFactory(S3ObjectInfoSupplier objectInfo) {
+        this(null, objectInfo);
+    }
+
+    /**
+     * @param identifier Identifier of the image that the object is the
+     *                   source of. May be {@code null}.
+     * @param objectInfo Supplies the object info.
+     * @since 6.0
+     */
+    S3StreamFactory(Identifier identifier, S3ObjectInfoSupplier objectInfo) {
+        this.identifier = identifier;
         this.objectInfo = objectInfo;
     }
 
@@ -102,8 +117,12 @@ class S3StreamFactory implements StreamFactory {
                     chunkSize);
 
             final S3ObjectInfo objectInfo = this.objectInfo.get();
-            final S3HTTPImageInputStreamClient client =
-                    new S3HTTPImageInputStreamClient(objectInfo);
+            final HTTPImageInputStreamClient client =
+                    PartialSourceCache.getInstance().newClient(
+                            identifier, getResourceKey(objectInfo),
+                            objectInfo.getLength(), objectInfo.getETag(),
+                            chunkSize,
+                            newClient(objectInfo));
 
             HTTPImageInputStream stream = new HTTPImageInputStream(
                     client, objectInfo.getLength());
@@ -128,11 +147,31 @@ class S3StreamFactory implements StreamFactory {
         return isChunkingEnabled();
     }
 
+    private S3HTTPImageInputStreamClient newClient(S3ObjectInfo objectInfo) {
+        final S3HTTPImageInputStreamClient client =
+                new S3HTTPImageInputStreamClient(objectInfo);
+        client.setNumParallelRequests(getNumParallelRequests());
+        return client;
+    }
+
+    /**
+     * @return Key uniquely identifying the object across endpoints.
+     */
+    private static String getResourceKey(S3ObjectInfo objectInfo) {
+        return "s3://" + objectInfo.getEndpoint() + "/" +
+                objectInfo.getBucketName() + "/" + objectInfo.getKey();
+    }
+
     private boolean isChunkingEnabled() {
         return Configuration.getInstance().getBoolean(
                 Key.S3SOURCE_CHUNKING_ENABLED, true);
     }
 
+    private int getNumParallelRequests() {
+        return Configuration.getInstance().getInt(
+                Key.S3SOURCE_CHUNKING_PARALLEL_REQUESTS, 1);
+    }
+
     private int getChunkSize() {
         return (int) Configuration.getInstance().getLongBytes(
                 Key.S3SOURCE_CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Iterator;
 
 /**
@@ -53,6 +54,34 @@ public interface Source {
      */
     StatResult stat() throws IOException;
 
+    /**
+     * <p>Checks whether the source image has changed since an earlier {@link
+     * #stat()} returned the given validators. This may be called instead of
+     * {@link #stat()}.</p>
+     *
+     * <p>This default implementation invokes {@link #stat()} and {@link
+     * StatResult#isModifiedSince(String, Instant) compares} its result.
+     * Implementations that can issue cheaper conditional requests should
+     * override it.</p>
+     *
+     * @param etag         ETag returned by an earlier {@link #stat()}. May be
+     *                     {@code null}.
+     * @param lastModified Last-modified time returned by an earlier {@link
+     *                     #stat()}. May be {@code null}.
+     * @return             Whether the source image has changed. If this can't
+     *                     be determined, {@code false} is returned.
+     * @throws NoSuchFileException if an image corresponding to the set
+     *         identifier no longer exists.
+     * @throws AccessDeniedException if an image corresponding to the set
+     *         identifier is not readable.
+     * @throws IOException if there is some other issue accessing the image.
+     * @since 6.0
+     */
+    default boolean isModifiedSince(String etag,
+                                    Instant lastModified) throws IOException {
+        return stat().isModifiedSince(etag, lastModified);
+    }
+
     /**
      * N.B.: This default implementation throws an {@link
      * UnsupportedOperationException}. It must be overridden if {@link
@@ -68,6 +97,42 @@ public interface Source {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * <p>Returns a key identifying the origin server, bucket, etc. from which
+     * the source image is read, which is used to isolate the origins from
+     * each other's failures and slowness.</p>
+     *
+     * <p>This default implementation returns {@code null}.</p>
+     *
+     * @return Origin of the source image, or {@code null} if there is no
+     *         remote origin.
+     * @throws IOException if the origin can't be determined.
+     * @see OriginGuard
+     * @since 6.0
+     */
+    default String getOrigin() throws IOException {
+        return null;
+    }
+
+    /**
+     * <p>Returns whether the source image that an identifier resolves to, and
+     * the credentials with which it is accessed, depend only on the
+     * identifier and the application configuration. This is not the case
+     * with a delegate lookup strategy, whose result may depend on the
+     * request, such as its headers or the client's IP address. Only
+     * statically resolved images' {@link #stat()} and {@link
+     * #getFormatIterator()} results can be shared across requests.</p>
+     *
+     * <p>This default implementation returns {@code false}.</p>
+     *
+     * @return Whether the lookup is independent of the request.
+     * @see SourceStatCache
+     * @since 6.0
+     */
+    default boolean isLookupStatic() {
+        return false;
+    }
+
     /**
      * <p>Returns an iterator over the results of various techniques of
      * checking the format, in the order of least to most expensive. Any of the
@@ -12,13 +12,21 @@ import org.slf4j.LoggerFactory;
 import javax.script.ScriptException;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import static edu.illinois.library.cantaloupe.source.SourceFactory.SelectionStrategy.DELEGATE_SCRIPT;
 
 /**
- * Used to obtain an instance of a {@link Source} defined in the
- * configuration, or returned by a delegate method.
+ * <p>Used to obtain an instance of a {@link Source} defined in the
+ * configuration, or returned by a delegate method.</p>
+ *
+ * <p>Also guards the calls that access a source's origin with an {@link
+ * OriginGuard} per {@link Source#getOrigin() origin}.</p>
  */
 public final class SourceFactory {
 
@@ -44,6 +52,14 @@ public final class SourceFactory {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(SourceFactory.class);
 
+    /**
+     * Guards are strongly referenced and never evicted, as a guard that was
+     * replaced would lose its circuit state and bulkhead permits. There is
+     * one per origin (host, bucket, etc.), of which there are few.
+     */
+    private static final Map<String,OriginGuard> ORIGIN_GUARDS =
+            new ConcurrentHashMap<>();
+
     private static final Set<Source> ALL_SOURCES = Set.of(
             new AzureStorageSource(),
             new FilesystemSource(),
@@ -58,6 +74,67 @@ public final class SourceFactory {
         return ALL_SOURCES;
     }
 
+    /**
+     * For testing only!
+     */
+    static void clearOriginGuards() {
+        ORIGIN_GUARDS.clear();
+    }
+
+    /**
+     * @return Guards of all origins that have been used, sorted by origin.
+     * @since 6.0
+     */
+    public static List<OriginGuard> getOriginGuards() {
+        return ORIGIN_GUARDS.values()
+                .stream()
+                .sorted(Comparator.comparing(OriginGuard::getOrigin))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Invokes {@link Source#newStreamFactory()} through the {@link
+     * OriginGuard} of the source's {@link Source#getOrigin() origin}.
+     *
+     * @throws OriginUnavailableException if the guard rejected the call.
+     * @since 6.0
+     */
+    public static StreamFactory newStreamFactory(Source source)
+            throws IOException {
+        return guard(source, source::newStreamFactory);
+    }
+
+    /**
+     * Invokes {@link Source#stat()} through the {@link OriginGuard} of the
+     * source's {@link Source#getOrigin() origin}.
+     *
+     * @throws OriginUnavailableException if the guard rejected the call.
+     * @since 6.0
+     */
+    public static StatResult stat(Source source) throws IOException {
+        return guard(source, source::stat);
+    }
+
+    private static <T> T guard(Source source,
+                               OriginGuard.Call<T> call) throws IOException {
+        if (!OriginGuard.isEnabled()) {
+            return call.call();
+        }
+        final String origin;
+        try {
+            origin = source.getOrigin();
+        } catch (IOException e) {
+            // The call will most likely fail for the same reason, and should
+            // be the one to report it.
+            return call.call();
+        }
+        if (origin == null) {
+            return call.call();
+        }
+        return ORIGIN_GUARDS.computeIfAbsent(origin, OriginGuard::new)
+                .call(call);
+    }
+
     /**
      * @param unqualifiedName Unqualified class name.
      * @return                Qualified class name (package name + class name).
@@ -0,0 +1,262 @@
+package edu.illinois.library.cantaloupe.source;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>Cross-request heap cache of {@link StatResult}s and inferred {@link
+ * Format}s of source images, which enables repeated requests for the same
+ * uncached image to skip the round trips to the origin that {@link
+ * Source#stat()} and {@link Source#getFormatIterator()} would otherwise
+ * incur.</p>
+ *
+ * <p>Only sources whose {@link Source#isLookupStatic() lookup is static}
+ * are cached, because with a delegate lookup strategy, the same identifier
+ * may resolve to different images, or be accessed with different
+ * credentials, in different requests.</p>
+ *
+ * <p>Entries are keyed by source class and identifier, are bounded in number
+ * by {@link Key#SOURCE_STAT_CACHE_MAX_SIZE}, and expire after {@link
+ * Key#SOURCE_STAT_CACHE_TTL}. Only successful results are cached. The cache
+ * is used only when {@link Key#SOURCE_STAT_CACHE_ENABLED} is {@code true};
+ * otherwise, its methods pass through to the source.</p>
+ *
+ * <p>The cache is purged by {@link
+ * edu.illinois.library.cantaloupe.cache.CacheFacade#purge()} and {@link
+ * edu.illinois.library.cantaloupe.cache.CacheFacade#purge(Identifier)}.</p>
+ *
+ * @since 6.0
+ */
+public final class SourceStatCache {
+
+    private static final class CacheKey {
+
+        private final String sourceName;
+        private final Identifier identifier;
+
+        private CacheKey(Source source) {
+            this.sourceName = source.getClass().getName();
+            this.identifier = source.getIdentifier();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof CacheKey) {
+                CacheKey other = (CacheKey) obj;
+                return sourceName.equals(other.sourceName) &&
+                        identifier.equals(other.identifier);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sourceName, identifier);
+        }
+
+    }
+
+    private static final class Entry {
+        private volatile StatResult statResult;
+        private volatile Format format;
+    }
+
+    /**
+     * Iterates over a cached format first and then over the formats returned
+     * by the source's iterator, skipping the cached one.
+     */
+    private static final class CachedFormatIterator implements Iterator<Format> {
+
+        private final Format cachedFormat;
+        private final Source source;
+        private Iterator<Format> sourceIterator;
+        private Format next;
+        private boolean isCachedFormatReturned;
+
+        private CachedFormatIterator(Format cachedFormat, Source source) {
+            this.cachedFormat = cachedFormat;
+            this.source       = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!isCachedFormatReturned || next != null) {
+                return true;
+            }
+            if (sourceIterator == null) {
+                sourceIterator = source.getFormatIterator();
+            }
+            while (sourceIterator.hasNext()) {
+                Format format = sourceIterator.next();
+                if (!cachedFormat.equals(format)) {
+                    next = format;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Format next() {
+            if (!isCachedFormatReturned) {
+                isCachedFormatReturned = true;
+                return cachedFormat;
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Format format = next;
+            next = null;
+            return format;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(SourceStatCache.class);
+
+    private static final long DEFAULT_MAX_SIZE    = 10000;
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    private static SourceStatCache instance;
+
+    private final Cache<CacheKey,Entry> cache;
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static synchronized SourceStatCache getInstance() {
+        if (instance == null) {
+            instance = new SourceStatCache();
+        }
+        return instance;
+    }
+
+    private SourceStatCache() {
+        final Configuration config = Configuration.getInstance();
+        final long maxSize = config.getLong(
+                Key.SOURCE_STAT_CACHE_MAX_SIZE, DEFAULT_MAX_SIZE);
+        final long ttl = config.getLong(
+                Key.SOURCE_STAT_CACHE_TTL, DEFAULT_TTL_SECONDS);
+        LOGGER.debug("Max size: {}; TTL: {} seconds", maxSize, ttl);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttl))
+                .build();
+    }
+
+    private boolean isEnabled(Source source) {
+        return Configuration.getInstance()
+                .getBoolean(Key.SOURCE_STAT_CACHE_ENABLED, false) &&
+                source.isLookupStatic();
+    }
+
+    /**
+     * Returns an iterator that first returns the format that was last {@link
+     * #putFormat(Source, Format) confirmed} for the given source's image, if
+     * any, followed by the results of the source's {@link
+     * Source#getFormatIterator() own iterator}, which is consulted only if
+     * needed.
+     *
+     * @param source Source whose identifier has been set.
+     * @return       Format iterator.
+     */
+    public Iterator<Format> getFormatIterator(Source source) {
+        if (isEnabled(source)) {
+            Entry entry = cache.getIfPresent(new CacheKey(source));
+            if (entry != null && entry.format != null) {
+                LOGGER.debug("getFormatIterator(): hit for {}: {}",
+                        source.getIdentifier(), entry.format);
+                return new CachedFormatIterator(entry.format, source);
+            }
+        }
+        return source.getFormatIterator();
+    }
+
+    /**
+     * Records the format of the given source's image after a processor has
+     * successfully read it in that format.
+     *
+     * @param source Source whose identifier has been set.
+     * @param format Confirmed format.
+     */
+    public void putFormat(Source source, Format format) {
+        if (isEnabled(source) && format != null && !Format.UNKNOWN.equals(format)) {
+            cache.asMap()
+                    .computeIfAbsent(new CacheKey(source), k -> new Entry())
+                    .format = format;
+        }
+    }
+
+    /**
+     * Returns a cached {@link StatResult} for the given source's image, or
+     * else invokes {@link Source#stat()} via {@link
+     * SourceFactory#stat(Source)} and caches its result. Cached results are
+     * returned even while the source's origin is unavailable.
+     *
+     * @param source Source whose identifier has been set.
+     * @return       Cached or new instance.
+     * @throws IOException if {@link Source#stat()} throws an exception.
+     *         Exceptions are not cached.
+     */
+    public StatResult stat(Source source) throws IOException {
+        if (!isEnabled(source)) {
+            return SourceFactory.stat(source);
+        }
+        final CacheKey key = new CacheKey(source);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.statResult != null) {
+            LOGGER.debug("stat(): hit for {}", source.getIdentifier());
+            return entry.statResult;
+        }
+        final StatResult result = SourceFactory.stat(source);
+        cache.asMap().computeIfAbsent(key, k -> new Entry()).statResult =
+                result;
+        return result;
+    }
+
+    /**
+     * Purges all content.
+     */
+    public void purge() {
+        LOGGER.debug("purge()");
+        cache.invalidateAll();
+    }
+
+    /**
+     * Purges all content relating to the given identifier.
+     */
+    public void purge(Identifier identifier) {
+        LOGGER.debug("purge(Identifier): purging {}", identifier);
+        cache.asMap().keySet().removeIf(k -> k.identifier.equals(identifier));
+    }
+
+    /**
+     * @return Approximate number of entries.
+     */
+    long size() {
+        return cache.estimatedSize();
+    }
+
+}
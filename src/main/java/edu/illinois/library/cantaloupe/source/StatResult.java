@@ -7,14 +7,76 @@ import java.time.Instant;
  */
 public final class StatResult {
 
+    private String etag;
     private Instant lastModified;
+    private long length = -1;
+
+    /**
+     * @return Opaque validator (such as an HTTP {@code ETag}) that changes
+     *         whenever the source image changes. May be {@code null}.
+     * @since 6.0
+     */
+    public String getETag() {
+        return etag;
+    }
 
     public Instant getLastModified() {
         return lastModified;
     }
 
+    /**
+     * @return Length of the source image in bytes, or {@literal -1} if
+     *         unknown.
+     * @since 6.0
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * <p>Compares the instance against validators recorded from an earlier
+     * instance. ETags are compared if both are available; otherwise,
+     * last-modified times are compared.</p>
+     *
+     * @param etag         Earlier ETag. May be {@code null}.
+     * @param lastModified Earlier last-modified time. May be {@code null}.
+     * @return             Whether the instance describes a different version
+     *                     of the source image. If there is nothing to
+     *                     compare, {@code false} is returned.
+     * @since 6.0
+     */
+    public boolean isModifiedSince(String etag, Instant lastModified) {
+        if (this.etag != null && etag != null) {
+            return !this.etag.equals(etag);
+        } else if (this.lastModified != null && lastModified != null) {
+            return !this.lastModified.equals(lastModified);
+        }
+        return false;
+    }
+
+    /**
+     * @since 6.0
+     */
+    void setETag(String etag) {
+        this.etag = etag;
+    }
+
     void setLastModified(Instant lastModified) {
         this.lastModified = lastModified;
     }
 
+    /**
+     * @param length Length in bytes, or {@literal -1} if unknown.
+     * @since 6.0
+     */
+    void setLength(long length) {
+        this.length = length;
+    }
+
+    @Override
+    public String toString() {
+        return "[etag: " + etag + "] [lastModified: " + lastModified + "] " +
+                "[length: " + length + "]";
+    }
+
 }
@@ -0,0 +1,93 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.io.IOException;
+
+/**
+ * <p>Seekable stream that reads from a sequence of equally sized byte arrays
+ * in memory, which, unlike a single array, can hold content that is larger
+ * than the maximum array size, and can be filled without copying as its
+ * length grows.</p>
+ *
+ * <p>The arrays are not copied, and must not be modified while the stream is
+ * in use.</p>
+ *
+ * @since 6.0
+ */
+public class ChunkedByteArrayImageInputStream extends ImageInputStreamImpl
+        implements ImageInputStream {
+
+    private final byte[][] chunks;
+    private final int chunkSize;
+    private final long length;
+
+    /**
+     * @param chunks    Arrays to read from, all of which must be at least
+     *                  {@literal chunkSize} long, with a total length of at
+     *                  least {@literal length}.
+     * @param chunkSize Number of bytes of content in each array, except the
+     *                  last, which may contain fewer.
+     * @param length    Total length of the content.
+     */
+    public ChunkedByteArrayImageInputStream(byte[][] chunks,
+                                            int chunkSize,
+                                            long length) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Illegal chunk size");
+        } else if (length < 0 || length > (long) chunks.length * chunkSize) {
+            throw new IllegalArgumentException("Illegal length");
+        }
+        this.chunks    = chunks;
+        this.chunkSize = chunkSize;
+        this.length    = length;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        if (streamPos >= length) {
+            return -1;
+        }
+        bitOffset = 0;
+        final byte[] chunk = chunks[(int) (streamPos / chunkSize)];
+        final int b = chunk[(int) (streamPos % chunkSize)] & 0xff;
+        streamPos++;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException {
+        checkClosed();
+        if (offset < 0) {
+            throw new IndexOutOfBoundsException("Negative offset");
+        } else if (len < 0) {
+            throw new IndexOutOfBoundsException("Negative length");
+        } else if (offset + len > b.length) {
+            throw new IndexOutOfBoundsException("offset + length > buffer length");
+        } else if (len == 0) {
+            return 0;
+        } else if (streamPos >= length) {
+            return -1;
+        }
+        bitOffset = 0;
+        int numRead = 0;
+        while (numRead < len && streamPos < length) {
+            final byte[] chunk  = chunks[(int) (streamPos / chunkSize)];
+            final int chunkPos  = (int) (streamPos % chunkSize);
+            final int n = (int) Math.min(
+                    Math.min(len - numRead, chunkSize - chunkPos),
+                    length - streamPos);
+            System.arraycopy(chunk, chunkPos, b, offset + numRead, n);
+            numRead   += n;
+            streamPos += n;
+        }
+        return numRead;
+    }
+
+}
@@ -0,0 +1,168 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import edu.illinois.library.cantaloupe.source.StreamFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Seekable stream that reads a file that is still being written in another
+ * thread.</p>
+ *
+ * <p>Reads are satisfied from the file up to its {@link HighWaterMark}. A read
+ * beyond the mark blocks until the writer catches up. If a {@link
+ * StreamFactory} supporting {@link StreamFactory#isSeekingDirect() direct
+ * seeking} is supplied, a read far enough beyond the mark (as when a reader
+ * seeks to a tile near the end of the image) is instead satisfied by a ranged
+ * read from that factory, so that the reader does not have to wait for the
+ * whole file to be written.</p>
+ *
+ * @since 6.0
+ */
+public class GrowingFileImageInputStream extends ImageInputStreamImpl
+        implements ImageInputStream {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(GrowingFileImageInputStream.class);
+
+    /**
+     * Reads that are farther than this many bytes beyond the high-water mark
+     * will be satisfied from {@link #rangeSource}, if available.
+     */
+    static final long RANGE_FETCH_THRESHOLD = 1024 * 512;
+
+    private final FileChannel channel;
+    private final HighWaterMark mark;
+    private final StreamFactory rangeSource;
+    private ImageInputStream rangeStream;
+    private final byte[] singleByte = new byte[1];
+
+    private long numBytesReadFromFile, numBytesReadFromRanges;
+
+    /**
+     * @param file Growing file.
+     * @param mark Mark tracking the progress of the writer of {@code file}.
+     */
+    public GrowingFileImageInputStream(Path file,
+                                       HighWaterMark mark) throws IOException {
+        this(file, mark, null);
+    }
+
+    /**
+     * @param file        Growing file.
+     * @param mark        Mark tracking the progress of the writer of {@code
+     *                    file}.
+     * @param rangeSource Factory whose {@link
+     *                    StreamFactory#newSeekableStream() seekable streams}
+     *                    can be used to read ahead of the mark. May be {@code
+     *                    null}.
+     */
+    public GrowingFileImageInputStream(Path file,
+                                       HighWaterMark mark,
+                                       StreamFactory rangeSource)
+            throws IOException {
+        this.channel     = FileChannel.open(file, StandardOpenOption.READ);
+        this.mark        = mark;
+        this.rangeSource = (rangeSource != null &&
+                rangeSource.isSeekingDirect()) ? rangeSource : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        LOGGER.trace("Read {} bytes from file and {} bytes from ranges",
+                numBytesReadFromFile, numBytesReadFromRanges);
+        try {
+            super.close();
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                if (rangeStream != null) {
+                    rangeStream.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Length of the file if it has been completely written, or
+     *         {@literal -1} otherwise, as required by the method contract.
+     */
+    @Override
+    public long length() {
+        return mark.isComplete() ? mark.get() : -1;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int n = read(singleByte, 0, 1);
+        return (n > 0) ? singleByte[0] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException {
+        checkClosed();
+        if (offset < 0) {
+            throw new IndexOutOfBoundsException("Negative offset");
+        } else if (length < 0) {
+            throw new IndexOutOfBoundsException("Negative length");
+        } else if (offset + length > b.length) {
+            throw new IndexOutOfBoundsException("offset + length > buffer length");
+        } else if (length == 0) {
+            return 0;
+        }
+        bitOffset = 0;
+
+        if (isFarAheadOfMark()) {
+            return readRange(b, offset, length);
+        }
+
+        final long available = mark.await(streamPos);
+        if (streamPos >= available) {
+            return -1;
+        }
+        final int fulfillableLength =
+                (int) Math.min(length, available - streamPos);
+        final ByteBuffer buffer = ByteBuffer.wrap(b, offset, fulfillableLength);
+        int fulfilledLength = 0;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, streamPos + fulfilledLength);
+            if (n < 0) {
+                break;
+            }
+            fulfilledLength += n;
+        }
+        streamPos            += fulfilledLength;
+        numBytesReadFromFile += fulfilledLength;
+        return (fulfilledLength > 0) ? fulfilledLength : -1;
+    }
+
+    private boolean isFarAheadOfMark() {
+        return rangeSource != null &&
+                !mark.isComplete() &&
+                streamPos - mark.get() > RANGE_FETCH_THRESHOLD;
+    }
+
+    private int readRange(byte[] b, int offset, int length) throws IOException {
+        if (rangeStream == null) {
+            LOGGER.debug("Position {} is beyond the high-water mark ({}); " +
+                    "reading ahead from the source", streamPos, mark.get());
+            rangeStream = rangeSource.newSeekableStream();
+        }
+        rangeStream.seek(streamPos);
+        int n = rangeStream.read(b, offset, length);
+        if (n > 0) {
+            streamPos              += n;
+            numBytesReadFromRanges += n;
+        }
+        return n;
+    }
+
+}
@@ -2,6 +2,7 @@ package edu.illinois.library.cantaloupe.source.stream;
 
 import edu.illinois.library.cantaloupe.http.Range;
 import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.util.ByteArrayPool;
 import edu.illinois.library.cantaloupe.util.ObjectCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +25,13 @@ import java.io.IOException;
  * {@link #setMaxChunkCacheSize(long)}. This could help readers that seek
  * around a lot beyond the window size. The cache is per-instance.</p>
  *
+ * <p>If a {@link #setChunkPool(ByteArrayPool) chunk pool} is set, chunks
+ * are returned to it when they are no longer needed&mdash;when the window
+ * moves past them (if they are not cached), when they are evicted from the
+ * chunk cache, and when the instance is closed. Clients can then obtain the
+ * bodies of their responses from the same pool in order to avoid allocating
+ * a new array for every chunk.</p>
+ *
  * <p>The HTTP client is abstracted into the exceedingly simple {@link
  * HTTPImageInputStreamClient} interface, so probably any existing client
  * implementation, including many cloud storage clients, can be hooked up and
@@ -55,6 +63,8 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
 
     private HTTPImageInputStreamClient client;
     private ObjectCache<Range,byte[]> chunkCache;
+    private ByteArrayPool chunkPool;
+    private byte[] firstChunk;
     private long streamLength   = -1;
     private int windowPos;
     private int windowSize      = DEFAULT_WINDOW_SIZE;
@@ -120,10 +130,24 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
     public void setMaxChunkCacheSize(long maxChunkCacheSize) {
         long count = Math.round(maxChunkCacheSize / (double) getWindowSize());
         if (count > 0) {
-            chunkCache = new ObjectCache<>(count);
+            chunkCache = new ObjectCache<>(count,
+                    (range, chunk) -> recycle(chunk));
         }
     }
 
+    /**
+     * Sets a pool to which chunks are returned when they are no longer
+     * needed. The chunks must not be referenced by anything else (including
+     * the client) after they have been returned by it. Must be called before
+     * any reading or seeking occurs.
+     *
+     * @param chunkPool Pool to return chunks to.
+     * @since 6.0
+     */
+    public void setChunkPool(ByteArrayPool chunkPool) {
+        this.chunkPool = chunkPool;
+    }
+
     /**
      * <p>Sets the window size. Must be called before any reading or seeking
      * occurs.</p>
@@ -142,6 +166,36 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
         this.windowBuffer = new byte[windowSize];
     }
 
+    /**
+     * <p>Supplies the content of the first window, which the client may
+     * already have received (for example, in the course of inferring the
+     * resource's format), so that it doesn't have to be requested again.</p>
+     *
+     * <p>Must be called before any reading or seeking occurs, but
+     * <strong>after</strong> {@link #setWindowSize(int)} and {@link
+     * #setMaxChunkCacheSize(long)}. The argument is ignored unless its length
+     * is equal to the length of the first window.</p>
+     *
+     * @param chunk Bytes from the beginning of the resource.
+     * @since 6.0
+     */
+    public void setFirstChunk(byte[] chunk) {
+        final Range range = getRange(0);
+        if (chunk == null || chunk.length != range.end - range.start + 1) {
+            LOGGER.debug("setFirstChunk(): ignoring a {}-byte chunk that " +
+                    "doesn't match the window size",
+                    (chunk != null) ? chunk.length : 0);
+            return;
+        }
+        windowBuffer = chunk;
+        firstChunk   = chunk;
+        windowIndex  = 0;
+        windowPos    = 0;
+        if (chunkCache != null) {
+            chunkCache.put(range, chunk);
+        }
+    }
+
     /**
      * Checks whether the server supports the {@literal Range} header and reads
      * the resource length from the {@literal Content-Length} header.
@@ -166,6 +220,16 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
         try {
             super.close();
         } finally {
+            if (chunkPool != null) {
+                // The current window is released along with the rest of the
+                // cache if it's cached, and separately if not.
+                final byte[] lastWindow = windowBuffer;
+                windowBuffer = null;
+                recycle(lastWindow);
+                if (chunkCache != null) {
+                    chunkCache.removeAll();
+                }
+            }
             client       = null;
             windowBuffer = null;
             chunkCache   = null;
@@ -307,10 +371,28 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
         final int neededWindowIndex = getStreamWindowIndex();
         if (neededWindowIndex != windowIndex) {
             Range range  = getRange(neededWindowIndex);
+            byte[] previousWindow = windowBuffer;
             windowBuffer = fetchChunk(range);
             windowIndex  = neededWindowIndex;
             windowPos    = getIndexWithinWindow();
+            recycle(previousWindow);
+        }
+    }
+
+    /**
+     * Returns the given chunk to the {@link #chunkPool}, if there is one,
+     * unless it is still in use as the current window or in the chunk cache,
+     * or was supplied by the client.
+     */
+    private void recycle(byte[] chunk) {
+        if (chunkPool == null || chunk == null || chunk == windowBuffer ||
+                chunk == firstChunk) {
+            return;
+        }
+        if (chunkCache != null && chunkCache.asMap().containsValue(chunk)) {
+            return;
         }
+        chunkPool.release(chunk);
     }
 
     /**
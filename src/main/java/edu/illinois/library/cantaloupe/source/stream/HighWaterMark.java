@@ -0,0 +1,98 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * <p>Tracks the number of bytes of some content that have been written so
+ * far, enabling readers in other threads to consume the content while it is
+ * still being written.</p>
+ *
+ * <p>The writer calls {@link #advance(long)} after each write, and then either
+ * {@link #complete()} or {@link #fail(IOException)} when it is done. Readers
+ * call {@link #await(long)} to block until the byte they need is
+ * available.</p>
+ *
+ * @see GrowingFileImageInputStream
+ */
+public final class HighWaterMark {
+
+    private long length;
+    private boolean isComplete;
+    private IOException failure;
+
+    /**
+     * Called by the writer to advance the mark.
+     *
+     * @param newLength Total number of bytes written so far. Values less than
+     *                  the current mark are ignored.
+     */
+    public synchronized void advance(long newLength) {
+        if (newLength > length) {
+            length = newLength;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Called by the writer when all content has been written.
+     */
+    public synchronized void complete() {
+        isComplete = true;
+        notifyAll();
+    }
+
+    /**
+     * Called by the writer when writing has failed. Readers that are waiting
+     * for bytes beyond the mark will receive an {@link IOException}.
+     *
+     * @param e Cause of the failure.
+     */
+    public synchronized void fail(IOException e) {
+        failure    = e;
+        isComplete = true;
+        notifyAll();
+    }
+
+    /**
+     * @return Number of bytes that have been written so far.
+     */
+    public synchronized long get() {
+        return length;
+    }
+
+    /**
+     * @return Whether the writer has either finished or failed.
+     */
+    public synchronized boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * Blocks until the byte at the given position has been written, or until
+     * the writer has finished.
+     *
+     * @param position Zero-based byte position.
+     * @return         The current mark, which will be greater than {@code
+     *                 position} unless the content is complete and {@code
+     *                 position} lies beyond its end.
+     * @throws IOException if the writer failed before reaching the given
+     *                     position, or if the calling thread is interrupted.
+     */
+    public synchronized long await(long position) throws IOException {
+        while (length <= position && !isComplete) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(
+                        "Interrupted while waiting for byte " + position);
+            }
+        }
+        if (failure != null && length <= position) {
+            throw new IOException(failure.getMessage(), failure);
+        }
+        return length;
+    }
+
+}
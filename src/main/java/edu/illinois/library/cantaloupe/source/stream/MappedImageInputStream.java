@@ -0,0 +1,142 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Seekable stream that reads a file through a read-only {@link
+ * MappedByteBuffer}, so that the many small reads performed by image readers
+ * when parsing headers, IFDs, boxes, tile indexes, etc. are memory accesses
+ * rather than system calls, as they are with {@link
+ * javax.imageio.stream.FileImageInputStream}.</p>
+ *
+ * <p>A buffer can map at most 2 GB, so the file is mapped in windows of up
+ * to {@link #DEFAULT_WINDOW_SIZE} bytes, and a new window is mapped when the
+ * stream position leaves the current one. Reads spanning two windows are
+ * satisfied from both.</p>
+ *
+ * <p>Mapped buffers can't be unmapped explicitly; their memory is released
+ * when they are garbage-collected. The channel is closed by {@link
+ * #close()}.</p>
+ *
+ * @since 6.0
+ */
+public class MappedImageInputStream extends ImageInputStreamImpl
+        implements ImageInputStream {
+
+    /**
+     * Size of the mapped windows.
+     */
+    static final long DEFAULT_WINDOW_SIZE = 1024 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long length;
+    private final long windowSize;
+
+    /**
+     * Currently mapped window of the file. May be {@code null}.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * Offset of {@link #window} within the file.
+     */
+    private long windowStart;
+
+    /**
+     * @param file File to read.
+     */
+    public MappedImageInputStream(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param file       File to read.
+     * @param windowSize Maximum size of each mapped window. Must be between
+     *                   {@literal 1} and {@link Integer#MAX_VALUE}.
+     */
+    MappedImageInputStream(Path file, long windowSize) throws IOException {
+        if (windowSize < 1 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Illegal window size");
+        }
+        this.channel    = FileChannel.open(file, StandardOpenOption.READ);
+        this.length     = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            window = null;
+            channel.close();
+        }
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        if (streamPos >= length) {
+            return -1;
+        }
+        bitOffset = 0;
+        mapWindow();
+        int b = window.get((int) (streamPos - windowStart)) & 0xff;
+        streamPos++;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException {
+        checkClosed();
+        if (offset < 0) {
+            throw new IndexOutOfBoundsException("Negative offset");
+        } else if (len < 0) {
+            throw new IndexOutOfBoundsException("Negative length");
+        } else if (offset + len > b.length) {
+            throw new IndexOutOfBoundsException("offset + length > buffer length");
+        } else if (len == 0) {
+            return 0;
+        } else if (streamPos >= length) {
+            return -1;
+        }
+        bitOffset = 0;
+        int numRead = 0;
+        while (numRead < len && streamPos < length) {
+            mapWindow();
+            final int windowPos = (int) (streamPos - windowStart);
+            final int n = Math.min(len - numRead, window.limit() - windowPos);
+            window.position(windowPos);
+            window.get(b, offset + numRead, n);
+            numRead   += n;
+            streamPos += n;
+        }
+        return numRead;
+    }
+
+    /**
+     * Ensures that {@link #window} contains the byte at the current stream
+     * position, which must be less than {@link #length}.
+     */
+    private void mapWindow() throws IOException {
+        if (window != null && streamPos >= windowStart &&
+                streamPos < windowStart + window.limit()) {
+            return;
+        }
+        windowStart = (streamPos / windowSize) * windowSize;
+        final long size = Math.min(windowSize, length - windowStart);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, size);
+    }
+
+}
@@ -3,10 +3,14 @@ package edu.illinois.library.cantaloupe.status;
 import edu.illinois.library.cantaloupe.Application;
 import edu.illinois.library.cantaloupe.cache.InfoCache;
 import edu.illinois.library.cantaloupe.cache.InfoService;
+import edu.illinois.library.cantaloupe.processor.ProcessorConnector;
+import edu.illinois.library.cantaloupe.source.OriginGuard;
+import edu.illinois.library.cantaloupe.source.SourceFactory;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -35,6 +39,21 @@ public final class ApplicationStatus {
         return infoCache.size();
     }
 
+    /**
+     * @return Number of times that each retrieval strategy has been chosen by
+     *         {@literal AutoStrategy}.
+     */
+    public Map<String,Long> getAutoRetrievalDecisions() {
+        return ProcessorConnector.getAutoRetrievalDecisions();
+    }
+
+    /**
+     * @return Guards of the recently used source origins.
+     */
+    public List<OriginGuard> getOriginGuards() {
+        return SourceFactory.getOriginGuards();
+    }
+
     /**
      * @return Number of available processor cores.
      */
@@ -125,6 +144,14 @@ public final class ApplicationStatus {
             section.put("maxSize", getInfoCacheMaxSize());
             status.put("infoCache", section);
         }
+        { // Retrieval strategy decisions
+            status.put("autoRetrievalDecisions", getAutoRetrievalDecisions());
+        }
+        { // Source origins
+            var section = new LinkedHashMap<>();
+            getOriginGuards().forEach(g -> section.put(g.getOrigin(), g.toMap()));
+            status.put("sourceOrigins", section);
+        }
         { // VM
             var section = new LinkedHashMap<>();
             section.put("vendor", getVMVendor());
@@ -6,7 +6,9 @@ import edu.illinois.library.cantaloupe.cache.DerivativeCache;
 import edu.illinois.library.cantaloupe.cache.SourceCache;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.source.OriginGuard;
 import edu.illinois.library.cantaloupe.source.Source;
+import edu.illinois.library.cantaloupe.source.SourceFactory;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,12 +20,14 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * <p>Checks various aspects of the application to verify that they are
@@ -34,6 +38,9 @@ import java.util.concurrent.TimeUnit;
  *     <dd>When an image endpoint successfully completes a request, it calls
  *     {@link #addSourceUsage(Source)} to register the source it used to do so.
  *     This class tests the I/O of each unique source.</dd>
+ *     <dt>Source origins</dt>
+ *     <dd>Any {@link OriginGuard source origin} whose circuit is not closed
+ *     is reported as a warning.</dd>
  *     <dt>The source cache</dt>
  *     <dd>An image is written to the source cache (if available) and read
  *     back.</dd>
@@ -137,6 +144,23 @@ public final class HealthChecker {
         }
     }
 
+    /**
+     * Checks whether any source origin has been cut off by its circuit
+     * breaker.
+     */
+    private static void checkOrigins(Health health) {
+        final List<String> unavailableOrigins = SourceFactory.getOriginGuards()
+                .stream()
+                .filter(g -> !OriginGuard.State.CLOSED.equals(g.getState()))
+                .map(OriginGuard::toString)
+                .collect(Collectors.toList());
+        if (!unavailableOrigins.isEmpty()) {
+            health.setMinColor(Health.Color.YELLOW);
+            health.setMessage("Unavailable source origins: " +
+                    String.join(", ", unavailableOrigins));
+        }
+    }
+
     /**
      * Checks the reading and writing functionality of the source cache.
      */
@@ -226,6 +250,9 @@ public final class HealthChecker {
         final Stopwatch watch = new Stopwatch();
         final Health health   = new Health();
 
+        // Check source origins.
+        checkOrigins(health);
+
         // Check source input.
         if (!Health.Color.RED.equals(health.getColor())) {
             checkSources(health);
@@ -280,6 +307,9 @@ public final class HealthChecker {
         final ThreadPool pool      = ThreadPool.getInstance();
         final CountDownLatch latch = new CountDownLatch(3);
 
+        // Check source origins, which is cheap enough to do in this thread.
+        checkOrigins(health);
+
         // Check source I/O.
         pool.submit(() -> {
             try {
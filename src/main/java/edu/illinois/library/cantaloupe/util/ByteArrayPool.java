@@ -0,0 +1,154 @@
+package edu.illinois.library.cantaloupe.util;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Pool of byte arrays in power-of-two sizes, for reuse of large
+ * short-lived buffers that would otherwise put pressure on the garbage
+ * collector.</p>
+ *
+ * <p>Arrays are obtained with {@link #acquire(int)} and returned with {@link
+ * #release(byte[])}. Acquired arrays may contain data from previous use. The
+ * total size of the arrays retained by the pool is bounded; arrays released
+ * beyond that are left to the garbage collector.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @since 6.0
+ */
+public final class ByteArrayPool {
+
+    /**
+     * Smallest array size that is pooled.
+     */
+    static final int MIN_POOLED_LENGTH = 1024;
+
+    /**
+     * Largest array size that is pooled.
+     */
+    static final int MAX_POOLED_LENGTH = 16 * 1024 * 1024;
+
+    static final long DEFAULT_MAX_RETAINED_BYTES = 64 * 1024 * 1024;
+
+    private static final int MIN_SHIFT =
+            Integer.numberOfTrailingZeros(MIN_POOLED_LENGTH);
+    private static final int MAX_SHIFT =
+            Integer.numberOfTrailingZeros(MAX_POOLED_LENGTH);
+
+    private static ByteArrayPool instance;
+
+    /**
+     * Idle arrays indexed by the base-2 logarithm of their length minus
+     * {@link #MIN_SHIFT}.
+     */
+    private final ConcurrentLinkedDeque<byte[]>[] buckets;
+    private final long maxRetainedBytes;
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static synchronized ByteArrayPool getInstance() {
+        if (instance == null) {
+            instance = new ByteArrayPool(DEFAULT_MAX_RETAINED_BYTES);
+        }
+        return instance;
+    }
+
+    /**
+     * @param maxRetainedBytes Maximum total length of the idle arrays retained
+     *                         by the instance.
+     */
+    @SuppressWarnings("unchecked")
+    ByteArrayPool(long maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.buckets = new ConcurrentLinkedDeque[MAX_SHIFT - MIN_SHIFT + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    /**
+     * @param minLength Minimum length of the array.
+     * @return          Array whose length is {@literal minLength} rounded up
+     *                  to the nearest power of two (or exactly {@literal
+     *                  minLength}, if it is greater than {@link
+     *                  #MAX_POOLED_LENGTH}).
+     */
+    public byte[] acquire(int minLength) {
+        if (minLength < 0) {
+            throw new IllegalArgumentException("Negative length");
+        } else if (minLength > MAX_POOLED_LENGTH) {
+            return new byte[minLength];
+        }
+        final int shift = shiftFor(minLength);
+        final byte[] array = buckets[shift - MIN_SHIFT].pollFirst();
+        if (array != null) {
+            retainedBytes.addAndGet(-array.length);
+            return array;
+        }
+        return new byte[1 << shift];
+    }
+
+    /**
+     * @param length Length of the array.
+     * @return       Array of exactly the given length, which is obtained from
+     *               the pool if the length is one that is pooled, and newly
+     *               allocated otherwise.
+     */
+    public byte[] acquireExact(int length) {
+        if (isPooledLength(length)) {
+            return acquire(length);
+        }
+        return new byte[length];
+    }
+
+    /**
+     * Returns an array to the pool. Arrays that were not obtained from {@link
+     * #acquire(int)} are accepted as long as their length is a power of two
+     * within the pooled range, and ignored otherwise. The array must not be
+     * used after it has been released.
+     *
+     * @param array Array to return. May be {@code null}.
+     */
+    public void release(byte[] array) {
+        if (array == null || !isPooledLength(array.length)) {
+            return;
+        }
+        if (retainedBytes.addAndGet(array.length) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-array.length);
+            return;
+        }
+        final int shift = Integer.numberOfTrailingZeros(array.length);
+        buckets[shift - MIN_SHIFT].offerFirst(array);
+    }
+
+    /**
+     * @return Total length of all idle arrays retained by the instance.
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    private static boolean isPooledLength(int length) {
+        return length >= MIN_POOLED_LENGTH &&
+                length <= MAX_POOLED_LENGTH &&
+                Integer.bitCount(length) == 1;
+    }
+
+    private static int shiftFor(int length) {
+        if (length <= MIN_POOLED_LENGTH) {
+            return MIN_SHIFT;
+        }
+        return 32 - Integer.numberOfLeadingZeros(length - 1);
+    }
+
+}
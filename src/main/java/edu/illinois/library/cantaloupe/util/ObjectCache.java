@@ -2,8 +2,10 @@ package edu.illinois.library.cantaloupe.util;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 
 /**
  * Size-bounded heap cache.
@@ -23,6 +25,26 @@ public final class ObjectCache<K, V> {
         store = Caffeine.newBuilder().softValues().maximumSize(maxSize).build();
     }
 
+    /**
+     * Creates an instance with the given max size, which notifies the given
+     * listener whenever an entry is evicted, removed, or replaced. The
+     * listener is invoked synchronously in the thread that caused the
+     * removal; its value argument is {@code null} if the value has been
+     * garbage-collected.
+     *
+     * @since 6.0
+     */
+    public ObjectCache(long maxSize, BiConsumer<K,V> removalListener) {
+        this.maxSize = maxSize;
+        store = Caffeine.newBuilder()
+                .softValues()
+                .maximumSize(maxSize)
+                .executor(Runnable::run)
+                .removalListener((K key, V value, RemovalCause cause) ->
+                        removalListener.accept(key, value))
+                .build();
+    }
+
     public ConcurrentMap<K,V> asMap() {
         return store.asMap();
     }
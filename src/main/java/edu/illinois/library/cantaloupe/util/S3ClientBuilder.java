@@ -10,19 +10,30 @@ import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.SystemPropertyCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.regions.providers.AwsProfileRegionProvider;
 import software.amazon.awssdk.regions.providers.AwsRegionProviderChain;
 import software.amazon.awssdk.regions.providers.InstanceProfileRegionProvider;
 import software.amazon.awssdk.regions.providers.SystemSettingsRegionProvider;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
 
 import java.net.URI;
+import java.time.Duration;
 
 /**
- * Creates an S3 client using the Builder pattern.
+ * <p>Creates an S3 client using the Builder pattern.</p>
+ *
+ * <p>By default, synchronous clients use the lightweight {@link
+ * UrlConnectionHttpClient}, which relies on the JVM's own connection reuse
+ * and can't be tuned. If any connection pool properties are set, the
+ * pooling {@link ApacheHttpClient} is used instead. Asynchronous clients
+ * always use the non-blocking {@link NettyNioAsyncHttpClient}.</p>
  *
  * @see <a href="http://docs.aws.amazon.com/AWSSdkDocsJava/latest/DeveloperGuide/welcome.html">
  *     AWS SDK for Java</a>
@@ -38,6 +49,8 @@ public final class S3ClientBuilder {
     private URI endpointURI;
     private Region region;
     private String accessKeyID, secretAccessKey;
+    private int maxConnections;
+    private Duration connectionTimeToLive, connectionAcquisitionTimeout;
 
     /**
      * Returns credentials using a similar strategy as the {@link
@@ -109,6 +122,29 @@ public final class S3ClientBuilder {
         return this;
     }
 
+    /**
+     * @param timeout Maximum amount of time to wait for a connection from the
+     *                pool. May be {@code null} to use the HTTP client's
+     *                default.
+     * @return        The instance.
+     * @since 6.0
+     */
+    public S3ClientBuilder connectionAcquisitionTimeout(Duration timeout) {
+        this.connectionAcquisitionTimeout = timeout;
+        return this;
+    }
+
+    /**
+     * @param ttl Maximum amount of time a pooled connection may be reused.
+     *            May be {@code null} to use the HTTP client's default.
+     * @return    The instance.
+     * @since 6.0
+     */
+    public S3ClientBuilder connectionTimeToLive(Duration ttl) {
+        this.connectionTimeToLive = ttl;
+        return this;
+    }
+
     /**
      * @param uri URI of the S3 endpoint. If not supplied, an AWS endpoint is
      *            used based on {@link #region(String)}.
@@ -119,6 +155,18 @@ public final class S3ClientBuilder {
         return this;
     }
 
+    /**
+     * @param maxConnections Maximum number of concurrent connections to the
+     *                       endpoint. Values less than 1 mean the HTTP
+     *                       client's default.
+     * @return               The instance.
+     * @since 6.0
+     */
+    public S3ClientBuilder maxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
     /**
      * @param region Region to use. This is relevant only for AWS endpoints.
      * @return       The instance.
@@ -141,14 +189,71 @@ public final class S3ClientBuilder {
         return this;
     }
 
-    public S3Client build() {
-        final S3Configuration config = S3Configuration.builder()
+    private boolean isPoolConfigured() {
+        return maxConnections > 0 || connectionTimeToLive != null ||
+                connectionAcquisitionTimeout != null;
+    }
+
+    private S3Configuration newServiceConfiguration() {
+        return S3Configuration.builder()
                 .pathStyleAccessEnabled(endpointURI != null)
                 .checksumValidationEnabled(false)
                 .build();
+    }
+
+    private SdkHttpClient.Builder<?> newHTTPClientBuilder() {
+        if (!isPoolConfigured()) {
+            return UrlConnectionHttpClient.builder();
+        }
+        ApacheHttpClient.Builder builder = ApacheHttpClient.builder();
+        if (maxConnections > 0) {
+            builder = builder.maxConnections(maxConnections);
+        }
+        if (connectionTimeToLive != null) {
+            builder = builder.connectionTimeToLive(connectionTimeToLive);
+        }
+        if (connectionAcquisitionTimeout != null) {
+            builder = builder.connectionAcquisitionTimeout(connectionAcquisitionTimeout);
+        }
+        return builder;
+    }
+
+    private NettyNioAsyncHttpClient.Builder newAsyncHTTPClientBuilder() {
+        NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder();
+        if (maxConnections > 0) {
+            builder = builder.maxConcurrency(maxConnections);
+        }
+        if (connectionTimeToLive != null) {
+            builder = builder.connectionTimeToLive(connectionTimeToLive);
+        }
+        if (connectionAcquisitionTimeout != null) {
+            builder = builder.connectionAcquisitionTimeout(connectionAcquisitionTimeout);
+        }
+        return builder;
+    }
+
+    public S3Client build() {
         software.amazon.awssdk.services.s3.S3ClientBuilder builder = S3Client.builder()
-                .httpClientBuilder(UrlConnectionHttpClient.builder())
-                .serviceConfiguration(config)
+                .httpClientBuilder(newHTTPClientBuilder())
+                .serviceConfiguration(newServiceConfiguration())
+                // A region is required even for non-AWS endpoints.
+                .region(getEffectiveRegion())
+                .credentialsProvider(newCredentialsProvider(accessKeyID, secretAccessKey));
+        if (endpointURI != null) {
+            builder = builder.endpointOverride(endpointURI);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return New asynchronous client, whose requests don't occupy a thread
+     *         while they are in flight.
+     * @since 6.0
+     */
+    public S3AsyncClient buildAsync() {
+        software.amazon.awssdk.services.s3.S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .httpClientBuilder(newAsyncHTTPClientBuilder())
+                .serviceConfiguration(newServiceConfiguration())
                 // A region is required even for non-AWS endpoints.
                 .region(getEffectiveRegion())
                 .credentialsProvider(newCredentialsProvider(accessKeyID, secretAccessKey));
@@ -0,0 +1,66 @@
+package edu.illinois.library.cantaloupe.async;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BandTaskTest extends BaseTest {
+
+    @Test
+    void testInvokeProcessesEveryIndexOnce() {
+        final int length = 10000;
+        final AtomicIntegerArray counts = new AtomicIntegerArray(length);
+        BandTask.invoke(length, 7, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                counts.incrementAndGet(i);
+            }
+        });
+        for (int i = 0; i < length; i++) {
+            assertEquals(1, counts.get(i));
+        }
+    }
+
+    @Test
+    void testInvokeRespectsGrain() {
+        final AtomicInteger maxBandLength = new AtomicInteger();
+        BandTask.invoke(1000, 10, (start, end) ->
+                maxBandLength.accumulateAndGet(end - start, Math::max));
+        assertTrue(maxBandLength.get() <= 10);
+    }
+
+    @Test
+    void testInvokeWithLengthNotGreaterThanGrain() {
+        final Thread caller = Thread.currentThread();
+        final AtomicInteger numBands = new AtomicInteger();
+        BandTask.invoke(10, 10, (start, end) -> {
+            assertSame(caller, Thread.currentThread());
+            assertEquals(0, start);
+            assertEquals(10, end);
+            numBands.incrementAndGet();
+        });
+        assertEquals(1, numBands.get());
+    }
+
+    @Test
+    void testInvokeWithZeroLength() {
+        BandTask.invoke(0, 10, (start, end) -> fail());
+    }
+
+    @Test
+    void testGrainFor() {
+        final int parallelism =
+                ThreadPool.getInstance().getComputePool().getParallelism();
+        // Limited by the band size
+        assertEquals(2, BandTask.grainFor(100000, 500, 1000));
+        // Limited by the parallelism
+        assertEquals((1000 + parallelism - 1) / parallelism,
+                BandTask.grainFor(1000, 1, 1000000));
+        // Never less than 1
+        assertEquals(1, BandTask.grainFor(100000, 5000, 1000));
+    }
+
+}
@@ -28,6 +28,12 @@ public class ThreadPoolTest extends BaseTest {
         instance = null;
     }
 
+    @Test
+    void testGetComputePool() {
+        assertEquals(Runtime.getRuntime().availableProcessors(),
+                instance.getComputePool().getParallelism());
+    }
+
     @Test
     void testIsShutdown() {
         assertFalse(instance.isShutdown());
@@ -40,6 +46,7 @@ public class ThreadPoolTest extends BaseTest {
         assertFalse(instance.isShutdown());
         instance.shutdown();
         assertTrue(instance.isShutdown());
+        assertTrue(instance.getComputePool().isShutdown());
     }
 
     @Test
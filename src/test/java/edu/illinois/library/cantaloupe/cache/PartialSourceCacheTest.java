@@ -0,0 +1,297 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.http.Range;
+import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStreamClient;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.util.DeletingFileVisitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartialSourceCacheTest extends BaseTest {
+
+    /**
+     * Serves ranges of a fixed byte array and counts the requests.
+     */
+    private static class CountingClient implements HTTPImageInputStreamClient {
+
+        private final byte[] data;
+        private int numGETRequests;
+
+        CountingClient(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public Response sendHEADRequest() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Response sendGETRequest(Range range) {
+            numGETRequests++;
+            Response response = new Response();
+            response.setStatus(206);
+            response.setBody(Arrays.copyOfRange(
+                    data, (int) range.start, (int) range.end + 1));
+            return response;
+        }
+
+    }
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final String ETAG    = "\"1\"";
+
+    private final byte[] data = new byte[CHUNK_SIZE *
+            (PartialSourceCache.CHUNKS_FILE_WRITE_INTERVAL + 10) + 100];
+    private Path directory;
+    private PartialSourceCache instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        new Random(1).nextBytes(data);
+        directory = Files.createTempDirectory("test");
+
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_CACHE_PARTIAL_ENABLED, true);
+        config.setProperty(Key.SOURCE_CACHE_PARTIAL_PATHNAME,
+                directory.toString());
+        config.setProperty(Key.SOURCE_CACHE_PARTIAL_MAX_SIZE, "1M");
+
+        PartialSourceCache.clearInstance();
+        instance = PartialSourceCache.getInstance();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        PartialSourceCache.clearInstance();
+        Files.walkFileTree(directory, new DeletingFileVisitor());
+    }
+
+    private byte[] read(HTTPImageInputStreamClient client,
+                        long pos, int length) throws IOException {
+        try (HTTPImageInputStream is =
+                     new HTTPImageInputStream(client, data.length)) {
+            is.setWindowSize(CHUNK_SIZE);
+            is.seek(pos);
+            byte[] bytes = new byte[length];
+            is.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    private HTTPImageInputStreamClient newClient(String key,
+                                                 String etag,
+                                                 CountingClient client) {
+        return newClient(null, key, etag, client);
+    }
+
+    private HTTPImageInputStreamClient newClient(Identifier identifier,
+                                                 String key,
+                                                 String etag,
+                                                 CountingClient client) {
+        return instance.newClient(identifier, key, data.length, etag,
+                CHUNK_SIZE, client);
+    }
+
+    /* newClient() */
+
+    @Test
+    void testNewClientWhenDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CACHE_PARTIAL_ENABLED, false);
+        CountingClient client = new CountingClient(data);
+        assertSame(client, newClient("key", ETAG, client));
+    }
+
+    @Test
+    void testNewClientFetchesOnlyMissingChunks() throws Exception {
+        CountingClient client1 = new CountingClient(data);
+        byte[] actual = read(newClient("key", ETAG, client1), 0, CHUNK_SIZE * 2);
+        assertArrayEquals(Arrays.copyOfRange(data, 0, CHUNK_SIZE * 2), actual);
+        assertEquals(2, client1.numGETRequests);
+
+        CountingClient client2 = new CountingClient(data);
+        actual = read(newClient("key", ETAG, client2), 0, CHUNK_SIZE * 3);
+        assertArrayEquals(Arrays.copyOfRange(data, 0, CHUNK_SIZE * 3), actual);
+        assertEquals(1, client2.numGETRequests);
+    }
+
+    @Test
+    void testNewClientCachesLastPartialChunk() throws Exception {
+        final int pos = data.length - 100;
+        read(newClient("key", ETAG, new CountingClient(data)), pos, 100);
+
+        CountingClient client = new CountingClient(data);
+        byte[] actual = read(newClient("key", ETAG, client), pos, 100);
+        assertArrayEquals(Arrays.copyOfRange(data, pos, pos + 100), actual);
+        assertEquals(0, client.numGETRequests);
+    }
+
+    @Test
+    void testNewClientDiscardsChangedObjects() throws Exception {
+        read(newClient("key", "\"1\"", new CountingClient(data)), 0, 10);
+
+        CountingClient client = new CountingClient(data);
+        read(newClient("key", "\"2\"", client), 0, 10);
+        assertEquals(1, client.numGETRequests);
+    }
+
+    @Test
+    void testNewClientDiscardsObjectsWithUnknownETag() throws Exception {
+        read(newClient("key", null, new CountingClient(data)), 0, 10);
+
+        CountingClient client = new CountingClient(data);
+        read(newClient("key", null, client), 0, 10);
+        assertEquals(1, client.numGETRequests);
+
+        read(newClient("key", ETAG, new CountingClient(data)), 0, 10);
+
+        client = new CountingClient(data);
+        read(newClient("key", null, client), 0, 10);
+        assertEquals(1, client.numGETRequests);
+    }
+
+    @Test
+    void testNewClientReadsChunksPersistedByAnotherInstance()
+            throws Exception {
+        read(newClient("key", ETAG, new CountingClient(data)), 0, 10);
+
+        PartialSourceCache.clearInstance();
+        instance = PartialSourceCache.getInstance();
+        assertEquals(1, instance.getNumObjects());
+        assertEquals(CHUNK_SIZE, instance.getSize());
+
+        CountingClient client = new CountingClient(data);
+        read(newClient("key", ETAG, client), 0, 10);
+        assertEquals(0, client.numGETRequests);
+    }
+
+    @Test
+    void testNewClientWritesChunksFileInBatches() throws Exception {
+        final int numChunks = 3;
+        read(newClient("key", ETAG, new CountingClient(data)),
+                0, CHUNK_SIZE * numChunks);
+
+        // Only the first chunk has been written to the chunks file.
+        PartialSourceCache.clearInstance();
+        instance = PartialSourceCache.getInstance();
+        assertEquals(CHUNK_SIZE, instance.getSize());
+
+        read(newClient("key", ETAG, new CountingClient(data)),
+                0, CHUNK_SIZE * numChunks);
+        instance.flush();
+
+        PartialSourceCache.clearInstance();
+        instance = PartialSourceCache.getInstance();
+        assertEquals(CHUNK_SIZE * numChunks, instance.getSize());
+        CountingClient client = new CountingClient(data);
+        read(newClient("key", ETAG, client), 0, CHUNK_SIZE * numChunks);
+        assertEquals(0, client.numGETRequests);
+    }
+
+    @Test
+    void testNewClientWritesChunksFileAfterInterval() throws Exception {
+        final int numChunks = PartialSourceCache.CHUNKS_FILE_WRITE_INTERVAL + 1;
+        read(newClient("key", ETAG, new CountingClient(data)),
+                0, CHUNK_SIZE * numChunks);
+
+        PartialSourceCache.clearInstance();
+        instance = PartialSourceCache.getInstance();
+        assertEquals(CHUNK_SIZE * numChunks, instance.getSize());
+    }
+
+    @Test
+    void testNewClientWritesChunksFileWhenComplete() throws Exception {
+        read(newClient("key", ETAG, new CountingClient(data)),
+                0, data.length);
+
+        PartialSourceCache.clearInstance();
+        instance = PartialSourceCache.getInstance();
+        assertEquals(data.length, instance.getSize());
+    }
+
+    @Test
+    void testNewClientEvictsLeastRecentlyUsedObjects() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CACHE_PARTIAL_MAX_SIZE, CHUNK_SIZE * 3);
+        read(newClient("key1", ETAG, new CountingClient(data)), 0, CHUNK_SIZE * 2);
+        Thread.sleep(5);
+        read(newClient("key2", ETAG, new CountingClient(data)), 0, CHUNK_SIZE * 2);
+
+        assertEquals(1, instance.getNumObjects());
+        assertEquals(CHUNK_SIZE * 2, instance.getSize());
+
+        CountingClient client = new CountingClient(data);
+        read(newClient("key2", ETAG, client), 0, CHUNK_SIZE * 2);
+        assertEquals(0, client.numGETRequests);
+    }
+
+    /* purge() */
+
+    @Test
+    void testPurge() throws Exception {
+        read(newClient("key", ETAG, new CountingClient(data)), 0, 10);
+        instance.purge();
+        assertEquals(0, instance.getNumObjects());
+        assertEquals(0, instance.getSize());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /* purge(Identifier) */
+
+    @Test
+    void testPurgeWithIdentifier() throws Exception {
+        final Identifier identifier = new Identifier("cats");
+        read(newClient(identifier, "key1", ETAG, new CountingClient(data)),
+                0, 10);
+        read(newClient(new Identifier("dogs"), "key2", ETAG,
+                new CountingClient(data)), 0, 10);
+
+        instance.purge(identifier);
+        assertEquals(1, instance.getNumObjects());
+        assertEquals(CHUNK_SIZE, instance.getSize());
+
+        CountingClient client = new CountingClient(data);
+        read(newClient(identifier, "key1", ETAG, client), 0, 10);
+        assertEquals(1, client.numGETRequests);
+
+        client = new CountingClient(data);
+        read(newClient("key2", ETAG, client), 0, 10);
+        assertEquals(0, client.numGETRequests);
+    }
+
+    @Test
+    void testPurgeWithIdentifierPersistedByAnotherInstance()
+            throws Exception {
+        final Identifier identifier = new Identifier("cats");
+        read(newClient(identifier, "key", ETAG, new CountingClient(data)),
+                0, 10);
+
+        PartialSourceCache.clearInstance();
+        instance = PartialSourceCache.getInstance();
+        instance.purge(identifier);
+        assertEquals(0, instance.getNumObjects());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+}
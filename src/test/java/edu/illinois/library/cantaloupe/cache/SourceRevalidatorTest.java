@@ -0,0 +1,174 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.source.MockStreamSource;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceRevalidatorTest extends BaseTest {
+
+    /**
+     * Reports a fixed ETag and counts invocations of {@link
+     * #isModifiedSince(String, Instant)}.
+     */
+    private static class ValidatingSource extends MockStreamSource {
+
+        private String etag = "\"abc\"";
+        private IOException exception;
+        private int numChecks;
+
+        @Override
+        public boolean isModifiedSince(String etag,
+                                       Instant lastModified) throws IOException {
+            numChecks++;
+            if (exception != null) {
+                throw exception;
+            }
+            return !this.etag.equals(etag);
+        }
+
+    }
+
+    private static final Identifier IDENTIFIER = new Identifier("cats");
+
+    private Info info;
+    private ValidatingSource source;
+    private SourceRevalidator instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.CACHE_SERVER_REVALIDATION_ENABLED, true);
+        config.setProperty(Key.CACHE_SERVER_REVALIDATION_INTERVAL, 60);
+
+        SourceRevalidator.clearInstance();
+        instance = SourceRevalidator.getInstance();
+        source   = new ValidatingSource();
+        info     = new Info();
+        info.setSourceETag("\"abc\"");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        SourceRevalidator.clearInstance();
+    }
+
+    private boolean revalidate() throws Exception {
+        return instance.revalidate(IDENTIFIER, info, () -> source);
+    }
+
+    /* revalidate() */
+
+    @Test
+    void testRevalidateWhenDisabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.CACHE_SERVER_REVALIDATION_ENABLED, false);
+        source.etag = "\"def\"";
+        assertTrue(revalidate());
+        assertEquals(0, source.numChecks);
+    }
+
+    @Test
+    void testRevalidateWithInfoWithoutValidators() throws Exception {
+        info.setSourceETag(null);
+        assertTrue(revalidate());
+        assertEquals(0, source.numChecks);
+    }
+
+    @Test
+    void testRevalidateWithUnmodifiedSource() throws Exception {
+        assertTrue(revalidate());
+        assertEquals(1, source.numChecks);
+    }
+
+    @Test
+    void testRevalidateWithModifiedSource() throws Exception {
+        source.etag = "\"def\"";
+        assertFalse(revalidate());
+    }
+
+    @Test
+    void testRevalidateDoesNotCheckAgainWithinInterval() throws Exception {
+        assertTrue(revalidate());
+        assertTrue(revalidate());
+        assertEquals(1, source.numChecks);
+    }
+
+    @Test
+    void testRevalidateChecksAgainAfterInterval() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.CACHE_SERVER_REVALIDATION_INTERVAL, 0);
+        assertTrue(revalidate());
+        assertTrue(revalidate());
+        assertEquals(2, source.numChecks);
+    }
+
+    @Test
+    void testRevalidateChecksAgainAfterModification() throws Exception {
+        source.etag = "\"def\"";
+        assertFalse(revalidate());
+        assertFalse(revalidate());
+        assertEquals(2, source.numChecks);
+    }
+
+    @Test
+    void testRevalidateWithMissingSource() {
+        source.exception = new NoSuchFileException("missing");
+        assertThrows(NoSuchFileException.class, this::revalidate);
+    }
+
+    @Test
+    void testRevalidateWithFailingSource() throws Exception {
+        source.exception = new IOException("failed");
+        assertTrue(revalidate());
+        // The failure should not have been remembered as a success.
+        source.exception = null;
+        source.etag      = "\"def\"";
+        assertFalse(revalidate());
+    }
+
+    /* revalidate(Identifier, Info, StatResult) */
+
+    @Test
+    void testRevalidateWithStatResultWhenDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.CACHE_SERVER_REVALIDATION_ENABLED, false);
+        assertTrue(instance.revalidate(IDENTIFIER, info,
+                MockStreamSource.newStatResult("\"def\"")));
+    }
+
+    @Test
+    void testRevalidateWithUnmodifiedStatResult() {
+        assertTrue(instance.revalidate(IDENTIFIER, info,
+                MockStreamSource.newStatResult("\"abc\"")));
+    }
+
+    @Test
+    void testRevalidateWithModifiedStatResult() {
+        assertFalse(instance.revalidate(IDENTIFIER, info,
+                MockStreamSource.newStatResult("\"def\"")));
+    }
+
+    @Test
+    void testRevalidateWithStatResultComparesWithinInterval()
+            throws Exception {
+        assertTrue(revalidate());
+        assertFalse(instance.revalidate(IDENTIFIER, info,
+                MockStreamSource.newStatResult("\"def\"")));
+    }
+
+}
@@ -0,0 +1,96 @@
+package edu.illinois.library.cantaloupe.image;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatSignaturesTest extends BaseTest {
+
+    private FormatSignatures instance;
+
+    private static Format newFormat(String key,
+                                    String... signatures) throws Exception {
+        String json = "{ \"key\": \"" + key + "\", " +
+                "\"name\": \"" + key + "\", " +
+                "\"extensions\": [\"" + key + "\"], " +
+                "\"mediaTypes\": [\"image/" + key + "\"], " +
+                "\"signatures\": " +
+                new ObjectMapper().writeValueAsString(signatures) + " }";
+        return new ObjectMapper().readValue(json, Format.class);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        FormatSignatures.clearInstance();
+        instance = FormatSignatures.getInstance();
+    }
+
+    @Test
+    void testGetMaxLength() {
+        assertEquals(12, instance.getMaxLength());
+    }
+
+    @Test
+    void testMatchWithAllFixtures() throws Exception {
+        for (Format format : Format.all()) {
+            byte[] bytes = Files.readAllBytes(
+                    TestUtil.getImage(format.getKey()));
+            assertEquals(format, instance.match(bytes, bytes.length),
+                    format.getKey());
+        }
+    }
+
+    @Test
+    void testMatchPrefersMostSpecificSignature() throws Exception {
+        instance = new FormatSignatures(List.of(
+                newFormat("short", "61??"),
+                newFormat("long", "61??63")));
+        byte[] bytes = "abcdef".getBytes();
+        assertEquals("long", instance.match(bytes, bytes.length).getKey());
+    }
+
+    @Test
+    void testMatchWithNonMP4ISOBMFFFile() {
+        // ftyp box of an AVIF image
+        byte[] bytes = { 0x00, 0x00, 0x00, 0x1c,
+                0x66, 0x74, 0x79, 0x70, 0x61, 0x76, 0x69, 0x66 };
+        assertNull(instance.match(bytes, bytes.length));
+    }
+
+    @Test
+    void testMatchWithUnrecognizedBytes() {
+        byte[] bytes = "some text".getBytes();
+        assertNull(instance.match(bytes, bytes.length));
+    }
+
+    @Test
+    void testMatchWithTooFewBytes() {
+        byte[] bytes = { (byte) 0xff, (byte) 0xd8, (byte) 0xff };
+        assertNull(instance.match(bytes, 2));
+    }
+
+    @Test
+    void testMatchWithWildcards() throws Exception {
+        instance = new FormatSignatures(List.of(newFormat("abc", "61??63")));
+        byte[] bytes = "axcdef".getBytes();
+        assertEquals("abc", instance.match(bytes, bytes.length).getKey());
+    }
+
+    @Test
+    void testConstructorIgnoresInvalidSignatures() throws Exception {
+        instance = new FormatSignatures(List.of(
+                newFormat("abc", "6", "zz", "", "616263")));
+        assertEquals(3, instance.getMaxLength());
+        byte[] bytes = "abc".getBytes();
+        assertEquals("abc", instance.match(bytes, bytes.length).getKey());
+    }
+
+}
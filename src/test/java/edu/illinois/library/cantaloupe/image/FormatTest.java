@@ -3,6 +3,7 @@ package edu.illinois.library.cantaloupe.image;
 import edu.illinois.library.cantaloupe.test.BaseTest;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -210,6 +211,12 @@ class FormatTest extends BaseTest {
                 Format.get("xpm").getPreferredMediaType().toString());
     }
 
+    @Test
+    void testGetSignatures() {
+        assertEquals(List.of("ffd8ff"), Format.get("jpg").getSignatures());
+        assertTrue(Format.UNKNOWN.getSignatures().isEmpty());
+    }
+
     @Test
     void testHashCodeWithEqualInstances() {
         assertEquals(Format.get("jpg").hashCode(), Format.get("jpg").hashCode());
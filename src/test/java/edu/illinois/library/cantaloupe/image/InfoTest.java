@@ -239,6 +239,24 @@ class InfoTest extends BaseTest {
                 obscureTimestamps(instance.toString()));
     }
 
+    @Test
+    void testFromJSONWithSourceValidators() throws Exception {
+        Instant lastModified = Instant.parse("2021-03-04T05:06:07Z");
+        instance.setSourceETag("\"abc\"");
+        instance.setSourceLastModified(lastModified);
+
+        Info info = Info.fromJSON(instance.toJSON());
+        assertEquals("\"abc\"", info.getSourceETag());
+        assertEquals(lastModified, info.getSourceLastModified());
+    }
+
+    @Test
+    void testFromJSONWithoutSourceValidators() throws Exception {
+        Info info = Info.fromJSON(instance.toJSON());
+        assertNull(info.getSourceETag());
+        assertNull(info.getSourceLastModified());
+    }
+
     /* fromJSON() serialization */
 
     @Test
@@ -13,6 +13,9 @@ import java.io.InputStream;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -85,6 +88,20 @@ public class MediaTypeTest extends BaseTest {
         }
     }
 
+    @Test
+    void testDetectMediaTypesWithByteArrayWithHEICAndAVIFHeaders()
+            throws Exception {
+        for (String brand : List.of("heic", "avif")) {
+            byte[] bytes = new byte[32];
+            System.arraycopy(new byte[] { 0x00, 0x00, 0x00, 0x18 }, 0,
+                    bytes, 0, 4);
+            System.arraycopy(("ftyp" + brand + "\0\0\0\0mif1" + brand)
+                    .getBytes(), 0, bytes, 4, 20);
+            assertFalse(MediaType.detectMediaTypes(bytes)
+                    .contains(new MediaType("video/mp4")), brand);
+        }
+    }
+
     /* detectMediaTypes(Path) */
 
     @Test
@@ -108,6 +125,48 @@ public class MediaTypeTest extends BaseTest {
         }
     }
 
+    @Test
+    void testDetectMediaTypesWithPathIgnoresExtension() throws Exception {
+        Path file = TestUtil.getImage("jpg-incorrect-extension.png");
+        assertEquals(List.of(new MediaType("image/jpeg")),
+                MediaType.detectMediaTypes(file));
+    }
+
+    @Test
+    void testDetectMediaTypesWithPathCachesResults() throws Exception {
+        Path file = TestUtil.getImage("jpg");
+        assertSame(MediaType.detectMediaTypes(file),
+                MediaType.detectMediaTypes(file));
+    }
+
+    @Test
+    void testDetectMediaTypesWithPathWithChangedFile() throws Exception {
+        Path file = Files.createTempFile("test", "tmp");
+        try {
+            Files.copy(TestUtil.getImage("png"), file,
+                    StandardCopyOption.REPLACE_EXISTING);
+            assertEquals(List.of(new MediaType("image/png")),
+                    MediaType.detectMediaTypes(file));
+
+            Files.copy(TestUtil.getImage("jpg"), file,
+                    StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(file,
+                    FileTime.from(Instant.now().plusSeconds(60)));
+            assertEquals(List.of(new MediaType("image/jpeg")),
+                    MediaType.detectMediaTypes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testDetectMediaTypesWithPathWithUnrecognizedSignature()
+            throws Exception {
+        Path file = TestUtil.getImage("text.txt");
+        assertEquals(List.of(new MediaType("text/plain")),
+                MediaType.detectMediaTypes(file));
+    }
+
     /* detectMediaTypes(InputStream) */
 
     @Test
@@ -133,6 +192,15 @@ public class MediaTypeTest extends BaseTest {
         }
     }
 
+    @Test
+    void testDetectMediaTypesWithInputStreamResetsStream() throws Exception {
+        Path file = TestUtil.getImage("jpg");
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            MediaType.detectMediaTypes(is);
+            assertArrayEquals(Files.readAllBytes(file), is.readAllBytes());
+        }
+    }
+
     @Test
     void testFromContentType() {
         assertEquals(new MediaType("image/jp2"),
@@ -0,0 +1,151 @@
+package edu.illinois.library.cantaloupe.perf.processor;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.util.concurrent.TimeUnit;
+
+import edu.illinois.library.cantaloupe.processor.Java2DFilters;
+import edu.illinois.library.cantaloupe.processor.resample.ResampleOp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Compares the methods of {@link Java2DFilters} with the per-pixel {@link
+ * BufferedImage#getRGB(int, int)}/{@link BufferedImage#setRGB(int, int, int)}
+ * implementations that preceded them, which are reproduced here as the
+ * {@literal baseline} benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms1G", "-Xmx1G", "-Dcantaloupe.config=memory" })
+public class Java2DFiltersPerformance {
+
+    @Param({ "TYPE_3BYTE_BGR", "TYPE_INT_ARGB", "TYPE_BYTE_GRAY" })
+    private String imageType;
+
+    @Param({ "1024", "4096" })
+    private int size;
+
+    private BufferedImage sourceImage, image;
+
+    @Setup
+    public void setUp() throws Exception {
+        final int type = BufferedImage.class.getField(imageType).getInt(null);
+        sourceImage = new BufferedImage(size, size, type);
+        // Fill the image with a gradient so that the samples vary.
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                sourceImage.setRGB(x, y, 0xff000000 | (x & 0xff) << 16 |
+                        (y & 0xff) << 8 | ((x + y) & 0xff));
+            }
+        }
+        final ColorModel cm = sourceImage.getColorModel();
+        image = new BufferedImage(cm, sourceImage.copyData(null),
+                cm.isAlphaPremultiplied(), null);
+    }
+
+    /**
+     * Restores the image modified in place by the color filters.
+     */
+    @Setup(Level.Invocation)
+    public void resetImage() {
+        image.setData(sourceImage.getRaster());
+    }
+
+    @Benchmark
+    public BufferedImage binarize() {
+        Java2DFilters.binarize(image);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage binarizeBaseline() {
+        final int threshold = Java2DFilters.otsuThreshold(
+                histogramBaseline(image));
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                int argb  = image.getRGB(x, y);
+                int red   = (argb >> 16) & 0xff;
+                int alpha = (argb >> 24) & 0xff;
+                int value = (red > threshold) ? 255 : 0;
+                image.setRGB(x, y,
+                        alpha << 24 | value << 16 | value << 8 | value);
+            }
+        }
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage grayscale() {
+        Java2DFilters.grayscale(image);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage grayscaleBaseline() {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int argb  = image.getRGB(x, y);
+                int alpha = (argb >> 24) & 0xff;
+                int red   = (argb >> 16) & 0xff;
+                int green = (argb >> 8) & 0xff;
+                int blue  = argb & 0xff;
+                int luma  = (int) (0.21 * red + 0.71 * green + 0.07 * blue);
+                image.setRGB(x, y,
+                        (alpha << 24) | (luma << 16) | (luma << 8) | luma);
+            }
+        }
+        return image;
+    }
+
+    @Benchmark
+    public int[] histogram() {
+        return Java2DFilters.histogram(sourceImage);
+    }
+
+    @Benchmark
+    public int[] histogramBaseline() {
+        return histogramBaseline(sourceImage);
+    }
+
+    private static int[] histogramBaseline(BufferedImage image) {
+        int[] histogram = new int[256];
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                histogram[(image.getRGB(x, y) >> 16) & 0xff]++;
+            }
+        }
+        return histogram;
+    }
+
+    @Benchmark
+    public BufferedImage unsharpMask() {
+        return Java2DFilters.unsharpMask(sourceImage, 0.2f);
+    }
+
+    @Benchmark
+    public BufferedImage unsharpMaskBaseline() {
+        ResampleOp resampleOp = new ResampleOp(
+                sourceImage.getWidth(), sourceImage.getHeight(), false);
+        resampleOp.setUnsharpenMask(0.2f);
+        return resampleOp.filter(sourceImage, null);
+    }
+
+}
@@ -0,0 +1,65 @@
+package edu.illinois.library.cantaloupe.perf.processor.resample;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import edu.illinois.library.cantaloupe.operation.Scale;
+import edu.illinois.library.cantaloupe.processor.resample.ResampleOp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms1G", "-Xmx1G", "-Dcantaloupe.config=memory" })
+public class ResampleOpPerformance {
+
+    @Param({ "BOX", "TRIANGLE", "MITCHELL", "LANCZOS3" })
+    private String filter;
+
+    @Param({ "1024", "4096" })
+    private int sourceSize;
+
+    @Param({ "0.125", "0.5", "1.5" })
+    private double scale;
+
+    private BufferedImage sourceImage;
+    private ResampleOp resampleOp;
+
+    @Setup
+    public void setUp() {
+        sourceImage = new BufferedImage(sourceSize, sourceSize,
+                BufferedImage.TYPE_3BYTE_BGR);
+        // Fill the image with a gradient so that the samples vary.
+        for (int y = 0; y < sourceSize; y++) {
+            for (int x = 0; x < sourceSize; x++) {
+                sourceImage.setRGB(x, y, (x & 0xff) << 16 | (y & 0xff) << 8 |
+                        ((x + y) & 0xff));
+            }
+        }
+        final int targetSize = (int) Math.round(sourceSize * scale);
+        resampleOp = new ResampleOp(targetSize, targetSize, false);
+        resampleOp.setFilter(Scale.Filter.valueOf(filter).toResampleFilter());
+    }
+
+    @Benchmark
+    public BufferedImage filter() {
+        return resampleOp.filter(sourceImage, null);
+    }
+
+}
@@ -0,0 +1,212 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.image.Rectangle;
+import edu.illinois.library.cantaloupe.operation.ColorTransform;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.ReductionFactor;
+import edu.illinois.library.cantaloupe.operation.Rotate;
+import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
+import edu.illinois.library.cantaloupe.operation.ScaleByPixels;
+import edu.illinois.library.cantaloupe.operation.Transpose;
+import edu.illinois.library.cantaloupe.operation.redaction.Redaction;
+import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FusedPipelineTest extends BaseTest {
+
+    private static final int WIDTH  = 200;
+    private static final int HEIGHT = 160;
+
+    private static final Set<ReaderHint> NO_HINTS =
+            EnumSet.noneOf(ReaderHint.class);
+
+    private static final Info INFO = Info.builder()
+            .withSize(WIDTH, HEIGHT)
+            .build();
+
+    /**
+     * @return Image whose quadrants are red (top left), green (top right),
+     *         blue (bottom left), and white (bottom right).
+     */
+    private static BufferedImage newImage(int type) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                image.setRGB(x, y, quadrantColor(x < WIDTH / 2, y < HEIGHT / 2));
+            }
+        }
+        return image;
+    }
+
+    private static int quadrantColor(boolean isLeft, boolean isTop) {
+        if (isTop) {
+            return isLeft ? 0xffff0000 : 0xff00ff00;
+        }
+        return isLeft ? 0xff0000ff : 0xffffffff;
+    }
+
+    /**
+     * Asserts that the centers of the quadrants of the given image have the
+     * given colors.
+     */
+    private static void assertQuadrants(BufferedImage image,
+                                        int topLeft, int topRight,
+                                        int bottomLeft, int bottomRight) {
+        final int left   = image.getWidth() / 4;
+        final int right  = image.getWidth() * 3 / 4;
+        final int top    = image.getHeight() / 4;
+        final int bottom = image.getHeight() * 3 / 4;
+        assertEquals(topLeft, image.getRGB(left, top));
+        assertEquals(topRight, image.getRGB(right, top));
+        assertEquals(bottomLeft, image.getRGB(left, bottom));
+        assertEquals(bottomRight, image.getRGB(right, bottom));
+    }
+
+    /* compile() */
+
+    @Test
+    void compileWithRedaction() {
+        OperationList opList = OperationList.builder()
+                .withOperations(new Redaction(new Rectangle(0, 0, 10, 10)))
+                .build();
+        assertNull(FusedPipeline.compile(opList, INFO, NO_HINTS));
+    }
+
+    @Test
+    void compileWithNonRightAngleRotation() {
+        OperationList opList = OperationList.builder()
+                .withOperations(new Rotate(45))
+                .build();
+        assertNull(FusedPipeline.compile(opList, INFO, NO_HINTS));
+    }
+
+    @Test
+    void compileWithTransposeFollowingColorTransform() {
+        OperationList opList = OperationList.builder()
+                .withOperations(ColorTransform.GRAY, Transpose.HORIZONTAL)
+                .build();
+        assertNull(FusedPipeline.compile(opList, INFO, NO_HINTS));
+    }
+
+    @Test
+    void compileWithFusableOperations() {
+        OperationList opList = OperationList.builder()
+                .withOperations(
+                        new CropByPixels(10, 10, 100, 100),
+                        new ScaleByPercent(0.5),
+                        Transpose.HORIZONTAL,
+                        new Rotate(90),
+                        ColorTransform.GRAY)
+                .build();
+        assertNotNull(FusedPipeline.compile(opList, INFO, NO_HINTS));
+    }
+
+    /* apply() */
+
+    @Test
+    void applyMatchesSerialProcessing() {
+        OperationList opList = OperationList.builder()
+                .withOperations(
+                        new CropByPixels(20, 10, 160, 120),
+                        new ScaleByPercent(0.5),
+                        Transpose.HORIZONTAL,
+                        new Rotate(90))
+                .build();
+        BufferedImage image = newImage(BufferedImage.TYPE_3BYTE_BGR);
+
+        BufferedImage expected = Java2DPostProcessor.postProcessSerially(
+                image, NO_HINTS, opList, INFO, new ReductionFactor());
+        BufferedImage actual = FusedPipeline.compile(opList, INFO, NO_HINTS)
+                .apply(image, new ReductionFactor());
+
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < actual.getHeight(); y++) {
+            for (int x = 0; x < actual.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    void applyWithDownscaleAndRotation() {
+        OperationList opList = OperationList.builder()
+                .withOperations(new ScaleByPercent(0.5), new Rotate(90))
+                .build();
+        BufferedImage image = FusedPipeline.compile(opList, INFO, NO_HINTS)
+                .apply(newImage(BufferedImage.TYPE_3BYTE_BGR),
+                        new ReductionFactor());
+
+        assertEquals(HEIGHT / 2, image.getWidth());
+        assertEquals(WIDTH / 2, image.getHeight());
+        assertEquals(BufferedImage.TYPE_3BYTE_BGR, image.getType());
+        assertQuadrants(image,
+                quadrantColor(true, false), quadrantColor(true, true),
+                quadrantColor(false, false), quadrantColor(false, true));
+    }
+
+    @Test
+    void applyWithUpscaleAndTranspose() {
+        OperationList opList = OperationList.builder()
+                .withOperations(new ScaleByPercent(1.5), Transpose.VERTICAL)
+                .build();
+        BufferedImage image = FusedPipeline.compile(opList, INFO, NO_HINTS)
+                .apply(newImage(BufferedImage.TYPE_INT_RGB),
+                        new ReductionFactor());
+
+        assertEquals(WIDTH * 3 / 2, image.getWidth());
+        assertEquals(HEIGHT * 3 / 2, image.getHeight());
+        assertQuadrants(image,
+                quadrantColor(true, false), quadrantColor(false, false),
+                quadrantColor(true, true), quadrantColor(false, true));
+    }
+
+    @Test
+    void applyWithScaleFollowingRotation() {
+        // The scale applies to the rotated image, whose width is the height
+        // of the source image.
+        OperationList opList = OperationList.builder()
+                .withOperations(new Rotate(270), new ScaleByPixels(
+                        100, 50, ScaleByPixels.Mode.NON_ASPECT_FILL))
+                .build();
+        BufferedImage image = FusedPipeline.compile(opList, INFO, NO_HINTS)
+                .apply(newImage(BufferedImage.TYPE_3BYTE_BGR),
+                        new ReductionFactor());
+
+        assertEquals(100, image.getWidth());
+        assertEquals(50, image.getHeight());
+    }
+
+    @Test
+    void applyWith16BitImage() {
+        OperationList opList = OperationList.builder()
+                .withOperations(new ScaleByPercent(0.5))
+                .build();
+        BufferedImage inImage = new BufferedImage(WIDTH, HEIGHT,
+                BufferedImage.TYPE_USHORT_GRAY);
+        WritableRaster raster = inImage.getRaster();
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                raster.setSample(x, y, 0, 0xffff);
+            }
+        }
+        BufferedImage outImage = FusedPipeline.compile(opList, INFO, NO_HINTS)
+                .apply(inImage, new ReductionFactor());
+
+        assertEquals(WIDTH / 2, outImage.getWidth());
+        assertEquals(HEIGHT / 2, outImage.getHeight());
+        assertEquals(8, outImage.getColorModel().getComponentSize(0));
+        assertEquals(255, outImage.getRaster().getSample(0, 0, 0));
+    }
+
+}
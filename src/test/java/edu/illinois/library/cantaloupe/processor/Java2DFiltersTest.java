@@ -0,0 +1,246 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+
+import static edu.illinois.library.cantaloupe.test.Assert.ImageAssert.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Java2DFiltersTest extends BaseTest {
+
+    private static final int[] IMAGE_TYPES = {
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_BGR,
+            BufferedImage.TYPE_INT_ARGB_PRE,
+            BufferedImage.TYPE_USHORT_565_RGB };
+
+    /**
+     * @return Image whose pixels vary in all components.
+     */
+    private static BufferedImage newImage(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, (128 + x + y) % 256 << 24 |
+                        (x * 5 % 256) << 16 | (y * 3 % 256) << 8 |
+                        ((x + y) * 7 % 256));
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage copy(BufferedImage image) {
+        ColorModel cm = image.getColorModel();
+        return new BufferedImage(cm, image.copyData(null),
+                cm.isAlphaPremultiplied(), null);
+    }
+
+    /* binarize() */
+
+    @Test
+    void binarize() {
+        for (int type : IMAGE_TYPES) {
+            BufferedImage image = newImage(64, 48, type);
+            BufferedImage expected = copy(image);
+            int threshold = Java2DFilters.otsuThreshold(
+                    Java2DFilters.histogram(image));
+
+            Java2DFilters.binarize(image);
+
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    int argb  = expected.getRGB(x, y);
+                    int value = ((argb >> 16) & 0xff) > threshold ? 255 : 0;
+                    int pixel = image.getRGB(x, y);
+                    assertRGBA(pixel, value, value, value, 255);
+                }
+            }
+        }
+    }
+
+    @Test
+    void binarizeWithTranslucentImage() {
+        BufferedImage image = new BufferedImage(100, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < 100; x++) {
+            for (int y = 0; y < 100; y++) {
+                image.setRGB(x, y, (x < 50) ? 0x00202020 : 0x80e0e0e0);
+            }
+        }
+        Java2DFilters.binarize(image);
+
+        assertRGBA(image.getRGB(0, 0), 0, 0, 0, 255);
+        assertRGBA(image.getRGB(99, 0), 255, 255, 255, 255);
+    }
+
+    @Test
+    void binarizeWithGrayImage() {
+        BufferedImage image = new BufferedImage(100, 100,
+                BufferedImage.TYPE_BYTE_GRAY);
+        for (int x = 0; x < 100; x++) {
+            for (int y = 0; y < 100; y++) {
+                image.getRaster().setSample(x, y, 0, (x < 50) ? 30 : 220);
+            }
+        }
+        Java2DFilters.binarize(image);
+
+        assertBitonal(image);
+        assertEquals(0, image.getRaster().getSample(0, 0, 0));
+        assertEquals(255, image.getRaster().getSample(99, 0, 0));
+    }
+
+    /* grayscale() */
+
+    @Test
+    void grayscale() {
+        for (int type : IMAGE_TYPES) {
+            BufferedImage image = newImage(64, 48, type);
+            BufferedImage expected = copy(image);
+
+            Java2DFilters.grayscale(image);
+
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    int argb = expected.getRGB(x, y);
+                    int luma = (int) (0.21 * ((argb >> 16) & 0xff) +
+                            0.71 * ((argb >> 8) & 0xff) +
+                            0.07 * (argb & 0xff));
+                    expected.setRGB(x, y, (argb & 0xff000000) |
+                            luma << 16 | luma << 8 | luma);
+                    assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    void grayscaleWithSubimage() {
+        BufferedImage parent = newImage(64, 48, BufferedImage.TYPE_3BYTE_BGR);
+        BufferedImage original = copy(parent);
+        BufferedImage image = parent.getSubimage(10, 20, 30, 20);
+
+        Java2DFilters.grayscale(image);
+
+        for (int y = 0; y < parent.getHeight(); y++) {
+            for (int x = 0; x < parent.getWidth(); x++) {
+                boolean isInside = x >= 10 && x < 40 && y >= 20 && y < 40;
+                if (isInside) {
+                    assertGray(parent.getRGB(x, y));
+                } else {
+                    assertEquals(original.getRGB(x, y), parent.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    void grayscaleWith16BitImage() {
+        ColorModel cm = new ComponentColorModel(
+                ColorSpace.getInstance(ColorSpace.CS_sRGB), true, false,
+                Transparency.TRANSLUCENT, DataBuffer.TYPE_USHORT);
+        BufferedImage image = new BufferedImage(cm,
+                cm.createCompatibleWritableRaster(20, 20), false, null);
+        image.setRGB(5, 5, 0xffff0000);
+
+        Java2DFilters.grayscale(image);
+
+        assertGray(image);
+        assertEquals(16, image.getColorModel().getComponentSize(0));
+    }
+
+    /* histogram() */
+
+    @Test
+    void histogram() {
+        BufferedImage image = new BufferedImage(10, 20,
+                BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 10; x++) {
+                image.setRGB(x, y, (y < 5) ? 0x40ffff : 0xc00000);
+            }
+        }
+        int[] histogram = Java2DFilters.histogram(image);
+        assertEquals(256, histogram.length);
+        assertEquals(50, histogram[0x40]);
+        assertEquals(150, histogram[0xc0]);
+    }
+
+    /* otsuThreshold() */
+
+    @Test
+    void otsuThreshold() {
+        int[] histogram = new int[256];
+        histogram[40]  = 100;
+        histogram[200] = 100;
+        int threshold = Java2DFilters.otsuThreshold(histogram);
+        assertTrue(threshold >= 40 && threshold < 200);
+    }
+
+    @Test
+    void otsuThresholdWithUniformHistogram() {
+        int[] histogram = new int[256];
+        histogram[128] = 100;
+        assertEquals(0, Java2DFilters.otsuThreshold(histogram));
+    }
+
+    /* unsharpMask() */
+
+    @Test
+    void unsharpMaskReturnsNewImageOfSameType() {
+        for (int type : IMAGE_TYPES) {
+            BufferedImage inImage = newImage(30, 20, type);
+            BufferedImage outImage = Java2DFilters.unsharpMask(inImage, 0.2f);
+            assertNotSame(inImage, outImage);
+            assertEquals(30, outImage.getWidth());
+            assertEquals(20, outImage.getHeight());
+            assertEquals(type, outImage.getType());
+        }
+    }
+
+    @Test
+    void unsharpMaskPreservesUniformImage() {
+        BufferedImage inImage = new BufferedImage(40, 40,
+                BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 40; x++) {
+                inImage.setRGB(x, y, 0x336699);
+            }
+        }
+        BufferedImage outImage = Java2DFilters.unsharpMask(inImage, 0.5f);
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 40; x++) {
+                assertEquals(0xff336699, outImage.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    void unsharpMaskIncreasesEdgeContrast() {
+        BufferedImage inImage = new BufferedImage(40, 40,
+                BufferedImage.TYPE_BYTE_GRAY);
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 40; x++) {
+                inImage.getRaster().setSample(x, y, 0, (x < 20) ? 64 : 192);
+            }
+        }
+        BufferedImage outImage = Java2DFilters.unsharpMask(inImage, 0.5f);
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, outImage.getType());
+        // Far from the edge
+        assertEquals(64, outImage.getRaster().getSample(5, 20, 0));
+        assertEquals(192, outImage.getRaster().getSample(35, 20, 0));
+        // Next to the edge
+        assertTrue(outImage.getRaster().getSample(19, 20, 0) < 64);
+        assertTrue(outImage.getRaster().getSample(20, 20, 0) > 192);
+    }
+
+}
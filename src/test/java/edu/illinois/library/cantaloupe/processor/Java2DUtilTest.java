@@ -10,6 +10,7 @@ import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.CropByPercent;
 import edu.illinois.library.cantaloupe.operation.CropByPixels;
 import edu.illinois.library.cantaloupe.operation.CropToSquare;
+import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.operation.Rotate;
 import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
@@ -444,6 +445,34 @@ class Java2DUtilTest extends BaseTest {
         assertNotNull(Java2DUtil.getOverlayImage(overlay));
     }
 
+    /* isGrayResult() */
+
+    @Test
+    void isGrayResultWithColorTransform() {
+        OperationList opList = OperationList.builder()
+                .withOperations(new ScaleByPercent(0.5), ColorTransform.BITONAL)
+                .build();
+        assertTrue(Java2DUtil.isGrayResult(opList, new Dimension(100, 100)));
+    }
+
+    @Test
+    void isGrayResultWithoutColorTransform() {
+        OperationList opList = OperationList.builder()
+                .withOperations(new ScaleByPercent(0.5))
+                .build();
+        assertFalse(Java2DUtil.isGrayResult(opList, new Dimension(100, 100)));
+    }
+
+    @Test
+    void isGrayResultWithColorTransformAndOverlay() {
+        ImageOverlay overlay = new ImageOverlay(
+                TestUtil.getImage("png").toUri(), Position.BOTTOM_RIGHT, 0);
+        OperationList opList = OperationList.builder()
+                .withOperations(ColorTransform.GRAY, overlay)
+                .build();
+        assertFalse(Java2DUtil.isGrayResult(opList, new Dimension(100, 100)));
+    }
+
     /* reduceTo8Bits() */
 
     @Test
@@ -698,6 +727,41 @@ class Java2DUtilTest extends BaseTest {
         assertEquals(BufferedImage.TYPE_CUSTOM, outImage.getType());
     }
 
+    @Test
+    void rotate2WithRightAngle() {
+        BufferedImage inImage = newColorImage(30, 20, 8, false);
+        inImage.setRGB(0, 0, 0xffff0000);
+        BufferedImage outImage = Java2DUtil.rotate(inImage, new Rotate(90));
+
+        assertEquals(20, outImage.getWidth());
+        assertEquals(30, outImage.getHeight());
+        assertEquals(BufferedImage.TYPE_3BYTE_BGR, outImage.getType());
+        assertEquals(0xffff0000, outImage.getRGB(19, 0));
+    }
+
+    @Test
+    void rotate2WithRightAngleAnd16BitRGBA() {
+        BufferedImage inImage = newColorImage(30, 20, 16, true);
+        BufferedImage outImage = Java2DUtil.rotate(inImage, new Rotate(270));
+
+        assertEquals(20, outImage.getWidth());
+        assertEquals(30, outImage.getHeight());
+        assertEquals(16, outImage.getColorModel().getComponentSize(0));
+        assertTrue(outImage.getColorModel().hasAlpha());
+    }
+
+    @Test
+    void rotate2WithRightAngleAndSubimage() {
+        BufferedImage parent = newColorImage(40, 40, 8, false);
+        parent.setRGB(10, 5, 0xff00ff00);
+        BufferedImage inImage = parent.getSubimage(10, 5, 20, 10);
+        BufferedImage outImage = Java2DUtil.rotate(inImage, new Rotate(180));
+
+        assertEquals(20, outImage.getWidth());
+        assertEquals(10, outImage.getHeight());
+        assertEquals(0xff00ff00, outImage.getRGB(19, 9));
+    }
+
     /* scale */
 
     @Test
@@ -771,6 +835,34 @@ class Java2DUtilTest extends BaseTest {
         assertEquals(100, outImage.getHeight());
     }
 
+    @Test
+    void scaleWithLinearLight() {
+        BufferedImage inImage = newColorImage(100, 100, 8, false);
+
+        ScaleByPercent scale = new ScaleByPercent(0.5);
+        ScaleConstraint sc = new ScaleConstraint(1, 1);
+        ReductionFactor rf = new ReductionFactor(0);
+
+        BufferedImage outImage = Java2DUtil.scale(inImage, scale, sc, rf, true);
+        assertEquals(50, outImage.getWidth());
+        assertEquals(50, outImage.getHeight());
+        assertTrue(outImage.getColorModel().getColorSpace().isCS_sRGB());
+    }
+
+    @Test
+    void scaleWithLinearLightWith16BitImage() {
+        BufferedImage inImage = newColorImage(100, 100, 16, false);
+
+        ScaleByPercent scale = new ScaleByPercent(0.5);
+        ScaleConstraint sc = new ScaleConstraint(1, 1);
+        ReductionFactor rf = new ReductionFactor(0);
+
+        BufferedImage outImage = Java2DUtil.scale(inImage, scale, sc, rf, true);
+        assertEquals(50, outImage.getWidth());
+        assertEquals(50, outImage.getHeight());
+        assertTrue(outImage.getColorModel().getColorSpace().isCS_sRGB());
+    }
+
     @Test
     void scaleWithSub3PixelSourceDimension() {
         BufferedImage inImage = newColorImage(2, 1, 8, false);
@@ -926,6 +1018,15 @@ class Java2DUtilTest extends BaseTest {
         assertSame(inImage, outImage);
     }
 
+    @Test
+    void transformColorFromGrayToGrayPreservesValues() {
+        BufferedImage inImage = new BufferedImage(10, 10,
+                BufferedImage.TYPE_BYTE_GRAY);
+        inImage.getRaster().setSample(5, 5, 0, 255);
+        Java2DUtil.transformColor(inImage, ColorTransform.GRAY);
+        assertEquals(255, inImage.getRaster().getSample(5, 5, 0));
+    }
+
     @Test
     void transformColorFromGrayAlphaToGray() {
         BufferedImage inImage = newGrayImage(100, 100, 8, true);
@@ -946,4 +1047,27 @@ class Java2DUtilTest extends BaseTest {
         assertEquals(100, outImage.getHeight());
     }
 
+    @Test
+    void transposeImageHorizontally() {
+        BufferedImage inImage = newColorImage(200, 100, 8, false);
+        inImage.setRGB(0, 10, 0xff0000ff);
+        BufferedImage outImage =
+                Java2DUtil.transpose(inImage, Transpose.HORIZONTAL);
+
+        assertEquals(BufferedImage.TYPE_3BYTE_BGR, outImage.getType());
+        assertEquals(0xff0000ff, outImage.getRGB(199, 10));
+    }
+
+    @Test
+    void transposeImageVertically() {
+        BufferedImage inImage = newGrayImage(200, 100, 8, false);
+        inImage.getRaster().setSample(10, 0, 0, 200);
+        BufferedImage outImage =
+                Java2DUtil.transpose(inImage, Transpose.VERTICAL);
+
+        assertEquals(200, outImage.getWidth());
+        assertEquals(100, outImage.getHeight());
+        assertEquals(200, outImage.getRaster().getSample(10, 99, 0));
+    }
+
 }
@@ -0,0 +1,234 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.image.Dimension;
+import edu.illinois.library.cantaloupe.image.Orientation;
+import edu.illinois.library.cantaloupe.operation.Rotate;
+import edu.illinois.library.cantaloupe.operation.Transpose;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrthogonalTransformTest extends BaseTest {
+
+    private static final int WIDTH  = 4;
+    private static final int HEIGHT = 3;
+
+    /**
+     * @return Image in which every pixel has a different color.
+     */
+    private static BufferedImage newImage(int type) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                image.setRGB(x, y, 0xff000000 | (x * 60) << 16 | (y * 80) << 8);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Asserts that the pixel at {@literal x,y} in the input image is at
+     * {@literal outX,outY} in the output image.
+     */
+    private static void assertMoved(BufferedImage inImage,
+                                    BufferedImage outImage,
+                                    int x, int y, int outX, int outY) {
+        assertEquals(inImage.getRGB(x, y), outImage.getRGB(outX, outY));
+    }
+
+    /* quarterTurns() */
+
+    @Test
+    void quarterTurns() {
+        assertEquals(0, OrthogonalTransform.quarterTurns(new Rotate(0)));
+        assertEquals(1, OrthogonalTransform.quarterTurns(new Rotate(90)));
+        assertEquals(2, OrthogonalTransform.quarterTurns(new Rotate(180)));
+        assertEquals(3, OrthogonalTransform.quarterTurns(new Rotate(270)));
+        assertEquals(-1, OrthogonalTransform.quarterTurns(new Rotate(45)));
+        assertEquals(-1, OrthogonalTransform.quarterTurns(new Rotate(90.5)));
+    }
+
+    /* apply(Dimension) */
+
+    @Test
+    void applyWithDimension() {
+        Dimension size = new Dimension(WIDTH, HEIGHT);
+        assertEquals(size, OrthogonalTransform.IDENTITY.apply(size));
+        assertEquals(new Dimension(HEIGHT, WIDTH),
+                OrthogonalTransform.IDENTITY.rotate(1).apply(size));
+        assertEquals(size,
+                OrthogonalTransform.IDENTITY.rotate(2).apply(size));
+        assertEquals(new Dimension(HEIGHT, WIDTH),
+                OrthogonalTransform.IDENTITY.transpose(Transpose.HORIZONTAL)
+                        .rotate(3).apply(size));
+    }
+
+    /* apply(BufferedImage) */
+
+    @Test
+    void applyWithIdentity() {
+        BufferedImage image = newImage(BufferedImage.TYPE_3BYTE_BGR);
+        assertSame(image, OrthogonalTransform.IDENTITY.apply(image));
+    }
+
+    @Test
+    void applyWithQuarterTurns() {
+        BufferedImage inImage = newImage(BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage outImage =
+                OrthogonalTransform.IDENTITY.rotate(1).apply(inImage);
+        assertEquals(HEIGHT, outImage.getWidth());
+        assertEquals(WIDTH, outImage.getHeight());
+        assertMoved(inImage, outImage, 0, 0, HEIGHT - 1, 0);
+        assertMoved(inImage, outImage, WIDTH - 1, 0, HEIGHT - 1, WIDTH - 1);
+
+        outImage = OrthogonalTransform.IDENTITY.rotate(2).apply(inImage);
+        assertMoved(inImage, outImage, 0, 0, WIDTH - 1, HEIGHT - 1);
+        assertMoved(inImage, outImage, 1, 0, WIDTH - 2, HEIGHT - 1);
+
+        outImage = OrthogonalTransform.IDENTITY.rotate(3).apply(inImage);
+        assertMoved(inImage, outImage, 0, 0, 0, WIDTH - 1);
+        assertMoved(inImage, outImage, WIDTH - 1, 0, 0, 0);
+    }
+
+    @Test
+    void applyWithTranspose() {
+        BufferedImage inImage = newImage(BufferedImage.TYPE_4BYTE_ABGR);
+
+        BufferedImage outImage = OrthogonalTransform.IDENTITY
+                .transpose(Transpose.HORIZONTAL).apply(inImage);
+        assertMoved(inImage, outImage, 0, 0, WIDTH - 1, 0);
+        assertMoved(inImage, outImage, 1, 2, WIDTH - 2, 2);
+
+        outImage = OrthogonalTransform.IDENTITY
+                .transpose(Transpose.VERTICAL).apply(inImage);
+        assertMoved(inImage, outImage, 0, 0, 0, HEIGHT - 1);
+        assertMoved(inImage, outImage, 1, 2, 1, 0);
+    }
+
+    @Test
+    void applyWithTransposeFollowedByRotation() {
+        BufferedImage inImage = newImage(BufferedImage.TYPE_BYTE_GRAY);
+        BufferedImage outImage = OrthogonalTransform.IDENTITY
+                .transpose(Transpose.HORIZONTAL).rotate(1).apply(inImage);
+        // The flip moves 0,0 to WIDTH-1,0; the quarter turn moves that to
+        // HEIGHT-1,WIDTH-1.
+        assertMoved(inImage, outImage, 0, 0, HEIGHT - 1, WIDTH - 1);
+        assertMoved(inImage, outImage, WIDTH - 1, HEIGHT - 1, 0, 0);
+    }
+
+    @Test
+    void applyWithImageLargerThanBlock() {
+        // Span several blocks, with partial blocks at the edges.
+        BufferedImage inImage = new BufferedImage(150, 130,
+                BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 130; y++) {
+            for (int x = 0; x < 150; x++) {
+                inImage.setRGB(x, y, 0xff000000 | x << 8 | y);
+            }
+        }
+        BufferedImage outImage = OrthogonalTransform.IDENTITY
+                .transpose(Transpose.HORIZONTAL).rotate(1).apply(inImage);
+        for (int y = 0; y < 130; y++) {
+            for (int x = 0; x < 150; x++) {
+                assertMoved(inImage, outImage, x, y, 129 - y, 149 - x);
+            }
+        }
+    }
+
+    @Test
+    void applyWithSubimage() {
+        BufferedImage parent = new BufferedImage(20, 20,
+                BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 20; x++) {
+                parent.setRGB(x, y, 0xff000000 | (x * 10) << 16 | (y * 10));
+            }
+        }
+        BufferedImage inImage = parent.getSubimage(5, 8, WIDTH, HEIGHT);
+        BufferedImage outImage =
+                OrthogonalTransform.IDENTITY.rotate(3).apply(inImage);
+
+        assertEquals(HEIGHT, outImage.getWidth());
+        assertEquals(WIDTH, outImage.getHeight());
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertMoved(inImage, outImage, x, y, y, WIDTH - 1 - x);
+            }
+        }
+    }
+
+    @Test
+    void applyWithPackedBinaryImage() {
+        // Pixels of this type can't be copied directly between arrays.
+        BufferedImage inImage = new BufferedImage(WIDTH, HEIGHT,
+                BufferedImage.TYPE_BYTE_BINARY);
+        inImage.setRGB(0, 0, 0xffffffff);
+        BufferedImage outImage =
+                OrthogonalTransform.IDENTITY.rotate(1).apply(inImage);
+
+        assertEquals(BufferedImage.TYPE_BYTE_BINARY, outImage.getType());
+        assertEquals(0xffffffff, outImage.getRGB(HEIGHT - 1, 0));
+        assertEquals(0xff000000, outImage.getRGB(0, 0));
+    }
+
+    @Test
+    void applyPreservesImageType() {
+        for (int type : new int[] { BufferedImage.TYPE_3BYTE_BGR,
+                BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_BYTE_GRAY }) {
+            BufferedImage outImage = OrthogonalTransform.IDENTITY.rotate(1)
+                    .apply(newImage(type));
+            assertEquals(type, outImage.getType());
+        }
+    }
+
+    /* rotate() */
+
+    @Test
+    void rotateWithOrientation() {
+        assertEquals(OrthogonalTransform.IDENTITY.rotate(1),
+                OrthogonalTransform.IDENTITY.rotate(Orientation.ROTATE_90));
+        assertTrue(OrthogonalTransform.IDENTITY.rotate(Orientation.ROTATE_0)
+                .isIdentity());
+    }
+
+    @Test
+    void rotateComposesTurns() {
+        assertTrue(OrthogonalTransform.IDENTITY.rotate(3).rotate(1)
+                .isIdentity());
+        assertEquals(OrthogonalTransform.IDENTITY.rotate(2),
+                OrthogonalTransform.IDENTITY.rotate(1).rotate(1));
+    }
+
+    /* transpose() */
+
+    @Test
+    void transposeTwiceIsIdentity() {
+        for (Transpose transpose : Transpose.values()) {
+            assertTrue(OrthogonalTransform.IDENTITY.transpose(transpose)
+                    .transpose(transpose).isIdentity());
+        }
+    }
+
+    @Test
+    void transposeHorizontallyAndVerticallyIsHalfTurn() {
+        assertEquals(OrthogonalTransform.IDENTITY.rotate(2),
+                OrthogonalTransform.IDENTITY
+                        .transpose(Transpose.HORIZONTAL)
+                        .transpose(Transpose.VERTICAL));
+    }
+
+    @Test
+    void transposeAfterRotation() {
+        // A quarter turn followed by a horizontal flip is the same as a flip
+        // followed by three quarter turns.
+        OrthogonalTransform transform = OrthogonalTransform.IDENTITY
+                .rotate(1).transpose(Transpose.HORIZONTAL);
+        assertTrue(transform.isFlipped());
+        assertEquals(3, transform.getQuarterTurns());
+    }
+
+}
@@ -11,6 +11,7 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.source.MockStreamSource;
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
@@ -609,6 +610,101 @@ public class ProcessorConnectorTest extends BaseTest {
         }
     }
 
+    @Test
+    void testConnectForInfoWithPrefetchingDisabled() throws Exception {
+        final Path cacheFolder = Files.createTempDirectory("test");
+        try {
+            Configuration config = Configuration.getInstance();
+            config.setProperty(Key.SOURCE_STATIC,
+                    MockStreamSource.class.getName());
+            config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+            config.setProperty(Key.SOURCE_CACHE_PREFETCH, false);
+            config.setProperty(Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY,
+                    RetrievalStrategy.CACHE.getConfigValue());
+            config.setProperty(Key.FILESYSTEMCACHE_PATHNAME,
+                    cacheFolder.toString());
+
+            final Source source = new SourceFactory().newSource(IDENTIFIER, null);
+            final StreamProcessor processor = new MockStreamProcessor();
+
+            assertNull(instance.connectForInfo(source, processor, IDENTIFIER, Format.get("jpg")));
+
+            assertTrue(processor.getStreamFactory() instanceof PathStreamFactory);
+            assertEqualSources(
+                    CacheFactory.getSourceCache().get().getSourceImageFile(IDENTIFIER).orElseThrow(),
+                    processor.getStreamFactory());
+        } finally {
+            recursiveDeleteOnExit(cacheFolder);
+        }
+    }
+
+    @Test
+    void testConnectForInfoWithPrefetchingEnabled() throws Exception {
+        final Path cacheFolder = Files.createTempDirectory("test");
+        try {
+            Configuration config = Configuration.getInstance();
+            config.setProperty(Key.SOURCE_STATIC,
+                    MockStreamSource.class.getName());
+            config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+            config.setProperty(Key.SOURCE_CACHE_PREFETCH, true);
+            config.setProperty(Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY,
+                    RetrievalStrategy.CACHE.getConfigValue());
+            config.setProperty(Key.FILESYSTEMCACHE_PATHNAME,
+                    cacheFolder.toString());
+
+            final Source source = new SourceFactory().newSource(IDENTIFIER, null);
+            final StreamProcessor processor = new MockStreamProcessor();
+
+            assertNull(instance.connectForInfo(source, processor, IDENTIFIER, Format.get("jpg")));
+
+            // The processor reads from the source...
+            assertFalse(processor.getStreamFactory() instanceof PathStreamFactory);
+            assertEqualSources(source.newStreamFactory(),
+                    processor.getStreamFactory());
+
+            // ...while the source image is downloaded in the background.
+            for (int i = 0; i < 100 &&
+                    ProcessorConnector.getNumPrefetchingImages() > 0; i++) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, ProcessorConnector.getNumPrefetchingImages());
+            assertEqualSources(
+                    CacheFactory.getSourceCache().get().getSourceImageFile(IDENTIFIER).orElseThrow(),
+                    source.newStreamFactory());
+        } finally {
+            recursiveDeleteOnExit(cacheFolder);
+        }
+    }
+
+    @Test
+    void testConnectForInfoWithPrefetchingEnabledAndSourceImageInSourceCache()
+            throws Exception {
+        final Path cacheFolder = Files.createTempDirectory("test");
+        try {
+            Configuration config = Configuration.getInstance();
+            config.setProperty(Key.SOURCE_STATIC,
+                    MockStreamSource.class.getName());
+            config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+            config.setProperty(Key.SOURCE_CACHE_PREFETCH, true);
+            config.setProperty(Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY,
+                    RetrievalStrategy.CACHE.getConfigValue());
+            config.setProperty(Key.FILESYSTEMCACHE_PATHNAME,
+                    cacheFolder.toString());
+
+            final Source source = new SourceFactory().newSource(IDENTIFIER, null);
+            instance.connect(source, new MockStreamProcessor(),
+                    IDENTIFIER, Format.get("jpg"));
+
+            final StreamProcessor processor = new MockStreamProcessor();
+            assertNull(instance.connectForInfo(source, processor, IDENTIFIER, Format.get("jpg")));
+
+            assertTrue(processor.getStreamFactory() instanceof PathStreamFactory);
+            assertEquals(0, ProcessorConnector.getNumPrefetchingImages());
+        } finally {
+            recursiveDeleteOnExit(cacheFolder);
+        }
+    }
+
     private void assertEqualSources(Path path, StreamFactory ss)
             throws IOException {
         assertEqualSources(Files.newInputStream(path), ss.newInputStream());
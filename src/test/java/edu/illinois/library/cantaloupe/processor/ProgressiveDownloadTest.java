@@ -0,0 +1,108 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
+import edu.illinois.library.cantaloupe.source.StreamFactory;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProgressiveDownloadTest extends BaseTest {
+
+    private ProgressiveDownload instance;
+    private Path tempFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        tempFile = Files.createTempFile("test", "tmp");
+        Files.delete(tempFile);
+
+        instance = new ProgressiveDownload(
+                new PathStreamFactory(TestUtil.getImage("jpg")),
+                tempFile, null, null);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    void testCancel() {
+        assertFalse(instance.isCancelled());
+        instance.cancel(true);
+        assertTrue(instance.isCancelled());
+    }
+
+    @Test
+    void testGet() throws Exception {
+        instance.downloadAsync();
+
+        Path actualFile = instance.get();
+        assertEquals(tempFile, actualFile);
+        assertEquals(Files.size(TestUtil.getImage("jpg")),
+                Files.size(actualFile));
+    }
+
+    @Test
+    void testGetStreamFactoryReadsWholeImage() throws Exception {
+        instance.downloadAsync();
+
+        final byte[] expected = Files.readAllBytes(TestUtil.getImage("jpg"));
+        try (ImageInputStream is =
+                     instance.getStreamFactory().newSeekableStream()) {
+            byte[] actual = new byte[expected.length];
+            is.readFully(actual);
+            assertArrayEquals(expected, actual);
+            assertEquals(-1, is.read());
+        }
+    }
+
+    @Test
+    void testGetStreamFactoryWithUncheckedExceptionFromSource()
+            throws Exception {
+        // A stream that supplies some bytes and then fails the way that e.g.
+        // an SDK client might, with an unchecked exception
+        final StreamFactory failingFactory = () -> new InputStream() {
+            private int count;
+            @Override
+            public int read() {
+                if (count++ < 100) {
+                    return 0;
+                }
+                throw new IllegalStateException("Connection reset");
+            }
+        };
+        instance = new ProgressiveDownload(failingFactory, tempFile,
+                null, null);
+        instance.downloadAsync();
+        instance.get();
+        assertTrue(instance.isDone());
+
+        try (ImageInputStream is =
+                     instance.getStreamFactory().newSeekableStream()) {
+            is.seek(100);
+            assertThrows(IOException.class, is::read);
+        }
+    }
+
+    @Test
+    void testIsDone() throws Exception {
+        assertFalse(instance.isDone());
+        instance.downloadAsync();
+        instance.get();
+        assertTrue(instance.isDone());
+    }
+
+}
@@ -0,0 +1,191 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.source.StreamFactory;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.apache.commons.io.input.NullInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.stream.ImageInputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetrievalStrategySelectorTest extends BaseTest {
+
+    private static final long SMALL = 1000;
+    private static final long LARGE = 1000000;
+
+    private static final StreamFactory NON_SEEKING_STREAM_FACTORY =
+            () -> new NullInputStream(8);
+
+    private static final StreamFactory SEEKING_STREAM_FACTORY =
+            new StreamFactory() {
+                @Override
+                public InputStream newInputStream() {
+                    return new NullInputStream(8);
+                }
+                @Override
+                public ImageInputStream newSeekableStream() {
+                    return null;
+                }
+                @Override
+                public boolean isSeekingDirect() {
+                    return true;
+                }
+            };
+
+    private RetrievalStrategySelector instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.PROCESSOR_AUTO_RETRIEVAL_HOT_ACCESSES, 3);
+        config.setProperty(Key.PROCESSOR_AUTO_RETRIEVAL_SMALL_SIZE, SMALL);
+        instance = new RetrievalStrategySelector();
+    }
+
+    /**
+     * Records two accesses to the given image, in separate bursts before now.
+     */
+    private void recordPriorAccesses(Identifier identifier) {
+        final long now = System.currentTimeMillis();
+        instance.recordAccess(identifier,
+                now - 2 * RetrievalStrategySelector.BURST_MSEC);
+        instance.recordAccess(identifier,
+                now - RetrievalStrategySelector.BURST_MSEC);
+    }
+
+    /* recordAccess() */
+
+    @Test
+    void testRecordAccess() {
+        final Identifier identifier = new Identifier("cats");
+        final long now = System.currentTimeMillis();
+        assertEquals(1, instance.recordAccess(identifier, now));
+        assertEquals(2, instance.recordAccess(identifier,
+                now + RetrievalStrategySelector.BURST_MSEC));
+        assertEquals(1, instance.recordAccess(new Identifier("dogs"), now));
+    }
+
+    @Test
+    void testRecordAccessWithinBurst() {
+        final Identifier identifier = new Identifier("cats");
+        final long now = System.currentTimeMillis();
+        assertEquals(1, instance.recordAccess(identifier, now));
+        assertEquals(1, instance.recordAccess(identifier, now + 1));
+        assertEquals(1, instance.recordAccess(identifier,
+                now + RetrievalStrategySelector.BURST_MSEC - 1));
+        assertEquals(2, instance.recordAccess(identifier,
+                now + RetrievalStrategySelector.BURST_MSEC));
+    }
+
+    @Test
+    void testRecordAccessAfterWindow() {
+        final Identifier identifier = new Identifier("cats");
+        final long now = System.currentTimeMillis();
+        instance.recordAccess(identifier, now);
+        instance.recordAccess(identifier,
+                now + RetrievalStrategySelector.BURST_MSEC);
+        assertEquals(1, instance.recordAccess(identifier,
+                now + RetrievalStrategySelector.ACCESS_WINDOW_MSEC + 1));
+    }
+
+    /* select() */
+
+    @Test
+    void testSelectWithSmallImageAndStreamProcessor() {
+        assertEquals(RetrievalStrategy.STREAM,
+                instance.select(new Identifier("cats"), SMALL,
+                        NON_SEEKING_STREAM_FACTORY, new MockStreamProcessor(),
+                        true));
+    }
+
+    @Test
+    void testSelectWithLargeImageAndStreamProcessor() {
+        assertEquals(RetrievalStrategy.DOWNLOAD,
+                instance.select(new Identifier("cats"), LARGE,
+                        NON_SEEKING_STREAM_FACTORY, new MockStreamProcessor(),
+                        true));
+    }
+
+    @Test
+    void testSelectWithUnknownLength() {
+        assertEquals(RetrievalStrategy.DOWNLOAD,
+                instance.select(new Identifier("cats"), -1,
+                        NON_SEEKING_STREAM_FACTORY, new MockStreamProcessor(),
+                        true));
+    }
+
+    @Test
+    void testSelectWithLargeImageAndDirectSeeking() {
+        final MockStreamProcessor processor = new MockStreamProcessor();
+        processor.setSeeking(true);
+        assertEquals(RetrievalStrategy.STREAM,
+                instance.select(new Identifier("cats"), LARGE,
+                        SEEKING_STREAM_FACTORY, processor, true));
+    }
+
+    @Test
+    void testSelectWithSmallImageAndFileProcessor() {
+        assertEquals(RetrievalStrategy.DOWNLOAD,
+                instance.select(new Identifier("cats"), SMALL,
+                        NON_SEEKING_STREAM_FACTORY, new MockFileProcessor(),
+                        true));
+    }
+
+    @Test
+    void testSelectWithHotImage() {
+        final Identifier identifier = new Identifier("cats");
+        recordPriorAccesses(identifier);
+        assertEquals(RetrievalStrategy.CACHE,
+                instance.select(identifier, LARGE,
+                        NON_SEEKING_STREAM_FACTORY, new MockStreamProcessor(),
+                        true));
+    }
+
+    @Test
+    void testSelectWithHotImageAndSourceCacheUnavailable() {
+        final Identifier identifier = new Identifier("cats");
+        recordPriorAccesses(identifier);
+        assertEquals(RetrievalStrategy.DOWNLOAD,
+                instance.select(identifier, LARGE,
+                        NON_SEEKING_STREAM_FACTORY, new MockStreamProcessor(),
+                        false));
+    }
+
+    @Test
+    void testSelectWithRepeatedConnectionsInBurst() {
+        final Identifier identifier = new Identifier("cats");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(RetrievalStrategy.DOWNLOAD,
+                    instance.select(identifier, LARGE,
+                            NON_SEEKING_STREAM_FACTORY,
+                            new MockStreamProcessor(), true));
+        }
+    }
+
+    /* getDecisionCounts() */
+
+    @Test
+    void testGetDecisionCounts() {
+        instance.select(new Identifier("cats"), SMALL,
+                NON_SEEKING_STREAM_FACTORY, new MockStreamProcessor(), true);
+        instance.select(new Identifier("dogs"), LARGE,
+                NON_SEEKING_STREAM_FACTORY, new MockStreamProcessor(), true);
+        instance.select(new Identifier("cows"), SMALL,
+                NON_SEEKING_STREAM_FACTORY, new MockStreamProcessor(), true);
+
+        Map<String,Long> counts = instance.getDecisionCounts();
+        assertEquals(3, counts.size());
+        assertEquals(2, counts.get(RetrievalStrategy.STREAM.getConfigValue()));
+        assertEquals(1, counts.get(RetrievalStrategy.DOWNLOAD.getConfigValue()));
+        assertEquals(0, counts.get(RetrievalStrategy.CACHE.getConfigValue()));
+    }
+
+}
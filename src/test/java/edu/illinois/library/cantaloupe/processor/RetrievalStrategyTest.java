@@ -18,6 +18,15 @@ public class RetrievalStrategyTest extends BaseTest {
         assertEquals(RetrievalStrategy.ABORT, RetrievalStrategy.from(key));
     }
 
+    @Test
+    void testFromWithAutoStrategy() {
+        final Configuration config = Configuration.getInstance();
+        final Key key = Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY;
+        config.setProperty(key, RetrievalStrategy.AUTO.getConfigValue());
+
+        assertEquals(RetrievalStrategy.AUTO, RetrievalStrategy.from(key));
+    }
+
     @Test
     void testFromWithCacheStrategy() {
         final Configuration config = Configuration.getInstance();
@@ -36,6 +45,24 @@ public class RetrievalStrategyTest extends BaseTest {
         assertEquals(RetrievalStrategy.DOWNLOAD, RetrievalStrategy.from(key));
     }
 
+    @Test
+    void testFromWithProgressiveStrategy() {
+        final Configuration config = Configuration.getInstance();
+        final Key key = Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY;
+        config.setProperty(key, RetrievalStrategy.PROGRESSIVE.getConfigValue());
+
+        assertEquals(RetrievalStrategy.PROGRESSIVE, RetrievalStrategy.from(key));
+    }
+
+    @Test
+    void testFromWithSpillStrategy() {
+        final Configuration config = Configuration.getInstance();
+        final Key key = Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY;
+        config.setProperty(key, RetrievalStrategy.SPILL.getConfigValue());
+
+        assertEquals(RetrievalStrategy.SPILL, RetrievalStrategy.from(key));
+    }
+
     @Test
     void testFromWithStreamStrategy() {
         final Configuration config = Configuration.getInstance();
@@ -48,8 +75,11 @@ public class RetrievalStrategyTest extends BaseTest {
     @Test
     void testGetConfigValue() {
         assertEquals("AbortStrategy", RetrievalStrategy.ABORT.getConfigValue());
+        assertEquals("AutoStrategy", RetrievalStrategy.AUTO.getConfigValue());
         assertEquals("CacheStrategy", RetrievalStrategy.CACHE.getConfigValue());
         assertEquals("DownloadStrategy", RetrievalStrategy.DOWNLOAD.getConfigValue());
+        assertEquals("ProgressiveStrategy", RetrievalStrategy.PROGRESSIVE.getConfigValue());
+        assertEquals("SpillStrategy", RetrievalStrategy.SPILL.getConfigValue());
         assertEquals("StreamStrategy", RetrievalStrategy.STREAM.getConfigValue());
     }
 
@@ -0,0 +1,141 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedDownloadTest extends BaseTest {
+
+    private static final String KEY = SharedDownloadTest.class.getName();
+
+    private Path tempFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        tempFile = Files.createTempFile("test", "tmp");
+        Files.delete(tempFile);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        Files.deleteIfExists(tempFile);
+    }
+
+    private TempFileDownload newDownload() {
+        return new TempFileDownload(
+                new PathStreamFactory(TestUtil.getImage("jpg")), tempFile);
+    }
+
+    @Test
+    void testAcquireWithSameKeySharesDownload() {
+        SharedDownload<TempFileDownload> dl1 =
+                SharedDownload.acquire(KEY, this::newDownload, true);
+        SharedDownload<TempFileDownload> dl2 =
+                SharedDownload.acquire(KEY, this::newDownload, true);
+        try {
+            assertSame(dl1.getDownload(), dl2.getDownload());
+        } finally {
+            dl1.release();
+            dl2.release();
+        }
+    }
+
+    @Test
+    void testAcquireWithDifferentKeysDoesNotShareDownload() {
+        SharedDownload<TempFileDownload> dl1 =
+                SharedDownload.acquire(KEY + "1", this::newDownload, true);
+        SharedDownload<TempFileDownload> dl2 =
+                SharedDownload.acquire(KEY + "2", this::newDownload, true);
+        try {
+            assertNotSame(dl1.getDownload(), dl2.getDownload());
+        } finally {
+            dl1.release();
+            dl2.release();
+        }
+    }
+
+    @Test
+    void testReleaseClosesCloseableDownloadAfterLastRelease() throws Exception {
+        final Supplier<SpillDownload> supplier = () ->
+                new SpillDownload(
+                        new PathStreamFactory(TestUtil.getImage("jpg")),
+                        tempFile, 0, Long.MAX_VALUE);
+        SharedDownload<SpillDownload> dl1 =
+                SharedDownload.acquire(KEY, supplier, false);
+        SharedDownload<SpillDownload> dl2 =
+                SharedDownload.acquire(KEY, supplier, false);
+        dl1.getDownload().downloadSync();
+        dl2.getDownload().downloadSync();
+        assertTrue(Files.exists(tempFile));
+
+        dl1.release();
+        assertTrue(Files.exists(tempFile));
+        dl2.release();
+        assertFalse(Files.exists(tempFile));
+    }
+
+    @Test
+    void testReleaseDeletesTemporaryFileAfterLastRelease() throws Exception {
+        SharedDownload<TempFileDownload> dl1 =
+                SharedDownload.acquire(KEY, this::newDownload, true);
+        SharedDownload<TempFileDownload> dl2 =
+                SharedDownload.acquire(KEY, this::newDownload, true);
+        dl1.getDownload().downloadSync();
+        dl2.getDownload().downloadSync();
+        assertTrue(Files.exists(dl1.get()));
+
+        dl1.release();
+        assertTrue(Files.exists(tempFile));
+        dl2.release();
+        assertFalse(Files.exists(tempFile));
+    }
+
+    @Test
+    void testReleaseDoesNotDeleteNonTemporaryFile() throws Exception {
+        SharedDownload<TempFileDownload> dl =
+                SharedDownload.acquire(KEY, this::newDownload, false);
+        dl.getDownload().downloadSync();
+        dl.release();
+        assertTrue(Files.exists(tempFile));
+    }
+
+    @Test
+    void testReleaseCalledMultipleTimes() throws Exception {
+        SharedDownload<TempFileDownload> dl1 =
+                SharedDownload.acquire(KEY, this::newDownload, true);
+        SharedDownload<TempFileDownload> dl2 =
+                SharedDownload.acquire(KEY, this::newDownload, true);
+        dl1.getDownload().downloadSync();
+        dl1.release();
+        dl1.release();
+        assertTrue(Files.exists(tempFile));
+        dl2.release();
+    }
+
+    @Test
+    void testCancelWhenShared() {
+        SharedDownload<TempFileDownload> dl1 =
+                SharedDownload.acquire(KEY, this::newDownload, true);
+        SharedDownload<TempFileDownload> dl2 =
+                SharedDownload.acquire(KEY, this::newDownload, true);
+        try {
+            assertFalse(dl1.cancel(true));
+            assertFalse(dl1.isCancelled());
+        } finally {
+            dl1.release();
+            dl2.release();
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
+import edu.illinois.library.cantaloupe.source.StreamFactory;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpillDownloadTest extends BaseTest {
+
+    private Path sourceFile;
+    private Path tempFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        sourceFile = TestUtil.getImage("jpg");
+        tempFile   = Files.createTempFile("test", "tmp");
+        Files.delete(tempFile);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        Files.deleteIfExists(tempFile);
+    }
+
+    private SpillDownload newInstance(long threshold) {
+        return newInstance(threshold, Long.MAX_VALUE);
+    }
+
+    private SpillDownload newInstance(long threshold, long maxMemory) {
+        return new SpillDownload(new PathStreamFactory(sourceFile),
+                tempFile, threshold, maxMemory);
+    }
+
+    private void writeSourceFile(int length) throws IOException {
+        sourceFile = Files.createTempFile("test", "tmp");
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Files.write(sourceFile, bytes);
+    }
+
+    private void assertReadsSourceFile(StreamFactory streamFactory)
+            throws IOException {
+        final byte[] expected = Files.readAllBytes(sourceFile);
+        try (InputStream is = streamFactory.newInputStream()) {
+            assertArrayEquals(expected, is.readAllBytes());
+        }
+        try (ImageInputStream iis = streamFactory.newSeekableStream()) {
+            assertEquals(expected.length, iis.length());
+            iis.seek(expected.length - 1);
+            assertEquals(expected[expected.length - 1] & 0xff, iis.read());
+        }
+    }
+
+    @Test
+    void testCancel() {
+        SpillDownload instance = newInstance(Long.MAX_VALUE);
+        assertFalse(instance.isCancelled());
+        instance.cancel(true);
+        assertTrue(instance.isCancelled());
+    }
+
+    @Test
+    void testCloseDeletesSpilledFile() throws Exception {
+        SpillDownload instance = newInstance(0);
+        instance.downloadSync();
+        assertTrue(Files.exists(tempFile));
+        instance.close();
+        assertFalse(Files.exists(tempFile));
+    }
+
+    @Test
+    void testDownloadSyncWithContentBelowThreshold() throws Exception {
+        try (SpillDownload instance = newInstance(Long.MAX_VALUE)) {
+            instance.downloadSync();
+            assertTrue(instance.isDone());
+            assertFalse(instance.isSpilled());
+            assertNull(instance.get());
+            assertFalse(Files.exists(tempFile));
+            assertReadsSourceFile(instance.getStreamFactory());
+        }
+    }
+
+    @Test
+    void testDownloadSyncWithContentAboveThreshold() throws Exception {
+        try (SpillDownload instance = newInstance(0)) {
+            instance.downloadSync();
+            assertTrue(instance.isDone());
+            assertTrue(instance.isSpilled());
+            assertEquals(tempFile, instance.get());
+            assertEquals(Files.size(sourceFile), Files.size(tempFile));
+            assertReadsSourceFile(instance.getStreamFactory());
+        }
+    }
+
+    @Test
+    void testDownloadSyncWithContentAboveMultiChunkThreshold()
+            throws Exception {
+        writeSourceFile(SpillDownload.CHUNK_SIZE * 3 + 7);
+        try {
+            try (SpillDownload instance =
+                         newInstance(SpillDownload.CHUNK_SIZE * 2)) {
+                instance.downloadSync();
+                assertTrue(instance.isSpilled());
+                assertReadsSourceFile(instance.getStreamFactory());
+            }
+            try (SpillDownload instance =
+                         newInstance(SpillDownload.CHUNK_SIZE * 4)) {
+                instance.downloadSync();
+                assertFalse(instance.isSpilled());
+                assertReadsSourceFile(instance.getStreamFactory());
+            }
+        } finally {
+            Files.deleteIfExists(sourceFile);
+        }
+    }
+
+    @Test
+    void testDownloadSyncWithContentEqualToThreshold() throws Exception {
+        final long length = Files.size(sourceFile);
+        try (SpillDownload instance = newInstance(length)) {
+            instance.downloadSync();
+            assertFalse(instance.isSpilled());
+            assertReadsSourceFile(instance.getStreamFactory());
+        }
+        try (SpillDownload instance = newInstance(length - 1)) {
+            instance.downloadSync();
+            assertTrue(instance.isSpilled());
+            assertReadsSourceFile(instance.getStreamFactory());
+        }
+    }
+
+    @Test
+    void testDownloadSyncWithMemoryBudgetExhausted() throws Exception {
+        writeSourceFile(SpillDownload.CHUNK_SIZE * 2 + 7);
+        try (SpillDownload instance = newInstance(
+                Long.MAX_VALUE,
+                SpillDownload.getMemoryInUse() + SpillDownload.CHUNK_SIZE)) {
+            instance.downloadSync();
+            assertTrue(instance.isSpilled());
+            assertEquals(Files.size(sourceFile), Files.size(tempFile));
+            assertReadsSourceFile(instance.getStreamFactory());
+        } finally {
+            Files.deleteIfExists(sourceFile);
+        }
+    }
+
+    @Test
+    void testCloseReleasesMemory() throws Exception {
+        final long initialMemory = SpillDownload.getMemoryInUse();
+        SpillDownload instance = newInstance(Long.MAX_VALUE);
+        instance.downloadSync();
+        assertTrue(SpillDownload.getMemoryInUse() > initialMemory);
+        instance.close();
+        assertEquals(initialMemory, SpillDownload.getMemoryInUse());
+    }
+
+    @Test
+    void testIsDone() throws Exception {
+        try (SpillDownload instance = newInstance(Long.MAX_VALUE)) {
+            assertFalse(instance.isDone());
+            instance.downloadSync();
+            assertTrue(instance.isDone());
+        }
+    }
+
+}
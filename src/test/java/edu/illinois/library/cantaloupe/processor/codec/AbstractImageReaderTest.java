@@ -160,6 +160,35 @@ public abstract class AbstractImageReaderTest extends BaseTest {
         assertTrue(hints.contains(ReaderHint.ALREADY_CROPPED));
     }
 
+    @Test
+    public void testRead2WithScaleOfHalf() throws Exception {
+        Crop crop             = new CropByPixels(0, 0, 64, 56);
+        Scale scale           = new ScaleByPercent(0.5);
+        ScaleConstraint sc    = new ScaleConstraint(1, 1);
+        ReductionFactor rf    = new ReductionFactor();
+        Set<ReaderHint> hints = new HashSet<>();
+
+        BufferedImage image = instance.read(0, crop, scale, sc, rf, hints);
+
+        assertEquals(32, image.getWidth());
+        assertEquals(28, image.getHeight());
+        assertEquals(1, rf.factor);
+    }
+
+    @Test
+    public void testRead2WithScaleOfHalfAndNoCrop() throws Exception {
+        Scale scale           = new ScaleByPercent(0.5);
+        ScaleConstraint sc    = new ScaleConstraint(1, 1);
+        ReductionFactor rf    = new ReductionFactor();
+        Set<ReaderHint> hints = new HashSet<>();
+
+        BufferedImage image = instance.read(0, null, scale, sc, rf, hints);
+
+        assertEquals(32, image.getWidth());
+        assertEquals(28, image.getHeight());
+        assertEquals(1, rf.factor);
+    }
+
     @Test
     void testRead2WithIncompatibleImage() throws Exception {
         Crop crop             = new CropByPercent();
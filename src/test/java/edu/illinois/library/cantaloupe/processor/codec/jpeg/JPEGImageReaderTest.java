@@ -2,14 +2,21 @@ package edu.illinois.library.cantaloupe.processor.codec.jpeg;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.image.Compression;
+import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
+import edu.illinois.library.cantaloupe.operation.ReductionFactor;
+import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
 import edu.illinois.library.cantaloupe.processor.codec.AbstractIIOImageReader;
 import edu.illinois.library.cantaloupe.processor.codec.AbstractImageReaderTest;
+import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.jupiter.api.Test;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,6 +91,29 @@ public class JPEGImageReaderTest extends AbstractImageReaderTest {
 
     /* read() */
 
+    @Test
+    public void testRead2WithDecodeGrayHint() throws Exception {
+        Set<ReaderHint> hints = EnumSet.of(ReaderHint.DECODE_GRAY);
+        BufferedImage result = instance.read(0,
+                new CropByPixels(10, 10, 40, 40), new ScaleByPercent(),
+                new ScaleConstraint(1, 1), new ReductionFactor(), hints);
+        assertEquals(40, result.getWidth());
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, result.getType());
+    }
+
+    @Test
+    public void testRead2WithDecodeGrayHintAndYCCKImage() throws Exception {
+        instance = new JPEGImageReader();
+        instance.setSource(TestUtil.getImage("jpg-ycck.jpg"));
+
+        Set<ReaderHint> hints = EnumSet.of(ReaderHint.DECODE_GRAY);
+        BufferedImage result = instance.read(0,
+                new CropByPixels(10, 10, 40, 40), new ScaleByPercent(),
+                new ScaleConstraint(1, 1), new ReductionFactor(), hints);
+        assertEquals(40, result.getWidth());
+        assertNotEquals(BufferedImage.TYPE_BYTE_GRAY, result.getType());
+    }
+
     @Test
     public void testReadWithYCCKImage() throws Exception {
         instance = new JPEGImageReader();
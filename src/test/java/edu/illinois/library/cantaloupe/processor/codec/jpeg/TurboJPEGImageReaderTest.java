@@ -286,6 +286,16 @@ public class TurboJPEGImageReaderTest extends BaseTest {
         assertEquals(30, roiWithinImage.intHeight());
     }
 
+    @Test
+    public void testReadAsBufferedImageWithGrayscaleOutput() throws Exception {
+        instance.setUseGrayscaleOutput(true);
+
+        BufferedImage image = instance.readAsBufferedImage(new Rectangle());
+        assertEquals(64, image.getWidth());
+        assertEquals(56, image.getHeight());
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+    }
+
     @Test
     public void testReadAsBufferedImageWithSupportedScale() throws Exception {
         instance.setScale(new Rational(1, 4));
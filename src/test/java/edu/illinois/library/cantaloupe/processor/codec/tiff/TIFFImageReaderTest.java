@@ -1,11 +1,13 @@
 package edu.illinois.library.cantaloupe.processor.codec.tiff;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Compression;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.ScaleConstraint;
 import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.CropByPercent;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.operation.Scale;
 import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
@@ -199,6 +201,91 @@ public class TIFFImageReaderTest extends AbstractImageReaderTest {
         assertNotEquals(image1.getWidth(), image2.getWidth());
     }
 
+    @Test
+    void testRead2WithStripedImageLargerThanStripThreshold() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_STRIP_THRESHOLD, 1);
+        instance.setSource(
+                TestUtil.getImage("tif-rgb-1res-64x56x8-striped-lzw.tif"));
+        ReductionFactor reductionFactor = new ReductionFactor();
+        Set<ReaderHint> hints           = new HashSet<>();
+        BufferedImage image = instance.read(0, new CropByPercent(),
+                new ScaleByPercent(0.5), new ScaleConstraint(1, 1),
+                reductionFactor, hints);
+
+        assertEquals(32, image.getWidth());
+        assertEquals(28, image.getHeight());
+        assertEquals(1, reductionFactor.factor);
+        assertTrue(hints.contains(ReaderHint.ALREADY_CROPPED));
+    }
+
+    @Test
+    void testRead2WithStripedImageSmallerThanStripThreshold()
+            throws Exception {
+        instance.setSource(
+                TestUtil.getImage("tif-rgb-1res-64x56x8-striped-lzw.tif"));
+        ReductionFactor reductionFactor = new ReductionFactor();
+        Set<ReaderHint> hints           = new HashSet<>();
+        BufferedImage image = instance.read(0, new CropByPercent(),
+                new ScaleByPercent(0.5), new ScaleConstraint(1, 1),
+                reductionFactor, hints);
+
+        // Subsampled rather than read in strips
+        assertEquals(32, image.getWidth());
+        assertEquals(28, image.getHeight());
+        assertEquals(1, reductionFactor.factor);
+    }
+
+    @Test
+    void testRead2WithTiledImageLargerThanStripThreshold() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_STRIP_THRESHOLD, 1);
+        instance.setSource(
+                TestUtil.getImage("tif-rgb-1res-64x56x8-tiled-lzw.tif"));
+        ReductionFactor reductionFactor = new ReductionFactor();
+        BufferedImage image = instance.read(0, new CropByPercent(),
+                new ScaleByPercent(0.5), new ScaleConstraint(1, 1),
+                reductionFactor, new HashSet<>());
+
+        // Subsampled rather than read in strips
+        assertEquals(32, image.getWidth());
+        assertEquals(1, reductionFactor.factor);
+    }
+
+    @Test
+    void testRead2WithTiledImageLargerThanParallelTileThreshold()
+            throws Exception {
+        final Configuration config = Configuration.getInstance();
+        final Path fixture =
+                TestUtil.getImage("tif-rgb-1res-64x56x8-tiled-lzw.tif");
+        for (double percent : new double[] { 1, 0.5, 0.125 }) {
+            config.setProperty(Key.PROCESSOR_PARALLEL_TILE_THRESHOLD, 0);
+            instance.setSource(fixture);
+            ReductionFactor expectedRF = new ReductionFactor();
+            BufferedImage expected = instance.read(0,
+                    new CropByPixels(5, 7, 50, 40), new ScaleByPercent(percent),
+                    new ScaleConstraint(1, 1), expectedRF, new HashSet<>());
+
+            config.setProperty(Key.PROCESSOR_PARALLEL_TILE_THRESHOLD, 1);
+            instance.setSource(fixture);
+            ReductionFactor actualRF = new ReductionFactor();
+            Set<ReaderHint> hints    = new HashSet<>();
+            BufferedImage actual = instance.read(0,
+                    new CropByPixels(5, 7, 50, 40), new ScaleByPercent(percent),
+                    new ScaleConstraint(1, 1), actualRF, hints);
+
+            assertEquals(expectedRF.factor, actualRF.factor);
+            assertTrue(hints.contains(ReaderHint.ALREADY_CROPPED));
+            assertEquals(expected.getWidth(), actual.getWidth());
+            assertEquals(expected.getHeight(), actual.getHeight());
+            for (int y = 0; y < expected.getHeight(); y++) {
+                for (int x = 0; x < expected.getWidth(); x++) {
+                    assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+                }
+            }
+        }
+    }
+
     /* readSequence() */
 
     @Test
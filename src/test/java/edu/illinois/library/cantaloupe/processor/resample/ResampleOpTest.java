@@ -0,0 +1,377 @@
+package edu.illinois.library.cantaloupe.processor.resample;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.util.ByteArrayPool;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResampleOpTest extends BaseTest {
+
+    private static BufferedImage newImage(int width, int height, int type,
+                                          int argb) {
+        final BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        return image;
+    }
+
+    private static void assertUniform(BufferedImage image, int argb) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                assertEquals(argb, image.getRGB(x, y),
+                        "Pixel at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testFilterWithTooSmallTargetSize() {
+        BufferedImage image = newImage(10, 10, BufferedImage.TYPE_3BYTE_BGR,
+                0xff336699);
+        ResampleOp instance = new ResampleOp(2, 10, false);
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.filter(image, null));
+    }
+
+    @Test
+    void testFilterDownscalesRGB() {
+        BufferedImage image = newImage(1000, 800, BufferedImage.TYPE_3BYTE_BGR,
+                0xff336699);
+        ResampleOp instance = new ResampleOp(250, 200, false);
+        BufferedImage result = instance.filter(image, null);
+        assertEquals(250, result.getWidth());
+        assertEquals(200, result.getHeight());
+        assertUniform(result, 0xff336699);
+    }
+
+    @Test
+    void testFilterUpscalesRGB() {
+        BufferedImage image = newImage(50, 40, BufferedImage.TYPE_3BYTE_BGR,
+                0xff336699);
+        ResampleOp instance = new ResampleOp(300, 240, false);
+        BufferedImage result = instance.filter(image, null);
+        assertEquals(300, result.getWidth());
+        assertEquals(240, result.getHeight());
+        assertUniform(result, 0xff336699);
+    }
+
+    @Test
+    void testFilterIsRepeatable() {
+        final Random random = new Random(0);
+        BufferedImage image = new BufferedImage(300, 200,
+                BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 300; x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        // The second invocation reuses the pooled buffers and cached weights
+        // of the first.
+        ResampleOp instance = new ResampleOp(120, 80, false);
+        byte[] result1 = ((DataBufferByte) instance.filter(image, null)
+                .getRaster().getDataBuffer()).getData();
+        byte[] result2 = ((DataBufferByte) instance.filter(image, null)
+                .getRaster().getDataBuffer()).getData();
+        assertArrayEquals(result1, result2);
+    }
+
+    @Test
+    void testFilterReturnsBuffersToPool() {
+        final ByteArrayPool pool = ByteArrayPool.getInstance();
+        BufferedImage image = newImage(512, 512, BufferedImage.TYPE_3BYTE_BGR,
+                0xff336699);
+        ResampleOp instance = new ResampleOp(256, 256, false);
+        instance.filter(image, null);
+        final long retainedBytes = pool.getRetainedBytes();
+        assertTrue(retainedBytes > 0);
+        instance.filter(image, null);
+        assertEquals(retainedBytes, pool.getRetainedBytes());
+    }
+
+    @Test
+    void testFilterWithLinearLight() {
+        // Alternating black and white columns average to 50% luminance,
+        // which is 188 in sRGB (as opposed to 128 in non-linear space).
+        BufferedImage image = newImage(400, 300, BufferedImage.TYPE_3BYTE_BGR,
+                0xff000000);
+        for (int y = 0; y < 300; y++) {
+            for (int x = 0; x < 400; x += 2) {
+                image.setRGB(x, y, 0xffffffff);
+            }
+        }
+        ResampleOp instance = new ResampleOp(100, 75, false);
+        instance.setFilter(ResampleFilters.getBoxFilter());
+        instance.setLinearLight(true);
+        BufferedImage result = instance.filter(image, null);
+        assertEquals(BufferedImage.TYPE_3BYTE_BGR, result.getType());
+        for (int y = 10; y < 65; y++) {
+            for (int x = 10; x < 90; x++) {
+                assertEquals(0xffbcbcbc, result.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testFilterWithLinearLightPreservesUniformColor() {
+        BufferedImage image = newImage(640, 480, BufferedImage.TYPE_4BYTE_ABGR,
+                0x80336699);
+        ResampleOp instance = new ResampleOp(320, 240, false);
+        instance.setLinearLight(true);
+        BufferedImage result = instance.filter(image, null);
+        assertUniform(result, 0x80336699);
+    }
+
+    @Test
+    void testSupportsLinearLight() {
+        assertTrue(ResampleOp.supportsLinearLight(new BufferedImage(
+                10, 10, BufferedImage.TYPE_3BYTE_BGR)));
+        assertTrue(ResampleOp.supportsLinearLight(new BufferedImage(
+                10, 10, BufferedImage.TYPE_INT_ARGB)));
+        assertTrue(ResampleOp.supportsLinearLight(new BufferedImage(
+                10, 10, BufferedImage.TYPE_BYTE_GRAY)));
+        assertTrue(ResampleOp.supportsLinearLight(new BufferedImage(
+                10, 10, BufferedImage.TYPE_BYTE_INDEXED)));
+        assertFalse(ResampleOp.supportsLinearLight(new BufferedImage(
+                10, 10, BufferedImage.TYPE_USHORT_GRAY)));
+        assertFalse(ResampleOp.supportsLinearLight(new BufferedImage(
+                10, 10, BufferedImage.TYPE_INT_ARGB_PRE)));
+    }
+
+    @Test
+    void testSupports16BitSamples() {
+        assertTrue(ResampleOp.supports16BitSamples(new BufferedImage(
+                10, 10, BufferedImage.TYPE_USHORT_GRAY)));
+        assertTrue(ResampleOp.supports16BitSamples(
+                new16BitRGBAImage(10, 10)));
+        assertFalse(ResampleOp.supports16BitSamples(new BufferedImage(
+                10, 10, BufferedImage.TYPE_3BYTE_BGR)));
+        assertFalse(ResampleOp.supports16BitSamples(new BufferedImage(
+                10, 10, BufferedImage.TYPE_USHORT_565_RGB)));
+    }
+
+    private static BufferedImage new16BitRGBAImage(int width, int height) {
+        ColorModel cm = new ComponentColorModel(
+                ColorSpace.getInstance(ColorSpace.CS_sRGB), true, false,
+                Transparency.TRANSLUCENT, DataBuffer.TYPE_USHORT);
+        return new BufferedImage(cm,
+                cm.createCompatibleWritableRaster(width, height), false, null);
+    }
+
+    @Test
+    void testFilterWith16BitImage() {
+        BufferedImage image = new16BitRGBAImage(640, 480);
+        WritableRaster raster = image.getRaster();
+        int[] pixel = { 0x3333, 0x6666, 0x9999, 0x8080 };
+        for (int y = 0; y < 480; y++) {
+            for (int x = 0; x < 640; x++) {
+                raster.setPixel(x, y, pixel);
+            }
+        }
+        ResampleOp instance = new ResampleOp(320, 240, false);
+        BufferedImage result = instance.filter(image, null);
+        assertEquals(BufferedImage.TYPE_4BYTE_ABGR, result.getType());
+        assertUniform(result, 0x80336699);
+    }
+
+    @Test
+    void testFilterWith16BitGrayImage() {
+        BufferedImage image = new BufferedImage(700, 500,
+                BufferedImage.TYPE_USHORT_GRAY);
+        WritableRaster raster = image.getRaster();
+        for (int y = 0; y < 500; y++) {
+            for (int x = 0; x < 700; x++) {
+                raster.setSample(x, y, 0, 0x8080);
+            }
+        }
+        ResampleOp instance = new ResampleOp(70, 50, false);
+        BufferedImage result = instance.filter(image, null);
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, result.getType());
+        for (int y = 0; y < result.getHeight(); y++) {
+            for (int x = 0; x < result.getWidth(); x++) {
+                assertEquals(0x80, result.getRaster().getSample(x, y, 0));
+            }
+        }
+    }
+
+    @Test
+    void testFilterWithAlpha() {
+        BufferedImage image = newImage(640, 480, BufferedImage.TYPE_4BYTE_ABGR,
+                0x80336699);
+        ResampleOp instance = new ResampleOp(320, 240, false);
+        BufferedImage result = instance.filter(image, null);
+        assertTrue(result.getColorModel().hasAlpha());
+        assertUniform(result, 0x80336699);
+    }
+
+    @Test
+    void testFilterWithGray() {
+        BufferedImage image = newImage(700, 500, BufferedImage.TYPE_BYTE_GRAY,
+                0xff808080);
+        ResampleOp instance = new ResampleOp(70, 50, false);
+        BufferedImage result = instance.filter(image, null);
+        assertEquals(1, result.getSampleModel().getNumBands());
+        final int expectedSample = image.getRaster().getSample(0, 0, 0);
+        Raster raster = result.getRaster();
+        for (int y = 0; y < result.getHeight(); y++) {
+            for (int x = 0; x < result.getWidth(); x++) {
+                assertEquals(expectedSample, raster.getSample(x, y, 0));
+            }
+        }
+    }
+
+    @Test
+    void testFilterPreservesEdges() {
+        // Left half black, right half white.
+        BufferedImage image = newImage(800, 600, BufferedImage.TYPE_3BYTE_BGR,
+                0xff000000);
+        for (int y = 0; y < 600; y++) {
+            for (int x = 400; x < 800; x++) {
+                image.setRGB(x, y, 0xffffffff);
+            }
+        }
+        ResampleOp instance = new ResampleOp(200, 150, false);
+        instance.setFilter(ResampleFilters.getBoxFilter());
+        BufferedImage result = instance.filter(image, null);
+        for (int y = 0; y < 150; y++) {
+            assertEquals(0xff000000, result.getRGB(10, y));
+            assertEquals(0xffffffff, result.getRGB(190, y));
+        }
+    }
+
+    /* newStripResampler() */
+
+    @Test
+    void testStripResamplerMatchesFilter() {
+        final Random random = new Random(0);
+        BufferedImage image = new BufferedImage(300, 500,
+                BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < 500; y++) {
+            for (int x = 0; x < 300; x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        ResampleOp instance = new ResampleOp(100, 90, false);
+        instance.setFilter(ResampleFilters.getLanczos3Filter());
+        BufferedImage expected = instance.filter(image, null);
+
+        // 500 rows don't divide evenly into 64-row strips.
+        final int stripHeight = 64;
+        final BufferedImage actual;
+        try (ResampleOp.StripResampler resampler =
+                     instance.newStripResampler(300, 500, stripHeight)) {
+            for (int y = 0; y < 500; y += stripHeight) {
+                resampler.add(image.getSubimage(
+                        0, y, 300, Math.min(stripHeight, 500 - y)));
+            }
+            actual = resampler.getResult();
+        }
+
+        assertEquals(100, actual.getWidth());
+        assertEquals(90, actual.getHeight());
+        for (int y = 0; y < 90; y++) {
+            for (int x = 0; x < 100; x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y),
+                        "Pixel at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testStripResamplerWithLinearLight() {
+        BufferedImage image = newImage(300, 200, BufferedImage.TYPE_BYTE_GRAY,
+                0xff000000);
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 300; x += 2) {
+                image.setRGB(x, y, 0xffffffff);
+            }
+        }
+        ResampleOp instance = new ResampleOp(100, 50, false);
+        instance.setLinearLight(true);
+        BufferedImage expected = instance.filter(image, null);
+
+        final BufferedImage actual;
+        try (ResampleOp.StripResampler resampler =
+                     instance.newStripResampler(300, 200, 25)) {
+            for (int y = 0; y < 200; y += 25) {
+                resampler.add(image.getSubimage(0, y, 300, 25));
+            }
+            actual = resampler.getResult();
+        }
+        for (int y = 0; y < 50; y++) {
+            for (int x = 0; x < 100; x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testStripResamplerWithTooTallStrip() {
+        BufferedImage strip = newImage(100, 20, BufferedImage.TYPE_3BYTE_BGR,
+                0xff336699);
+        ResampleOp instance = new ResampleOp(50, 50, false);
+        try (ResampleOp.StripResampler resampler =
+                     instance.newStripResampler(100, 100, 10)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> resampler.add(strip));
+        }
+    }
+
+    @Test
+    void testStripResamplerWithStripOfWrongWidth() {
+        BufferedImage strip = newImage(90, 10, BufferedImage.TYPE_3BYTE_BGR,
+                0xff336699);
+        ResampleOp instance = new ResampleOp(50, 50, false);
+        try (ResampleOp.StripResampler resampler =
+                     instance.newStripResampler(100, 100, 10)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> resampler.add(strip));
+        }
+    }
+
+    @Test
+    void testStripResamplerGetResultWithMissingStrips() {
+        BufferedImage strip = newImage(100, 10, BufferedImage.TYPE_3BYTE_BGR,
+                0xff336699);
+        ResampleOp instance = new ResampleOp(50, 50, false);
+        try (ResampleOp.StripResampler resampler =
+                     instance.newStripResampler(100, 100, 10)) {
+            resampler.add(strip);
+            assertThrows(IllegalStateException.class, resampler::getResult);
+        }
+    }
+
+    @Test
+    void testStripResamplerReturnsBuffersToPool() {
+        final ByteArrayPool pool = ByteArrayPool.getInstance();
+        BufferedImage strip = newImage(512, 64, BufferedImage.TYPE_3BYTE_BGR,
+                0xff336699);
+        ResampleOp instance = new ResampleOp(256, 256, false);
+        try (ResampleOp.StripResampler resampler =
+                     instance.newStripResampler(512, 512, 64)) {
+            resampler.add(strip);
+        }
+        final long retainedBytes = pool.getRetainedBytes();
+        assertTrue(retainedBytes > 0);
+        try (ResampleOp.StripResampler resampler =
+                     instance.newStripResampler(512, 512, 64)) {
+            resampler.add(strip);
+        }
+        assertEquals(retainedBytes, pool.getRetainedBytes());
+    }
+
+}
@@ -83,6 +83,12 @@ public class FilesystemSourceTest extends AbstractSourceTest {
         }
     }
 
+    @Test
+    void testStatReturnsLength() throws Exception {
+        assertEquals(Files.size(instance.getFile()),
+                instance.stat().getLength());
+    }
+
     @Test
     void testCheckAccessUsingScriptLookupStrategyWithPresentReadableFile()
             throws Exception {
@@ -251,6 +257,20 @@ public class FilesystemSourceTest extends AbstractSourceTest {
         assertEquals(IDENTIFIER.toString(), instance.getFile().toString());
     }
 
+    /* isLookupStatic() */
+
+    @Test
+    void testIsLookupStaticUsingBasicLookupStrategy() {
+        useBasicLookupStrategy();
+        assertTrue(instance.isLookupStatic());
+    }
+
+    @Test
+    void testIsLookupStaticUsingScriptLookupStrategy() {
+        useScriptLookupStrategy();
+        assertFalse(instance.isLookupStatic());
+    }
+
     /* newStreamFactory() */
 
     @Test
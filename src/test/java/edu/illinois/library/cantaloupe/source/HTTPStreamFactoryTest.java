@@ -18,7 +18,11 @@ import org.junit.jupiter.api.Test;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +32,10 @@ public class HTTPStreamFactoryTest extends BaseTest {
     private static final Identifier PRESENT_READABLE_IDENTIFIER =
             new Identifier("jpg-rgb-64x56x8-baseline.jpg");
 
+    private static final byte[] ENTITY = "0123456789".getBytes();
+
+    private static final byte[] FIRST_CHUNK = Arrays.copyOf(ENTITY, 4);
+
     private WebServer server;
 
     @Override
@@ -63,6 +71,47 @@ public class HTTPStreamFactoryTest extends BaseTest {
                 serverAcceptsRanges);
     }
 
+    /**
+     * @return Instance for {@link #ENTITY} of which {@link #FIRST_CHUNK} has
+     *         already been received.
+     */
+    private HTTPStreamFactory newInstanceWithFirstChunk() {
+        HTTPRequestInfo requestInfo = new HTTPRequestInfo();
+        requestInfo.setURI(server.getHTTPURI().resolve("/entity").toString());
+        return new HTTPStreamFactory(null, requestInfo, ENTITY.length, true,
+                null, FIRST_CHUNK);
+    }
+
+    /**
+     * Serves {@link #ENTITY} in full in response to non-ranged requests, and
+     * with the given status, {@code Content-Range}, and range of it, in
+     * response to ranged requests.
+     */
+    private void setRangedResponse(int status,
+                                   String contentRange,
+                                   int start) {
+        server.setHandler(new DefaultHandler() {
+            @Override
+            public void handle(String target,
+                               Request baseRequest,
+                               HttpServletRequest request,
+                               HttpServletResponse response) {
+                int offset = 0;
+                if (request.getHeader("Range") != null) {
+                    response.setStatus(status);
+                    response.setHeader("Content-Range", contentRange);
+                    offset = start;
+                }
+                try (OutputStream os = response.getOutputStream()) {
+                    os.write(ENTITY, offset, ENTITY.length - offset);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                baseRequest.setHandled(true);
+            }
+        });
+    }
+
     @Test
     void isSeekingDirect() {
         final HTTPStreamFactory instance = newInstance();
@@ -125,6 +174,36 @@ public class HTTPStreamFactoryTest extends BaseTest {
         assertEquals(5439, length);
     }
 
+    @Test
+    void newInputStreamWithFirstChunkRequestsRemainder() throws Exception {
+        setRangedResponse(206, "bytes 4-9/10", 4);
+        server.start();
+
+        try (InputStream is = newInstanceWithFirstChunk().newInputStream()) {
+            assertArrayEquals(ENTITY, is.readAllBytes());
+        }
+    }
+
+    @Test
+    void newInputStreamWithFirstChunkAndMismatchedContentRange()
+            throws Exception {
+        setRangedResponse(206, "bytes 2-9/12", 2);
+        server.start();
+
+        try (InputStream is = newInstanceWithFirstChunk().newInputStream()) {
+            assertArrayEquals(ENTITY, is.readAllBytes());
+        }
+    }
+
+    @Test
+    void newInputStreamWithFirstChunkAndErrorResponse() throws Exception {
+        setRangedResponse(416, "bytes */10", 0);
+        server.start();
+
+        assertThrows(IOException.class, () ->
+                newInstanceWithFirstChunk().newInputStream());
+    }
+
     @Test
     void newSeekableStreamWhenChunkingIsEnabledAndServerAcceptsRanges()
             throws Exception {
@@ -19,14 +19,17 @@ import org.junit.jupiter.api.Test;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
@@ -59,6 +62,53 @@ abstract class HttpSourceTest extends AbstractSourceTest {
 
     }
 
+    /**
+     * Serves a fixed entity, supporting single-range requests.
+     */
+    private static class RangeServingHandler extends RequestCountingHandler {
+
+        private final byte[] entity;
+
+        RangeServingHandler(byte[] entity) {
+            this.entity = entity;
+        }
+
+        @Override
+        public void handle(String target,
+                           Request baseRequest,
+                           HttpServletRequest request,
+                           HttpServletResponse response) {
+            super.handle(target, baseRequest, request, response);
+            response.setHeader("Accept-Ranges", "bytes");
+            response.setHeader("ETag", "\"abc123\"");
+            if ("\"abc123\"".equals(request.getHeader("If-None-Match"))) {
+                response.setStatus(304);
+                return;
+            }
+            int start = 0, end = entity.length - 1;
+            String range = request.getHeader("Range");
+            if (range != null) {
+                String[] parts = range.replace("bytes=", "").split("-");
+                start = Integer.parseInt(parts[0]);
+                if (parts.length > 1) {
+                    end = Math.min(end, Integer.parseInt(parts[1]));
+                }
+                response.setStatus(206);
+                response.setHeader("Content-Range",
+                        "bytes " + start + "-" + end + "/" + entity.length);
+            }
+            response.setContentLength(end - start + 1);
+            if ("GET".equalsIgnoreCase(request.getMethod())) {
+                try (OutputStream os = response.getOutputStream()) {
+                    os.write(entity, start, end - start + 1);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+    }
+
     private static final Identifier PRESENT_READABLE_IDENTIFIER =
             new Identifier("jpg-rgb-64x56x8-baseline.jpg");
 
@@ -415,6 +465,18 @@ abstract class HttpSourceTest extends AbstractSourceTest {
         assertThrows(NoSuchElementException.class, it::next);
     }
 
+    /* getOrigin() */
+
+    @Test
+    void testGetOrigin() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.HTTPSOURCE_URL_PREFIX,
+                getScheme() + "://user:secret@example.org:8182/prefix/");
+
+        instance.setIdentifier(new Identifier("id"));
+        assertEquals(getScheme() + "://example.org:8182", instance.getOrigin());
+    }
+
     /* getRequestInfo() */
 
     @Test
@@ -647,4 +709,121 @@ abstract class HttpSourceTest extends AbstractSourceTest {
         assertEquals(2, handler.numGETRequests);
     }
 
+    /**
+     * Checks that the first chunk received during format inference is reused
+     * by the stream instead of being requested again.
+     */
+    @Test
+    void testNoUnnecessaryRequestsWithSeekableStream() throws Exception {
+        final byte[] fixture = Files.readAllBytes(TestUtil.getImage("jpg"));
+        final RequestCountingHandler handler =
+                new RangeServingHandler(fixture);
+        server.setHandler(handler);
+        server.start();
+
+        instance.stat();
+        Iterator<Format> it = instance.getFormatIterator();
+        while (it.hasNext()) {
+            it.next();
+        }
+
+        StreamFactory source = instance.newStreamFactory();
+        byte[] actual = new byte[fixture.length];
+        try (ImageInputStream is = source.newSeekableStream()) {
+            is.readFully(actual);
+        }
+        assertArrayEquals(fixture, actual);
+        assertEquals(1, handler.numHEADRequests);
+        assertEquals(1, handler.numGETRequests);
+    }
+
+    /* isModifiedSince() */
+
+    @Test
+    void testIsModifiedSinceWithUnmodifiedResource() throws Exception {
+        final byte[] fixture = Files.readAllBytes(TestUtil.getImage("jpg"));
+        final RequestCountingHandler handler =
+                new RangeServingHandler(fixture);
+        server.setHandler(handler);
+        server.start();
+
+        String etag = instance.stat().getETag();
+        assertEquals("\"abc123\"", etag);
+        assertFalse(instance.isModifiedSince(etag, null));
+        assertEquals(0, handler.numGETRequests);
+    }
+
+    @Test
+    void testIsModifiedSinceWithModifiedResource() throws Exception {
+        final byte[] fixture = Files.readAllBytes(TestUtil.getImage("jpg"));
+        server.setHandler(new RangeServingHandler(fixture));
+        server.start();
+
+        assertTrue(instance.isModifiedSince("\"old\"", null));
+    }
+
+    @Test
+    void testIsModifiedSinceWithHEADRequestsDisabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.HTTPSOURCE_SEND_HEAD_REQUESTS, false);
+        final byte[] fixture = Files.readAllBytes(TestUtil.getImage("jpg"));
+        server.setHandler(new RangeServingHandler(fixture));
+        server.start();
+
+        assertFalse(instance.isModifiedSince("\"abc123\"", null));
+        assertTrue(instance.isModifiedSince("\"old\"", null));
+    }
+
+    /**
+     * Checks that a resource that was fully received by the preliminary
+     * ranged {@code GET} request is not requested again.
+     */
+    @Test
+    void testNoUnnecessaryRequestsWithSmallResourceAndHEADRequestsDisabled()
+            throws Exception {
+        var config = Configuration.getInstance();
+        config.setProperty(Key.HTTPSOURCE_SEND_HEAD_REQUESTS, false);
+
+        final byte[] fixture = Files.readAllBytes(TestUtil.getImage("jpg"));
+        final RequestCountingHandler handler =
+                new RangeServingHandler(fixture);
+        server.setHandler(handler);
+        server.start();
+
+        instance.stat();
+        instance.getFormatIterator().next();
+
+        StreamFactory source = instance.newStreamFactory();
+        try (InputStream is = source.newInputStream()) {
+            assertArrayEquals(fixture, is.readAllBytes());
+        }
+        assertEquals(0, handler.numHEADRequests);
+        assertEquals(1, handler.numGETRequests);
+    }
+
+    /**
+     * Checks that only the part of a resource that was not received by the
+     * preliminary ranged {@code GET} request is requested afterwards.
+     */
+    @Test
+    void testNewInputStreamRequestsOnlyRemainderOfResource() throws Exception {
+        var config = Configuration.getInstance();
+        config.setProperty(Key.HTTPSOURCE_SEND_HEAD_REQUESTS, false);
+        config.setProperty(Key.HTTPSOURCE_CHUNK_SIZE, "1K");
+
+        final byte[] fixture = Files.readAllBytes(TestUtil.getImage("jpg"));
+        final RequestCountingHandler handler =
+                new RangeServingHandler(fixture);
+        server.setHandler(handler);
+        server.start();
+
+        instance.stat();
+
+        StreamFactory source = instance.newStreamFactory();
+        try (InputStream is = source.newInputStream()) {
+            assertArrayEquals(fixture, is.readAllBytes());
+        }
+        assertEquals(2, handler.numGETRequests);
+    }
+
 }
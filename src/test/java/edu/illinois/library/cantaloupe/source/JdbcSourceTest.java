@@ -5,11 +5,13 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.stream.ImageInputStream;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -19,6 +21,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -218,6 +221,48 @@ public class JdbcSourceTest extends AbstractSourceTest {
         assertNotNull(instance.newStreamFactory());
     }
 
+    @Test
+    void testNewStreamFactoryNewSeekableStreamWithChunkingEnabled()
+            throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.JDBCSOURCE_CHUNKING_ENABLED, true);
+        config.setProperty(Key.JDBCSOURCE_CHUNK_SIZE, "512");
+
+        final byte[] expected = Files.readAllBytes(TestUtil.getImage("jpg"));
+        StreamFactory factory = instance.newStreamFactory();
+        assertTrue(factory.isSeekingDirect());
+        try (ImageInputStream is = factory.newSeekableStream()) {
+            assertTrue(is instanceof HTTPImageInputStream);
+            assertEquals(expected.length, is.length());
+
+            // Read from the middle of a chunk across a chunk boundary.
+            is.seek(1000);
+            byte[] actual = new byte[100];
+            is.readFully(actual);
+            assertArrayEquals(Arrays.copyOfRange(expected, 1000, 1100), actual);
+
+            is.seek(0);
+            actual = new byte[expected.length];
+            is.readFully(actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testNewStreamFactoryNewSeekableStreamWithChunkingEnabledAndMissingImage()
+            throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.JDBCSOURCE_CHUNKING_ENABLED, true);
+        Identifier identifier = new Identifier("bogus");
+        DelegateProxy proxy = TestUtil.newDelegateProxy();
+        proxy.getRequestContext().setIdentifier(identifier);
+        instance.setDelegateProxy(proxy);
+        instance.setIdentifier(identifier);
+
+        StreamFactory factory = instance.newStreamFactory();
+        assertThrows(NoSuchFileException.class, factory::newSeekableStream);
+    }
+
     /* stat() */
 
     @Override
@@ -8,6 +8,17 @@ import java.util.Iterator;
 
 public class MockStreamSource extends AbstractSource implements Source {
 
+    /**
+     * @param etag ETag. May be {@code null}.
+     * @return     Instance with the given ETag, for use by tests outside of
+     *             this package.
+     */
+    public static StatResult newStatResult(String etag) {
+        StatResult result = new StatResult();
+        result.setETag(etag);
+        return result;
+    }
+
     @Override
     public StatResult stat() {
         return null;
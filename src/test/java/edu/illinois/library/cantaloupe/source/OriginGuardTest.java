@@ -0,0 +1,150 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OriginGuardTest extends BaseTest {
+
+    private OriginGuard instance;
+
+    private static String failingCall() throws IOException {
+        throw new IOException("failure");
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_CIRCUIT_BREAKER_ENABLED, true);
+        config.setProperty(Key.SOURCE_CIRCUIT_BREAKER_FAILURE_THRESHOLD, 2);
+        config.setProperty(Key.SOURCE_CIRCUIT_BREAKER_OPEN_SECONDS, 60);
+        config.setProperty(Key.SOURCE_BULKHEAD_MAX_CONCURRENT_REQUESTS, 0);
+        instance = new OriginGuard("http://example.org");
+    }
+
+    private void failTimes(int numFailures) {
+        for (int i = 0; i < numFailures; i++) {
+            assertThrows(IOException.class,
+                    () -> instance.call(OriginGuardTest::failingCall));
+        }
+    }
+
+    /* call() */
+
+    @Test
+    void testCallReturnsTheResult() throws Exception {
+        assertEquals("cats", instance.call(() -> "cats"));
+        assertEquals(OriginGuard.State.CLOSED, instance.getState());
+        assertEquals(0, instance.getNumActiveRequests());
+    }
+
+    @Test
+    void testCallOpensCircuitAfterFailureThreshold() {
+        failTimes(1);
+        assertEquals(OriginGuard.State.CLOSED, instance.getState());
+        failTimes(1);
+        assertEquals(OriginGuard.State.OPEN, instance.getState());
+        assertEquals(2, instance.getNumConsecutiveFailures());
+    }
+
+    @Test
+    void testCallWithOpenCircuitFailsFast() {
+        failTimes(2);
+        assertThrows(OriginUnavailableException.class,
+                () -> instance.call(() -> "cats"));
+        assertEquals(1, instance.getNumRejectedRequests());
+    }
+
+    @Test
+    void testCallWithCircuitBreakerDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CIRCUIT_BREAKER_ENABLED, false);
+        failTimes(5);
+        assertEquals(OriginGuard.State.CLOSED, instance.getState());
+    }
+
+    @Test
+    void testCallDoesNotCountNoSuchFileExceptionsAsFailures() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(NoSuchFileException.class, () -> instance.call(() -> {
+                throw new NoSuchFileException("missing");
+            }));
+        }
+        assertEquals(OriginGuard.State.CLOSED, instance.getState());
+        assertEquals(0, instance.getNumConsecutiveFailures());
+    }
+
+    @Test
+    void testCallResetsFailuresAfterSuccess() throws Exception {
+        failTimes(1);
+        instance.call(() -> "cats");
+        failTimes(1);
+        assertEquals(OriginGuard.State.CLOSED, instance.getState());
+    }
+
+    @Test
+    void testCallWithSuccessfulHalfOpenTrialClosesCircuit() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CIRCUIT_BREAKER_OPEN_SECONDS, 0);
+        failTimes(2);
+        assertEquals(OriginGuard.State.HALF_OPEN, instance.getState());
+
+        instance.call(() -> "cats");
+        assertEquals(OriginGuard.State.CLOSED, instance.getState());
+    }
+
+    @Test
+    void testCallWithFailedHalfOpenTrialReopensCircuit() {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_CIRCUIT_BREAKER_OPEN_SECONDS, 0);
+        failTimes(2);
+        failTimes(1);
+
+        config.setProperty(Key.SOURCE_CIRCUIT_BREAKER_OPEN_SECONDS, 60);
+        assertEquals(OriginGuard.State.OPEN, instance.getState());
+    }
+
+    @Test
+    void testCallWithHalfOpenCircuitAllowsOnlyOneTrial() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CIRCUIT_BREAKER_OPEN_SECONDS, 0);
+        failTimes(2);
+
+        instance.call(() -> assertThrows(OriginUnavailableException.class,
+                () -> instance.call(() -> "cats")));
+    }
+
+    @Test
+    void testCallWithBulkheadFull() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_BULKHEAD_MAX_CONCURRENT_REQUESTS, 1);
+
+        instance.call(() -> assertThrows(OriginUnavailableException.class,
+                () -> instance.call(() -> "cats")));
+        assertEquals(1, instance.getNumRejectedRequests());
+        // Rejections by the bulkhead don't count as failures.
+        assertEquals(0, instance.getNumConsecutiveFailures());
+        assertEquals("cats", instance.call(() -> "cats"));
+    }
+
+    /* toMap() */
+
+    @Test
+    void testToMap() {
+        Map<String,Object> map = instance.toMap();
+        assertEquals("CLOSED", map.get("state"));
+        assertEquals(0, map.get("activeRequests"));
+        assertEquals(0, map.get("consecutiveFailures"));
+        assertEquals(0L, map.get("rejectedRequests"));
+    }
+
+}
@@ -1,10 +1,14 @@
 package edu.illinois.library.cantaloupe.source;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.source.stream.MappedImageInputStream;
 import edu.illinois.library.cantaloupe.test.BaseTest;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 import java.io.InputStream;
 
@@ -40,4 +44,37 @@ public class PathStreamFactoryTest extends BaseTest {
         }
     }
 
+    @Test
+    void testNewSeekableStreamWithFileAboveMemoryMappingThreshold()
+            throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_MEMORY_MAPPING_ENABLED, true);
+        config.setProperty(Key.SOURCE_MEMORY_MAPPING_THRESHOLD, "1K");
+        try (ImageInputStream is = instance.newSeekableStream()) {
+            assertTrue(is instanceof MappedImageInputStream);
+            assertEquals(1584, is.length());
+        }
+    }
+
+    @Test
+    void testNewSeekableStreamWithFileBelowMemoryMappingThreshold()
+            throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_MEMORY_MAPPING_ENABLED, true);
+        config.setProperty(Key.SOURCE_MEMORY_MAPPING_THRESHOLD, "2K");
+        try (ImageInputStream is = instance.newSeekableStream()) {
+            assertTrue(is instanceof FileImageInputStream);
+        }
+    }
+
+    @Test
+    void testNewSeekableStreamWithMemoryMappingDisabled() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_MEMORY_MAPPING_ENABLED, false);
+        config.setProperty(Key.SOURCE_MEMORY_MAPPING_THRESHOLD, "0");
+        try (ImageInputStream is = instance.newSeekableStream()) {
+            assertTrue(is instanceof FileImageInputStream);
+        }
+    }
+
 }
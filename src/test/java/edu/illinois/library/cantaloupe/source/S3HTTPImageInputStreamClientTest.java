@@ -18,7 +18,10 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -133,4 +136,25 @@ public class S3HTTPImageInputStreamClientTest extends BaseTest {
         assertEquals(41, actual.getBody().length);
     }
 
+    @Test
+    void testSendGETRequestUsingAsyncClient() throws Exception {
+        Configuration.getInstance().setProperty(Key.S3SOURCE_ASYNC_ENABLED, true);
+        byte[] fixture = Files.readAllBytes(TestUtil.getImage(FIXTURE_KEY));
+        Response actual = instance.sendGETRequest(new Range(10, 50, 1584));
+        assertEquals(206, actual.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(fixture, 10, 51), actual.getBody());
+    }
+
+    @Test
+    void testSendGETRequestUsingAsyncClientWithMissingObject() {
+        Configuration.getInstance().setProperty(Key.S3SOURCE_ASYNC_ENABLED, true);
+        S3ObjectInfo info = new S3ObjectInfo();
+        info.setBucketName(bucket());
+        info.setKey("bogus");
+        info.setLength(1584);
+        instance = new S3HTTPImageInputStreamClient(info);
+        assertThrows(NoSuchFileException.class,
+                () -> instance.sendGETRequest(new Range(10, 50, 1584)));
+    }
+
 }
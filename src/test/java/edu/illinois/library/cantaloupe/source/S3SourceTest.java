@@ -2,6 +2,7 @@ package edu.illinois.library.cantaloupe.source;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.http.Range;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
@@ -16,13 +17,27 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -230,6 +245,72 @@ public class S3SourceTest extends AbstractSourceTest {
         assertSame(client1, client2);
     }
 
+    @Test
+    void getClientInstanceReturnsSameClientToConcurrentCallers()
+            throws Exception {
+        final Set<S3Client> clients = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = IntStream.range(0, 32)
+                    .mapToObj(i -> (Callable<Void>) () -> {
+                        S3ObjectInfo info = new S3ObjectInfo();
+                        info.setEndpoint("http://example.org/concurrent");
+                        clients.add(S3Source.getClientInstance(info));
+                        return null;
+                    })
+                    .collect(Collectors.toList());
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, clients.size());
+    }
+
+    /* getAsyncClientInstance() */
+
+    @Test
+    void getAsyncClientInstanceCachesReturnedClients() {
+        S3ObjectInfo info1 = new S3ObjectInfo();
+        S3ObjectInfo info2 = new S3ObjectInfo();
+        info1.setEndpoint("http://example.org/endpoint");
+        info2.setEndpoint(info1.getEndpoint());
+        assertSame(S3Source.getAsyncClientInstance(info1),
+                S3Source.getAsyncClientInstance(info2));
+    }
+
+    /* newObjectInputStream() */
+
+    @Test
+    void newObjectInputStreamWithRange() throws Exception {
+        byte[] fixture  = Files.readAllBytes(TestUtil.getImage("jpg"));
+        byte[] expected = Arrays.copyOfRange(fixture, 10, 20);
+        try (InputStream is = S3Source.newObjectInputStream(
+                instance.getObjectInfo(), new Range(10, 19))) {
+            assertArrayEquals(expected, is.readAllBytes());
+        }
+    }
+
+    /* fetchRangeAsync() */
+
+    @Test
+    void fetchRangeAsync() throws Exception {
+        byte[] fixture  = Files.readAllBytes(TestUtil.getImage("jpg"));
+        byte[] expected = Arrays.copyOfRange(fixture, 10, 20);
+        assertArrayEquals(expected, S3Source.fetchRangeAsync(
+                instance.getObjectInfo(), new Range(10, 19)).get());
+    }
+
+    @Test
+    void fetchRangeAsyncWithMissingObject() throws Exception {
+        instance.setIdentifier(new Identifier("bogus"));
+        S3ObjectInfo info = instance.getObjectInfo();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> S3Source.fetchRangeAsync(info, new Range(0, 9)).get());
+        assertTrue(e.getCause() instanceof NoSuchKeyException);
+    }
+
     /* checkAccess() */
 
     @Test
@@ -322,6 +403,17 @@ public class S3SourceTest extends AbstractSourceTest {
         assertThrows(NoSuchElementException.class, it::next);
     }
 
+    /* getOrigin() */
+
+    @Test
+    void getOrigin() throws Exception {
+        String endpoint = getEndpoint().toString();
+        if (endpoint.endsWith("/")) {
+            endpoint = endpoint.substring(0, endpoint.length() - 1);
+        }
+        assertEquals(endpoint + "/" + getBucket(), instance.getOrigin());
+    }
+
     /* getObjectInfo() */
 
     @Test
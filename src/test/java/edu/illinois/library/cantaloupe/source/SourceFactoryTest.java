@@ -2,6 +2,7 @@ package edu.illinois.library.cantaloupe.source;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
 import edu.illinois.library.cantaloupe.test.BaseTest;
@@ -9,16 +10,66 @@ import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class SourceFactoryTest extends BaseTest {
 
+    /**
+     * Source whose {@link #stat()} fails, and which counts its invocations.
+     */
+    private static class FailingSource implements Source {
+
+        private Identifier identifier;
+        private int numStats;
+
+        @Override
+        public Identifier getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public void setIdentifier(Identifier identifier) {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public StatResult stat() throws IOException {
+            numStats++;
+            throw new IOException("Origin is down");
+        }
+
+        @Override
+        public String getOrigin() {
+            return "http://example.org";
+        }
+
+        @Override
+        public Iterator<Format> getFormatIterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public StreamFactory newStreamFactory() {
+            return null;
+        }
+
+        @Override
+        public void setDelegateProxy(DelegateProxy proxy) {
+        }
+
+    }
+
     private SourceFactory instance;
 
     @BeforeEach
     public void setUp() throws Exception {
         super.setUp();
         instance = new SourceFactory();
+        SourceFactory.clearOriginGuards();
     }
 
     @Test
@@ -117,4 +168,59 @@ public class SourceFactoryTest extends BaseTest {
                 instance.getSelectionStrategy());
     }
 
+    /* getOriginGuards() */
+
+    @Test
+    void getOriginGuards() {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CIRCUIT_BREAKER_ENABLED, true);
+        assertTrue(SourceFactory.getOriginGuards().isEmpty());
+
+        assertThrows(IOException.class,
+                () -> SourceFactory.stat(new FailingSource()));
+        assertEquals(1, SourceFactory.getOriginGuards().size());
+        assertEquals("http://example.org",
+                SourceFactory.getOriginGuards().get(0).getOrigin());
+    }
+
+    @Test
+    void getOriginGuardsRetainsGuards() {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CIRCUIT_BREAKER_ENABLED, true);
+        final FailingSource source = new FailingSource();
+        assertThrows(IOException.class, () -> SourceFactory.stat(source));
+        final OriginGuard guard = SourceFactory.getOriginGuards().get(0);
+
+        assertThrows(IOException.class, () -> SourceFactory.stat(source));
+        assertSame(guard, SourceFactory.getOriginGuards().get(0));
+        assertEquals(2, guard.getNumConsecutiveFailures());
+    }
+
+    /* stat() */
+
+    @Test
+    void statWithGuardsDisabled() {
+        FailingSource source = new FailingSource();
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IOException.class, () -> SourceFactory.stat(source));
+        }
+        assertEquals(10, source.numStats);
+        assertTrue(SourceFactory.getOriginGuards().isEmpty());
+    }
+
+    @Test
+    void statWithOpenCircuit() {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_CIRCUIT_BREAKER_ENABLED, true);
+        config.setProperty(Key.SOURCE_CIRCUIT_BREAKER_FAILURE_THRESHOLD, 3);
+
+        FailingSource source = new FailingSource();
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IOException.class, () -> SourceFactory.stat(source));
+        }
+        assertThrows(OriginUnavailableException.class,
+                () -> SourceFactory.stat(source));
+        assertEquals(3, source.numStats);
+    }
+
 }
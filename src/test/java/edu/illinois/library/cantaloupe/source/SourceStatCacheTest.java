@@ -0,0 +1,204 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.apache.commons.io.input.NullInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourceStatCacheTest extends BaseTest {
+
+    /**
+     * Counts invocations of {@link #stat()} and {@link #getFormatIterator()}.
+     */
+    private static class CountingSource extends AbstractSource
+            implements Source {
+
+        private int numStats, numFormatIterators;
+        private boolean isStatFailing, isLookupStatic = true;
+
+        @Override
+        public boolean isLookupStatic() {
+            return isLookupStatic;
+        }
+
+        @Override
+        public StatResult stat() throws IOException {
+            numStats++;
+            if (isStatFailing) {
+                throw new IOException("Failed");
+            }
+            return new StatResult();
+        }
+
+        @Override
+        public Iterator<Format> getFormatIterator() {
+            numFormatIterators++;
+            return List.of(Format.get("png"), Format.get("jpg")).iterator();
+        }
+
+        @Override
+        public StreamFactory newStreamFactory() {
+            return () -> new NullInputStream(8);
+        }
+
+    }
+
+    private CountingSource source;
+    private SourceStatCache instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_STAT_CACHE_ENABLED, true);
+
+        SourceStatCache.clearInstance();
+        instance = SourceStatCache.getInstance();
+
+        source = new CountingSource();
+        source.setIdentifier(new Identifier("cats"));
+    }
+
+    private static List<Format> toList(Iterator<Format> it) {
+        List<Format> list = new ArrayList<>();
+        it.forEachRemaining(list::add);
+        return list;
+    }
+
+    /* getFormatIterator() */
+
+    @Test
+    void testGetFormatIteratorWithNoCachedFormat() {
+        assertEquals(List.of(Format.get("png"), Format.get("jpg")),
+                toList(instance.getFormatIterator(source)));
+        assertEquals(1, source.numFormatIterators);
+    }
+
+    @Test
+    void testGetFormatIteratorReturnsCachedFormatFirst() {
+        instance.putFormat(source, Format.get("jpg"));
+
+        Iterator<Format> it = instance.getFormatIterator(source);
+        assertEquals(Format.get("jpg"), it.next());
+        // The source's iterator has not been consulted yet.
+        assertEquals(0, source.numFormatIterators);
+        // The rest of the formats follow, without the cached one.
+        assertEquals(List.of(Format.get("png")), toList(it));
+        assertEquals(1, source.numFormatIterators);
+    }
+
+    @Test
+    void testGetFormatIteratorWhenDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_STAT_CACHE_ENABLED, false);
+        instance.putFormat(source, Format.get("jpg"));
+
+        assertEquals(List.of(Format.get("png"), Format.get("jpg")),
+                toList(instance.getFormatIterator(source)));
+    }
+
+    @Test
+    void testGetFormatIteratorWithNonStaticLookup() {
+        source.isLookupStatic = false;
+        instance.putFormat(source, Format.get("jpg"));
+
+        assertEquals(List.of(Format.get("png"), Format.get("jpg")),
+                toList(instance.getFormatIterator(source)));
+        assertEquals(0, instance.size());
+    }
+
+    /* purge() */
+
+    @Test
+    void testPurge() throws Exception {
+        instance.stat(source);
+        instance.putFormat(source, Format.get("jpg"));
+        assertEquals(1, instance.size());
+
+        instance.purge();
+        assertEquals(0, instance.size());
+    }
+
+    /* purge(Identifier) */
+
+    @Test
+    void testPurgeWithIdentifier() throws Exception {
+        CountingSource otherSource = new CountingSource();
+        otherSource.setIdentifier(new Identifier("dogs"));
+        instance.stat(source);
+        instance.stat(otherSource);
+
+        instance.purge(source.getIdentifier());
+        instance.stat(source);
+        instance.stat(otherSource);
+        assertEquals(2, source.numStats);
+        assertEquals(1, otherSource.numStats);
+    }
+
+    /* putFormat() */
+
+    @Test
+    void testPutFormatIgnoresUnknownFormat() {
+        instance.putFormat(source, Format.UNKNOWN);
+        assertEquals(0, instance.size());
+    }
+
+    /* stat() */
+
+    @Test
+    void testStatCachesResult() throws Exception {
+        StatResult result1 = instance.stat(source);
+        StatResult result2 = instance.stat(source);
+        assertSame(result1, result2);
+        assertEquals(1, source.numStats);
+    }
+
+    @Test
+    void testStatDoesNotCacheFailures() {
+        source.isStatFailing = true;
+        assertThrows(IOException.class, () -> instance.stat(source));
+        assertThrows(IOException.class, () -> instance.stat(source));
+        assertEquals(2, source.numStats);
+    }
+
+    @Test
+    void testStatDistinguishesIdentifiers() throws Exception {
+        CountingSource otherSource = new CountingSource();
+        otherSource.setIdentifier(new Identifier("dogs"));
+        instance.stat(source);
+        instance.stat(otherSource);
+        assertEquals(1, source.numStats);
+        assertEquals(1, otherSource.numStats);
+    }
+
+    @Test
+    void testStatWhenDisabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_STAT_CACHE_ENABLED, false);
+        instance.stat(source);
+        instance.stat(source);
+        assertEquals(2, source.numStats);
+    }
+
+    @Test
+    void testStatWithNonStaticLookup() throws Exception {
+        source.isLookupStatic = false;
+        instance.stat(source);
+        instance.stat(source);
+        assertEquals(2, source.numStats);
+        assertEquals(0, instance.size());
+    }
+
+}
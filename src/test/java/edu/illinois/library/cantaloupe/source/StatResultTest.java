@@ -0,0 +1,63 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatResultTest extends BaseTest {
+
+    private static final Instant LAST_MODIFIED =
+            Instant.parse("2021-03-04T05:06:07Z");
+
+    private StatResult instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new StatResult();
+        instance.setETag("\"abc\"");
+        instance.setLastModified(LAST_MODIFIED);
+    }
+
+    /* getLength() */
+
+    @Test
+    void testGetLength() {
+        assertEquals(-1, new StatResult().getLength());
+        instance.setLength(5439);
+        assertEquals(5439, instance.getLength());
+    }
+
+    /* isModifiedSince() */
+
+    @Test
+    void testIsModifiedSinceWithEqualETags() {
+        assertFalse(instance.isModifiedSince("\"abc\"", Instant.now()));
+    }
+
+    @Test
+    void testIsModifiedSinceWithDifferentETags() {
+        assertTrue(instance.isModifiedSince("\"def\"", LAST_MODIFIED));
+    }
+
+    @Test
+    void testIsModifiedSinceWithEqualLastModifiedTimes() {
+        assertFalse(instance.isModifiedSince(null, LAST_MODIFIED));
+    }
+
+    @Test
+    void testIsModifiedSinceWithDifferentLastModifiedTimes() {
+        assertTrue(instance.isModifiedSince(null, Instant.now()));
+    }
+
+    @Test
+    void testIsModifiedSinceWithNothingToCompare() {
+        assertFalse(instance.isModifiedSince(null, null));
+        assertFalse(new StatResult().isModifiedSince("\"abc\"", LAST_MODIFIED));
+    }
+
+}
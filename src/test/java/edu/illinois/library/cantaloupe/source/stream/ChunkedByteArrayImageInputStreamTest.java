@@ -0,0 +1,72 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedByteArrayImageInputStreamTest extends BaseTest {
+
+    private static final int CHUNK_SIZE = 16;
+    private static final int LENGTH     = 40;
+
+    private ChunkedByteArrayImageInputStream instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        final byte[][] chunks = new byte[3][CHUNK_SIZE];
+        for (int i = 0; i < LENGTH; i++) {
+            chunks[i / CHUNK_SIZE][i % CHUNK_SIZE] = (byte) i;
+        }
+        instance = new ChunkedByteArrayImageInputStream(
+                chunks, CHUNK_SIZE, LENGTH);
+    }
+
+    @Test
+    void testConstructorWithIllegalArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChunkedByteArrayImageInputStream(new byte[1][4], 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChunkedByteArrayImageInputStream(new byte[1][4], 4, 5));
+    }
+
+    @Test
+    void testCloseClosesTheInstance() throws Exception {
+        instance.close();
+        assertThrows(IOException.class, instance::read);
+    }
+
+    @Test
+    void testLength() {
+        assertEquals(LENGTH, instance.length());
+    }
+
+    @Test
+    void testRead() throws Exception {
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(i, instance.read());
+        }
+        assertEquals(-1, instance.read());
+    }
+
+    @Test
+    void testReadIntoArrayAcrossChunks() throws Exception {
+        instance.seek(10);
+        final byte[] buffer = new byte[50];
+        assertEquals(LENGTH - 10, instance.read(buffer, 5, 45));
+        for (int i = 0; i < LENGTH - 10; i++) {
+            assertEquals(i + 10, buffer[i + 5]);
+        }
+        assertEquals(-1, instance.read(buffer, 0, 1));
+    }
+
+    @Test
+    void testReadIntoArrayWithZeroLength() throws Exception {
+        assertEquals(0, instance.read(new byte[1], 0, 0));
+    }
+
+}
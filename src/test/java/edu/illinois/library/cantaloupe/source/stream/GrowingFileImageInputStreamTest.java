@@ -0,0 +1,113 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GrowingFileImageInputStreamTest extends BaseTest {
+
+    private Path file;
+    private HighWaterMark mark;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        file = Files.createTempFile("test", "tmp");
+        mark = new HighWaterMark();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        Files.deleteIfExists(file);
+    }
+
+    private void append(byte[] bytes) throws IOException {
+        Files.write(file, bytes, StandardOpenOption.APPEND);
+        mark.advance(Files.size(file));
+    }
+
+    @Test
+    void testLengthWhenIncomplete() throws Exception {
+        append(new byte[] { 1, 2, 3 });
+        try (GrowingFileImageInputStream instance =
+                     new GrowingFileImageInputStream(file, mark)) {
+            assertEquals(-1, instance.length());
+        }
+    }
+
+    @Test
+    void testLengthWhenComplete() throws Exception {
+        append(new byte[] { 1, 2, 3 });
+        mark.complete();
+        try (GrowingFileImageInputStream instance =
+                     new GrowingFileImageInputStream(file, mark)) {
+            assertEquals(3, instance.length());
+        }
+    }
+
+    @Test
+    void testReadReadsWrittenBytes() throws Exception {
+        append(new byte[] { 1, 2, 3 });
+        try (GrowingFileImageInputStream instance =
+                     new GrowingFileImageInputStream(file, mark)) {
+            assertEquals(1, instance.read());
+            assertEquals(2, instance.read());
+            assertEquals(3, instance.read());
+        }
+    }
+
+    @Test
+    void testReadBlocksUntilBytesAreWritten() throws Exception {
+        append(new byte[] { 1 });
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+                append(new byte[] { 2, 3 });
+                mark.complete();
+            } catch (Exception e) {
+                mark.fail(new IOException(e));
+            }
+        });
+        writer.start();
+        try (GrowingFileImageInputStream instance =
+                     new GrowingFileImageInputStream(file, mark)) {
+            byte[] buffer = new byte[3];
+            instance.readFully(buffer);
+            assertArrayEquals(new byte[] { 1, 2, 3 }, buffer);
+            assertEquals(-1, instance.read());
+        }
+        writer.join();
+    }
+
+    @Test
+    void testReadAfterSeeking() throws Exception {
+        append(new byte[] { 1, 2, 3, 4, 5 });
+        mark.complete();
+        try (GrowingFileImageInputStream instance =
+                     new GrowingFileImageInputStream(file, mark)) {
+            instance.seek(3);
+            assertEquals(4, instance.read());
+        }
+    }
+
+    @Test
+    void testReadWithFailedWriter() throws Exception {
+        append(new byte[] { 1 });
+        mark.fail(new IOException("failed"));
+        try (GrowingFileImageInputStream instance =
+                     new GrowingFileImageInputStream(file, mark)) {
+            assertEquals(1, instance.read());
+            assertThrows(IOException.class, instance::read);
+        }
+    }
+
+}
@@ -7,6 +7,7 @@ import edu.illinois.library.cantaloupe.http.Response;
 import edu.illinois.library.cantaloupe.test.BaseTest;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import edu.illinois.library.cantaloupe.test.WebServer;
+import edu.illinois.library.cantaloupe.util.ByteArrayPool;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Iterator;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +30,7 @@ public class HTTPImageInputStreamTest extends BaseTest {
             implements HTTPImageInputStreamClient {
 
         private Client backingClient;
+        private int numGETRequests;
 
         MockHTTPImageInputStreamClient(URI uri) {
             backingClient = new Client().builder().uri(uri).build();
@@ -47,6 +50,7 @@ public class HTTPImageInputStreamTest extends BaseTest {
 
         @Override
         public Response sendGETRequest(Range range) throws IOException {
+            numGETRequests++;
             try {
                 backingClient.setMethod(Method.GET);
                 backingClient.getHeaders().set("Range",
@@ -126,6 +130,91 @@ public class HTTPImageInputStreamTest extends BaseTest {
         }
     }
 
+    @Test
+    void testSetFirstChunk() throws Exception {
+        final Path fixture         = TestUtil.getImage("tif");
+        final int fixtureLength    = (int) Files.size(fixture);
+        final byte[] expectedBytes = Files.readAllBytes(fixture);
+        final byte[] actualBytes   = new byte[1024];
+        final URI uri = webServer.getHTTPURI().resolve("/" + fixture.getFileName());
+        final MockHTTPImageInputStreamClient client =
+                new MockHTTPImageInputStreamClient(uri);
+
+        try (HTTPImageInputStream instance =
+                     new HTTPImageInputStream(client, fixtureLength)) {
+            instance.setWindowSize(1024);
+            instance.setFirstChunk(Arrays.copyOfRange(expectedBytes, 0, 1024));
+            instance.readFully(actualBytes);
+            assertEquals(0, client.numGETRequests);
+            assertArrayEquals(Arrays.copyOfRange(expectedBytes, 0, 1024),
+                    actualBytes);
+
+            instance.readFully(actualBytes);
+            assertEquals(1, client.numGETRequests);
+            assertArrayEquals(Arrays.copyOfRange(expectedBytes, 1024, 2048),
+                    actualBytes);
+        }
+    }
+
+    @Test
+    void testSetFirstChunkIgnoresChunkOfWrongLength() throws Exception {
+        final Path fixture         = TestUtil.getImage("tif");
+        final int fixtureLength    = (int) Files.size(fixture);
+        final byte[] expectedBytes = Files.readAllBytes(fixture);
+        final byte[] actualBytes   = new byte[fixtureLength];
+        final URI uri = webServer.getHTTPURI().resolve("/" + fixture.getFileName());
+        final MockHTTPImageInputStreamClient client =
+                new MockHTTPImageInputStreamClient(uri);
+
+        try (HTTPImageInputStream instance =
+                     new HTTPImageInputStream(client, fixtureLength)) {
+            instance.setWindowSize(1024);
+            instance.setFirstChunk(new byte[32]);
+            instance.readFully(actualBytes);
+        }
+        assertArrayEquals(expectedBytes, actualBytes);
+    }
+
+    @Test
+    void testSetChunkPool() throws Exception {
+        final Path fixture         = TestUtil.getImage("tif");
+        final int fixtureLength    = (int) Files.size(fixture);
+        final byte[] expectedBytes = Files.readAllBytes(fixture);
+        final byte[] actualBytes   = new byte[fixtureLength];
+        final ByteArrayPool pool   = ByteArrayPool.getInstance();
+        final long initialRetainedBytes = pool.getRetainedBytes();
+
+        try (HTTPImageInputStream instance = newInstanceFromConstructor2(fixture)) {
+            instance.setWindowSize(1024);
+            instance.setChunkPool(pool);
+            instance.readFully(actualBytes, 0, 2048);
+            // The first window has been released.
+            assertTrue(pool.getRetainedBytes() > initialRetainedBytes);
+            instance.readFully(actualBytes, 2048, fixtureLength - 2048);
+        }
+        assertArrayEquals(expectedBytes, actualBytes);
+    }
+
+    @Test
+    void testSetChunkPoolWithChunkCache() throws Exception {
+        final Path fixture         = TestUtil.getImage("tif");
+        final int fixtureLength    = (int) Files.size(fixture);
+        final byte[] expectedBytes = Files.readAllBytes(fixture);
+        final byte[] actualBytes   = new byte[fixtureLength];
+        final ByteArrayPool pool   = ByteArrayPool.getInstance();
+
+        try (HTTPImageInputStream instance = newInstanceFromConstructor2(fixture)) {
+            instance.setWindowSize(1024);
+            instance.setMaxChunkCacheSize(4096);
+            instance.setChunkPool(pool);
+            instance.readFully(actualBytes);
+            // Re-read chunks that may or may not have been evicted.
+            instance.seek(0);
+            instance.readFully(actualBytes);
+        }
+        assertArrayEquals(expectedBytes, actualBytes);
+    }
+
     @Test
     void testRead1() throws Exception {
         final Path fixture         = TestUtil.getImage("tif");
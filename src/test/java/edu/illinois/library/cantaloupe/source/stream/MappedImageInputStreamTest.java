@@ -0,0 +1,129 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedImageInputStreamTest extends BaseTest {
+
+    private Path file;
+    private byte[] expectedBytes;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        file          = TestUtil.getImage("jpg");
+        expectedBytes = Files.readAllBytes(file);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+    @Test
+    void testConstructorWithIllegalWindowSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedImageInputStream(file, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedImageInputStream(file, Integer.MAX_VALUE + 1L));
+    }
+
+    @Test
+    void testCloseClosesTheInstance() throws Exception {
+        MappedImageInputStream instance = new MappedImageInputStream(file);
+        instance.close();
+        assertThrows(IOException.class, instance::read);
+    }
+
+    @Test
+    void testLength() throws Exception {
+        try (MappedImageInputStream instance = new MappedImageInputStream(file)) {
+            assertEquals(expectedBytes.length, instance.length());
+        }
+    }
+
+    @Test
+    void testReadWithEmptyFile() throws Exception {
+        Path emptyFile = Files.createTempFile("test", "tmp");
+        try (MappedImageInputStream instance =
+                     new MappedImageInputStream(emptyFile)) {
+            assertEquals(0, instance.length());
+            assertEquals(-1, instance.read());
+            assertEquals(-1, instance.read(new byte[8], 0, 8));
+        } finally {
+            Files.deleteIfExists(emptyFile);
+        }
+    }
+
+    @Test
+    void testRead() throws Exception {
+        try (MappedImageInputStream instance =
+                     new MappedImageInputStream(file, 100)) {
+            for (byte expectedByte : expectedBytes) {
+                assertEquals(expectedByte & 0xff, instance.read());
+            }
+            assertEquals(-1, instance.read());
+        }
+    }
+
+    @Test
+    void testReadIntoArrayAcrossWindows() throws Exception {
+        try (MappedImageInputStream instance =
+                     new MappedImageInputStream(file, 100)) {
+            byte[] actualBytes = new byte[expectedBytes.length];
+            instance.readFully(actualBytes);
+            assertArrayEquals(expectedBytes, actualBytes);
+            assertEquals(-1, instance.read(new byte[8], 0, 8));
+        }
+    }
+
+    @Test
+    void testReadIntoArrayPastEOF() throws Exception {
+        try (MappedImageInputStream instance = new MappedImageInputStream(file)) {
+            instance.seek(expectedBytes.length - 10);
+            byte[] actualBytes = new byte[50];
+            assertEquals(10, instance.read(actualBytes, 0, 50));
+        }
+    }
+
+    @Test
+    void testReadIntoArrayWithIllegalArguments() throws Exception {
+        try (MappedImageInputStream instance = new MappedImageInputStream(file)) {
+            byte[] bytes = new byte[8];
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> instance.read(bytes, -1, 4));
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> instance.read(bytes, 0, -1));
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> instance.read(bytes, 4, 8));
+            assertEquals(0, instance.read(bytes, 0, 0));
+        }
+    }
+
+    @Test
+    void testSeekBackwardAcrossWindows() throws Exception {
+        try (MappedImageInputStream instance =
+                     new MappedImageInputStream(file, 100)) {
+            instance.seek(expectedBytes.length - 1);
+            assertEquals(expectedBytes[expectedBytes.length - 1] & 0xff,
+                    instance.read());
+            instance.seek(98);
+            int expected = ((expectedBytes[98] & 0xff) << 24) |
+                    ((expectedBytes[99] & 0xff) << 16) |
+                    ((expectedBytes[100] & 0xff) << 8) |
+                    (expectedBytes[101] & 0xff);
+            assertEquals(expected, instance.readInt());
+            assertEquals(102, instance.getStreamPosition());
+        }
+    }
+
+}
@@ -58,6 +58,11 @@ public class ApplicationStatusTest extends BaseTest {
         assertTrue(instance.getVMTotalHeap() > 1000);
     }
 
+    @Test
+    void getAutoRetrievalDecisions() {
+        assertEquals(3, instance.getAutoRetrievalDecisions().size());
+    }
+
     @Test
     void getVMUptime() {
         assertTrue(instance.getVMUptime() > 10);
@@ -81,7 +86,7 @@ public class ApplicationStatusTest extends BaseTest {
     @Test
     void toMap() {
         Map<String,Object> map = instance.toMap();
-        assertEquals(3, map.size());
+        assertEquals(5, map.size());
     }
 
 }
\ No newline at end of file
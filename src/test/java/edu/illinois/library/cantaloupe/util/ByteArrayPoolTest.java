@@ -0,0 +1,82 @@
+package edu.illinois.library.cantaloupe.util;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteArrayPoolTest extends BaseTest {
+
+    private ByteArrayPool instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new ByteArrayPool(ByteArrayPool.DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    @Test
+    void testAcquireRoundsUpToPowerOfTwo() {
+        assertEquals(ByteArrayPool.MIN_POOLED_LENGTH,
+                instance.acquire(0).length);
+        assertEquals(ByteArrayPool.MIN_POOLED_LENGTH,
+                instance.acquire(1).length);
+        assertEquals(4096, instance.acquire(4096).length);
+        assertEquals(8192, instance.acquire(4097).length);
+    }
+
+    @Test
+    void testAcquireWithLengthLargerThanMaxPooledLength() {
+        final int length = ByteArrayPool.MAX_POOLED_LENGTH + 1;
+        assertEquals(length, instance.acquire(length).length);
+    }
+
+    @Test
+    void testAcquireWithNegativeLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.acquire(-1));
+    }
+
+    @Test
+    void testAcquireExactWithPooledLength() {
+        byte[] array = instance.acquire(4096);
+        instance.release(array);
+        assertSame(array, instance.acquireExact(4096));
+    }
+
+    @Test
+    void testAcquireExactWithUnpooledLength() {
+        instance.release(instance.acquire(8192));
+        byte[] array = instance.acquireExact(5000);
+        assertEquals(5000, array.length);
+        assertEquals(8192, instance.getRetainedBytes());
+    }
+
+    @Test
+    void testAcquireReusesReleasedArrays() {
+        byte[] array = instance.acquire(5000);
+        instance.release(array);
+        assertEquals(array.length, instance.getRetainedBytes());
+        assertSame(array, instance.acquire(6000));
+        assertEquals(0, instance.getRetainedBytes());
+    }
+
+    @Test
+    void testReleaseIgnoresUnpoolableArrays() {
+        instance.release(null);
+        instance.release(new byte[5000]);
+        instance.release(new byte[16]);
+        assertEquals(0, instance.getRetainedBytes());
+    }
+
+    @Test
+    void testReleaseRespectsMaxRetainedBytes() {
+        instance = new ByteArrayPool(8192);
+        instance.release(new byte[4096]);
+        instance.release(new byte[4096]);
+        instance.release(new byte[4096]);
+        assertEquals(8192, instance.getRetainedBytes());
+    }
+
+}
@@ -4,6 +4,9 @@ import edu.illinois.library.cantaloupe.test.BaseTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ObjectCacheTest extends BaseTest {
@@ -27,6 +30,20 @@ public class ObjectCacheTest extends BaseTest {
         assertEquals(MAX_SIZE, instance.size());
     }
 
+    @Test
+    void testConstructorWithRemovalListener() {
+        final List<String> removedValues = new ArrayList<>();
+        instance = new ObjectCache<>(MAX_SIZE,
+                (key, value) -> removedValues.add(value));
+        instance.put("1", "cats");
+        instance.put("2", "dogs");
+        instance.remove("1");
+        assertEquals(List.of("cats"), removedValues);
+
+        instance.removeAll();
+        assertEquals(List.of("cats", "dogs"), removedValues);
+    }
+
     @Test
     void testGet() {
         final String key = "cats";